@@ -1,6 +1,8 @@
 package org.example.config;
 
 import org.example.controller.*;
+import org.example.event.EventBus;
+import org.example.model.Patient;
 import org.example.repository.*;
 import org.example.repository.impl.*;
 import org.example.service.*;
@@ -18,6 +20,8 @@ public class ApplicationConfig {
     // Services
     private AuthenticationService authService;
     private LoggingService logService;
+    private EventBus eventBus;
+    private MedicationScheduleIndex medicationSchedule;
     private PatientService patientService;
     private StaffService staffService;
     private WardService wardService;
@@ -57,14 +61,28 @@ public class ApplicationConfig {
         // Initialize singleton services
         authService = AuthenticationService.getInstance();
         logService = LoggingService.getInstance();
+        eventBus = EventBus.getInstance();
         
+        // Index the doses due for all patients, so doses already given are not shown as due.
+        // The services that change patients, prescriptions and administrations share the index.
+        medicationSchedule = new MedicationScheduleIndex();
+        for (Patient patient : patientRepository.findAll()) {
+            String wardId = wardRepository.findBedForPatient(patient)
+                    .map(bed -> bed.getRoom().getWard().getId())
+                    .orElse(null);
+            medicationSchedule.indexPatient(patient, wardId);
+        }
+
         // Initialize other services with dependencies
         dataPersistenceService = new DataPersistenceServiceImpl();
         wardService = new WardServiceImpl(wardRepository, authService, logService);
-        patientService = new PatientServiceImpl(patientRepository, wardService, authService, logService);
-        staffService = new StaffServiceImpl(staffRepository, authService, logService);
-        prescriptionService = new PrescriptionServiceImpl(patientService, staffService, authService, logService);
-        medicationService = new MedicationServiceImpl(patientService, staffService, authService, logService);
+        patientService = new PatientServiceImpl(patientRepository, wardService, authService, logService, eventBus,
+                medicationSchedule);
+        staffService = new StaffServiceImpl(staffRepository, authService, logService, eventBus);
+        prescriptionService = new PrescriptionServiceImpl(patientService, staffService, authService, logService, eventBus,
+                medicationSchedule);
+        medicationService = new MedicationServiceImpl(patientService, staffService, authService, logService, eventBus,
+                medicationSchedule);
     }
     
     /**
@@ -120,6 +138,14 @@ public class ApplicationConfig {
         return medicationController;
     }
     
+    /**
+     * Get the index of doses due across all patients
+     * @return The medication schedule index
+     */
+    public MedicationScheduleIndex getMedicationSchedule() {
+        return medicationSchedule;
+    }
+
     /**
      * Get the data persistence service
      * @return The data persistence service
@@ -10,6 +10,7 @@ import org.example.exception.UnauthorizedActionException;
 import org.example.model.Bed;
 import org.example.model.Gender;
 import org.example.model.Patient;
+import org.example.service.AsyncCareHomeService;
 import org.example.service.AuthenticationService;
 import org.example.service.CareHomeService;
 import org.slf4j.Logger;
@@ -22,7 +23,7 @@ import java.util.stream.Collectors;
 /**
  * Controller for the add patient view
  */
-public class  AddPatientController {
+public class AddPatientController implements ReusableDialog {
     private static final Logger logger = LoggerFactory.getLogger(AddPatientController.class);
 
     @FXML
@@ -56,6 +57,7 @@ public class  AddPatientController {
     private Button cancelButton;
 
     private CareHomeService careHomeService;
+    private AsyncCareHomeService asyncService;
     private AuthenticationService authService;
 
     /**
@@ -64,6 +66,7 @@ public class  AddPatientController {
     @FXML
     public void initialize() {
         careHomeService = CareHomeService.getInstance();
+        asyncService = AsyncCareHomeService.getInstance();
         authService = AuthenticationService.getInstance();
         
         // Initialize gender combo box
@@ -106,6 +109,22 @@ public class  AddPatientController {
         errorLabel.setText("");
     }
 
+    /**
+     * Reset the dialog before it is shown again
+     */
+    @Override
+    public void reset() {
+        firstNameField.clear();
+        lastNameField.clear();
+        dateOfBirthPicker.setValue(null);
+        genderComboBox.setValue(null);
+        needsIsolationCheckBox.setSelected(false);
+        medicalConditionArea.clear();
+        bedComboBox.setValue(null);
+        bedComboBox.setItems(FXCollections.observableArrayList(careHomeService.getVacantBeds()));
+        errorLabel.setText("");
+    }
+
     /**
      * Handle save button click
      * @param event The action event
@@ -126,9 +145,8 @@ public class  AddPatientController {
         Bed bed = bedComboBox.getValue();
         String medicalCondition = medicalConditionArea.getText();
         
-        try {
-            // Add the patient
-            Patient patient = careHomeService.addPatient(
+        // Add the patient off the FX thread, as it saves the ward and patient files
+        FxAsync.whenDone(asyncService.addPatient(
                 firstName,
                 lastName,
                 dateOfBirth,
@@ -136,8 +154,7 @@ public class  AddPatientController {
                 medicalCondition,
                 needsIsolation,
                 bed
-            );
-            
+        ), saveButton, patient -> {
             if (patient != null) {
                 logger.info("Patient added: {}", patient.getFullName());
                 closeDialog();
@@ -145,13 +162,18 @@ public class  AddPatientController {
                 errorLabel.setText("Failed to add patient. The bed may already be occupied.");
                 logger.warn("Failed to add patient. Bed may be occupied: {}", bed);
             }
-        } catch (UnauthorizedActionException e) {
-            errorLabel.setText("Unauthorized: " + e.getMessage());
-            logger.warn("Unauthorized action: {}", e.getMessage());
-        } catch (NotRosteredException e) {
-            errorLabel.setText("Not rostered: " + e.getMessage());
-            logger.warn("Not rostered: {}", e.getMessage());
-        }
+        }, e -> {
+            if (e instanceof UnauthorizedActionException) {
+                errorLabel.setText("Unauthorized: " + e.getMessage());
+                logger.warn("Unauthorized action: {}", e.getMessage());
+            } else if (e instanceof NotRosteredException) {
+                errorLabel.setText("Not rostered: " + e.getMessage());
+                logger.warn("Not rostered: {}", e.getMessage());
+            } else {
+                errorLabel.setText("Failed to add patient: " + e.getMessage());
+                logger.error("Error adding patient", e);
+            }
+        });
     }
 
     /**
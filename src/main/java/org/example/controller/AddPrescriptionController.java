@@ -13,6 +13,7 @@ import org.example.exception.UnauthorizedActionException;
 import org.example.model.Medication;
 import org.example.model.Patient;
 import org.example.model.Prescription;
+import org.example.service.AsyncCareHomeService;
 import org.example.service.AuthenticationService;
 import org.example.service.CareHomeService;
 import org.slf4j.Logger;
@@ -23,11 +24,12 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for the add prescription view
  */
-public class AddPrescriptionController {
+public class AddPrescriptionController implements ReusableDialog {
     private static final Logger logger = LoggerFactory.getLogger(AddPrescriptionController.class);
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
 
@@ -92,6 +94,7 @@ public class AddPrescriptionController {
     private Button cancelButton;
 
     private CareHomeService careHomeService;
+    private AsyncCareHomeService asyncService;
     private AuthenticationService authService;
     private ObservableList<LocalTime> administrationTimes;
     private ObservableList<MedicationEntry> medications;
@@ -102,6 +105,7 @@ public class AddPrescriptionController {
     @FXML
     public void initialize() {
         careHomeService = CareHomeService.getInstance();
+        asyncService = AsyncCareHomeService.getInstance();
         authService = AuthenticationService.getInstance();
         
         // Initialize patient combo box
@@ -195,6 +199,23 @@ public class AddPrescriptionController {
         errorLabel.setText("");
     }
 
+    /**
+     * Reset the dialog before it is shown again
+     */
+    @Override
+    public void reset() {
+        patientComboBox.setValue(null);
+        patientComboBox.setItems(FXCollections.observableArrayList(careHomeService.getAllPatients()));
+        notesArea.clear();
+        medicationNameField.clear();
+        dosageField.clear();
+        instructionsField.clear();
+        timeField.clear();
+        administrationTimes.clear();
+        medications.clear();
+        errorLabel.setText("");
+    }
+
     /**
      * Initialize the controller with a list of patients
      * @param patients The list of patients
@@ -276,13 +297,16 @@ public class AddPrescriptionController {
         Patient patient = patientComboBox.getValue();
         String notes = notesArea.getText().trim();
         
-        try {
+        List<MedicationEntry> entries = new ArrayList<>(medications);
+        
+        // Save the prescription off the FX thread, as every step saves the patient file
+        CompletableFuture<Prescription> save = asyncService.submit(service -> {
             // Create prescription
-            Prescription prescription = careHomeService.addPrescription(patient, notes);
+            Prescription prescription = service.addPrescription(patient, notes);
             
             // Add medications to the prescription
-            for (MedicationEntry entry : medications) {
-                Medication medication = careHomeService.addMedicationToPrescription(
+            for (MedicationEntry entry : entries) {
+                Medication medication = service.addMedicationToPrescription(
                     prescription,
                     entry.getName(),
                     entry.getDosage(),
@@ -291,19 +315,27 @@ public class AddPrescriptionController {
                 
                 // Add administration times to the medication
                 for (LocalTime time : entry.getTimes()) {
-                    careHomeService.addAdministrationTimeToMedication(medication, time);
+                    service.addAdministrationTimeToMedication(medication, time);
                 }
             }
-            
+            return prescription;
+        });
+        
+        FxAsync.whenDone(save, saveButton, prescription -> {
             logger.info("Prescription added for patient: {}", patient.getFullName());
             closeDialog();
-        } catch (UnauthorizedActionException e) {
-            errorLabel.setText("Unauthorized: " + e.getMessage());
-            logger.warn("Unauthorized action: {}", e.getMessage());
-        } catch (NotRosteredException e) {
-            errorLabel.setText("Not rostered: " + e.getMessage());
-            logger.warn("Not rostered: {}", e.getMessage());
-        }
+        }, e -> {
+            if (e instanceof UnauthorizedActionException) {
+                errorLabel.setText("Unauthorized: " + e.getMessage());
+                logger.warn("Unauthorized action: {}", e.getMessage());
+            } else if (e instanceof NotRosteredException) {
+                errorLabel.setText("Not rostered: " + e.getMessage());
+                logger.warn("Not rostered: {}", e.getMessage());
+            } else {
+                errorLabel.setText("Failed to add prescription: " + e.getMessage());
+                logger.error("Error adding prescription", e);
+            }
+        });
     }
 
     /**
@@ -8,8 +8,8 @@ import javafx.stage.Stage;
 import org.example.exception.NotRosteredException;
 import org.example.exception.UnauthorizedActionException;
 import org.example.model.*;
+import org.example.service.AsyncCareHomeService;
 import org.example.service.AuthenticationService;
-import org.example.service.CareHomeService;
 import org.example.util.IdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,7 +58,7 @@ public class AddStaffController {
     @FXML
     private Button cancelButton;
 
-    private CareHomeService careHomeService;
+    private AsyncCareHomeService asyncService;
     private AuthenticationService authService;
 
     /**
@@ -66,7 +66,7 @@ public class AddStaffController {
      */
     @FXML
     public void initialize() {
-        careHomeService = CareHomeService.getInstance();
+        asyncService = AsyncCareHomeService.getInstance();
         authService = AuthenticationService.getInstance();
         
         // Initialize staff type combo box
@@ -124,54 +124,52 @@ public class AddStaffController {
         String password = passwordField.getText();
         String specialty = specialtyField.getText();
         
-        try {
-            // Create staff based on type
-            Staff staff;
-            switch (staffType) {
-                case "Doctor":
-                    staff = new Doctor(
-                        IdGenerator.generateId("STAFF"),
-                        firstName,
-                        lastName,
-                        dateOfBirth,
-                        gender,
-                        username,
-                        password,
-                        specialty
-                    );
-                    break;
-                case "Nurse":
-                    staff = new Nurse(
-                        IdGenerator.generateId("STAFF"),
-                        firstName,
-                        lastName,
-                        dateOfBirth,
-                        gender,
-                        username,
-                        password,
-                        specialty
-                    );
-                    break;
-                case "Manager":
-                    staff = new Manager(
-                        IdGenerator.generateId("STAFF"),
-                        firstName,
-                        lastName,
-                        dateOfBirth,
-                        gender,
-                        username,
-                        password,
-                        specialty
-                    );
-                    break;
-                default:
-                    errorLabel.setText("Invalid staff type");
-                    return;
-            }
-            
-            // Add the staff
-            boolean added = careHomeService.addStaff(staff);
-            
+        // Create staff based on type
+        Staff staff;
+        switch (staffType) {
+            case "Doctor":
+                staff = new Doctor(
+                    IdGenerator.generateId("STAFF"),
+                    firstName,
+                    lastName,
+                    dateOfBirth,
+                    gender,
+                    username,
+                    password,
+                    specialty
+                );
+                break;
+            case "Nurse":
+                staff = new Nurse(
+                    IdGenerator.generateId("STAFF"),
+                    firstName,
+                    lastName,
+                    dateOfBirth,
+                    gender,
+                    username,
+                    password,
+                    specialty
+                );
+                break;
+            case "Manager":
+                staff = new Manager(
+                    IdGenerator.generateId("STAFF"),
+                    firstName,
+                    lastName,
+                    dateOfBirth,
+                    gender,
+                    username,
+                    password,
+                    specialty
+                );
+                break;
+            default:
+                errorLabel.setText("Invalid staff type");
+                return;
+        }
+        
+        // Add the staff off the FX thread, as it saves the staff file
+        FxAsync.whenDone(asyncService.addStaff(staff), saveButton, added -> {
             if (added) {
                 logger.info("Staff added: {} ({})", staff.getFullName(), staffType);
                 closeDialog();
@@ -179,13 +177,18 @@ public class AddStaffController {
                 errorLabel.setText("Failed to add staff. Username may already exist.");
                 logger.warn("Failed to add staff. Username may already exist: {}", username);
             }
-        } catch (UnauthorizedActionException e) {
-            errorLabel.setText("Unauthorized: " + e.getMessage());
-            logger.warn("Unauthorized action: {}", e.getMessage());
-        } catch (NotRosteredException e) {
-            errorLabel.setText("Not rostered: " + e.getMessage());
-            logger.warn("Not rostered: {}", e.getMessage());
-        }
+        }, e -> {
+            if (e instanceof UnauthorizedActionException) {
+                errorLabel.setText("Unauthorized: " + e.getMessage());
+                logger.warn("Unauthorized action: {}", e.getMessage());
+            } else if (e instanceof NotRosteredException) {
+                errorLabel.setText("Not rostered: " + e.getMessage());
+                logger.warn("Not rostered: {}", e.getMessage());
+            } else {
+                errorLabel.setText("Failed to add staff: " + e.getMessage());
+                logger.error("Error adding staff", e);
+            }
+        });
     }
 
     /**
@@ -12,6 +12,7 @@ import org.example.model.Medication;
 import org.example.model.MedicationAdministration;
 import org.example.model.Patient;
 import org.example.model.Prescription;
+import org.example.service.AsyncCareHomeService;
 import org.example.service.AuthenticationService;
 import org.example.service.CareHomeService;
 import org.slf4j.Logger;
@@ -25,7 +26,7 @@ import java.util.stream.Collectors;
 /**
  * Controller for the administer medication view
  */
-public class AdministerMedicationController {
+public class AdministerMedicationController implements ReusableDialog {
     private static final Logger logger = LoggerFactory.getLogger(AdministerMedicationController.class);
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
 
@@ -72,6 +73,7 @@ public class AdministerMedicationController {
     private Button cancelButton;
 
     private CareHomeService careHomeService;
+    private AsyncCareHomeService asyncService;
     private AuthenticationService authService;
 
     /**
@@ -80,6 +82,7 @@ public class AdministerMedicationController {
     @FXML
     public void initialize() {
         careHomeService = CareHomeService.getInstance();
+        asyncService = AsyncCareHomeService.getInstance();
         authService = AuthenticationService.getInstance();
         
         // Initialize patient combo box
@@ -166,6 +169,17 @@ public class AdministerMedicationController {
         errorLabel.setText("");
     }
 
+    /**
+     * Reset the dialog before it is shown again
+     */
+    @Override
+    public void reset() {
+        patientComboBox.setValue(null);
+        patientComboBox.setItems(FXCollections.observableArrayList(careHomeService.getAllPatients()));
+        notesArea.clear();
+        errorLabel.setText("");
+    }
+
     /**
      * Initialize the controller with a list of patients
      * @param patients The list of patients
@@ -211,25 +225,24 @@ public class AdministerMedicationController {
         Medication medication = medicationsTable.getSelectionModel().getSelectedItem();
         String notes = notesArea.getText().trim();
         
-        try {
-            // Administer the medication
-            MedicationAdministration administration = careHomeService.administerMedication(
-                medication,
-                patient,
-                notes
-            );
-            
+        // Administer the medication off the FX thread, as it saves the patient file
+        FxAsync.whenDone(asyncService.administerMedication(medication, patient, notes), administerButton, administration -> {
             logger.info("Medication administered: {} to {}", medication.getName(), patient.getFullName());
             showAlert(Alert.AlertType.INFORMATION, "Success", "Medication Administered",
                     "Medication " + medication.getName() + " has been administered to " + patient.getFullName());
             closeDialog();
-        } catch (UnauthorizedActionException e) {
-            errorLabel.setText("Unauthorized: " + e.getMessage());
-            logger.warn("Unauthorized action: {}", e.getMessage());
-        } catch (NotRosteredException e) {
-            errorLabel.setText("Not rostered: " + e.getMessage());
-            logger.warn("Not rostered: {}", e.getMessage());
-        }
+        }, e -> {
+            if (e instanceof UnauthorizedActionException) {
+                errorLabel.setText("Unauthorized: " + e.getMessage());
+                logger.warn("Unauthorized action: {}", e.getMessage());
+            } else if (e instanceof NotRosteredException) {
+                errorLabel.setText("Not rostered: " + e.getMessage());
+                logger.warn("Not rostered: {}", e.getMessage());
+            } else {
+                errorLabel.setText("Failed to administer medication: " + e.getMessage());
+                logger.error("Error administering medication", e);
+            }
+        });
     }
 
     /**
@@ -4,6 +4,7 @@ import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Cursor;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
@@ -11,16 +12,21 @@ import javafx.scene.control.Label;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
 import javafx.scene.layout.BorderPane;
-import javafx.stage.Modality;
 import javafx.stage.Stage;
+import org.example.event.DoseFlaggedEvent;
+import org.example.event.EventBus;
+import org.example.model.FlaggedDose;
 import org.example.model.Staff;
 import org.example.model.Ward;
 import org.example.service.AuthenticationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.example.service.AsyncCareHomeService;
 import org.example.service.CareHomeService;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -29,8 +35,21 @@ import java.util.List;
 public class DashboardController {
     
     private final Logger logger = LoggerFactory.getLogger(DashboardController.class);
+    // Dialogs used through the day, loaded in the background once the dashboard is shown
+    private static final String[] PRELOADED_DIALOGS = {
+            "/fxml/add_patient.fxml", "/fxml/move_patient.fxml", "/fxml/discharge_patient.fxml",
+            "/fxml/view_patient.fxml", "/fxml/add_prescription.fxml", "/fxml/view_prescriptions.fxml",
+            "/fxml/administer_medication.fxml", "/fxml/view_administrations.fxml", "/fxml/view_logs.fxml"
+    };
+    private static final Duration MISSED_DOSE_CHECK_INTERVAL = Duration.ofMinutes(5);
+    // Doses flagged by one check arrive together and are shown in one alert
+    private static final Duration DOSE_ALERT_WINDOW = Duration.ofSeconds(1);
+    private final DialogCache dialogCache = DialogCache.getInstance();
     private CareHomeService careHomeService;
+    private AsyncCareHomeService asyncService;
     private AuthenticationService authService;
+    private final List<WardViewController> wardViewControllers = new ArrayList<>();
+    private EventBus.Subscription doseSubscription;
     
     @FXML
     private Label currentUserLabel;
@@ -53,11 +72,14 @@ public class DashboardController {
      */
     public void initialize(CareHomeService careHomeService) {
         this.careHomeService = careHomeService;
+        this.asyncService = AsyncCareHomeService.getInstance();
         this.authService = AuthenticationService.getInstance();
         updateUserInfo();
         
         // Initialize ward views
         initializeWardViews();
+        dialogCache.preload(PRELOADED_DIALOGS);
+        watchFlaggedDoses();
         
         // Add listener to tab selection to refresh ward views when ward tab is selected
         if (mainTabPane != null) {
@@ -74,11 +96,14 @@ public class DashboardController {
      */
     public void initData() {
         this.careHomeService = CareHomeService.getInstance();
+        this.asyncService = AsyncCareHomeService.getInstance();
         this.authService = AuthenticationService.getInstance();
         updateUserInfo();
         
         // Initialize ward views
         initializeWardViews();
+        dialogCache.preload(PRELOADED_DIALOGS);
+        watchFlaggedDoses();
         
         // Add listener to tab selection to refresh ward views when ward tab is selected
         if (mainTabPane != null) {
@@ -92,16 +117,29 @@ public class DashboardController {
     
     /**
      * Refresh the ward views
-     * This can be called after operations that might change ward data
+     * Ward views update their own beds from bed change events, so they are only built if missing
      */
     public void refreshWardViews() {
-        Platform.runLater(this::initializeWardViews);
+        if (wardViewControllers.isEmpty()) {
+            Platform.runLater(this::initializeWardViews);
+        }
+    }
+
+    /**
+     * Stop the ward views receiving bed change events
+     */
+    private void disposeWardViews() {
+        for (WardViewController controller : wardViewControllers) {
+            controller.dispose();
+        }
+        wardViewControllers.clear();
     }
     
     /**
      * Initialize the ward views
      */
     private void initializeWardViews() {
+        disposeWardViews();
         try {
             // Get all wards
             List<Ward> wards = careHomeService.getAllWards();
@@ -113,6 +151,7 @@ public class DashboardController {
                 
                 WardViewController controller = loader.getController();
                 controller.initData(wards.get(0));
+                wardViewControllers.add(controller);
                 
                 ward1Container.setCenter(wardView);
             }
@@ -124,6 +163,7 @@ public class DashboardController {
                 
                 WardViewController controller = loader.getController();
                 controller.initData(wards.get(1));
+                wardViewControllers.add(controller);
                 
                 ward2Container.setCenter(wardView);
             }
@@ -133,6 +173,48 @@ public class DashboardController {
         }
     }
     
+    /**
+     * Check for missed doses in the background and alert the user to any found
+     */
+    private void watchFlaggedDoses() {
+        if (!careHomeService.getMissedDoseDetector().isRunning()) {
+            careHomeService.getMissedDoseDetector().start(MISSED_DOSE_CHECK_INTERVAL);
+        }
+        doseSubscription = EventBus.getInstance().subscribeCoalesced(DoseFlaggedEvent.class, DOSE_ALERT_WINDOW,
+                events -> Platform.runLater(() -> showFlaggedDoses(events)));
+    }
+
+    /**
+     * Stop alerting the user to flagged doses
+     */
+    private void disposeDoseAlerts() {
+        if (doseSubscription != null) {
+            doseSubscription.cancel();
+            doseSubscription = null;
+        }
+    }
+
+    /**
+     * Show a batch of flagged doses without blocking the dashboard
+     * @param events The events
+     */
+    private void showFlaggedDoses(List<DoseFlaggedEvent> events) {
+        StringBuilder content = new StringBuilder();
+        for (DoseFlaggedEvent event : events) {
+            FlaggedDose dose = event.getDose();
+            content.append(dose.getDueAt().toLocalTime()).append(" - ")
+                    .append(dose.getMedication().getName()).append(" for ")
+                    .append(dose.getPatient().getFullName())
+                    .append(dose.isMissed() ? ": missed" : ": given " + dose.getMinutesLate() + " minutes late")
+                    .append('\n');
+        }
+        Alert alert = new Alert(Alert.AlertType.WARNING);
+        alert.setTitle("Doses Need Attention");
+        alert.setHeaderText(events.size() + " doses were given late or missed");
+        alert.setContentText(content.toString());
+        alert.show();
+    }
+
     /**
      * Update the user information displayed in the UI
      */
@@ -165,6 +247,9 @@ public class DashboardController {
      */
     @FXML
     public void handleLogout(ActionEvent event) {
+        disposeWardViews();
+        disposeDoseAlerts();
+        dialogCache.clear();
         authService.logout();
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/login.fxml"));
@@ -190,8 +275,20 @@ public class DashboardController {
      */
     @FXML
     public void handleExit(ActionEvent event) {
-        careHomeService.saveData();
-        Platform.exit();
+        disposeWardViews();
+        disposeDoseAlerts();
+        careHomeService.getMissedDoseDetector().stop();
+        // Keep the window painting while the data is saved, then exit
+        if (mainTabPane != null) {
+            mainTabPane.setDisable(true);
+            mainTabPane.getScene().setCursor(Cursor.WAIT);
+        }
+        asyncService.saveData().whenComplete((result, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                logger.error("Error saving data on exit", AsyncCareHomeService.unwrap(error));
+            }
+            Platform.exit();
+        }));
     }
     
     /**
@@ -201,17 +298,7 @@ public class DashboardController {
     @FXML
     public void handleAddPatient(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/add_patient.fxml"));
-            Parent root = loader.load();
-            
-            Stage stage = new Stage();
-            stage.initModality(Modality.APPLICATION_MODAL);
-            stage.setTitle("Add Patient");
-            stage.setScene(new Scene(root));
-            stage.showAndWait();
-            
-            // Refresh ward views after adding a patient
-            refreshWardViews();
+            dialogCache.open("/fxml/add_patient.fxml", "Add Patient").showAndWait();
         } catch (IOException e) {
             logger.error("Error opening add patient dialog", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Error opening add patient dialog", e.getMessage());
@@ -225,14 +312,7 @@ public class DashboardController {
     @FXML
     public void handleAddStaff(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/add_staff.fxml"));
-            Parent root = loader.load();
-            
-            Stage stage = new Stage();
-            stage.initModality(Modality.APPLICATION_MODAL);
-            stage.setTitle("Add Staff");
-            stage.setScene(new Scene(root));
-            stage.showAndWait();
+            dialogCache.open("/fxml/add_staff.fxml", "Add Staff").showAndWait();
         } catch (IOException e) {
             logger.error("Error opening add staff dialog", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Error opening add staff dialog", e.getMessage());
@@ -246,14 +326,7 @@ public class DashboardController {
     @FXML
     public void handleManageShifts(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/manage_shifts.fxml"));
-            Parent root = loader.load();
-            
-            Stage stage = new Stage();
-            stage.initModality(Modality.APPLICATION_MODAL);
-            stage.setTitle("Manage Shifts");
-            stage.setScene(new Scene(root));
-            stage.showAndWait();
+            dialogCache.open("/fxml/manage_shifts.fxml", "Manage Shifts").showAndWait();
         } catch (IOException e) {
             logger.error("Error opening manage shifts dialog", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Error opening manage shifts dialog", e.getMessage());
@@ -277,14 +350,7 @@ public class DashboardController {
     @FXML
     public void handleViewPatient(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/view_patient.fxml"));
-            Parent root = loader.load();
-            
-            Stage stage = new Stage();
-            stage.initModality(Modality.APPLICATION_MODAL);
-            stage.setTitle("View Patient");
-            stage.setScene(new Scene(root));
-            stage.showAndWait();
+            dialogCache.open("/fxml/view_patient.fxml", "View Patient").showAndWait();
         } catch (IOException e) {
             logger.error("Error opening view patient dialog", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Error opening view patient dialog", e.getMessage());
@@ -298,17 +364,7 @@ public class DashboardController {
     @FXML
     public void handleMovePatient(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/move_patient.fxml"));
-            Parent root = loader.load();
-            
-            Stage stage = new Stage();
-            stage.initModality(Modality.APPLICATION_MODAL);
-            stage.setTitle("Move Patient");
-            stage.setScene(new Scene(root));
-            stage.showAndWait();
-            
-            // Refresh ward views after moving a patient
-            refreshWardViews();
+            dialogCache.open("/fxml/move_patient.fxml", "Move Patient").showAndWait();
         } catch (IOException e) {
             logger.error("Error opening move patient dialog", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Error opening move patient dialog", e.getMessage());
@@ -322,17 +378,7 @@ public class DashboardController {
     @FXML
     public void handleDischargePatient(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/discharge_patient.fxml"));
-            Parent root = loader.load();
-            
-            Stage stage = new Stage();
-            stage.initModality(Modality.APPLICATION_MODAL);
-            stage.setTitle("Discharge Patient");
-            stage.setScene(new Scene(root));
-            stage.showAndWait();
-            
-            // Refresh ward views after discharging a patient
-            refreshWardViews();
+            dialogCache.open("/fxml/discharge_patient.fxml", "Discharge Patient").showAndWait();
         } catch (IOException e) {
             logger.error("Error opening discharge patient dialog", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Error opening discharge patient dialog", e.getMessage());
@@ -346,14 +392,7 @@ public class DashboardController {
     @FXML
     public void handleEditStaff(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/edit_staff.fxml"));
-            Parent root = loader.load();
-            
-            Stage stage = new Stage();
-            stage.initModality(Modality.APPLICATION_MODAL);
-            stage.setTitle("Edit Staff");
-            stage.setScene(new Scene(root));
-            stage.showAndWait();
+            dialogCache.open("/fxml/edit_staff.fxml", "Edit Staff").showAndWait();
         } catch (IOException e) {
             logger.error("Error opening edit staff dialog", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Error opening edit staff dialog", e.getMessage());
@@ -367,17 +406,7 @@ public class DashboardController {
     @FXML
     public void handleAddPrescription(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/add_prescription.fxml"));
-            Parent root = loader.load();
-            
-            AddPrescriptionController controller = loader.getController();
-            controller.initData(careHomeService.getAllPatients());
-            
-            Stage stage = new Stage();
-            stage.initModality(Modality.APPLICATION_MODAL);
-            stage.setTitle("Add Prescription");
-            stage.setScene(new Scene(root));
-            stage.showAndWait();
+            dialogCache.open("/fxml/add_prescription.fxml", "Add Prescription").showAndWait();
         } catch (IOException e) {
             logger.error("Error opening add prescription dialog", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Error opening add prescription dialog", e.getMessage());
@@ -391,14 +420,7 @@ public class DashboardController {
     @FXML
     public void handleViewPrescriptions(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/view_prescriptions.fxml"));
-            Parent root = loader.load();
-            
-            Stage stage = new Stage();
-            stage.initModality(Modality.APPLICATION_MODAL);
-            stage.setTitle("View Prescriptions");
-            stage.setScene(new Scene(root));
-            stage.showAndWait();
+            dialogCache.open("/fxml/view_prescriptions.fxml", "View Prescriptions").showAndWait();
         } catch (IOException e) {
             logger.error("Error opening view prescriptions dialog", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Error opening view prescriptions dialog", e.getMessage());
@@ -412,17 +434,7 @@ public class DashboardController {
     @FXML
     public void handleAdministerMedication(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/administer_medication.fxml"));
-            Parent root = loader.load();
-            
-            AdministerMedicationController controller = loader.getController();
-            controller.initData(careHomeService.getAllPatients());
-            
-            Stage stage = new Stage();
-            stage.initModality(Modality.APPLICATION_MODAL);
-            stage.setTitle("Administer Medication");
-            stage.setScene(new Scene(root));
-            stage.showAndWait();
+            dialogCache.open("/fxml/administer_medication.fxml", "Administer Medication").showAndWait();
         } catch (IOException e) {
             logger.error("Error opening administer medication dialog", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Error opening administer medication dialog", e.getMessage());
@@ -436,14 +448,7 @@ public class DashboardController {
     @FXML
     public void handleViewAdministrations(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/view_administrations.fxml"));
-            Parent root = loader.load();
-            
-            Stage stage = new Stage();
-            stage.initModality(Modality.APPLICATION_MODAL);
-            stage.setTitle("View Administrations");
-            stage.setScene(new Scene(root));
-            stage.showAndWait();
+            dialogCache.open("/fxml/view_administrations.fxml", "View Administrations").showAndWait();
         } catch (IOException e) {
             logger.error("Error opening view administrations dialog", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Error opening view administrations dialog", e.getMessage());
@@ -457,14 +462,7 @@ public class DashboardController {
     @FXML
     public void handleViewLogs(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/view_logs.fxml"));
-            Parent root = loader.load();
-            
-            Stage stage = new Stage();
-            stage.initModality(Modality.APPLICATION_MODAL);
-            stage.setTitle("System Action Logs");
-            stage.setScene(new Scene(root));
-            stage.showAndWait();
+            dialogCache.open("/fxml/view_logs.fxml", "System Action Logs").showAndWait();
         } catch (IOException e) {
             logger.error("Error opening view logs dialog", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Error opening view logs dialog", e.getMessage());
@@ -0,0 +1,186 @@
+package org.example.controller;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Cache of loaded dialogs
+ * Implemented as a Singleton
+ *
+ * A dialog whose controller is a ReusableDialog is loaded from its FXML once and its stage is
+ * shown again each time it is opened, after resetting its controller. Dialogs can be preloaded
+ * on a background thread so the first open does not wait for the FXML to be parsed. Other
+ * dialogs are loaded each time they are opened.
+ */
+final class DialogCache {
+    private static final Logger logger = LoggerFactory.getLogger(DialogCache.class);
+    private static volatile DialogCache instance;
+
+    private final Map<String, CompletableFuture<LoadedView>> views = new ConcurrentHashMap<>();
+    private final Map<String, Dialog<?>> dialogs = new ConcurrentHashMap<>();
+    private final ExecutorService loader;
+
+    /**
+     * A dialog ready to be shown
+     * @param <C> The controller type
+     */
+    static final class Dialog<C> {
+        private final Stage stage;
+        private final C controller;
+
+        private Dialog(Stage stage, C controller) {
+            this.stage = stage;
+            this.controller = controller;
+        }
+
+        C getController() {
+            return controller;
+        }
+
+        /**
+         * Show the dialog and wait for it to close
+         */
+        void showAndWait() {
+            stage.showAndWait();
+        }
+    }
+
+    /**
+     * A loaded FXML file that has not been put in a window yet
+     */
+    private static final class LoadedView {
+        private final Parent root;
+        private final Object controller;
+
+        LoadedView(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+    }
+
+    private DialogCache() {
+        loader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dialog-preloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get the singleton instance
+     * @return The singleton instance
+     */
+    static DialogCache getInstance() {
+        DialogCache result = instance;
+        if (result == null) {
+            synchronized (DialogCache.class) {
+                result = instance;
+                if (result == null) {
+                    result = new DialogCache();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Start loading dialogs in the background
+     * @param fxmlPaths The FXML resources of the dialogs
+     */
+    void preload(String... fxmlPaths) {
+        for (String fxmlPath : fxmlPaths) {
+            if (!dialogs.containsKey(fxmlPath)) {
+                views.computeIfAbsent(fxmlPath, path -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return load(path);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, loader));
+            }
+        }
+    }
+
+    /**
+     * Get a dialog ready to be shown. Must be called on the JavaFX application thread.
+     * @param fxmlPath The FXML resource of the dialog
+     * @param title The window title
+     * @return The dialog, reset if it has been shown before
+     * @throws IOException If the FXML could not be loaded
+     */
+    @SuppressWarnings("unchecked")
+    <C> Dialog<C> open(String fxmlPath, String title) throws IOException {
+        Dialog<?> dialog = dialogs.get(fxmlPath);
+        if (dialog == null) {
+            LoadedView view = takePreloaded(fxmlPath);
+            if (view == null) {
+                view = load(fxmlPath);
+            }
+
+            Stage stage = new Stage();
+            stage.initModality(Modality.APPLICATION_MODAL);
+            stage.setTitle(title);
+            stage.setScene(new Scene(view.root));
+            dialog = new Dialog<>(stage, view.controller);
+            if (view.controller instanceof ReusableDialog) {
+                dialogs.put(fxmlPath, dialog);
+            }
+        }
+
+        if (dialog.controller instanceof ReusableDialog) {
+            // A preloaded or reused dialog may show data from before it was last opened
+            ((ReusableDialog) dialog.controller).reset();
+        }
+        return (Dialog<C>) dialog;
+    }
+
+    /**
+     * Drop every loaded dialog, for when the user logs out
+     */
+    void clear() {
+        views.clear();
+        for (Dialog<?> dialog : dialogs.values()) {
+            dialog.stage.close();
+        }
+        dialogs.clear();
+    }
+
+    /**
+     * Take a dialog's preloaded view, waiting for it if it is still loading
+     * @param fxmlPath The FXML resource of the dialog
+     * @return The view, or null if it was not preloaded or could not be loaded in the background
+     */
+    private LoadedView takePreloaded(String fxmlPath) {
+        CompletableFuture<LoadedView> future = views.remove(fxmlPath);
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            logger.warn("Could not preload " + fxmlPath + ", loading it now", e.getCause());
+            return null;
+        }
+    }
+
+    private LoadedView load(String fxmlPath) throws IOException {
+        FXMLLoader fxmlLoader = new FXMLLoader(DialogCache.class.getResource(fxmlPath));
+        Parent root = fxmlLoader.load();
+        return new LoadedView(root, fxmlLoader.getController());
+    }
+}
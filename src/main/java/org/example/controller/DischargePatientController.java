@@ -12,6 +12,7 @@ import javafx.stage.Stage;
 import org.example.exception.NotRosteredException;
 import org.example.exception.UnauthorizedActionException;
 import org.example.model.Patient;
+import org.example.service.AsyncCareHomeService;
 import org.example.service.CareHomeService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,7 +22,7 @@ import java.time.format.DateTimeFormatter;
 /**
  * Controller for the discharge patient view
  */
-public class DischargePatientController {
+public class DischargePatientController implements ReusableDialog {
     private static final Logger logger = LoggerFactory.getLogger(DischargePatientController.class);
     
     @FXML
@@ -37,6 +38,7 @@ public class DischargePatientController {
     private Button cancelButton;
     
     private CareHomeService careHomeService;
+    private AsyncCareHomeService asyncService;
     private DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     
     /**
@@ -45,6 +47,7 @@ public class DischargePatientController {
     @FXML
     public void initialize() {
         careHomeService = CareHomeService.getInstance();
+        asyncService = AsyncCareHomeService.getInstance();
         
         // Initialize patient combo box
         ObservableList<Patient> patientList = FXCollections.observableArrayList(careHomeService.getAllPatients());
@@ -60,6 +63,15 @@ public class DischargePatientController {
             }
         });
     }
+
+    /**
+     * Reset the dialog before it is shown again
+     */
+    @Override
+    public void reset() {
+        patientComboBox.setValue(null);
+        patientComboBox.setItems(FXCollections.observableArrayList(careHomeService.getAllPatients()));
+    }
     
     /**
      * Update patient info label
@@ -87,9 +99,7 @@ public class DischargePatientController {
             return;
         }
         
-        try {
-            boolean discharged = careHomeService.dischargePatient(selectedPatient);
-            
+        FxAsync.whenDone(asyncService.dischargePatient(selectedPatient), dischargeButton, discharged -> {
             if (discharged) {
                 showAlert(Alert.AlertType.INFORMATION, "Success", "Patient Discharged", 
                         "Patient " + selectedPatient.getFullName() + " has been discharged and their records archived");
@@ -101,16 +111,18 @@ public class DischargePatientController {
                 showAlert(Alert.AlertType.ERROR, "Error", "Discharge Failed", 
                         "Failed to discharge patient " + selectedPatient.getFullName());
             }
-        } catch (UnauthorizedActionException e) {
-            logger.warn("Unauthorized: " + e.getMessage());
-            showAlert(Alert.AlertType.ERROR, "Error", "Unauthorized", e.getMessage());
-        } catch (NotRosteredException e) {
-            logger.warn("Not rostered: " + e.getMessage());
-            showAlert(Alert.AlertType.ERROR, "Error", "Not Rostered", e.getMessage());
-        } catch (Exception e) {
-            logger.error("Error discharging patient", e);
-            showAlert(Alert.AlertType.ERROR, "Error", "Error Discharging Patient", e.getMessage());
-        }
+        }, e -> {
+            if (e instanceof UnauthorizedActionException) {
+                logger.warn("Unauthorized: " + e.getMessage());
+                showAlert(Alert.AlertType.ERROR, "Error", "Unauthorized", e.getMessage());
+            } else if (e instanceof NotRosteredException) {
+                logger.warn("Not rostered: " + e.getMessage());
+                showAlert(Alert.AlertType.ERROR, "Error", "Not Rostered", e.getMessage());
+            } else {
+                logger.error("Error discharging patient", e);
+                showAlert(Alert.AlertType.ERROR, "Error", "Error Discharging Patient", e.getMessage());
+            }
+        });
     }
     
     /**
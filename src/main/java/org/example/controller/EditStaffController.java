@@ -13,12 +13,14 @@ import org.example.model.Gender;
 import org.example.model.Manager;
 import org.example.model.Nurse;
 import org.example.model.Staff;
+import org.example.service.AsyncCareHomeService;
 import org.example.service.AuthenticationService;
 import org.example.service.CareHomeService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for the edit staff view
@@ -57,6 +59,7 @@ public class EditStaffController {
     private Button cancelButton;
     
     private CareHomeService careHomeService;
+    private AsyncCareHomeService asyncService;
     private AuthenticationService authService;
     
     /**
@@ -65,6 +68,7 @@ public class EditStaffController {
     @FXML
     public void initialize() {
         careHomeService = CareHomeService.getInstance();
+        asyncService = AsyncCareHomeService.getInstance();
         authService = AuthenticationService.getInstance();
         
         // Initialize gender combo box
@@ -117,26 +121,36 @@ public class EditStaffController {
             return;
         }
         
-        try {
+        String firstName = firstNameField.getText();
+        String lastName = lastNameField.getText();
+        LocalDate dateOfBirth = dateOfBirthPicker.getValue();
+        Gender gender = genderComboBox.getValue();
+        String password = passwordField.getText();
+        String specialization = specializationField.getText();
+        
+        // Apply the changes and save them off the FX thread, in order with other service calls
+        CompletableFuture<Boolean> update = asyncService.submit(service -> {
             // Update staff details
-            selectedStaff.setFirstName(firstNameField.getText());
-            selectedStaff.setLastName(lastNameField.getText());
-            selectedStaff.setDateOfBirth(dateOfBirthPicker.getValue());
-            selectedStaff.setGender(genderComboBox.getValue());
-            selectedStaff.setPassword(passwordField.getText());
+            selectedStaff.setFirstName(firstName);
+            selectedStaff.setLastName(lastName);
+            selectedStaff.setDateOfBirth(dateOfBirth);
+            selectedStaff.setGender(gender);
+            selectedStaff.setPassword(password);
             
             // Update specialization based on staff type
             if (selectedStaff instanceof Doctor) {
-                ((Doctor) selectedStaff).setSpecialization(specializationField.getText());
+                ((Doctor) selectedStaff).setSpecialization(specialization);
             } else if (selectedStaff instanceof Nurse) {
-                ((Nurse) selectedStaff).setQualification(specializationField.getText());
+                ((Nurse) selectedStaff).setQualification(specialization);
             } else if (selectedStaff instanceof Manager) {
-                ((Manager) selectedStaff).setDepartment(specializationField.getText());
+                ((Manager) selectedStaff).setDepartment(specialization);
             }
             
             // Update staff in the system
-            careHomeService.updateStaff(selectedStaff);
-            
+            return service.updateStaff(selectedStaff);
+        });
+        
+        FxAsync.whenDone(update, saveButton, updated -> {
             showAlert(Alert.AlertType.INFORMATION, "Success", "Staff Updated", 
                     "Staff member " + selectedStaff.getFullName() + " has been updated");
             
@@ -145,16 +159,18 @@ public class EditStaffController {
             // Close the dialog
             Stage stage = (Stage) saveButton.getScene().getWindow();
             stage.close();
-        } catch (UnauthorizedActionException e) {
-            logger.warn("Unauthorized: " + e.getMessage());
-            showAlert(Alert.AlertType.ERROR, "Error", "Unauthorized", e.getMessage());
-        } catch (NotRosteredException e) {
-            logger.warn("Not rostered: " + e.getMessage());
-            showAlert(Alert.AlertType.ERROR, "Error", "Not Rostered", e.getMessage());
-        } catch (Exception e) {
-            logger.error("Error updating staff", e);
-            showAlert(Alert.AlertType.ERROR, "Error", "Error Updating Staff", e.getMessage());
-        }
+        }, e -> {
+            if (e instanceof UnauthorizedActionException) {
+                logger.warn("Unauthorized: " + e.getMessage());
+                showAlert(Alert.AlertType.ERROR, "Error", "Unauthorized", e.getMessage());
+            } else if (e instanceof NotRosteredException) {
+                logger.warn("Not rostered: " + e.getMessage());
+                showAlert(Alert.AlertType.ERROR, "Error", "Not Rostered", e.getMessage());
+            } else {
+                logger.error("Error updating staff", e);
+                showAlert(Alert.AlertType.ERROR, "Error", "Error Updating Staff", e.getMessage());
+            }
+        });
     }
     
     /**
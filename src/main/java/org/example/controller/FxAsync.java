@@ -0,0 +1,69 @@
+package org.example.controller;
+
+import javafx.application.Platform;
+import javafx.scene.Cursor;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.ProgressIndicator;
+import org.example.service.AsyncCareHomeService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Helper for controllers that run service calls off the JavaFX application thread
+ */
+final class FxAsync {
+
+    private FxAsync() {
+    }
+
+    /**
+     * Show progress on a dialog while a service call runs, then pass its result back on the
+     * JavaFX application thread. The action button is disabled and shows a spinning indicator,
+     * and the window shows the wait cursor, until the call completes.
+     * @param future The running call
+     * @param actionButton The button that started the call
+     * @param onSuccess Called with the result if the call succeeds
+     * @param onFailure Called with the exception thrown by the call if it fails
+     */
+    static <T> void whenDone(CompletableFuture<T> future, Button actionButton,
+                             Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        Runnable restore = showBusy(actionButton);
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            restore.run();
+            if (error == null) {
+                onSuccess.accept(result);
+            } else {
+                onFailure.accept(AsyncCareHomeService.unwrap(error));
+            }
+        }));
+    }
+
+    /**
+     * Put a dialog into its busy state
+     * @param actionButton The button that started the work
+     * @return Restores the dialog to its normal state
+     */
+    private static Runnable showBusy(Button actionButton) {
+        Node graphic = actionButton.getGraphic();
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.setPrefSize(14, 14);
+        actionButton.setGraphic(indicator);
+        actionButton.setDisable(true);
+
+        Scene scene = actionButton.getScene();
+        Cursor cursor = scene != null ? scene.getCursor() : null;
+        if (scene != null) {
+            scene.setCursor(Cursor.WAIT);
+        }
+        return () -> {
+            actionButton.setGraphic(graphic);
+            actionButton.setDisable(false);
+            if (scene != null) {
+                scene.setCursor(cursor);
+            }
+        };
+    }
+}
@@ -11,8 +11,11 @@ import javafx.scene.control.ListView;
 import javafx.stage.Stage;
 import org.example.model.Shift;
 import org.example.model.Staff;
+import org.example.service.AsyncCareHomeService;
 import org.example.service.AuthenticationService;
 import org.example.service.CareHomeService;
+import org.example.service.ComplianceEngine;
+import org.example.service.ComplianceViolation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,6 +24,8 @@ import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 /**
  * Controller for the manage shifts view
@@ -53,6 +58,7 @@ public class ManageShiftsController {
     private Button closeButton;
     
     private CareHomeService careHomeService;
+    private AsyncCareHomeService asyncService;
     private AuthenticationService authService;
     private DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
     
@@ -62,6 +68,7 @@ public class ManageShiftsController {
     @FXML
     public void initialize() {
         careHomeService = CareHomeService.getInstance();
+        asyncService = AsyncCareHomeService.getInstance();
         authService = AuthenticationService.getInstance();
         
         // Initialize day combo box
@@ -127,19 +134,23 @@ public class ManageShiftsController {
             return;
         }
         
-        try {
-            Shift newShift = new Shift(selectedDay, selectedStartTime, selectedEndTime);
-            selectedStaff.addShift(newShift);
+        Shift newShift = new Shift(selectedDay, selectedStartTime, selectedEndTime);
+        
+        // Add the shift and save off the FX thread, in order with other service calls
+        CompletableFuture<ComplianceEngine.Delta> save = asyncService.submit(service -> {
+            ComplianceEngine.Delta delta = service.addShift(selectedStaff, newShift);
+            service.saveData();
+            return delta;
+        });
+        FxAsync.whenDone(save, addShiftButton, delta -> {
             updateShiftsList(selectedStaff);
-            
-            // Save changes
-            careHomeService.saveData();
-            
             logger.info("Shift added for " + selectedStaff.getFullName());
-        } catch (Exception e) {
+            showComplianceWarning(delta);
+        }, e -> {
             logger.error("Error adding shift", e);
+            updateShiftsList(selectedStaff);
             showAlert(Alert.AlertType.ERROR, "Error", "Error Adding Shift", e.getMessage());
-        }
+        });
     }
     
     /**
@@ -176,13 +187,23 @@ public class ManageShiftsController {
             }
             
             if (shiftToRemove != null) {
-                selectedStaff.removeShift(shiftToRemove);
-                updateShiftsList(selectedStaff);
-                
-                // Save changes
-                careHomeService.saveData();
+                Shift removed = shiftToRemove;
                 
-                logger.info("Shift removed for " + selectedStaff.getFullName());
+                // Remove the shift and save off the FX thread, in order with other service calls
+                CompletableFuture<ComplianceEngine.Delta> save = asyncService.submit(service -> {
+                    ComplianceEngine.Delta delta = service.removeShift(selectedStaff, removed);
+                    service.saveData();
+                    return delta;
+                });
+                FxAsync.whenDone(save, removeShiftButton, delta -> {
+                    updateShiftsList(selectedStaff);
+                    logger.info("Shift removed for " + selectedStaff.getFullName());
+                    showComplianceWarning(delta);
+                }, e -> {
+                    logger.error("Error removing shift", e);
+                    updateShiftsList(selectedStaff);
+                    showAlert(Alert.AlertType.ERROR, "Error", "Error Removing Shift", e.getMessage());
+                });
             }
         } catch (Exception e) {
             logger.error("Error removing shift", e);
@@ -200,6 +221,19 @@ public class ManageShiftsController {
         stage.close();
     }
     
+    /**
+     * Warn about staffing rules broken by a shift change
+     * @param delta The change in compliance
+     */
+    private void showComplianceWarning(ComplianceEngine.Delta delta) {
+        if (!delta.getIntroduced().isEmpty()) {
+            String violations = delta.getIntroduced().stream()
+                    .map(ComplianceViolation::getMessage)
+                    .collect(Collectors.joining("\n"));
+            showAlert(Alert.AlertType.WARNING, "Compliance", "This change breaks staffing rules", violations);
+        }
+    }
+    
     /**
      * Show an alert dialog
      * @param type The alert type
@@ -5,6 +5,8 @@ import org.example.exception.UnauthorizedActionException;
 import org.example.model.MedicationAdministration;
 import org.example.service.MedicationService;
 
+import java.util.List;
+
 /**
  * Controller for medication administration operations
  */
@@ -40,4 +42,30 @@ public class MedicationController {
         // Delegate to service
         return medicationService.administerMedication(medicationId, patientId, notes);
     }
+
+    /**
+     * Administer a round of medications, each to the patient it is prescribed for
+     * @param medicationIds The medication IDs
+     * @param notes Administration notes for every medication
+     * @return The created medication administrations
+     * @throws UnauthorizedActionException If the current user is not authorized
+     * @throws NotRosteredException If the current user is not rostered
+     * @throws IllegalArgumentException If any input is invalid
+     */
+    public List<MedicationAdministration> administerMedications(List<String> medicationIds, String notes)
+            throws UnauthorizedActionException, NotRosteredException {
+
+        // Input validation
+        if (medicationIds == null) {
+            throw new IllegalArgumentException("Medication IDs cannot be empty");
+        }
+        for (String medicationId : medicationIds) {
+            if (medicationId == null || medicationId.isEmpty()) {
+                throw new IllegalArgumentException("Medication ID cannot be empty");
+            }
+        }
+
+        // Delegate to service
+        return medicationService.administerMedications(medicationIds, notes);
+    }
 }
@@ -9,6 +9,7 @@ import org.example.exception.NotRosteredException;
 import org.example.exception.UnauthorizedActionException;
 import org.example.model.Bed;
 import org.example.model.Patient;
+import org.example.service.AsyncCareHomeService;
 import org.example.service.AuthenticationService;
 import org.example.service.CareHomeService;
 import org.slf4j.Logger;
@@ -20,7 +21,7 @@ import java.util.Optional;
 /**
  * Controller for the move patient view
  */
-public class MovePatientController {
+public class MovePatientController implements ReusableDialog {
     private static final Logger logger = LoggerFactory.getLogger(MovePatientController.class);
 
     @FXML
@@ -48,6 +49,7 @@ public class MovePatientController {
     private Button cancelButton;
 
     private CareHomeService careHomeService;
+    private AsyncCareHomeService asyncService;
     private AuthenticationService authService;
 
     /**
@@ -56,6 +58,7 @@ public class MovePatientController {
     @FXML
     public void initialize() {
         careHomeService = CareHomeService.getInstance();
+        asyncService = AsyncCareHomeService.getInstance();
         authService = AuthenticationService.getInstance();
         
         // Initialize patient combo box
@@ -133,6 +136,16 @@ public class MovePatientController {
         errorLabel.setText("");
     }
 
+    /**
+     * Reset the dialog before it is shown again
+     */
+    @Override
+    public void reset() {
+        patientComboBox.setValue(null);
+        patientComboBox.setItems(FXCollections.observableArrayList(careHomeService.getAllPatients()));
+        errorLabel.setText("");
+    }
+
     /**
      * Update patient information
      * @param patient The selected patient
@@ -184,23 +197,21 @@ public class MovePatientController {
         Patient patient = patientComboBox.getValue();
         Bed newBed = newBedComboBox.getValue();
         
-        try {
-            careHomeService.movePatient(patient, newBed);
-            
-            if (true) {
-                logger.info("Patient moved: {} to {}", patient.getFullName(), newBed);
-                closeDialog();
+        FxAsync.whenDone(asyncService.movePatient(patient, newBed), moveButton, result -> {
+            logger.info("Patient moved: {} to {}", patient.getFullName(), newBed);
+            closeDialog();
+        }, e -> {
+            if (e instanceof UnauthorizedActionException) {
+                errorLabel.setText("Unauthorized: " + e.getMessage());
+                logger.warn("Unauthorized action: {}", e.getMessage());
+            } else if (e instanceof NotRosteredException) {
+                errorLabel.setText("Not rostered: " + e.getMessage());
+                logger.warn("Not rostered: {}", e.getMessage());
             } else {
-                errorLabel.setText("Failed to move patient. The bed may already be occupied.");
-                logger.warn("Failed to move patient. Bed may be occupied: {}", newBed);
+                errorLabel.setText("Failed to move patient: " + e.getMessage());
+                logger.warn("Failed to move patient to {}: {}", newBed, e.getMessage());
             }
-        } catch (UnauthorizedActionException e) {
-            errorLabel.setText("Unauthorized: " + e.getMessage());
-            logger.warn("Unauthorized action: {}", e.getMessage());
-        } catch (NotRosteredException e) {
-            errorLabel.setText("Not rostered: " + e.getMessage());
-            logger.warn("Not rostered: {}", e.getMessage());
-        }
+        });
     }
 
     /**
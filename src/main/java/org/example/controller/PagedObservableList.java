@@ -0,0 +1,158 @@
+package org.example.controller;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only list for table views that fetches its rows a page at a time
+ *
+ * A table view only asks for the rows it shows, so the list only fetches the pages holding
+ * those rows from its source. The most recently used pages are kept, and older pages are
+ * dropped and fetched again if the user scrolls back to them. Sorting and filtering are done
+ * by the source; call reset after changing them so the table fetches the rows again.
+ */
+final class PagedObservableList<T> extends ObservableListBase<T> {
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int DEFAULT_CACHED_PAGES = 10;
+
+    /**
+     * Where the rows of the list come from
+     * @param <T> The row type
+     */
+    interface PageSource<T> {
+        /**
+         * Count the rows
+         * @return The number of rows
+         */
+        int count();
+
+        /**
+         * Fetch a range of rows
+         * @param offset The position of the first row
+         * @param limit The maximum number of rows
+         * @return The rows, in list order
+         */
+        List<T> fetch(int offset, int limit);
+    }
+
+    private final PageSource<T> source;
+    private final int pageSize;
+    private final Map<Integer, List<T>> pages;
+    private int size = -1;
+    private int fetchCount;
+
+    /**
+     * Constructor with the default page size and cache size
+     * @param source Where the rows come from
+     */
+    PagedObservableList(PageSource<T> source) {
+        this(source, DEFAULT_PAGE_SIZE, DEFAULT_CACHED_PAGES);
+    }
+
+    /**
+     * Constructor
+     * @param source Where the rows come from
+     * @param pageSize The number of rows to fetch at a time
+     * @param cachedPages The number of pages to keep
+     */
+    PagedObservableList(PageSource<T> source, int pageSize, int cachedPages) {
+        if (pageSize < 1 || cachedPages < 1) {
+            throw new IllegalArgumentException("Page size and cached pages must be at least 1");
+        }
+        this.source = source;
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<>(cachedPages * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > cachedPages;
+            }
+        };
+    }
+
+    /**
+     * Create a source that pages over a list, without copying it. The list must not change
+     * while it is shown, so pass a copy of a list that other threads add to.
+     * @param rows The rows, in order
+     * @param reversed Whether to list the rows last to first
+     * @return The source
+     */
+    static <T> PageSource<T> fromList(List<T> rows, boolean reversed) {
+        return new PageSource<T>() {
+            @Override
+            public int count() {
+                return rows.size();
+            }
+
+            @Override
+            public List<T> fetch(int offset, int limit) {
+                int size = rows.size();
+                int end = Math.min(size, offset + limit);
+                List<T> page = new ArrayList<>(Math.max(0, end - offset));
+                for (int i = offset; i < end; i++) {
+                    page.add(rows.get(reversed ? size - 1 - i : i));
+                }
+                return page;
+            }
+        };
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        int pageNumber = index / pageSize;
+        List<T> page = pages.get(pageNumber);
+        if (page == null) {
+            page = source.fetch(pageNumber * pageSize, pageSize);
+            fetchCount++;
+            pages.put(pageNumber, page);
+        }
+        int position = index % pageSize;
+        if (position >= page.size()) {
+            // The source lost rows since it was counted
+            return page.isEmpty() ? null : page.get(page.size() - 1);
+        }
+        return page.get(position);
+    }
+
+    @Override
+    public int size() {
+        if (size < 0) {
+            size = source.count();
+        }
+        return size;
+    }
+
+    /**
+     * Drop every fetched page and count the rows again, for when the source has changed
+     */
+    void reset() {
+        int oldSize = size();
+        pages.clear();
+        size = -1;
+        int newSize = size();
+
+        beginChange();
+        if (oldSize > 0) {
+            nextRemove(0, Collections.nCopies(oldSize, null));
+        }
+        if (newSize > 0) {
+            nextAdd(0, newSize);
+        }
+        endChange();
+    }
+
+    /**
+     * Get the number of pages fetched from the source so far
+     * @return The number of fetches
+     */
+    int getFetchCount() {
+        return fetchCount;
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.controller;
+
+/**
+ * Controller of a dialog that can be shown again after it is closed, so its FXML only
+ * needs to be loaded once
+ */
+interface ReusableDialog {
+
+    /**
+     * Clear what the user entered and reload the dialog's data from the services.
+     * Called on the JavaFX application thread each time before the dialog is shown.
+     */
+    void reset();
+}
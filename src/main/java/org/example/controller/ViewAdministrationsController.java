@@ -1,5 +1,6 @@
 package org.example.controller;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -11,19 +12,27 @@ import javafx.scene.control.TableView;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
+import org.example.event.EventBus;
+import org.example.event.MedicationAdministeredEvent;
 import org.example.model.MedicationAdministration;
 import org.example.model.Patient;
 import org.example.service.CareHomeService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Controller for the view administrations view
+ *
+ * The table pages over a copy of the selected patient's administrations, so rows never
+ * shift under it. The copy is taken again when the patient is given a medication.
  */
-public class ViewAdministrationsController {
+public class ViewAdministrationsController implements ReusableDialog {
     private static final Logger logger = LoggerFactory.getLogger(ViewAdministrationsController.class);
+    private static final Duration UPDATE_WINDOW = Duration.ofMillis(250);
     
     @FXML
     private ComboBox<Patient> patientComboBox;
@@ -50,6 +59,8 @@ public class ViewAdministrationsController {
     private Button closeButton;
     
     private CareHomeService careHomeService;
+    private Patient selectedPatient;
+    private boolean newestFirst;
     
     /**
      * Initialize the controller
@@ -82,16 +93,38 @@ public class ViewAdministrationsController {
         
         notesColumn.setCellValueFactory(new PropertyValueFactory<>("notes"));
         
+        // Administrations are recorded in time order, so only the time column can be sorted,
+        // and sorting reads the patient's administrations from the other end
+        medicationColumn.setSortable(false);
+        nurseColumn.setSortable(false);
+        notesColumn.setSortable(false);
+        administrationsTableView.setSortPolicy(table -> {
+            boolean descending = !table.getSortOrder().isEmpty()
+                    && table.getSortOrder().get(0).getSortType() == TableColumn.SortType.DESCENDING;
+            if (descending != newestFirst) {
+                newestFirst = descending;
+                if (selectedPatient != null) {
+                    updateAdministrationsTable(selectedPatient);
+                }
+            }
+            return true;
+        });
+        
         // Add listener to patient combo box
         patientComboBox.getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
             if (newValue != null) {
                 updateAdministrationsTable(newValue);
             } else {
+                selectedPatient = null;
                 administrationsTableView.setItems(FXCollections.observableArrayList());
                 notesTextArea.clear();
             }
         });
         
+        // The dialog is reused, so it stays subscribed for as long as the application runs
+        EventBus.getInstance().subscribeCoalesced(MedicationAdministeredEvent.class,
+                UPDATE_WINDOW, events -> Platform.runLater(() -> refreshAdministrations(events)));
+        
         // Add listener to administrations table
         administrationsTableView.getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
             if (newValue != null) {
@@ -101,15 +134,41 @@ public class ViewAdministrationsController {
             }
         });
     }
+
+    /**
+     * Reset the dialog before it is shown again
+     */
+    @Override
+    public void reset() {
+        patientComboBox.setValue(null);
+        patientComboBox.setItems(FXCollections.observableArrayList(careHomeService.getAllPatients()));
+    }
     
     /**
      * Update the administrations table for the selected patient
      * @param patient The selected patient
      */
     private void updateAdministrationsTable(Patient patient) {
-        ObservableList<MedicationAdministration> administrations = 
-            FXCollections.observableArrayList(patient.getMedicationAdministrations());
-        administrationsTableView.setItems(administrations);
+        selectedPatient = patient;
+        administrationsTableView.setItems(new PagedObservableList<>(
+                PagedObservableList.fromList(careHomeService.getMedicationAdministrations(patient), newestFirst)));
+    }
+
+    /**
+     * Show the selected patient's administrations again if any were just recorded
+     * @param events The administrations recorded
+     */
+    private void refreshAdministrations(List<MedicationAdministeredEvent> events) {
+        Patient patient = selectedPatient;
+        if (patient == null) {
+            return;
+        }
+        for (MedicationAdministeredEvent event : events) {
+            if (patient.getId().equals(event.getAdministration().getPatient().getId())) {
+                updateAdministrationsTable(patient);
+                return;
+            }
+        }
     }
     
     /**
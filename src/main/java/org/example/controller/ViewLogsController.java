@@ -2,7 +2,6 @@ package org.example.controller;
 
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
@@ -11,26 +10,32 @@ import javafx.stage.Stage;
 import org.example.model.ActionLog;
 import org.example.model.Staff;
 import org.example.service.AuthenticationService;
+import org.example.service.LogQuery;
 import org.example.service.LoggingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * Controller for the view logs screen
  */
-public class ViewLogsController {
+public class ViewLogsController implements ReusableDialog {
     private final Logger logger = LoggerFactory.getLogger(ViewLogsController.class);
     private LoggingService loggingService;
     private AuthenticationService authService;
-    private ObservableList<ActionLog> allLogs;
+    private PagedObservableList<ActionLog> logs;
+    private Map<String, String> staffIdsByName;
+    // Criteria of the logs shown, applied by the logging service when a page is fetched
+    private String filterStaffId;
+    private String filterAction;
+    private LocalDate filterDate;
+    private boolean newestFirst;
     private DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     @FXML
@@ -88,10 +93,30 @@ public class ViewLogsController {
         timestampColumn.setCellValueFactory(cellData -> 
             new SimpleStringProperty(cellData.getValue().getTimestamp().format(formatter)));
         staffColumn.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().getStaff().getFullName()));
+            new SimpleStringProperty(cellData.getValue().getStaff() != null
+                    ? cellData.getValue().getStaff().getFullName()
+                    : cellData.getValue().getStaffId() != null ? cellData.getValue().getStaffId() : "Unknown"));
         actionColumn.setCellValueFactory(new PropertyValueFactory<>("action"));
         detailsColumn.setCellValueFactory(new PropertyValueFactory<>("details"));
         
+        // Logs are fetched in time order, so only the time and ID columns can be sorted,
+        // and sorting asks the logging service for the other order
+        staffColumn.setSortable(false);
+        actionColumn.setSortable(false);
+        detailsColumn.setSortable(false);
+        logsTableView.setSortPolicy(table -> {
+            boolean descending = !table.getSortOrder().isEmpty()
+                    && table.getSortOrder().get(0).getSortType() == TableColumn.SortType.DESCENDING;
+            if (descending != newestFirst) {
+                newestFirst = descending;
+                if (logs != null) {
+                    logs.reset();
+                    updateTotalLogsLabel();
+                }
+            }
+            return true;
+        });
+        
         // Load logs
         loadLogs();
         
@@ -100,31 +125,78 @@ public class ViewLogsController {
     }
 
     /**
-     * Load all logs into the table
+     * Reset the dialog before it is shown again
+     */
+    @Override
+    public void reset() {
+        staffComboBox.getSelectionModel().selectFirst();
+        actionComboBox.getSelectionModel().selectFirst();
+        datePicker.setValue(null);
+        filterStaffId = null;
+        filterAction = null;
+        filterDate = null;
+        loadLogs();
+        populateFilterComboBoxes();
+    }
+
+    /**
+     * Show the logs matching the current filter, fetching only the rows the table shows
      */
     private void loadLogs() {
-        List<ActionLog> logs = loggingService.getAllLogs();
-        allLogs = FXCollections.observableArrayList(logs);
-        logsTableView.setItems(allLogs);
+        if (logs == null) {
+            logs = new PagedObservableList<>(new PagedObservableList.PageSource<ActionLog>() {
+                @Override
+                public int count() {
+                    return loggingService.count(createQuery());
+                }
+
+                @Override
+                public List<ActionLog> fetch(int offset, int limit) {
+                    return loggingService.query(createQuery().offset(offset).limit(limit));
+                }
+            });
+            logsTableView.setItems(logs);
+        } else {
+            logs.reset();
+        }
         updateTotalLogsLabel();
     }
     
+    /**
+     * Create a query for the logs matching the current filter, in the current order
+     * @return The query
+     */
+    private LogQuery createQuery() {
+        LogQuery query = new LogQuery().newestFirst(newestFirst);
+        if (filterStaffId != null) {
+            query.staffId(filterStaffId);
+        }
+        if (filterAction != null) {
+            query.action(filterAction);
+        }
+        if (filterDate != null) {
+            query.from(filterDate.atStartOfDay()).to(filterDate.plusDays(1).atStartOfDay());
+        }
+        return query;
+    }
+    
     /**
      * Populate the filter comboboxes with available options
      */
     private void populateFilterComboBoxes() {
         // Populate staff filter
-        Set<String> staffNames = new HashSet<>();
+        staffIdsByName = new LinkedHashMap<>();
+        for (Staff staff : loggingService.getLoggedStaff()) {
+            staffIdsByName.put(staff.getFullName(), staff.getId());
+        }
+        List<String> staffNames = new ArrayList<>();
         staffNames.add("All Staff");
+        staffNames.addAll(staffIdsByName.keySet());
         
         // Populate action filter
-        Set<String> actions = new HashSet<>();
+        List<String> actions = new ArrayList<>();
         actions.add("All Actions");
-        
-        for (ActionLog log : allLogs) {
-            staffNames.add(log.getStaff().getFullName());
-            actions.add(log.getAction());
-        }
+        actions.addAll(loggingService.getLoggedActions());
         
         staffComboBox.setItems(FXCollections.observableArrayList(staffNames));
         staffComboBox.getSelectionModel().selectFirst();
@@ -137,7 +209,7 @@ public class ViewLogsController {
      * Update the total logs label
      */
     private void updateTotalLogsLabel() {
-        totalLogsLabel.setText("Total Logs: " + logsTableView.getItems().size());
+        totalLogsLabel.setText("Total Logs: " + logs.size());
     }
     
     /**
@@ -150,15 +222,12 @@ public class ViewLogsController {
         String selectedAction = actionComboBox.getValue();
         LocalDate selectedDate = datePicker.getValue();
         
-        List<ActionLog> filteredLogs = allLogs.stream()
-            .filter(log -> "All Staff".equals(selectedStaff) || log.getStaff().getFullName().equals(selectedStaff))
-            .filter(log -> "All Actions".equals(selectedAction) || log.getAction().equals(selectedAction))
-            .filter(log -> selectedDate == null || 
-                   (log.getTimestamp().toLocalDate().equals(selectedDate)))
-            .collect(Collectors.toList());
+        filterStaffId = selectedStaff != null && !"All Staff".equals(selectedStaff)
+                ? staffIdsByName.get(selectedStaff) : null;
+        filterAction = selectedAction != null && !"All Actions".equals(selectedAction) ? selectedAction : null;
+        filterDate = selectedDate;
         
-        logsTableView.setItems(FXCollections.observableArrayList(filteredLogs));
-        updateTotalLogsLabel();
+        loadLogs();
     }
     
     /**
@@ -170,8 +239,10 @@ public class ViewLogsController {
         staffComboBox.getSelectionModel().selectFirst();
         actionComboBox.getSelectionModel().selectFirst();
         datePicker.setValue(null);
-        logsTableView.setItems(allLogs);
-        updateTotalLogsLabel();
+        filterStaffId = null;
+        filterAction = null;
+        filterDate = null;
+        loadLogs();
     }
     
     /**
@@ -20,7 +20,7 @@ import java.time.format.DateTimeFormatter;
 /**
  * Controller for the view patient view
  */
-public class ViewPatientController {
+public class ViewPatientController implements ReusableDialog {
     private static final Logger logger = LoggerFactory.getLogger(ViewPatientController.class);
     
     @FXML
@@ -75,6 +75,16 @@ public class ViewPatientController {
         // Clear labels initially
         clearLabels();
     }
+
+    /**
+     * Reset the dialog before it is shown again
+     */
+    @Override
+    public void reset() {
+        patientComboBox.setValue(null);
+        patientComboBox.setItems(FXCollections.observableArrayList(careHomeService.getAllPatients()));
+        clearLabels();
+    }
     
     /**
      * Display patient details
@@ -22,7 +22,7 @@ import java.util.stream.Collectors;
 /**
  * Controller for the view prescriptions view
  */
-public class ViewPrescriptionsController {
+public class ViewPrescriptionsController implements ReusableDialog {
     private static final Logger logger = LoggerFactory.getLogger(ViewPrescriptionsController.class);
     
     @FXML
@@ -102,6 +102,15 @@ public class ViewPrescriptionsController {
             }
         });
     }
+
+    /**
+     * Reset the dialog before it is shown again
+     */
+    @Override
+    public void reset() {
+        patientComboBox.setValue(null);
+        patientComboBox.setItems(FXCollections.observableArrayList(careHomeService.getAllPatients()));
+    }
     
     /**
      * Update the prescriptions list for the selected patient
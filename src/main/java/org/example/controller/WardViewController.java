@@ -1,5 +1,6 @@
 package org.example.controller;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -12,18 +13,33 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
+import org.example.event.BedChangedEvent;
+import org.example.event.EventBus;
 import org.example.model.Bed;
 import org.example.model.Gender;
+import org.example.model.Patient;
 import org.example.model.Room;
 import org.example.model.Ward;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Controller for the ward view
+ *
+ * The rooms and beds are built once. After that the view subscribes to bed change events
+ * and redraws only the beds that changed, so the cost of a refresh depends on the number of
+ * changes and not on the size of the ward. Events that arrive together are applied in one
+ * pass on the JavaFX application thread.
  */
 public class WardViewController {
     private static final Logger logger = LoggerFactory.getLogger(WardViewController.class);
+    private static final Duration UPDATE_WINDOW = Duration.ofMillis(50);
 
     @FXML
     private Label wardNameLabel;
@@ -32,6 +48,8 @@ public class WardViewController {
     private GridPane roomsGrid;
 
     private Ward ward;
+    private final Map<String, StackPane> bedPanes = new HashMap<>();
+    private EventBus.Subscription bedSubscription;
 
     /**
      * Initialize the controller
@@ -51,6 +69,46 @@ public class WardViewController {
         
         // Display the rooms and beds
         displayRooms();
+
+        bedSubscription = EventBus.getInstance().subscribeCoalesced(BedChangedEvent.class, UPDATE_WINDOW,
+                events -> Platform.runLater(() -> applyBedChanges(events)));
+    }
+
+    /**
+     * Stop receiving bed change events. Called when the view is no longer shown.
+     */
+    public void dispose() {
+        if (bedSubscription != null) {
+            bedSubscription.cancel();
+            bedSubscription = null;
+        }
+    }
+
+    /**
+     * Redraw a single bed
+     * @param bed The bed
+     */
+    public void updateBed(Bed bed) {
+        StackPane bedPane = bedPanes.get(bed.getId());
+        if (bedPane != null) {
+            renderBed(bedPane, bed);
+        }
+    }
+
+    /**
+     * Redraw each bed of this ward changed by a batch of events, once
+     * @param events The events
+     */
+    private void applyBedChanges(List<BedChangedEvent> events) {
+        Map<String, Bed> changed = new LinkedHashMap<>();
+        for (BedChangedEvent event : events) {
+            for (Bed bed : event.getChangedBeds()) {
+                changed.put(bed.getId(), bed);
+            }
+        }
+        for (Bed bed : changed.values()) {
+            updateBed(bed);
+        }
     }
 
     /**
@@ -58,6 +116,7 @@ public class WardViewController {
      */
     private void displayRooms() {
         roomsGrid.getChildren().clear();
+        bedPanes.clear();
         
         int rowIndex = 0;
         int colIndex = 0;
@@ -132,6 +191,28 @@ public class WardViewController {
     private StackPane createBedPane(Bed bed) {
         StackPane bedPane = new StackPane();
         bedPane.setPrefSize(100, 60);
+        renderBed(bedPane, bed);
+        
+        // Add a click handler to show patient details
+        bedPane.setOnMouseClicked(event -> {
+            if (bed.isOccupied()) {
+                showPatientDetails(bed);
+            } else {
+                showAlert(Alert.AlertType.INFORMATION, "Vacant Bed", "Bed " + bed.getName(), "This bed is vacant.");
+            }
+        });
+        
+        bedPanes.put(bed.getId(), bedPane);
+        return bedPane;
+    }
+
+    /**
+     * Draw the contents of a bed pane for the bed's current patient
+     * @param bedPane The bed pane
+     * @param bed The bed
+     */
+    private void renderBed(StackPane bedPane, Bed bed) {
+        Patient patient = bed.getPatient();
         
         // Create a rectangle for the bed
         Rectangle bedRect = new Rectangle(100, 60);
@@ -139,8 +220,8 @@ public class WardViewController {
         bedRect.setArcHeight(10);
         
         // Set the color based on occupancy and gender
-        if (bed.isOccupied()) {
-            if (bed.getPatient().getGender() == Gender.MALE) {
+        if (patient != null) {
+            if (patient.getGender() == Gender.MALE) {
                 bedRect.setFill(Color.DARKBLUE); // More vibrant blue
             } else {
                 bedRect.setFill(Color.RED); // More vibrant pink
@@ -158,11 +239,11 @@ public class WardViewController {
         Label bedLabel = new Label(bed.getName());
         bedLabel.setFont(new Font("System Bold", 12));
         
-        Label patientLabel = new Label(bed.isOccupied() ? bed.getPatient().getFullName() : "Vacant");
+        Label patientLabel = new Label(patient != null ? patient.getFullName() : "Vacant");
         patientLabel.setFont(new Font("System", 10));
         
         // Set text color for better visibility
-        if (bed.isOccupied() && bed.getPatient().getGender() == Gender.MALE) {
+        if (patient != null && patient.getGender() == Gender.MALE) {
             bedLabel.setTextFill(Color.WHITE);
             patientLabel.setTextFill(Color.WHITE);
         }
@@ -170,18 +251,7 @@ public class WardViewController {
         labelBox.getChildren().addAll(bedLabel, patientLabel);
         
         // Add the rectangle and label to the pane
-        bedPane.getChildren().addAll(bedRect, labelBox);
-        
-        // Add a click handler to show patient details
-        bedPane.setOnMouseClicked(event -> {
-            if (bed.isOccupied()) {
-                showPatientDetails(bed);
-            } else {
-                showAlert(Alert.AlertType.INFORMATION, "Vacant Bed", "Bed " + bed.getName(), "This bed is vacant.");
-            }
-        });
-        
-        return bedPane;
+        bedPane.getChildren().setAll(bedRect, labelBox);
     }
 
     /**
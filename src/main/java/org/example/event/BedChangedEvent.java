@@ -0,0 +1,29 @@
+package org.example.event;
+
+import org.example.model.Bed;
+import org.example.model.Patient;
+import org.example.model.Staff;
+
+import java.util.List;
+
+/**
+ * Base class for events that change which patient is in one or more beds
+ */
+public abstract class BedChangedEvent extends DomainEvent {
+    private final Patient patient;
+
+    protected BedChangedEvent(Staff staff, Patient patient) {
+        super(staff);
+        this.patient = patient;
+    }
+
+    public Patient getPatient() {
+        return patient;
+    }
+
+    /**
+     * Get the beds whose patient changed
+     * @return The changed beds
+     */
+    public abstract List<Bed> getChangedBeds();
+}
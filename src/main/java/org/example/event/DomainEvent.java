@@ -0,0 +1,30 @@
+package org.example.event;
+
+import org.example.model.Staff;
+
+import java.time.LocalDateTime;
+
+/**
+ * Base class for events published by the service layer after a change has been committed
+ */
+public abstract class DomainEvent {
+    private final Staff staff;
+    private final LocalDateTime timestamp;
+
+    protected DomainEvent(Staff staff) {
+        this.staff = staff;
+        this.timestamp = LocalDateTime.now();
+    }
+
+    /**
+     * Get the staff member who made the change
+     * @return The staff member, or null if not known
+     */
+    public Staff getStaff() {
+        return staff;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+}
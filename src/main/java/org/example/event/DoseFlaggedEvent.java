@@ -0,0 +1,20 @@
+package org.example.event;
+
+import org.example.model.FlaggedDose;
+import org.example.model.Staff;
+
+/**
+ * Event published when a dose is found to have been given late or missed
+ */
+public class DoseFlaggedEvent extends DomainEvent {
+    private final FlaggedDose dose;
+
+    public DoseFlaggedEvent(Staff staff, FlaggedDose dose) {
+        super(staff);
+        this.dose = dose;
+    }
+
+    public FlaggedDose getDose() {
+        return dose;
+    }
+}
@@ -0,0 +1,248 @@
+package org.example.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus for domain events
+ * Implemented as a Singleton
+ *
+ * Subscribers register for an event class and receive events of that class and its
+ * subclasses. Subscribers of an event's own class are called before subscribers of its
+ * superclasses. There are three kinds of subscriber:
+ * - synchronous subscribers are called on the publishing thread before publish returns
+ * - asynchronous subscribers are called on the bus's dispatch thread, in publish order
+ * - coalescing subscribers are called on the dispatch thread with every event published
+ *   during a time window, so a burst of events is handled in one go
+ *
+ * A subscriber that throws is logged and does not affect the publisher or other subscribers.
+ */
+public class EventBus {
+    private static final Logger logger = LoggerFactory.getLogger(EventBus.class);
+    private static volatile EventBus instance;
+
+    private final Map<Class<?>, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final List<CoalescingSubscriber<?>> coalescingSubscribers = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService dispatcher;
+
+    /**
+     * A registered subscriber, which can be cancelled
+     */
+    public interface Subscription {
+        /**
+         * Stop delivering events to the subscriber
+         */
+        void cancel();
+    }
+
+    /**
+     * Constructor for a bus with its own dispatch thread
+     */
+    EventBus() {
+        dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "domain-event-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get the singleton instance
+     * @return The singleton instance
+     */
+    public static EventBus getInstance() {
+        EventBus result = instance;
+        if (result == null) {
+            synchronized (EventBus.class) {
+                result = instance;
+                if (result == null) {
+                    result = new EventBus();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Subscribe to events on the publishing thread
+     * @param type The event class
+     * @param handler Called with each event
+     * @return The subscription
+     */
+    public <E extends DomainEvent> Subscription subscribe(Class<E> type, Consumer<? super E> handler) {
+        return register(type, new Subscriber(type) {
+            @Override
+            void deliver(DomainEvent event) {
+                handle(handler, type.cast(event));
+            }
+        });
+    }
+
+    /**
+     * Subscribe to events on the dispatch thread
+     * @param type The event class
+     * @param handler Called with each event
+     * @return The subscription
+     */
+    public <E extends DomainEvent> Subscription subscribeAsync(Class<E> type, Consumer<? super E> handler) {
+        return register(type, new Subscriber(type) {
+            @Override
+            void deliver(DomainEvent event) {
+                dispatcher.execute(() -> {
+                    if (isActive()) {
+                        handle(handler, type.cast(event));
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Subscribe to batches of events on the dispatch thread. The first event after a quiet
+     * period starts a window, and every event published before the window ends is delivered
+     * with it in one batch.
+     * @param type The event class
+     * @param window How long to gather events for
+     * @param handler Called with each batch, in publish order
+     * @return The subscription
+     */
+    public <E extends DomainEvent> Subscription subscribeCoalesced(Class<E> type, Duration window,
+                                                                   Consumer<List<E>> handler) {
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("Window must not be negative");
+        }
+        CoalescingSubscriber<E> subscriber = new CoalescingSubscriber<>(type, window, handler);
+        coalescingSubscribers.add(subscriber);
+        return register(type, subscriber);
+    }
+
+    /**
+     * Publish an event to every subscriber of its class or a superclass
+     * @param event The event
+     */
+    public void publish(DomainEvent event) {
+        for (Class<?> type = event.getClass(); DomainEvent.class.isAssignableFrom(type); type = type.getSuperclass()) {
+            List<Subscriber> typeSubscribers = subscribers.get(type);
+            if (typeSubscribers != null) {
+                for (Subscriber subscriber : typeSubscribers) {
+                    subscriber.deliver(event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deliver any events gathered by coalescing subscribers now, and wait until every event
+     * published before this call has been handled by the asynchronous subscribers
+     */
+    public void flush() {
+        for (CoalescingSubscriber<?> subscriber : coalescingSubscribers) {
+            dispatcher.execute(subscriber::fire);
+        }
+        try {
+            dispatcher.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Could not flush domain events", e);
+        }
+    }
+
+    private Subscription register(Class<?> type, Subscriber subscriber) {
+        subscribers.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>()).add(subscriber);
+        return subscriber;
+    }
+
+    private static <E> void handle(Consumer<? super E> handler, E event) {
+        try {
+            handler.accept(event);
+        } catch (RuntimeException e) {
+            logger.error("Event subscriber failed for " + event.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Base class for subscribers
+     */
+    private abstract class Subscriber implements Subscription {
+        private final Class<?> type;
+        private volatile boolean active = true;
+
+        Subscriber(Class<?> type) {
+            this.type = type;
+        }
+
+        abstract void deliver(DomainEvent event);
+
+        boolean isActive() {
+            return active;
+        }
+
+        @Override
+        public void cancel() {
+            active = false;
+            List<Subscriber> typeSubscribers = subscribers.get(type);
+            if (typeSubscribers != null) {
+                typeSubscribers.remove(this);
+            }
+            coalescingSubscribers.remove(this);
+        }
+    }
+
+    /**
+     * Subscriber that gathers events and delivers them in batches
+     */
+    private class CoalescingSubscriber<E extends DomainEvent> extends Subscriber {
+        private final Class<E> eventType;
+        private final long windowNanos;
+        private final Consumer<List<E>> handler;
+        // Guarded by this subscriber's lock
+        private List<E> pending = new ArrayList<>();
+
+        CoalescingSubscriber(Class<E> eventType, Duration window, Consumer<List<E>> handler) {
+            super(eventType);
+            this.eventType = eventType;
+            this.windowNanos = window.toNanos();
+            this.handler = handler;
+        }
+
+        @Override
+        void deliver(DomainEvent event) {
+            boolean first;
+            synchronized (this) {
+                first = pending.isEmpty();
+                pending.add(eventType.cast(event));
+            }
+            if (first) {
+                dispatcher.schedule(this::fire, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        void fire() {
+            List<E> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+            }
+            if (isActive()) {
+                handle(handler, batch);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.event;
+
+import org.example.model.MedicationAdministration;
+import org.example.model.Staff;
+
+/**
+ * Event published when a medication is administered to a patient
+ */
+public class MedicationAdministeredEvent extends DomainEvent {
+    private final MedicationAdministration administration;
+
+    public MedicationAdministeredEvent(Staff staff, MedicationAdministration administration) {
+        super(staff);
+        this.administration = administration;
+    }
+
+    public MedicationAdministration getAdministration() {
+        return administration;
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.event;
+
+import org.example.model.Bed;
+import org.example.model.Patient;
+import org.example.model.Staff;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Event published when a patient is admitted to a bed
+ */
+public class PatientAdmittedEvent extends BedChangedEvent {
+    private final Bed bed;
+
+    public PatientAdmittedEvent(Staff staff, Patient patient, Bed bed) {
+        super(staff, patient);
+        this.bed = bed;
+    }
+
+    public Bed getBed() {
+        return bed;
+    }
+
+    @Override
+    public List<Bed> getChangedBeds() {
+        return Collections.singletonList(bed);
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.event;
+
+import org.example.model.Bed;
+import org.example.model.Patient;
+import org.example.model.Staff;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Event published when a patient is moved to a different bed
+ */
+public class PatientMovedEvent extends BedChangedEvent {
+    private final Bed fromBed;
+    private final Bed toBed;
+
+    public PatientMovedEvent(Staff staff, Patient patient, Bed fromBed, Bed toBed) {
+        super(staff, patient);
+        this.fromBed = fromBed;
+        this.toBed = toBed;
+    }
+
+    public Bed getFromBed() {
+        return fromBed;
+    }
+
+    public Bed getToBed() {
+        return toBed;
+    }
+
+    @Override
+    public List<Bed> getChangedBeds() {
+        return Arrays.asList(fromBed, toBed);
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.event;
+
+import org.example.model.Medication;
+import org.example.model.Patient;
+import org.example.model.Prescription;
+import org.example.model.Staff;
+
+/**
+ * Event published when a prescription is added, or a medication or administration time
+ * is added to one
+ */
+public class PrescriptionChangedEvent extends DomainEvent {
+    private final Prescription prescription;
+    private final Medication medication;
+
+    /**
+     * Constructor
+     * @param staff The staff member who made the change
+     * @param prescription The prescription, or null if the medication is not on one
+     * @param medication The medication that changed, or null if the whole prescription was added
+     */
+    public PrescriptionChangedEvent(Staff staff, Prescription prescription, Medication medication) {
+        super(staff);
+        this.prescription = prescription;
+        this.medication = medication;
+    }
+
+    public Prescription getPrescription() {
+        return prescription;
+    }
+
+    public Medication getMedication() {
+        return medication;
+    }
+
+    /**
+     * Get the patient the prescription is for
+     * @return The patient, or null if the medication is not on a prescription
+     */
+    public Patient getPatient() {
+        return prescription != null ? prescription.getPatient() : null;
+    }
+}
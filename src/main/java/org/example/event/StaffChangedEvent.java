@@ -0,0 +1,29 @@
+package org.example.event;
+
+import org.example.model.Staff;
+
+/**
+ * Event published when a staff member is added or updated
+ */
+public class StaffChangedEvent extends DomainEvent {
+    private final Staff member;
+    private final boolean added;
+
+    public StaffChangedEvent(Staff staff, Staff member, boolean added) {
+        super(staff);
+        this.member = member;
+        this.added = added;
+    }
+
+    /**
+     * Get the staff member who was added or updated
+     * @return The staff member
+     */
+    public Staff getMember() {
+        return member;
+    }
+
+    public boolean isAdded() {
+        return added;
+    }
+}
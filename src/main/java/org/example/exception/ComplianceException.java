@@ -1,10 +1,32 @@
 package org.example.exception;
 
+import org.example.service.ComplianceReport;
+
 /**
  * Exception thrown when compliance rules are violated
  */
 public class ComplianceException extends Exception {
+    private final transient ComplianceReport report;
+
     public ComplianceException(String message) {
+        this(message, null);
+    }
+
+    /**
+     * Constructor for a failed check with a full report
+     * @param message The message of the first violation
+     * @param report The report of every violation
+     */
+    public ComplianceException(String message, ComplianceReport report) {
         super(message);
+        this.report = report;
+    }
+
+    /**
+     * Get the report of every violation
+     * @return The report, or null if the check did not produce one
+     */
+    public ComplianceReport getReport() {
+        return report;
     }
 }
@@ -2,67 +2,208 @@ package org.example.model;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 /**
  * Class representing a log of an action performed in the system
+ *
+ * A log is kept compact: the staff member is stored by ID, the action as an interned code,
+ * the time as a single long and the details as the fields of the action's message template.
+ * The details message is only built when it is asked for, normally when the log is displayed.
+ * The staff member object is held as a transient link, so it is never serialized with the log.
  */
 public class ActionLog implements Serializable {
-    private String id;
-    private String action;
-    private Staff staff;
-    private LocalDateTime timestamp;
-    private String details;
+    private static final String ID_PREFIX = "LOG-";
+    private static final String[] NO_FIELDS = new String[0];
 
+    private long sequence;
+    private final String action;
+    private final ActionType type;
+    private final String staffId;
+    private transient Staff staff;
+    // Nanoseconds since the epoch on the local time line
+    private long timestamp;
+    // Where the log sits on the time line of its log sequence, not saved with the log
+    private transient long orderTimestamp;
+    private final String[] fields;
+
+    /**
+     * Constructor for a log with free-text details
+     */
     public ActionLog(String id, String action, Staff staff, LocalDateTime timestamp, String details) {
-        this.id = id;
-        this.action = action;
+        this(sequenceOf(id), null, action, staff != null ? staff.getId() : null, toEpochNanos(timestamp),
+                details != null ? new String[] {details} : NO_FIELDS);
+        this.staff = staff;
+    }
+
+    /**
+     * Constructor for a log whose details are rendered from the action's message template
+     */
+    public ActionLog(ActionType type, Staff staff, LocalDateTime timestamp, Object... fields) {
+        this(0, type, type.name(), staff != null ? staff.getId() : null, toEpochNanos(timestamp), toStrings(fields));
         this.staff = staff;
+    }
+
+    /**
+     * Constructor used when reading a stored log
+     * @param sequence The sequence number, or 0 if not yet assigned
+     * @param type The action type, or null if the details are free text
+     * @param action The action code
+     * @param staffId The ID of the staff member, or null if none
+     * @param timestamp The time in nanoseconds since the epoch on the local time line
+     * @param fields The template fields, or the free-text details as a single field
+     */
+    public ActionLog(long sequence, ActionType type, String action, String staffId, long timestamp, String[] fields) {
+        this.sequence = sequence;
+        this.type = type;
+        this.action = action != null ? action.intern() : null;
+        this.staffId = staffId != null ? staffId.intern() : null;
         this.timestamp = timestamp;
-        this.details = details;
+        this.orderTimestamp = timestamp;
+        this.fields = fields;
     }
 
     public String getId() {
-        return id;
+        return sequence > 0 ? ID_PREFIX + sequence : null;
+    }
+
+    public long getSequence() {
+        return sequence;
     }
 
-    public void setId(String id) {
-        this.id = id;
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
     }
 
     public String getAction() {
         return action;
     }
 
-    public void setAction(String action) {
-        this.action = action;
+    /**
+     * Get the action type
+     * @return The action type, or null if the log has free-text details
+     */
+    public ActionType getType() {
+        return type;
+    }
+
+    public String getStaffId() {
+        return staffId;
     }
 
+    /**
+     * Get the staff member who performed the action
+     * @return The staff member, or null if unknown or not yet resolved from the staff ID
+     */
     public Staff getStaff() {
         return staff;
     }
 
+    /**
+     * Link the log to the staff member with its staff ID
+     * @param staff The staff member
+     */
     public void setStaff(Staff staff) {
+        if (staff != null && !staff.getId().equals(staffId)) {
+            throw new IllegalArgumentException("Staff member " + staff.getId() + " did not perform this action");
+        }
         this.staff = staff;
     }
 
     public LocalDateTime getTimestamp() {
-        return timestamp;
+        return fromEpochNanos(timestamp);
     }
 
     public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = toEpochNanos(timestamp);
+    }
+
+    /**
+     * Get the time as nanoseconds since the epoch on the local time line
+     * @return The packed timestamp
+     */
+    public long getTimestampNanos() {
+        return timestamp;
+    }
+
+    public void setTimestampNanos(long timestamp) {
         this.timestamp = timestamp;
     }
 
+    /**
+     * Get the time used to find the log by time in a sequence of logs: its own time, or the
+     * latest time of an earlier log in the sequence if that is later. Logs taken at the same
+     * moment on different threads can be sequenced in a slightly different order.
+     * @return The packed order time
+     */
+    public long getOrderTimestampNanos() {
+        return orderTimestamp;
+    }
+
+    public void setOrderTimestampNanos(long orderTimestamp) {
+        this.orderTimestamp = orderTimestamp;
+    }
+
+    /**
+     * Get the detail fields. For a log with free-text details this is the text as a single field.
+     * @return A copy of the detail fields
+     */
+    public String[] getFields() {
+        return fields.clone();
+    }
+
+    /**
+     * Get the details of the action, rendered from the detail fields
+     * @return The details
+     */
     public String getDetails() {
-        return details;
+        if (type != null) {
+            return type.render(fields);
+        }
+        return fields.length > 0 ? fields[0] : null;
+    }
+
+    /**
+     * Convert a time to nanoseconds since the epoch on the local time line
+     * @param time The time
+     * @return The packed time
+     */
+    public static long toEpochNanos(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    /**
+     * Convert nanoseconds since the epoch on the local time line back to a time
+     * @param nanos The packed time
+     * @return The time
+     */
+    public static LocalDateTime fromEpochNanos(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    private static long sequenceOf(String id) {
+        if (id != null && id.startsWith(ID_PREFIX)) {
+            try {
+                return Long.parseLong(id.substring(ID_PREFIX.length()));
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 0;
     }
 
-    public void setDetails(String details) {
-        this.details = details;
+    private static String[] toStrings(Object[] values) {
+        String[] strings = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            strings[i] = String.valueOf(values[i]);
+        }
+        return strings;
     }
 
     @Override
     public String toString() {
-        return timestamp + " - " + action + " by " + staff.getFullName() + ": " + details;
+        String staffName = staff != null ? staff.getFullName() : (staffId != null ? staffId : "Unknown");
+        return getTimestamp() + " - " + action + " by " + staffName + ": " + getDetails();
     }
 }
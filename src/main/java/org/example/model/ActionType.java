@@ -0,0 +1,58 @@
+package org.example.model;
+
+/**
+ * Enum representing the kinds of action recorded in the audit log, with the message
+ * template used to describe each one. Placeholders {0}, {1}, ... are filled from the
+ * detail fields stored in the log.
+ */
+public enum ActionType {
+    ADD_STAFF("Added staff member {0} ({1})"),
+    UPDATE_STAFF("Updated staff member {0} ({1})"),
+    ADD_PATIENT("Added patient {0} to {1}"),
+    MOVE_PATIENT("Moved patient {0} from {1} to {2}"),
+    DISCHARGE_PATIENT("Discharged patient {0} from {1}"),
+    ADD_PRESCRIPTION("Added prescription for patient {0}"),
+    ADD_MEDICATION("Added medication {0} to prescription for patient {1}"),
+    ADD_ADMINISTRATION_TIME("Added administration time {0} to medication {1}"),
+    ADMINISTER_MEDICATION("Administered medication {0} to patient {1}"),
+    DOSE_LATE("Dose of {0} for patient {1} due at {2} was given {3} minutes late"),
+    DOSE_MISSED("Dose of {0} for patient {1} due at {2} was missed"),
+    ASSIGN_WARD("Assigned staff member {0} to ward {1}"),
+    ADD_LEAVE("Added leave for staff member {0} from {1} to {2}"),
+    ADD_COVER("Added cover shift for staff member {0} on {1}"),
+    SWAP_SHIFTS("Swapped shifts of staff member {0} to {1} on {2}"),
+    GENERATE_ROSTER("Generated the weekly roster for {0} staff members with a spread of {1} shifts");
+
+    private final String template;
+
+    ActionType(String template) {
+        this.template = template;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Build the description of an action from its detail fields
+     * @param fields The detail fields
+     * @return The description
+     */
+    public String render(String[] fields) {
+        StringBuilder builder = new StringBuilder(template.length() + 32);
+        int i = 0;
+        while (i < template.length()) {
+            char c = template.charAt(i);
+            int close = c == '{' ? template.indexOf('}', i) : -1;
+            if (close > i + 1) {
+                int field = Integer.parseInt(template.substring(i + 1, close));
+                builder.append(field < fields.length ? fields[field] : "?");
+                i = close + 1;
+            } else {
+                builder.append(c);
+                i++;
+            }
+        }
+        return builder.toString();
+    }
+}
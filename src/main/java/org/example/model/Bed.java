@@ -1,15 +1,22 @@
 package org.example.model;
 
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Class representing a bed in a room
  */
 public class Bed implements Serializable {
+    // Matches the data files written before the bed state became atomic
+    private static final long serialVersionUID = 3270211277080286971L;
+
+    private static final AtomicReferenceFieldUpdater<Bed, Patient> PATIENT =
+            AtomicReferenceFieldUpdater.newUpdater(Bed.class, Patient.class, "patient");
+
     private String id;
     private String name;
     private Room room;
-    private Patient patient;
+    private volatile Patient patient;
 
     public Bed(String id, String name, Room room) {
         this.id = id;
@@ -52,11 +59,10 @@ public class Bed implements Serializable {
      * @return true if the patient was assigned, false if the bed is already occupied
      */
     public boolean assignPatient(Patient patient) {
-        if (this.patient != null) {
-            return false;
+        if (room != null && room.hasBed(this)) {
+            return room.occupy(this, patient);
         }
-        this.patient = patient;
-        return true;
+        return PATIENT.compareAndSet(this, null, patient);
     }
 
     /**
@@ -64,9 +70,19 @@ public class Bed implements Serializable {
      * @return The patient that was removed, or null if the bed was vacant
      */
     public Patient removePatient() {
-        Patient removedPatient = this.patient;
-        this.patient = null;
-        return removedPatient;
+        if (room != null && room.hasBed(this)) {
+            return room.vacate(this);
+        }
+        return swapPatient(null);
+    }
+
+    /**
+     * Replace the patient in this bed. Used by the room once it has claimed or released the bed.
+     * @param patient The new patient, or null to vacate
+     * @return The previous patient
+     */
+    Patient swapPatient(Patient patient) {
+        return PATIENT.getAndSet(this, patient);
     }
 
     /**
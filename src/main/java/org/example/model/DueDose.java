@@ -0,0 +1,57 @@
+package org.example.model;
+
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * Class representing a scheduled dose of a medication for a patient at a time of day
+ */
+public class DueDose {
+    private final Patient patient;
+    private final Medication medication;
+    private final LocalTime time;
+    private final String wardId;
+
+    public DueDose(Patient patient, Medication medication, LocalTime time, String wardId) {
+        this.patient = patient;
+        this.medication = medication;
+        this.time = time;
+        this.wardId = wardId;
+    }
+
+    public Patient getPatient() {
+        return patient;
+    }
+
+    public Medication getMedication() {
+        return medication;
+    }
+
+    public LocalTime getTime() {
+        return time;
+    }
+
+    public String getWardId() {
+        return wardId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DueDose dueDose = (DueDose) o;
+        return Objects.equals(patient.getId(), dueDose.patient.getId()) &&
+                Objects.equals(medication.getId(), dueDose.medication.getId()) &&
+                Objects.equals(time, dueDose.time);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(patient.getId(), medication.getId(), time);
+    }
+
+    @Override
+    public String toString() {
+        return time + " - " + medication + " for " + patient.getFullName();
+    }
+}
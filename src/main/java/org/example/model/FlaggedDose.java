@@ -0,0 +1,73 @@
+package org.example.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Class representing a dose that was given late or not given at all
+ */
+public class FlaggedDose {
+    private final Patient patient;
+    private final Medication medication;
+    private final LocalDateTime dueAt;
+    private final MedicationAdministration administration;
+
+    /**
+     * Constructor
+     * @param patient The patient
+     * @param medication The medication
+     * @param dueAt When the dose was due
+     * @param administration The late administration, or null if the dose was missed
+     */
+    public FlaggedDose(Patient patient, Medication medication, LocalDateTime dueAt,
+                       MedicationAdministration administration) {
+        this.patient = patient;
+        this.medication = medication;
+        this.dueAt = dueAt;
+        this.administration = administration;
+    }
+
+    public Patient getPatient() {
+        return patient;
+    }
+
+    public Medication getMedication() {
+        return medication;
+    }
+
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+
+    /**
+     * Get the administration that was given late
+     * @return The administration, or null if the dose was missed
+     */
+    public MedicationAdministration getAdministration() {
+        return administration;
+    }
+
+    /**
+     * Check if the dose was not given at all
+     * @return true if missed, false if given late
+     */
+    public boolean isMissed() {
+        return administration == null;
+    }
+
+    /**
+     * Get how late the dose was given
+     * @return The number of minutes, or 0 if the dose was missed
+     */
+    public long getMinutesLate() {
+        return administration != null
+                ? Duration.between(dueAt, administration.getAdministrationDateTime()).toMinutes()
+                : 0;
+    }
+
+    @Override
+    public String toString() {
+        return dueAt + " - " + medication + " for " + patient.getFullName() +
+                (isMissed() ? " missed" : " given " + getMinutesLate() + " minutes late");
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Class representing the admission and discharge dates of a patient's stay,
+ * without the rest of the patient record
+ */
+public class PatientStay implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String patientId;
+    private final String patientName;
+    private final LocalDate admissionDate;
+    private final LocalDate dischargeDate;
+
+    public PatientStay(String patientId, String patientName, LocalDate admissionDate, LocalDate dischargeDate) {
+        this.patientId = patientId;
+        this.patientName = patientName;
+        this.admissionDate = admissionDate;
+        this.dischargeDate = dischargeDate;
+    }
+
+    /**
+     * Create a stay from a patient record
+     * @param patient The patient
+     * @return The patient's stay
+     */
+    public static PatientStay of(Patient patient) {
+        return new PatientStay(patient.getId(), patient.getFullName(),
+                patient.getAdmissionDate(), patient.getDischargeDate());
+    }
+
+    public String getPatientId() {
+        return patientId;
+    }
+
+    public String getPatientName() {
+        return patientName;
+    }
+
+    public LocalDate getAdmissionDate() {
+        return admissionDate;
+    }
+
+    public LocalDate getDischargeDate() {
+        return dischargeDate;
+    }
+
+    /**
+     * Check if the patient has been discharged
+     * @return true if discharged, false otherwise
+     */
+    public boolean isDischarged() {
+        return dischargeDate != null;
+    }
+
+    /**
+     * Get the length of the stay in days
+     * @param asOf The date to measure to if the patient has not been discharged
+     * @return The number of days between admission and discharge (or the given date)
+     * @throws IllegalStateException if the admission date is not known
+     */
+    public long getLengthOfStayDays(LocalDate asOf) {
+        if (admissionDate == null) {
+            throw new IllegalStateException("Admission date of " + patientName + " is not known");
+        }
+        LocalDate end = dischargeDate != null ? dischargeDate : asOf;
+        return ChronoUnit.DAYS.between(admissionDate, end);
+    }
+
+    @Override
+    public String toString() {
+        return patientName + " (" + admissionDate + " - " + (dischargeDate != null ? dischargeDate : "present") + ")";
+    }
+}
@@ -42,6 +42,9 @@ public class Prescription implements Serializable {
         this.prescriptionDateTime = prescriptionDateTime;
         this.notes = notes;
         this.medications = new ArrayList<>(medications);
+        for (Medication medication : this.medications) {
+            medication.setPrescription(this);
+        }
     }
 
     public String getId() {
@@ -89,6 +92,7 @@ public class Prescription implements Serializable {
     }
 
     public void addMedication(Medication medication) {
+        medication.setPrescription(this);
         this.medications.add(medication);
     }
 
@@ -3,17 +3,72 @@ package org.example.model;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Class representing a room in a ward
+ *
+ * Bed occupancy and the genders and isolation needs of the occupants are packed into a single
+ * state word, which is only changed by compare-and-set. An admission checks the room and claims
+ * its bed in one step, so two simultaneous admissions can never both take a bed or mix genders.
  */
 public class Room implements Serializable {
+    // Matches the data files written before the bed state became atomic
+    private static final long serialVersionUID = 7282777423163219642L;
+
+    /**
+     * Maximum number of beds that fit in the room state word
+     */
+    public static final int MAX_BEDS = 16;
+
+    private static final int MALE_SHIFT = 16;
+    private static final int FEMALE_SHIFT = 32;
+    private static final int ISOLATION_SHIFT = 48;
+    private static final long BED_MASK = 0xFFFFL;
+
+    /**
+     * Outcome of an admission attempt
+     */
+    public enum AdmitResult {
+        ADMITTED,
+        BED_OCCUPIED,
+        GENDER_CONFLICT,
+        ISOLATION_CONFLICT,
+        ROOM_ISOLATED;
+
+        /**
+         * Turn a rejected admission into an exception with the reason
+         * @param verb The action being performed, such as "assign" or "move"
+         * @param bedLabel How to refer to the bed in the message
+         * @throws IllegalArgumentException If the patient was not admitted
+         */
+        public void requireAdmitted(String verb, String bedLabel) {
+            switch (this) {
+                case ADMITTED:
+                    return;
+                case BED_OCCUPIED:
+                    throw new IllegalArgumentException(bedLabel + " is already occupied");
+                case GENDER_CONFLICT:
+                    throw new IllegalArgumentException("Cannot " + verb + " patient to a room with patients of different gender");
+                case ISOLATION_CONFLICT:
+                    throw new IllegalArgumentException("Cannot " + verb + " patient requiring isolation to a shared room");
+                default:
+                    throw new IllegalArgumentException("Cannot " + verb + " patient to a room with a patient requiring isolation");
+            }
+        }
+    }
+
     private String id;
     private String number;
     private Ward ward;
     private List<Bed> beds;
+    // Rebuilt from the beds on first use, as it is not saved with the room
+    private transient volatile AtomicLong state;
 
     public Room(String id, String number, Ward ward, int numberOfBeds) {
+        if (numberOfBeds > MAX_BEDS) {
+            throw new IllegalArgumentException("A room cannot have more than " + MAX_BEDS + " beds");
+        }
         this.id = id;
         this.number = number;
         this.ward = ward;
@@ -78,6 +133,145 @@ public class Room implements Serializable {
         return (int) beds.stream().filter(Bed::isOccupied).count();
     }
 
+    /**
+     * Check if a patient could be admitted to a bed in this room, based on the current
+     * occupancy, the genders of the other patients and isolation needs
+     * @param bed The bed
+     * @param gender The patient's gender
+     * @param needsIsolation Whether the patient needs isolation
+     * @return The result an admission would have right now
+     */
+    public AdmitResult checkAdmission(Bed bed, Gender gender, boolean needsIsolation) {
+        return check(state().get(), bedBit(bed), gender, needsIsolation);
+    }
+
+    /**
+     * Admit a patient to a bed in this room if the bed is vacant and the room is suitable
+     * for the patient's gender and isolation needs. The check and the assignment happen
+     * atomically.
+     * @param bed The bed
+     * @param patient The patient
+     * @return ADMITTED if the patient was assigned, otherwise the reason they were not
+     */
+    public AdmitResult tryAdmit(Bed bed, Patient patient) {
+        return claim(bed, patient, true);
+    }
+
+    /**
+     * Claim a bed without checking the other patients in the room
+     * @param bed The bed
+     * @param patient The patient
+     * @return true if the bed was claimed, false if it is already occupied
+     */
+    boolean occupy(Bed bed, Patient patient) {
+        return claim(bed, patient, false) == AdmitResult.ADMITTED;
+    }
+
+    /**
+     * Release a bed
+     * @param bed The bed
+     * @return The patient that was removed, or null if the bed was vacant
+     */
+    Patient vacate(Bed bed) {
+        long bit = bedBit(bed);
+        AtomicLong current = state();
+        Patient removed = bed.swapPatient(null);
+        while (true) {
+            long value = current.get();
+            long cleared = value & ~(bit | bit << MALE_SHIFT | bit << FEMALE_SHIFT | bit << ISOLATION_SHIFT);
+            if (value == cleared || current.compareAndSet(value, cleared)) {
+                return removed;
+            }
+        }
+    }
+
+    /**
+     * Check if a bed belongs to this room's state word
+     * @param bed The bed
+     * @return true if the bed is one of this room's beds
+     */
+    boolean hasBed(Bed bed) {
+        return beds != null && beds.contains(bed);
+    }
+
+    private AdmitResult claim(Bed bed, Patient patient, boolean checkSuitability) {
+        long bit = bedBit(bed);
+        AtomicLong current = state();
+        while (true) {
+            long value = current.get();
+            AdmitResult result = checkSuitability
+                    ? check(value, bit, patient.getGender(), patient.isNeedsIsolation())
+                    : (value & bit) != 0 ? AdmitResult.BED_OCCUPIED : AdmitResult.ADMITTED;
+            if (result != AdmitResult.ADMITTED) {
+                return result;
+            }
+            if (current.compareAndSet(value, value | occupantBits(bit, patient))) {
+                bed.swapPatient(patient);
+                return AdmitResult.ADMITTED;
+            }
+        }
+    }
+
+    private AdmitResult check(long value, long bit, Gender gender, boolean needsIsolation) {
+        if ((value & bit) != 0) {
+            return AdmitResult.BED_OCCUPIED;
+        }
+        long otherBeds = value & BED_MASK & ~bit;
+        long otherGender = gender == Gender.MALE ? value >>> FEMALE_SHIFT : value >>> MALE_SHIFT;
+        if ((otherGender & BED_MASK & otherBeds) != 0) {
+            return AdmitResult.GENDER_CONFLICT;
+        }
+        if (otherBeds != 0 && needsIsolation && beds.size() > 1) {
+            return AdmitResult.ISOLATION_CONFLICT;
+        }
+        if (((value >>> ISOLATION_SHIFT) & otherBeds) != 0) {
+            return AdmitResult.ROOM_ISOLATED;
+        }
+        return AdmitResult.ADMITTED;
+    }
+
+    private static long occupantBits(long bit, Patient patient) {
+        long bits = bit;
+        if (patient.getGender() == Gender.MALE) {
+            bits |= bit << MALE_SHIFT;
+        } else if (patient.getGender() == Gender.FEMALE) {
+            bits |= bit << FEMALE_SHIFT;
+        }
+        if (patient.isNeedsIsolation()) {
+            bits |= bit << ISOLATION_SHIFT;
+        }
+        return bits;
+    }
+
+    private long bedBit(Bed bed) {
+        int index = beds.indexOf(bed);
+        if (index < 0) {
+            throw new IllegalArgumentException("Bed is not in room " + number);
+        }
+        return 1L << index;
+    }
+
+    private AtomicLong state() {
+        AtomicLong current = state;
+        if (current == null) {
+            synchronized (this) {
+                current = state;
+                if (current == null) {
+                    long value = 0;
+                    for (int i = 0; i < beds.size(); i++) {
+                        Patient patient = beds.get(i).getPatient();
+                        if (patient != null) {
+                            value |= occupantBits(1L << i, patient);
+                        }
+                    }
+                    current = new AtomicLong(value);
+                    state = current;
+                }
+            }
+        }
+        return current;
+    }
+
     @Override
     public String toString() {
         return ward.getName() + " - Room " + number;
@@ -0,0 +1,104 @@
+package org.example.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Class representing a dated change to the weekly roster as it is saved: a staff member's
+ * ward, a range of leave or a one-off cover shift. Staff members are stored by ID.
+ */
+public class RosterEntry implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The kinds of roster entry
+     */
+    public enum Kind {
+        WARD,
+        LEAVE,
+        COVER
+    }
+
+    private final Kind kind;
+    private final String staffId;
+    private final String wardId;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+
+    private RosterEntry(Kind kind, String staffId, String wardId, LocalDate from, LocalDate to,
+                        LocalTime startTime, LocalTime endTime) {
+        this.kind = kind;
+        this.staffId = staffId;
+        this.wardId = wardId;
+        this.from = from;
+        this.to = to;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    /**
+     * Create an entry for the ward a staff member is assigned to
+     * @param staffId The staff member's ID
+     * @param wardId The ward ID
+     * @return The entry
+     */
+    public static RosterEntry ward(String staffId, String wardId) {
+        return new RosterEntry(Kind.WARD, staffId, wardId, null, null, null, null);
+    }
+
+    /**
+     * Create an entry for a range of leave
+     * @param staffId The staff member's ID
+     * @param from The first date of leave
+     * @param to The last date of leave
+     * @return The entry
+     */
+    public static RosterEntry leave(String staffId, LocalDate from, LocalDate to) {
+        return new RosterEntry(Kind.LEAVE, staffId, null, from, to, null, null);
+    }
+
+    /**
+     * Create an entry for a cover shift
+     * @param staffId The staff member's ID
+     * @param wardId The ward, or null if none
+     * @param date The date the shift starts
+     * @param startTime The start time
+     * @param endTime The end time
+     * @return The entry
+     */
+    public static RosterEntry cover(String staffId, String wardId, LocalDate date, LocalTime startTime,
+                                    LocalTime endTime) {
+        return new RosterEntry(Kind.COVER, staffId, wardId, date, date, startTime, endTime);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getStaffId() {
+        return staffId;
+    }
+
+    public String getWardId() {
+        return wardId;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+}
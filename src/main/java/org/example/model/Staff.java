@@ -1,16 +1,28 @@
 package org.example.model;
 
 import java.time.LocalDate;
+import java.util.AbstractSet;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Abstract class representing a staff member in the care home
  */
 public abstract class Staff extends Person {
+    // Matches the data files written before staff carried a roster version
+    private static final long serialVersionUID = -6033241806964175257L;
+
+    // Roster versions are unique across all staff members, so a list of versions identifies
+    // both which staff members are on a roster and which version of their shifts it has
+    private static final AtomicLong ROSTER_VERSIONS = new AtomicLong();
+
     private String username;
     private String password;
     private Set<Shift> shifts;
+    private transient volatile long rosterVersion;
+    private transient Set<Shift> shiftsView;
 
     public Staff(String id, String firstName, String lastName, LocalDate dateOfBirth, Gender gender,
                 String username, String password) {
@@ -36,16 +48,56 @@ public abstract class Staff extends Person {
         this.password = password;
     }
 
+    /**
+     * Get the staff member's shifts. Changes made through the returned set update the roster
+     * version.
+     * @return The shifts
+     */
     public Set<Shift> getShifts() {
-        return shifts;
+        Set<Shift> view = shiftsView;
+        if (view == null) {
+            view = new ShiftSet();
+            shiftsView = view;
+        }
+        return view;
     }
 
     public void addShift(Shift shift) {
-        this.shifts.add(shift);
+        if (this.shifts.add(shift)) {
+            markRosterChanged();
+        }
     }
 
     public void removeShift(Shift shift) {
-        this.shifts.remove(shift);
+        if (this.shifts.remove(shift)) {
+            markRosterChanged();
+        }
+    }
+
+    /**
+     * Get the version of the staff member's shifts, which changes whenever a shift is added
+     * or removed
+     * @return The version
+     */
+    public long getRosterVersion() {
+        long version = rosterVersion;
+        if (version == 0) {
+            // Not yet stamped, such as after loading from a file
+            synchronized (this) {
+                if (rosterVersion == 0) {
+                    rosterVersion = ROSTER_VERSIONS.incrementAndGet();
+                }
+                version = rosterVersion;
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Give the staff member's shifts a new version, for when a shift was edited in place
+     */
+    public void markRosterChanged() {
+        rosterVersion = ROSTER_VERSIONS.incrementAndGet();
     }
 
     /**
@@ -63,4 +115,67 @@ public abstract class Staff extends Person {
      * @return true if authorized, false otherwise
      */
     public abstract boolean isAuthorizedFor(String action);
+
+    /**
+     * View of the shifts that updates the roster version when it is changed
+     */
+    private class ShiftSet extends AbstractSet<Shift> {
+        @Override
+        public Iterator<Shift> iterator() {
+            Iterator<Shift> iterator = shifts.iterator();
+            return new Iterator<Shift>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Shift next() {
+                    return iterator.next();
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    markRosterChanged();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return shifts.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return shifts.contains(o);
+        }
+
+        @Override
+        public boolean add(Shift shift) {
+            boolean added = shifts.add(shift);
+            if (added) {
+                markRosterChanged();
+            }
+            return added;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            boolean removed = shifts.remove(o);
+            if (removed) {
+                markRosterChanged();
+            }
+            return removed;
+        }
+
+        @Override
+        public void clear() {
+            if (!shifts.isEmpty()) {
+                shifts.clear();
+                markRosterChanged();
+            }
+        }
+    }
 }
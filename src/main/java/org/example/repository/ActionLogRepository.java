@@ -0,0 +1,58 @@
+package org.example.repository;
+
+import org.example.model.ActionLog;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Repository interface for the audit log of actions
+ */
+public interface ActionLogRepository {
+    /**
+     * Append a log. Logs must be appended in time order.
+     * @param log The log to append
+     */
+    void append(ActionLog log);
+
+    /**
+     * Find the logs in a time range, in time order
+     * @param from The start of the range (inclusive), or null for no bound
+     * @param to The end of the range (exclusive), or null for no bound
+     * @return The logs in the range
+     */
+    List<ActionLog> findBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Find a page of the logs in a time range that match a filter, in time order
+     * @param from The start of the range (inclusive), or null for no bound
+     * @param to The end of the range (exclusive), or null for no bound
+     * @param filter The filter, or null to match every log
+     * @param offset The number of matching logs to skip
+     * @param limit The maximum number of logs
+     * @return The page of matching logs
+     */
+    List<ActionLog> findBetween(LocalDateTime from, LocalDateTime to, Predicate<ActionLog> filter, int offset, int limit);
+
+    /**
+     * Count the logs in a time range that match a filter
+     * @param from The start of the range (inclusive), or null for no bound
+     * @param to The end of the range (exclusive), or null for no bound
+     * @param filter The filter, or null to count every log
+     * @return The number of matching logs
+     */
+    int countBetween(LocalDateTime from, LocalDateTime to, Predicate<ActionLog> filter);
+
+    /**
+     * Find the most recent logs, in time order
+     * @param count The maximum number of logs
+     * @return The most recent logs
+     */
+    List<ActionLog> findLatest(int count);
+
+    /**
+     * Write any buffered logs to storage
+     */
+    void flush();
+}
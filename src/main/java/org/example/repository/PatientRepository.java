@@ -1,10 +1,13 @@
 package org.example.repository;
 
 import org.example.model.Patient;
+import org.example.model.PatientStay;
 import org.example.model.Ward;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Patient data access
@@ -50,4 +53,30 @@ public interface PatientRepository {
     void saveAll(List<Patient> patients);
 
     void saveAllDischarged(List<Patient> patients);
+
+    /**
+     * Replace all active and discharged patients in one save
+     * @param patients The active patients
+     * @param dischargedPatients The discharged patients
+     */
+    default void saveAll(List<Patient> patients, List<Patient> dischargedPatients) {
+        saveAll(patients);
+        saveAllDischarged(dischargedPatients);
+    }
+
+    /**
+     * Stream the stays of active and discharged patients admitted in a date range
+     * @param from The first admission date (inclusive)
+     * @param to The last admission date (inclusive)
+     * @return The stays in admission date order
+     */
+    Stream<PatientStay> findStaysAdmittedBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Stream the stays of patients discharged in a date range
+     * @param from The first discharge date (inclusive)
+     * @param to The last discharge date (inclusive)
+     * @return The stays in discharge date order
+     */
+    Stream<PatientStay> findStaysDischargedBetween(LocalDate from, LocalDate to);
 }
@@ -0,0 +1,22 @@
+package org.example.repository;
+
+import org.example.model.RosterEntry;
+
+import java.util.List;
+
+/**
+ * Repository interface for the dated changes to the weekly roster
+ */
+public interface RosterRepository {
+    /**
+     * Find all roster entries
+     * @return All roster entries
+     */
+    List<RosterEntry> findAll();
+
+    /**
+     * Replace all roster entries
+     * @param entries The roster entries
+     */
+    void saveAll(List<RosterEntry> entries);
+}
@@ -1,45 +1,72 @@
 package org.example.repository.impl;
 
 import org.example.model.Patient;
+import org.example.model.PatientStay;
 import org.example.repository.PatientRepository;
 import org.example.util.DefaultDataGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * File-based implementation of PatientRepository
+ *
+ * The date index of patient stays is saved to its own file alongside the patient files and
+ * loaded on its own, so date range reports do not load the patient records. The patient
+ * records are loaded the first time they are needed, and the index is rebuilt from them if
+ * its file is missing or older than theirs.
  */
 public class FilePatientRepository implements PatientRepository {
     private static final Logger logger = LoggerFactory.getLogger(FilePatientRepository.class);
     private static final String PATIENTS_FILE = "patients_data.ser";
     private static final String DISCHARGED_PATIENTS_FILE = "discharged_patients.ser";
+    private static final String DATE_INDEX_FILE = "patient_date_index.ser";
 
+    private final File patientsFile;
+    private final File dischargedPatientsFile;
+    private final File dateIndexFile;
+    // Null until the patient files are first needed
     private List<Patient> patients;
     private List<Patient> dischargedPatients;
+    private PatientDateIndex dateIndex;
 
     public FilePatientRepository() {
-        loadData();
+        this(new File("."));
+    }
+
+    /**
+     * Create a repository
+     * @param directory The directory holding the patient files
+     */
+    public FilePatientRepository(File directory) {
+        patientsFile = new File(directory, PATIENTS_FILE);
+        dischargedPatientsFile = new File(directory, DISCHARGED_PATIENTS_FILE);
+        dateIndexFile = new File(directory, DATE_INDEX_FILE);
+        loadDateIndex();
     }
 
     @Override
-    public List<Patient> findAll() {
+    public synchronized List<Patient> findAll() {
+        loadData();
         return new ArrayList<>(patients);
     }
 
     @Override
-    public Optional<Patient> findById(String id) {
+    public synchronized Optional<Patient> findById(String id) {
+        loadData();
         return patients.stream()
                 .filter(p -> p.getId().equals(id))
                 .findFirst();
     }
 
     @Override
-    public void save(Patient patient) {
+    public synchronized void save(Patient patient) {
         // If patient already exists, update it
         Optional<Patient> existingPatient = findById(patient.getId());
         if (existingPatient.isPresent()) {
@@ -49,39 +76,96 @@ public class FilePatientRepository implements PatientRepository {
             // Otherwise, add it
             patients.add(patient);
         }
+        dateIndex.update(patient);
         saveData();
     }
 
     @Override
-    public void delete(Patient patient) {
+    public synchronized void delete(Patient patient) {
+        loadData();
         patients.remove(patient);
+        dateIndex.remove(patient.getId());
         saveData();
     }
 
     @Override
-    public List<Patient> findDischargedPatients() {
+    public synchronized List<Patient> findDischargedPatients() {
+        loadData();
         return new ArrayList<>(dischargedPatients);
     }
 
     @Override
-    public void addDischargedPatient(Patient patient) {
+    public synchronized void addDischargedPatient(Patient patient) {
+        loadData();
         dischargedPatients.add(patient);
+        dateIndex.update(patient);
         saveData();
     }
 
     @Override
-    public void saveAll(List<Patient> patients) {
-        this.patients = patients;
+    public synchronized void saveAll(List<Patient> patients) {
+        loadData();
+        this.patients = new ArrayList<>(patients);
+        rebuildDateIndex();
         saveData();
     }
 
     @Override
-    public void saveAllDischarged(List<Patient> patients) {
-        this.dischargedPatients = patients;
+    public synchronized void saveAllDischarged(List<Patient> patients) {
+        loadData();
+        this.dischargedPatients = new ArrayList<>(patients);
+        rebuildDateIndex();
         saveData();
     }
 
+    @Override
+    public synchronized void saveAll(List<Patient> patients, List<Patient> dischargedPatients) {
+        this.patients = new ArrayList<>(patients);
+        this.dischargedPatients = new ArrayList<>(dischargedPatients);
+        rebuildDateIndex();
+        saveData();
+    }
+
+    @Override
+    public synchronized Stream<PatientStay> findStaysAdmittedBetween(LocalDate from, LocalDate to) {
+        return dateIndex.admittedBetween(from, to);
+    }
+
+    @Override
+    public synchronized Stream<PatientStay> findStaysDischargedBetween(LocalDate from, LocalDate to) {
+        return dateIndex.dischargedBetween(from, to);
+    }
+
+    private void rebuildDateIndex() {
+        List<Patient> allPatients = new ArrayList<>(dischargedPatients);
+        allPatients.addAll(patients);
+        dateIndex.rebuild(allPatients);
+    }
+
+    /**
+     * Load the date index from its file, or rebuild it from the patient files if the index
+     * file is missing, unreadable or older than them. A rebuilt index is written at the next save.
+     */
+    private void loadDateIndex() {
+        if (dateIndexFile.exists() && dateIndexFile.lastModified() >= patientsFile.lastModified()
+                && dateIndexFile.lastModified() >= dischargedPatientsFile.lastModified()) {
+            dateIndex = PatientDateIndex.loadFrom(dateIndexFile);
+            if (dateIndex != null) {
+                return;
+            }
+        }
+        dateIndex = new PatientDateIndex();
+        loadData();
+        rebuildDateIndex();
+    }
+
+    /**
+     * Load the patient files, if they have not been loaded yet
+     */
     private void loadData() {
+        if (patients != null) {
+            return;
+        }
         try {
             patients = loadPatientsFromFile();
             if (patients == null) {
@@ -105,16 +189,20 @@ public class FilePatientRepository implements PatientRepository {
         }
     }
 
+    /**
+     * Save the patient files, then the date index, so the index file is never older than them
+     */
     private void saveData() {
         savePatientsToFile();
         saveDischargedPatientsToFile();
+        dateIndex.saveTo(dateIndexFile);
     }
 
     @SuppressWarnings("unchecked")
     private List<Patient> loadPatientsFromFile() {
-        File file = new File(PATIENTS_FILE);
+        File file = patientsFile;
         if (!file.exists()) {
-            logger.info("Patient data file not found: {}", PATIENTS_FILE);
+            logger.info("Patient data file not found: {}", patientsFile);
             return null;
         }
 
@@ -129,46 +217,46 @@ public class FilePatientRepository implements PatientRepository {
                 // Direct list of patients (new format)
                 return (List<Patient>) obj;
             } else {
-                logger.warn("Unknown data format in file: {}", PATIENTS_FILE);
+                logger.warn("Unknown data format in file: {}", patientsFile);
                 return null;
             }
         } catch (IOException | ClassNotFoundException e) {
-            logger.warn("Could not load patient data from file: " + PATIENTS_FILE, e);
+            logger.warn("Could not load patient data from file: " + patientsFile, e);
             return null;
         }
     }
 
     @SuppressWarnings("unchecked")
     private List<Patient> loadDischargedPatientsFromFile() {
-        File file = new File(DISCHARGED_PATIENTS_FILE);
+        File file = dischargedPatientsFile;
         if (!file.exists()) {
-            logger.info("Discharged patient data file not found: {}", DISCHARGED_PATIENTS_FILE);
+            logger.info("Discharged patient data file not found: {}", dischargedPatientsFile);
             return null;
         }
 
         try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
             return (List<Patient>) ois.readObject();
         } catch (IOException | ClassNotFoundException e) {
-            logger.warn("Could not load discharged patient data from file: " + DISCHARGED_PATIENTS_FILE, e);
+            logger.warn("Could not load discharged patient data from file: " + dischargedPatientsFile, e);
             return null;
         }
     }
 
     private void savePatientsToFile() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(PATIENTS_FILE))) {
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(patientsFile))) {
             oos.writeObject(patients);
             logger.info("Patient data saved to file");
         } catch (IOException e) {
-            logger.error("Could not save patient data to file: " + PATIENTS_FILE, e);
+            logger.error("Could not save patient data to file: " + patientsFile, e);
         }
     }
 
     private void saveDischargedPatientsToFile() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(DISCHARGED_PATIENTS_FILE))) {
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(dischargedPatientsFile))) {
             oos.writeObject(dischargedPatients);
             logger.info("Discharged patient data saved to file");
         } catch (IOException e) {
-            logger.error("Could not save discharged patient data to file: " + DISCHARGED_PATIENTS_FILE, e);
+            logger.error("Could not save discharged patient data to file: " + dischargedPatientsFile, e);
         }
     }
 
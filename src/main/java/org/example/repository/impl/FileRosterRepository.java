@@ -0,0 +1,60 @@
+package org.example.repository.impl;
+
+import org.example.model.RosterEntry;
+import org.example.repository.RosterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * File-based implementation of RosterRepository
+ */
+public class FileRosterRepository implements RosterRepository {
+    private static final Logger logger = LoggerFactory.getLogger(FileRosterRepository.class);
+    private static final String ROSTER_FILE = "roster_data.ser";
+
+    private List<RosterEntry> entries;
+
+    public FileRosterRepository() {
+        loadData();
+    }
+
+    @Override
+    public synchronized List<RosterEntry> findAll() {
+        return new ArrayList<>(entries);
+    }
+
+    @Override
+    public synchronized void saveAll(List<RosterEntry> entries) {
+        this.entries = new ArrayList<>(entries);
+        saveData();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void loadData() {
+        entries = new ArrayList<>();
+        File file = new File(ROSTER_FILE);
+        if (!file.exists()) {
+            logger.info("Roster data file not found: {}", ROSTER_FILE);
+            return;
+        }
+
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
+            entries = (List<RosterEntry>) ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            logger.warn("Could not load roster data from file: " + ROSTER_FILE, e);
+        }
+    }
+
+    private void saveData() {
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(ROSTER_FILE))) {
+            oos.writeObject(entries);
+            logger.info("Roster data saved to file");
+        } catch (IOException e) {
+            logger.error("Could not save roster data to file: " + ROSTER_FILE, e);
+        }
+    }
+}
@@ -25,26 +25,26 @@ public class FileStaffRepository implements StaffRepository {
     }
     
     @Override
-    public List<Staff> findAll() {
+    public synchronized List<Staff> findAll() {
         return new ArrayList<>(staff);
     }
     
     @Override
-    public Optional<Staff> findById(String id) {
+    public synchronized Optional<Staff> findById(String id) {
         return staff.stream()
                 .filter(s -> s.getId().equals(id))
                 .findFirst();
     }
     
     @Override
-    public Optional<Staff> findByUsername(String username) {
+    public synchronized Optional<Staff> findByUsername(String username) {
         return staff.stream()
                 .filter(s -> s.getUsername().equals(username))
                 .findFirst();
     }
     
     @Override
-    public boolean save(Staff staffMember) {
+    public synchronized boolean save(Staff staffMember) {
         // Check if username already exists
         boolean usernameExists = staff.stream()
                 .anyMatch(s -> s.getUsername().equals(staffMember.getUsername()));
@@ -63,7 +63,7 @@ public class FileStaffRepository implements StaffRepository {
     }
     
     @Override
-    public boolean update(Staff staffMember) {
+    public synchronized boolean update(Staff staffMember) {
         // Find the staff member in the list
         Optional<Staff> existingStaffOpt = findById(staffMember.getId());
         
@@ -82,13 +82,13 @@ public class FileStaffRepository implements StaffRepository {
     }
     
     @Override
-    public void delete(Staff staffMember) {
+    public synchronized void delete(Staff staffMember) {
         staff.remove(staffMember);
         saveData();
     }
 
     @Override
-    public void saveAll(List<Staff> staff) {
+    public synchronized void saveAll(List<Staff> staff) {
         this.staff = staff;
         saveData();
     }
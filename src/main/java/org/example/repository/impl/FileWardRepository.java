@@ -28,19 +28,19 @@ public class FileWardRepository implements WardRepository {
     }
     
     @Override
-    public List<Ward> findAllWards() {
+    public synchronized List<Ward> findAllWards() {
         return new ArrayList<>(wards);
     }
     
     @Override
-    public Optional<Ward> findWardById(String id) {
+    public synchronized Optional<Ward> findWardById(String id) {
         return wards.stream()
                 .filter(w -> w.getId().equals(id))
                 .findFirst();
     }
     
     @Override
-    public Optional<Room> findRoomById(String id) {
+    public synchronized Optional<Room> findRoomById(String id) {
         for (Ward ward : wards) {
             Optional<Room> room = ward.getRooms().stream()
                     .filter(r -> r.getId().equals(id))
@@ -53,7 +53,7 @@ public class FileWardRepository implements WardRepository {
     }
     
     @Override
-    public Optional<Bed> findBedById(String id) {
+    public synchronized Optional<Bed> findBedById(String id) {
         for (Ward ward : wards) {
             for (Room room : ward.getRooms()) {
                 Optional<Bed> bed = room.getBeds().stream()
@@ -68,7 +68,7 @@ public class FileWardRepository implements WardRepository {
     }
     
     @Override
-    public List<Bed> findVacantBeds() {
+    public synchronized List<Bed> findVacantBeds() {
         List<Bed> vacantBeds = new ArrayList<>();
         for (Ward ward : wards) {
             for (Room room : ward.getRooms()) {
@@ -83,7 +83,7 @@ public class FileWardRepository implements WardRepository {
     }
     
     @Override
-    public Optional<Bed> findBedForPatient(Patient patient) {
+    public synchronized Optional<Bed> findBedForPatient(Patient patient) {
         for (Ward ward : wards) {
             for (Room room : ward.getRooms()) {
                 for (Bed bed : room.getBeds()) {
@@ -97,7 +97,7 @@ public class FileWardRepository implements WardRepository {
     }
     
     @Override
-    public void saveWard(Ward ward) {
+    public synchronized void saveWard(Ward ward) {
         // If ward already exists, update it
         Optional<Ward> existingWard = findWardById(ward.getId());
         if (existingWard.isPresent()) {
@@ -111,7 +111,7 @@ public class FileWardRepository implements WardRepository {
     }
     
     @Override
-    public void saveAllWards(List<Ward> wards) {
+    public synchronized void saveAllWards(List<Ward> wards) {
         this.wards = new ArrayList<>(wards);
         saveData();
     }
@@ -0,0 +1,198 @@
+package org.example.repository.impl;
+
+import org.example.model.Patient;
+import org.example.model.PatientStay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Sorted index of patient stays by admission date and by discharge date.
+ * The index covers active and discharged patients and is saved to its own small file,
+ * so period reports can be run from it without loading full patient records.
+ *
+ * Updates are made under the index lock. The date buckets are never changed in place but
+ * replaced, so ranges can be streamed without the lock.
+ */
+public class PatientDateIndex {
+    private static final Logger logger = LoggerFactory.getLogger(PatientDateIndex.class);
+
+    private final Map<String, PatientStay> staysById;
+    private final NavigableMap<LocalDate, List<PatientStay>> byAdmission;
+    private final NavigableMap<LocalDate, List<PatientStay>> byDischarge;
+
+    public PatientDateIndex() {
+        staysById = new HashMap<>();
+        byAdmission = new ConcurrentSkipListMap<>();
+        byDischarge = new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * Load an index previously saved to a file
+     * @param file The file
+     * @return The loaded index, or null if the file is missing or cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    public static PatientDateIndex loadFrom(File file) {
+        if (!file.exists()) {
+            return null;
+        }
+
+        PatientDateIndex index = new PatientDateIndex();
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            for (PatientStay stay : (List<PatientStay>) ois.readObject()) {
+                index.put(stay);
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            logger.warn("Could not load patient date index from file: " + file, e);
+            return null;
+        }
+        return index;
+    }
+
+    /**
+     * Save the index to a file
+     * @param file The file
+     */
+    public synchronized void saveTo(File file) {
+        try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            oos.writeObject(new ArrayList<>(staysById.values()));
+        } catch (IOException e) {
+            logger.error("Could not save patient date index to file: " + file, e);
+        }
+    }
+
+    /**
+     * Replace the index contents with the stays of the given patients
+     * @param patients The patients to index
+     */
+    public synchronized void rebuild(Collection<Patient> patients) {
+        staysById.clear();
+        byAdmission.clear();
+        byDischarge.clear();
+        for (Patient patient : patients) {
+            put(PatientStay.of(patient));
+        }
+    }
+
+    /**
+     * Add or update the stay of a patient
+     * @param patient The patient
+     */
+    public void update(Patient patient) {
+        put(PatientStay.of(patient));
+    }
+
+    /**
+     * Add or update a stay
+     * @param stay The stay
+     */
+    public synchronized void put(PatientStay stay) {
+        remove(stay.getPatientId());
+        staysById.put(stay.getPatientId(), stay);
+        addTo(byAdmission, stay.getAdmissionDate(), stay);
+        addTo(byDischarge, stay.getDischargeDate(), stay);
+    }
+
+    /**
+     * Remove the stay of a patient
+     * @param patientId The patient ID
+     */
+    public synchronized void remove(String patientId) {
+        PatientStay existing = staysById.remove(patientId);
+        if (existing == null) {
+            return;
+        }
+        removeFrom(byAdmission, existing.getAdmissionDate(), existing);
+        removeFrom(byDischarge, existing.getDischargeDate(), existing);
+    }
+
+    /**
+     * Stream the stays admitted in a date range, in admission date order
+     * @param from The first date (inclusive)
+     * @param to The last date (inclusive)
+     * @return The stays
+     */
+    public Stream<PatientStay> admittedBetween(LocalDate from, LocalDate to) {
+        return range(byAdmission, from, to);
+    }
+
+    /**
+     * Stream the stays discharged in a date range, in discharge date order
+     * @param from The first date (inclusive)
+     * @param to The last date (inclusive)
+     * @return The stays
+     */
+    public Stream<PatientStay> dischargedBetween(LocalDate from, LocalDate to) {
+        return range(byDischarge, from, to);
+    }
+
+    /**
+     * Stream every stay in admission date order
+     * @return The stays
+     */
+    public Stream<PatientStay> stream() {
+        return range(byAdmission, null, null);
+    }
+
+    /**
+     * Get the number of indexed stays
+     * @return The number of stays
+     */
+    public synchronized int size() {
+        return staysById.size();
+    }
+
+    /**
+     * Stream a range of a date map lazily, without the lock. Each bucket is read as it was when
+     * the stream reached it, so updates made while the stream is consumed may or may not be seen.
+     */
+    private Stream<PatientStay> range(NavigableMap<LocalDate, List<PatientStay>> map,
+                                                   LocalDate from, LocalDate to) {
+        NavigableMap<LocalDate, List<PatientStay>> view = map;
+        if (from != null && to != null) {
+            view = map.subMap(from, true, to, true);
+        } else if (from != null) {
+            view = map.tailMap(from, true);
+        } else if (to != null) {
+            view = map.headMap(to, true);
+        }
+        return view.values().stream().flatMap(List::stream);
+    }
+
+    private static void addTo(Map<LocalDate, List<PatientStay>> map, LocalDate date, PatientStay stay) {
+        if (date == null) {
+            return;
+        }
+        List<PatientStay> bucket = new ArrayList<>(map.getOrDefault(date, Collections.emptyList()));
+        bucket.add(stay);
+        map.put(date, Collections.unmodifiableList(bucket));
+    }
+
+    private static void removeFrom(Map<LocalDate, List<PatientStay>> map, LocalDate date, PatientStay stay) {
+        if (date == null) {
+            return;
+        }
+        List<PatientStay> bucket = map.get(date);
+        if (bucket != null) {
+            List<PatientStay> remaining = new ArrayList<>(bucket);
+            remaining.remove(stay);
+            if (remaining.isEmpty()) {
+                map.remove(date);
+            } else {
+                map.put(date, Collections.unmodifiableList(remaining));
+            }
+        }
+    }
+}
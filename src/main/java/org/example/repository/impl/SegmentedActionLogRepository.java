@@ -0,0 +1,666 @@
+package org.example.repository.impl;
+
+import org.example.model.ActionLog;
+import org.example.model.ActionType;
+import org.example.model.Staff;
+import org.example.repository.ActionLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of ActionLogRepository as an append-only log split into segment files.
+ *
+ * Logs are appended to the newest segment, and a new segment is started once it reaches
+ * the size limit. Every segment has a sparse index file holding the time and file offset of
+ * every 64th record, so a time range read seeks straight to the right place in the right
+ * segments instead of reading the whole log. The index is rebuilt from the segment if it
+ * is missing or behind.
+ *
+ * Records keep the time their log was taken, which can be slightly out of order when logs
+ * taken at the same moment on different threads are appended. Records are found by their
+ * order time instead, the latest time appended up to them, which is what the index holds.
+ *
+ * As the index entries fall on every 64th record, they also give record positions: an
+ * unfiltered page or count only reads the record headers between an index entry and the
+ * range boundary, never the records it skips over.
+ */
+public class SegmentedActionLogRepository implements ActionLogRepository {
+    private static final Logger logger = LoggerFactory.getLogger(SegmentedActionLogRepository.class);
+    public static final String DEFAULT_DIRECTORY = "action_logs";
+    private static final String LEGACY_FILE = "action_logs.ser";
+    private static final long DEFAULT_SEGMENT_BYTES = 1024 * 1024;
+    private static final int INDEX_INTERVAL = 64;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.log");
+
+    private final File directory;
+    private final long maxSegmentBytes;
+    private final List<Segment> segments;
+    private volatile Function<String, Staff> staffResolver;
+    private DataOutputStream dataOut;
+    private DataOutputStream indexOut;
+    // Order time of the last record appended
+    private long orderTime = Long.MIN_VALUE;
+
+    /**
+     * Create a repository in the default directory, migrating the old serialized log file if present
+     */
+    public SegmentedActionLogRepository() {
+        this(new File(DEFAULT_DIRECTORY), DEFAULT_SEGMENT_BYTES);
+        migrateLegacyFile(new File(LEGACY_FILE));
+    }
+
+    /**
+     * Create a repository
+     * @param directory The directory holding the segment files
+     * @param maxSegmentBytes The size at which a new segment is started
+     */
+    public SegmentedActionLogRepository(File directory, long maxSegmentBytes) {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.segments = new ArrayList<>();
+        this.staffResolver = id -> null;
+        loadSegments();
+    }
+
+    /**
+     * Set how staff IDs in stored logs are turned back into staff members
+     * @param staffResolver Function from staff ID to staff member, returning null if unknown
+     */
+    public void setStaffResolver(Function<String, Staff> staffResolver) {
+        this.staffResolver = staffResolver;
+    }
+
+    @Override
+    public synchronized void append(ActionLog log) {
+        try {
+            Segment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (active == null || dataOut == null || active.size >= maxSegmentBytes) {
+                active = startSegment(active == null ? 1 : active.number + 1);
+            }
+
+            byte[] record = encode(log);
+            long time = Math.max(orderTime, log.getTimestampNanos());
+            if (active.records % INDEX_INTERVAL == 0) {
+                active.addIndexEntry(time, active.size);
+                indexOut.writeLong(time);
+                indexOut.writeLong(active.size);
+            }
+            dataOut.writeInt(record.length);
+            dataOut.write(record);
+            active.recordAppended(time, 4 + record.length);
+            orderTime = time;
+        } catch (IOException e) {
+            logger.error("Could not append action log " + log.getId(), e);
+        }
+    }
+
+    @Override
+    public synchronized List<ActionLog> findBetween(LocalDateTime from, LocalDateTime to) {
+        return findBetween(from, to, null, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public synchronized List<ActionLog> findBetween(LocalDateTime from, LocalDateTime to, Predicate<ActionLog> filter,
+                                                    int offset, int limit) {
+        flush();
+        long fromTime = toNanos(from, Long.MIN_VALUE);
+        long toTime = toNanos(to, Long.MAX_VALUE);
+
+        List<ActionLog> result = new ArrayList<>();
+        int[] skipped = {0};
+        for (Segment segment : segments) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (!segment.overlaps(fromTime, toTime)) {
+                continue;
+            }
+            if (filter == null) {
+                // Seek straight to the first record of the page
+                int start = position(segment, fromTime);
+                int inRange = position(segment, toTime) - start;
+                if (skipped[0] + inRange <= offset) {
+                    skipped[0] += inRange;
+                    continue;
+                }
+                int first = start + offset - skipped[0];
+                skipped[0] = offset;
+                readRecords(segment, first, Math.min(inRange - (first - start), limit - result.size()), result);
+            } else {
+                readSegment(segment, segment.seekEntry(fromTime), fromTime, toTime, log -> {
+                    if (!filter.test(log)) {
+                        return true;
+                    }
+                    if (skipped[0] < offset) {
+                        skipped[0]++;
+                    } else {
+                        result.add(log);
+                    }
+                    return result.size() < limit;
+                });
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized int countBetween(LocalDateTime from, LocalDateTime to, Predicate<ActionLog> filter) {
+        flush();
+        long fromTime = toNanos(from, Long.MIN_VALUE);
+        long toTime = toNanos(to, Long.MAX_VALUE);
+
+        int[] count = {0};
+        for (Segment segment : segments) {
+            if (!segment.overlaps(fromTime, toTime)) {
+                continue;
+            }
+            if (filter == null) {
+                count[0] += position(segment, toTime) - position(segment, fromTime);
+            } else {
+                readSegment(segment, segment.seekEntry(fromTime), fromTime, toTime, log -> {
+                    if (filter.test(log)) {
+                        count[0]++;
+                    }
+                    return true;
+                });
+            }
+        }
+        return count[0];
+    }
+
+    @Override
+    public synchronized List<ActionLog> findLatest(int count) {
+        flush();
+        List<ActionLog> result = new ArrayList<>();
+        for (int i = segments.size() - 1; i >= 0 && result.size() < count; i--) {
+            List<ActionLog> segmentLogs = new ArrayList<>();
+            readSegment(segments.get(i), 0, Long.MIN_VALUE, Long.MAX_VALUE, segmentLogs::add);
+            Collections.reverse(segmentLogs);
+            for (ActionLog log : segmentLogs) {
+                if (result.size() == count) {
+                    break;
+                }
+                result.add(log);
+            }
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            if (dataOut != null) {
+                dataOut.flush();
+                indexOut.flush();
+            }
+        } catch (IOException e) {
+            logger.error("Could not flush action log segment", e);
+        }
+    }
+
+    /**
+     * Get the number of segment files
+     * @return The number of segments
+     */
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Close the open segment files
+     */
+    public synchronized void close() {
+        try {
+            if (dataOut != null) {
+                dataOut.close();
+                indexOut.close();
+            }
+        } catch (IOException e) {
+            logger.error("Could not close action log segment", e);
+        }
+        dataOut = null;
+        indexOut = null;
+    }
+
+    /**
+     * Copy logs from the old single-file format into the segments, if there are no segments yet
+     * @param legacyFile The old serialized log file
+     */
+    synchronized void migrateLegacyFile(File legacyFile) {
+        if (!legacyFile.exists() || segments.stream().anyMatch(segment -> segment.records > 0)) {
+            return;
+        }
+        try (ObjectInputStream ois = new LegacyLogInputStream(new BufferedInputStream(new FileInputStream(legacyFile)))) {
+            List<ActionLog> legacyLogs = new ArrayList<>();
+            for (Object entry : (List<?>) ois.readObject()) {
+                legacyLogs.add(entry instanceof LegacyActionLog ? ((LegacyActionLog) entry).toActionLog() : (ActionLog) entry);
+            }
+            legacyLogs.sort(Comparator.comparingLong(ActionLog::getTimestampNanos));
+            for (ActionLog log : legacyLogs) {
+                append(log);
+            }
+            flush();
+            logger.info("Migrated " + legacyLogs.size() + " action logs from " + legacyFile);
+        } catch (IOException | ClassNotFoundException e) {
+            logger.warn("Could not migrate action logs from file: " + legacyFile, e);
+        }
+    }
+
+    private void loadSegments() {
+        if (!directory.exists() && !directory.mkdirs()) {
+            logger.error("Could not create action log directory: " + directory);
+            return;
+        }
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            Matcher matcher = SEGMENT_NAME.matcher(file.getName());
+            if (matcher.matches()) {
+                segments.add(new Segment(Integer.parseInt(matcher.group(1)), directory));
+            }
+        }
+        segments.sort(Comparator.comparingInt(segment -> segment.number));
+        for (int i = 0; i < segments.size(); i++) {
+            recoverSegment(segments.get(i), i == segments.size() - 1, orderTime);
+            orderTime = Math.max(orderTime, segments.get(i).lastTime);
+        }
+        if (!segments.isEmpty()) {
+            openForAppend(segments.get(segments.size() - 1));
+        }
+        logger.info("Loaded " + segments.size() + " action log segments from " + directory);
+    }
+
+    /**
+     * Load a segment's sparse index and scan the records after its last index entry,
+     * adding any missing index entries. A record cut short by a crash is removed from
+     * the newest segment.
+     * @param previousTime The order time of the last record of the segment before
+     */
+    private void recoverSegment(Segment segment, boolean newest, long previousTime) {
+        List<long[]> indexEntries = new ArrayList<>();
+        if (segment.indexFile.exists()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(segment.indexFile)))) {
+                while (in.available() >= 16) {
+                    indexEntries.add(new long[] {in.readLong(), in.readLong()});
+                }
+            } catch (IOException e) {
+                logger.warn("Could not read action log index: " + segment.indexFile, e);
+                indexEntries.clear();
+            }
+        }
+
+        long fileSize = segment.dataFile.length();
+        // Drop index entries that point past the end of the data
+        while (!indexEntries.isEmpty() && indexEntries.get(indexEntries.size() - 1)[1] >= fileSize) {
+            indexEntries.remove(indexEntries.size() - 1);
+        }
+
+        long offset = 0;
+        int records = 0;
+        long time = previousTime;
+        for (long[] entry : indexEntries) {
+            segment.addIndexEntry(entry[0], entry[1]);
+        }
+        if (!indexEntries.isEmpty()) {
+            offset = indexEntries.get(indexEntries.size() - 1)[1];
+            records = (indexEntries.size() - 1) * INDEX_INTERVAL;
+            time = Math.max(time, indexEntries.get(indexEntries.size() - 1)[0]);
+        }
+        segment.records = records;
+        segment.size = offset;
+
+        boolean rewriteIndex = false;
+        try (DataInputStream in = openAt(segment.dataFile, offset)) {
+            while (segment.size + 4 <= fileSize) {
+                int length = in.readInt();
+                if (length < 8 || segment.size + 4 + length > fileSize) {
+                    break;
+                }
+                time = Math.max(time, in.readLong());
+                skipFully(in, length - 8);
+                if (segment.records % INDEX_INTERVAL == 0 && segment.records / INDEX_INTERVAL >= indexEntries.size()) {
+                    segment.addIndexEntry(time, segment.size);
+                    rewriteIndex = true;
+                }
+                segment.recordAppended(time, 4 + length);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read action log segment: " + segment.dataFile, e);
+        }
+        if (segment.hasIndex()) {
+            // The first index entry is always the first record
+            segment.firstTime = segment.indexTime(0);
+        }
+
+        if (newest && segment.size < fileSize) {
+            logger.warn("Removing incomplete record at the end of " + segment.dataFile);
+            try (RandomAccessFile file = new RandomAccessFile(segment.dataFile, "rw")) {
+                file.setLength(segment.size);
+            } catch (IOException e) {
+                logger.error("Could not truncate action log segment: " + segment.dataFile, e);
+            }
+        }
+        if (rewriteIndex) {
+            segment.writeIndex();
+        }
+    }
+
+    private Segment startSegment(int number) throws IOException {
+        close();
+        Segment segment = new Segment(number, directory);
+        segments.add(segment);
+        openForAppend(segment);
+        return segment;
+    }
+
+    private void openForAppend(Segment segment) {
+        try {
+            dataOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(segment.dataFile, true)));
+            indexOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(segment.indexFile, true)));
+        } catch (IOException e) {
+            logger.error("Could not open action log segment: " + segment.dataFile, e);
+            dataOut = null;
+            indexOut = null;
+        }
+    }
+
+    /**
+     * Read the records of a segment in a time range, passing each to a visitor
+     * @param entry The index entry to start reading from
+     * @param visitor Called with each log, returning false to stop reading
+     */
+    private void readSegment(Segment segment, int entry, long fromTime, long toTime, Predicate<ActionLog> visitor) {
+        if (segment.records == 0) {
+            return;
+        }
+        long position = segment.indexOffset(entry);
+        long order = segment.indexTime(entry);
+        try (DataInputStream in = openAt(segment.dataFile, position)) {
+            while (position < segment.size) {
+                int length = in.readInt();
+                long time = in.readLong();
+                order = Math.max(order, time);
+                position += 4 + length;
+                if (order >= toTime) {
+                    break;
+                }
+                if (order < fromTime) {
+                    skipFully(in, length - 8);
+                    continue;
+                }
+                if (!visitor.test(decode(in, time, order))) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Could not read action log segment: " + segment.dataFile, e);
+        }
+    }
+
+    /**
+     * Read a run of records from a segment by record position
+     * @param first The position of the first record in the segment
+     * @param count The number of records
+     */
+    private void readRecords(Segment segment, int first, int count, List<ActionLog> result) {
+        int entry = first / INDEX_INTERVAL;
+        long order = segment.indexTime(entry);
+        try (DataInputStream in = openAt(segment.dataFile, segment.indexOffset(entry))) {
+            for (int i = entry * INDEX_INTERVAL; i < first; i++) {
+                int length = in.readInt();
+                order = Math.max(order, in.readLong());
+                skipFully(in, length - 8);
+            }
+            for (int i = 0; i < count; i++) {
+                in.readInt();
+                long time = in.readLong();
+                order = Math.max(order, time);
+                result.add(decode(in, time, order));
+            }
+        } catch (IOException e) {
+            logger.error("Could not read action log segment: " + segment.dataFile, e);
+        }
+    }
+
+    /**
+     * Find the position in a segment of the first record whose order time is at or after a
+     * time, reading only the record headers after the index entry before it
+     */
+    private int position(Segment segment, long time) {
+        if (time <= segment.firstTime) {
+            return 0;
+        }
+        if (time > segment.lastTime) {
+            return segment.records;
+        }
+        int entry = segment.seekEntry(time);
+        int position = entry * INDEX_INTERVAL;
+        long offset = segment.indexOffset(entry);
+        long order = segment.indexTime(entry);
+        try (DataInputStream in = openAt(segment.dataFile, offset)) {
+            while (offset < segment.size) {
+                int length = in.readInt();
+                order = Math.max(order, in.readLong());
+                if (order >= time) {
+                    break;
+                }
+                skipFully(in, length - 8);
+                offset += 4 + length;
+                position++;
+            }
+        } catch (IOException e) {
+            logger.error("Could not read action log segment: " + segment.dataFile, e);
+        }
+        return position;
+    }
+
+    private static long toNanos(LocalDateTime time, long unbounded) {
+        return time != null ? ActionLog.toEpochNanos(time) : unbounded;
+    }
+
+    private static DataInputStream openAt(File file, long offset) throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        in.getChannel().position(offset);
+        return new DataInputStream(new BufferedInputStream(in));
+    }
+
+    private static void skipFully(DataInputStream in, int count) throws IOException {
+        int skipped = 0;
+        while (skipped < count) {
+            int step = in.skipBytes(count - skipped);
+            if (step <= 0) {
+                throw new EOFException();
+            }
+            skipped += step;
+        }
+    }
+
+    private static byte[] encode(ActionLog log) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(log.getTimestampNanos());
+        out.writeLong(log.getSequence());
+        writeString(out, log.getAction());
+        out.writeBoolean(log.getType() != null);
+        writeString(out, log.getStaffId());
+        String[] fields = log.getFields();
+        out.writeShort(fields.length);
+        for (String field : fields) {
+            writeString(out, field);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private ActionLog decode(DataInputStream in, long time, long order) throws IOException {
+        long sequence = in.readLong();
+        String action = readString(in);
+        ActionType type = in.readBoolean() ? ActionType.valueOf(action) : null;
+        String staffId = readString(in);
+        String[] fields = new String[in.readUnsignedShort()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = readString(in);
+        }
+        ActionLog log = new ActionLog(sequence, type, action, staffId, time, fields);
+        log.setOrderTimestampNanos(order);
+        if (staffId != null) {
+            log.setStaff(staffResolver.apply(staffId));
+        }
+        return log;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A segment file with its sparse index held in memory
+     */
+    private static class Segment {
+        private final int number;
+        private final File dataFile;
+        private final File indexFile;
+        private long[] indexTimes = new long[8];
+        private long[] indexOffsets = new long[8];
+        private int indexSize;
+        private long size;
+        private int records;
+        private long firstTime = Long.MAX_VALUE;
+        private long lastTime = Long.MIN_VALUE;
+
+        Segment(int number, File directory) {
+            this.number = number;
+            String base = String.format("segment-%06d", number);
+            this.dataFile = new File(directory, base + ".log");
+            this.indexFile = new File(directory, base + ".idx");
+        }
+
+        void addIndexEntry(long time, long offset) {
+            if (indexSize == indexTimes.length) {
+                indexTimes = Arrays.copyOf(indexTimes, indexSize * 2);
+                indexOffsets = Arrays.copyOf(indexOffsets, indexSize * 2);
+            }
+            indexTimes[indexSize] = time;
+            indexOffsets[indexSize] = offset;
+            indexSize++;
+        }
+
+        boolean hasIndex() {
+            return indexSize > 0;
+        }
+
+        long indexTime(int position) {
+            return indexTimes[position];
+        }
+
+        void recordAppended(long time, int length) {
+            firstTime = Math.min(firstTime, time);
+            lastTime = Math.max(lastTime, time);
+            size += length;
+            records++;
+        }
+
+        long indexOffset(int position) {
+            return indexOffsets[position];
+        }
+
+        boolean overlaps(long fromTime, long toTime) {
+            return records > 0 && lastTime >= fromTime && firstTime < toTime;
+        }
+
+        /**
+         * Find the last index entry before a time, or the first entry if there is none
+         */
+        int seekEntry(long time) {
+            int low = 0;
+            int high = indexSize;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (indexTimes[mid] < time) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low == 0 ? 0 : low - 1;
+        }
+
+        void writeIndex() {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile)))) {
+                for (int i = 0; i < indexSize; i++) {
+                    out.writeLong(indexTimes[i]);
+                    out.writeLong(indexOffsets[i]);
+                }
+            } catch (IOException e) {
+                logger.error("Could not write action log index: " + indexFile, e);
+            }
+        }
+    }
+
+    /**
+     * The serialized form ActionLog had before logs were stored as records
+     */
+    private static class LegacyActionLog implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String id;
+        private String action;
+        private Staff staff;
+        private LocalDateTime timestamp;
+        private String details;
+
+        ActionLog toActionLog() {
+            return new ActionLog(id, action, staff, timestamp, details);
+        }
+    }
+
+    /**
+     * Reads the old log file, reading each ActionLog saved in the old form as a LegacyActionLog
+     */
+    private static class LegacyLogInputStream extends ObjectInputStream {
+        LegacyLogInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+            ObjectStreamClass descriptor = super.readClassDescriptor();
+            if (descriptor.getName().equals(ActionLog.class.getName()) && descriptor.getField("details") != null) {
+                return ObjectStreamClass.lookup(LegacyActionLog.class);
+            }
+            return descriptor;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.example.service;
+
+import org.example.model.Bed;
+import org.example.model.DueDose;
+import org.example.model.Gender;
+import org.example.model.Medication;
+import org.example.model.MedicationAdministration;
+import org.example.model.Patient;
+import org.example.model.Staff;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Asynchronous facade over CareHomeService for user interfaces
+ * Implemented as a Singleton
+ *
+ * Every call runs on a dedicated service thread and returns a CompletableFuture, so the
+ * caller's thread is never held up by validation, locking or saving to file. Calls run one at
+ * a time in the order they are submitted. The session bound to the calling thread is bound to
+ * the service thread for the call, so authorization checks and action logs see the same user.
+ * A call that throws completes its future exceptionally with the thrown exception.
+ */
+public class AsyncCareHomeService {
+    private static volatile AsyncCareHomeService instance;
+
+    /**
+     * A call to make on the care home service
+     * @param <T> The result type
+     */
+    @FunctionalInterface
+    public interface ServiceCall<T> {
+        T call(CareHomeService service) throws Exception;
+    }
+
+    private final CareHomeService service;
+    private final AuthenticationService authService;
+    private final ExecutorService executor;
+
+    private AsyncCareHomeService() {
+        this(CareHomeService.getInstance(), AuthenticationService.getInstance(),
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "care-home-service");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    /**
+     * Constructor with the service and executor to use
+     * @param service The care home service
+     * @param authService The authentication service
+     * @param executor The executor to run calls on
+     */
+    AsyncCareHomeService(CareHomeService service, AuthenticationService authService, ExecutorService executor) {
+        this.service = service;
+        this.authService = authService;
+        this.executor = executor;
+    }
+
+    /**
+     * Get the singleton instance
+     * @return The singleton instance
+     */
+    public static AsyncCareHomeService getInstance() {
+        AsyncCareHomeService result = instance;
+        if (result == null) {
+            synchronized (AsyncCareHomeService.class) {
+                result = instance;
+                if (result == null) {
+                    result = new AsyncCareHomeService();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Run a call on the service thread as the current user
+     * @param call The call
+     * @return A future completed with the call's result
+     */
+    public <T> CompletableFuture<T> submit(ServiceCall<T> call) {
+        Session session = authService.getCurrentSession();
+        String sessionId = session != null ? session.getId() : null;
+        return CompletableFuture.supplyAsync(() -> {
+            authService.bindSession(sessionId);
+            try {
+                return call.call(service);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            } finally {
+                authService.unbindSession();
+            }
+        }, executor);
+    }
+
+    public CompletableFuture<Patient> addPatient(String firstName, String lastName, LocalDate dateOfBirth,
+                                                 Gender gender, String medicalCondition, boolean needsIsolation,
+                                                 Bed bed) {
+        return submit(s -> s.addPatient(firstName, lastName, dateOfBirth, gender, medicalCondition, needsIsolation, bed));
+    }
+
+    public CompletableFuture<Void> movePatient(Patient patient, Bed newBed) {
+        return submit(s -> {
+            s.movePatient(patient, newBed);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Boolean> dischargePatient(Patient patient) {
+        return submit(s -> s.dischargePatient(patient));
+    }
+
+    public CompletableFuture<MedicationAdministration> administerMedication(Medication medication, Patient patient,
+                                                                            String notes) {
+        return submit(s -> s.administerMedication(medication, patient, notes));
+    }
+
+    public CompletableFuture<List<MedicationAdministration>> administerMedications(List<DueDose> doses, String notes) {
+        return submit(s -> s.administerMedications(doses, notes));
+    }
+
+    public CompletableFuture<Boolean> addStaff(Staff staff) {
+        return submit(s -> s.addStaff(staff));
+    }
+
+    public CompletableFuture<Boolean> updateStaff(Staff staff) {
+        return submit(s -> s.updateStaff(staff));
+    }
+
+    public CompletableFuture<Void> saveData() {
+        return submit(s -> {
+            s.saveData();
+            return null;
+        });
+    }
+
+    /**
+     * Get the exception a call failed with, without the wrapping added by CompletableFuture
+     * @param throwable The exception a future completed with
+     * @return The underlying exception
+     */
+    public static Throwable unwrap(Throwable throwable) {
+        while (throwable instanceof CompletionException && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        return throwable;
+    }
+}
@@ -8,24 +8,42 @@ import org.example.util.DefaultDataGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Service for handling authentication and authorization
  * Implemented as a Singleton
+ *
+ * Each login opens a {@link Session} in a concurrent session table, so many staff members can
+ * be logged in to one process at the same time. A session is bound to the thread that logged
+ * in, and every check resolves the session bound to the calling thread. Other threads (such as
+ * a server handling requests for a terminal) can bind a session by its ID. Sessions that are
+ * idle for longer than the idle timeout expire.
  */
 public class AuthenticationService {
     private static final Logger logger = LoggerFactory.getLogger(AuthenticationService.class);
-    private static AuthenticationService instance;
-    private Staff currentUser;
+    private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(30);
+    private static volatile AuthenticationService instance;
     private Map<String, Staff> users;
+    private final ConcurrentMap<String, Session> sessions;
+    private final ThreadLocal<String> boundSessionId;
+    private volatile Duration idleTimeout;
 
     private AuthenticationService() {
-        users = new HashMap<>();
+        users = new ConcurrentHashMap<>();
+        sessions = new ConcurrentHashMap<>();
+        boundSessionId = new ThreadLocal<>();
+        idleTimeout = DEFAULT_IDLE_TIMEOUT;
     }
 
     /**
@@ -33,12 +51,24 @@ public class AuthenticationService {
      * @return The authentication service instance
      */
     public static AuthenticationService getInstance() {
-        if (instance == null) {
-            instance = new AuthenticationService();
-            // Ensure admin user is registered
-            instance.ensureAdminUserRegistered();
+        AuthenticationService result = instance;
+        if (result == null) {
+            boolean created = false;
+            synchronized (AuthenticationService.class) {
+                result = instance;
+                if (result == null) {
+                    result = new AuthenticationService();
+                    instance = result;
+                    created = true;
+                }
+            }
+            // Ensure admin user is registered. This is done outside the lock because it
+            // loads the care home service, which may itself be waiting for this service.
+            if (created) {
+                result.ensureAdminUserRegistered();
+            }
         }
-        return instance;
+        return result;
     }
     
     /**
@@ -96,33 +126,167 @@ public class AuthenticationService {
      * @return true if registration was successful, false if the username already exists
      */
     public boolean registerUser(Staff staff) {
-        if (users.containsKey(staff.getUsername())) {
-            return false;
-        }
-        users.put(staff.getUsername(), staff);
-        return true;
+        return users.putIfAbsent(staff.getUsername(), staff) == null;
     }
 
     /**
-     * Login a user
+     * Login a user. The new session is bound to the calling thread.
      * @param username The username
      * @param password The password
      * @return The staff member if login was successful, null otherwise
      */
     public Staff login(String username, String password) {
+        Session session = createSession(username, password);
+        if (session == null) {
+            return null;
+        }
+        boundSessionId.set(session.getId());
+        return session.getStaff();
+    }
+
+    /**
+     * Open a session for a user without binding it to the calling thread
+     * @param username The username
+     * @param password The password
+     * @return The new session if the credentials are valid, null otherwise
+     */
+    public Session createSession(String username, String password) {
         Staff staff = users.get(username);
         if (staff != null && staff.getPassword().equals(password)) {
-            currentUser = staff;
-            return staff;
+            expireIdleSessions();
+            Session session = new Session(staff);
+            sessions.put(session.getId(), session);
+            logger.info("Session opened for " + username);
+            return session;
         }
         return null;
     }
 
     /**
-     * Logout the current user
+     * Open a session for a staff member and bind it to the calling thread
+     * @param staff The staff member
+     * @return The new session
+     */
+    Session openSession(Staff staff) {
+        Session session = new Session(staff);
+        sessions.put(session.getId(), session);
+        boundSessionId.set(session.getId());
+        return session;
+    }
+
+    /**
+     * Bind an open session to the calling thread
+     * @param sessionId The session ID
+     * @return true if the session is open and now bound, false otherwise
+     */
+    public boolean bindSession(String sessionId) {
+        if (sessionId == null || resolve(sessionId) == null) {
+            boundSessionId.remove();
+            return false;
+        }
+        boundSessionId.set(sessionId);
+        return true;
+    }
+
+    /**
+     * Unbind the session from the calling thread without closing it
+     */
+    public void unbindSession() {
+        boundSessionId.remove();
+    }
+
+    /**
+     * Get the session bound to the calling thread
+     * @return The session, or null if no open session is bound
+     */
+    public Session getCurrentSession() {
+        String sessionId = boundSessionId.get();
+        return sessionId == null ? null : resolve(sessionId);
+    }
+
+    /**
+     * Logout the current user, closing the session bound to the calling thread
      */
     public void logout() {
-        currentUser = null;
+        String sessionId = boundSessionId.get();
+        boundSessionId.remove();
+        if (sessionId != null) {
+            logout(sessionId);
+        }
+    }
+
+    /**
+     * Close a session
+     * @param sessionId The session ID
+     */
+    public void logout(String sessionId) {
+        Session session = sessions.remove(sessionId);
+        if (session != null) {
+            logger.info("Session closed for " + session.getStaff().getUsername());
+        }
+    }
+
+    /**
+     * Get the open sessions
+     * @return The open sessions
+     */
+    public Collection<Session> getActiveSessions() {
+        expireIdleSessions();
+        return Collections.unmodifiableCollection(new ArrayList<>(sessions.values()));
+    }
+
+    /**
+     * Close every session that has been idle for longer than the idle timeout
+     * @return The number of sessions closed
+     */
+    public int expireIdleSessions() {
+        Instant now = Instant.now();
+        int expired = 0;
+        for (Session session : sessions.values()) {
+            if (session.isExpired(idleTimeout, now) && sessions.remove(session.getId(), session)) {
+                logger.info("Session expired for " + session.getStaff().getUsername());
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Get the idle timeout after which sessions expire
+     * @return The idle timeout
+     */
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Set the idle timeout after which sessions expire
+     * @param idleTimeout The idle timeout
+     */
+    public void setIdleTimeout(Duration idleTimeout) {
+        if (idleTimeout == null || idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("Idle timeout must be positive");
+        }
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Look up an open session, expiring it if it has been idle too long
+     * @param sessionId The session ID
+     * @return The session, or null if it is not open
+     */
+    private Session resolve(String sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            return null;
+        }
+        if (session.isExpired(idleTimeout, Instant.now())) {
+            sessions.remove(sessionId, session);
+            logger.info("Session expired for " + session.getStaff().getUsername());
+            return null;
+        }
+        session.touch();
+        return session;
     }
 
     /**
@@ -130,7 +294,8 @@ public class AuthenticationService {
      * @return The current user
      */
     public Staff getCurrentUser() {
-        return currentUser;
+        Session session = getCurrentSession();
+        return session == null ? null : session.getStaff();
     }
 
     /**
@@ -138,7 +303,7 @@ public class AuthenticationService {
      * @return true if a user is logged in, false otherwise
      */
     public boolean isLoggedIn() {
-        return currentUser != null;
+        return getCurrentUser() != null;
     }
 
     /**
@@ -147,6 +312,7 @@ public class AuthenticationService {
      * @return true if authorized, false otherwise
      */
     public boolean isAuthorized(String action) {
+        Staff currentUser = getCurrentUser();
         return currentUser != null && currentUser.isAuthorizedFor(action);
     }
 
@@ -155,11 +321,16 @@ public class AuthenticationService {
      * @return true if rostered, false otherwise
      */
     public boolean isRostered() {
-        if (currentUser != null && "admin".equals(currentUser.getUsername())) {
+        return isRostered(getCurrentUser());
+    }
+
+    private boolean isRostered(Staff user) {
+        if (user != null && "admin".equals(user.getUsername())) {
             // Admin user is always considered rostered
             return true;
         }
-        return currentUser != null && currentUser.isRosteredFor(LocalDateTime.now());
+        // The calendar applies leave and cover on top of the weekly shifts
+        return user != null && RosterCalendar.getInstance().isRosteredFor(user, LocalDateTime.now());
     }
 
     /**
@@ -169,15 +340,17 @@ public class AuthenticationService {
      * @throws NotRosteredException If the user is not rostered
      */
     public void checkAuthorizedAndRostered(String action) throws UnauthorizedActionException, NotRosteredException {
-        if (!isLoggedIn()) {
+        // Resolve the caller's session once, so every check sees the same user
+        Staff currentUser = getCurrentUser();
+        if (currentUser == null) {
             throw new UnauthorizedActionException("No user is logged in");
         }
         
-        if (!isAuthorized(action)) {
+        if (!currentUser.isAuthorizedFor(action)) {
             throw new UnauthorizedActionException(currentUser.getFullName() + " is not authorized to " + action);
         }
         
-        if (!isRostered()) {
+        if (!isRostered(currentUser)) {
             throw new NotRosteredException(currentUser.getFullName() + " is not rostered for the current time");
         }
     }
@@ -2,12 +2,22 @@ package org.example.service;
 
 import org.example.exception.ComplianceException;
 import org.example.exception.NotRosteredException;
+import org.example.event.DoseFlaggedEvent;
+import org.example.event.EventBus;
+import org.example.event.MedicationAdministeredEvent;
+import org.example.event.PatientAdmittedEvent;
+import org.example.event.PatientDischargedEvent;
+import org.example.event.PatientMovedEvent;
+import org.example.event.PrescriptionChangedEvent;
+import org.example.event.StaffChangedEvent;
 import org.example.exception.UnauthorizedActionException;
 import org.example.model.*;
 import org.example.repository.PatientRepository;
+import org.example.repository.RosterRepository;
 import org.example.repository.StaffRepository;
 import org.example.repository.WardRepository;
 import org.example.repository.impl.FilePatientRepository;
+import org.example.repository.impl.FileRosterRepository;
 import org.example.repository.impl.FileStaffRepository;
 import org.example.repository.impl.FileWardRepository;
 import org.example.util.DefaultDataGenerator;
@@ -17,18 +27,27 @@ import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for the care home system
+ *
+ * The service is safe for concurrent use. Ward state is guarded by per-ward locks from
+ * {@link WardLockManager}, so operations on different wards run in parallel. Writes to the
+ * data files take every ward lock, so each file is saved from a consistent snapshot.
  */
+@SuppressWarnings("try")
 public class CareHomeService {
     private static final Logger logger = LoggerFactory.getLogger(CareHomeService.class);
-    private static CareHomeService instance;
+    private static volatile CareHomeService instance;
 
     // Repositories
     private WardRepository wardRepository;
@@ -42,26 +61,83 @@ public class CareHomeService {
 
     private AuthenticationService authService;
     private LoggingService logService;
+    private MedicationScheduleIndex medicationSchedule;
+    private MissedDoseDetector missedDoseDetector;
+    private ComplianceEngine complianceEngine;
+    private ComplianceCache complianceCache;
+    private EventBus eventBus;
+    private final WardLockManager wardLocks = WardLockManager.getInstance();
+    private final RosterCalendar rosterCalendar = RosterCalendar.getInstance();
+    private final RosterRepository rosterRepository;
+    // When set, changes stay in memory until the next call to saveData
+    private volatile boolean savesDeferred;
 
     /**
      * Private constructor for singleton pattern
      */
     private CareHomeService() {
-        // Initialize repositories
-        wardRepository = new FileWardRepository();
-        staffRepository = new FileStaffRepository();
-        patientRepository = new FilePatientRepository();
+        this(new FileWardRepository(), new FileStaffRepository(), new FilePatientRepository(),
+                new FileRosterRepository());
+    }
+
+    /**
+     * Constructor with the repositories to use, leaving the roster calendar as it is
+     * @param wardRepository The ward repository
+     * @param staffRepository The staff repository
+     * @param patientRepository The patient repository
+     */
+    CareHomeService(WardRepository wardRepository, StaffRepository staffRepository,
+                    PatientRepository patientRepository) {
+        this(wardRepository, staffRepository, patientRepository, null);
+    }
+
+    /**
+     * Constructor with the repositories to use
+     * @param wardRepository The ward repository
+     * @param staffRepository The staff repository
+     * @param patientRepository The patient repository
+     * @param rosterRepository The roster repository, or null to neither load nor save the roster calendar
+     */
+    CareHomeService(WardRepository wardRepository, StaffRepository staffRepository,
+                    PatientRepository patientRepository, RosterRepository rosterRepository) {
+        this.wardRepository = wardRepository;
+        this.staffRepository = staffRepository;
+        this.patientRepository = patientRepository;
+        this.rosterRepository = rosterRepository;
 
         // Load data from repositories
-        wards = wardRepository.findAllWards();
-        staff = staffRepository.findAll();
-        patients = patientRepository.findAll();
-        dischargedPatients = patientRepository.findDischargedPatients();
+        wards = new CopyOnWriteArrayList<>(wardRepository.findAllWards());
+        staff = new CopyOnWriteArrayList<>(staffRepository.findAll());
+        patients = new CopyOnWriteArrayList<>(patientRepository.findAll());
+        dischargedPatients = new CopyOnWriteArrayList<>(patientRepository.findDischargedPatients());
+
+        if (rosterRepository != null) {
+            Map<String, Staff> staffById = new HashMap<>();
+            for (Staff member : staff) {
+                staffById.put(member.getId(), member);
+            }
+            rosterCalendar.load(rosterRepository.findAll(), staffById::get);
+        }
 
         logger.info("Data loaded from repositories");
 
+        // Track roster compliance as shifts change
+        complianceEngine = new ComplianceEngine(staff);
+        complianceCache = new ComplianceCache(roster -> reconcileCompliance());
+
+        // Index the doses due for all active patients
+        medicationSchedule = new MedicationScheduleIndex();
+        for (Patient patient : patients) {
+            String wardId = wardRepository.findBedForPatient(patient)
+                    .map(bed -> bed.getRoom().getWard().getId())
+                    .orElse(null);
+            medicationSchedule.indexPatient(patient, wardId);
+        }
+        missedDoseDetector = new MissedDoseDetector(() -> patients, this::lockWardOf, this::reportFlaggedDoses);
+
         authService = AuthenticationService.getInstance();
         logService = LoggingService.getInstance();
+        eventBus = EventBus.getInstance();
     }
 
     /**
@@ -69,23 +145,144 @@ public class CareHomeService {
      * @return The singleton instance
      */
     public static CareHomeService getInstance() {
-        if (instance == null) {
-            instance = new CareHomeService();
+        CareHomeService result = instance;
+        if (result == null) {
+            synchronized (CareHomeService.class) {
+                result = instance;
+                if (result == null) {
+                    result = new CareHomeService();
+                    instance = result;
+                }
+            }
         }
-        return instance;
+        return result;
     }
 
     /**
      * Save all data to repositories
      */
     public void saveData() {
-        wardRepository.saveAllWards(wards);
-        staffRepository.saveAll(staff);
-        patientRepository.saveAll(patients);
-        patientRepository.saveAllDischarged(dischargedPatients);
+        try (WardLockManager.WardLocks locks = wardLocks.lockAll(wards)) {
+            wardRepository.saveAllWards(wards);
+            staffRepository.saveAll(staff);
+            patientRepository.saveAll(patients, dischargedPatients);
+        }
+        if (rosterRepository != null) {
+            rosterRepository.saveAll(rosterCalendar.getEntries());
+        }
+        logService.flush();
         logger.info("Data saved to repositories");
     }
 
+    /**
+     * Defer saving changes to the repositories. While saves are deferred, each change is kept
+     * in memory only, and the next call to saveData writes all of them at once. Reports read
+     * from the repositories, such as admissions between dates, reflect the last save.
+     * @param savesDeferred Whether to defer saves
+     */
+    public void setSavesDeferred(boolean savesDeferred) {
+        this.savesDeferred = savesDeferred;
+    }
+
+    public boolean isSavesDeferred() {
+        return savesDeferred;
+    }
+
+    /**
+     * Save the ward file from a consistent snapshot of all wards
+     */
+    private void persistWards() {
+        if (savesDeferred) {
+            return;
+        }
+        try (WardLockManager.WardLocks locks = wardLocks.lockAll(wards)) {
+            wardRepository.saveAllWards(wards);
+        }
+    }
+
+    /**
+     * Save the roster calendar
+     */
+    private void persistRoster() {
+        if (savesDeferred || rosterRepository == null) {
+            return;
+        }
+        rosterRepository.saveAll(rosterCalendar.getEntries());
+    }
+
+    /**
+     * Save a patient from a consistent snapshot of all wards
+     * @param patient The patient to save
+     */
+    private void persistPatient(Patient patient) {
+        if (savesDeferred) {
+            return;
+        }
+        try (WardLockManager.WardLocks locks = wardLocks.lockAll(wards)) {
+            patientRepository.save(patient);
+        }
+    }
+
+    /**
+     * Save every active patient with one write, from a consistent snapshot of all wards
+     */
+    private void persistPatients() {
+        if (savesDeferred) {
+            return;
+        }
+        try (WardLockManager.WardLocks locks = wardLocks.lockAll(wards)) {
+            patientRepository.saveAll(patients);
+        }
+    }
+
+    /**
+     * Lock the ward a patient is currently in. If the patient moves while the lock is being
+     * taken, the lock is released and taken again on the new ward.
+     * @param patient The patient
+     * @return The held lock, which holds no ward if the patient is not in a bed
+     */
+    private WardLockManager.WardLocks lockWardOf(Patient patient) {
+        while (true) {
+            Optional<Bed> bed = findBedForPatient(patient);
+            if (!bed.isPresent()) {
+                return wardLocks.lock();
+            }
+            WardLockManager.WardLocks locks = wardLocks.lock(bed.get().getRoom().getWard());
+            if (bed.get().getPatient() == patient) {
+                return locks;
+            }
+            locks.close();
+        }
+    }
+
+    /**
+     * Lock the wards several patients are in, retrying if any was moved while waiting
+     * @param roundPatients The patients
+     * @return The held locks
+     */
+    private WardLockManager.WardLocks lockWardsOf(Collection<Patient> roundPatients) {
+        while (true) {
+            Map<Patient, Bed> beds = new HashMap<>();
+            Set<Ward> patientWards = new LinkedHashSet<>();
+            for (Patient patient : roundPatients) {
+                Optional<Bed> bed = findBedForPatient(patient);
+                if (bed.isPresent()) {
+                    beds.put(patient, bed.get());
+                    patientWards.add(bed.get().getRoom().getWard());
+                }
+            }
+            WardLockManager.WardLocks locks = wardLocks.lockAll(patientWards);
+            boolean moved = false;
+            for (Map.Entry<Patient, Bed> entry : beds.entrySet()) {
+                moved |= entry.getValue().getPatient() != entry.getKey();
+            }
+            if (!moved) {
+                return locks;
+            }
+            locks.close();
+        }
+    }
+
     /**
      * Get all wards
      * @return All wards
@@ -99,7 +296,20 @@ public class CareHomeService {
      * @return All staff
      */
     public List<Staff> getAllStaff() {
-        return staffRepository.findAll();
+        // While saves are deferred the repositories do not have the latest changes
+        return savesDeferred ? new ArrayList<>(staff) : staffRepository.findAll();
+    }
+
+    /**
+     * Find a staff member by ID
+     * @param id The staff ID
+     * @return Optional containing the staff member if found, empty otherwise
+     */
+    public Optional<Staff> findStaffById(String id) {
+        if (savesDeferred) {
+            return staff.stream().filter(member -> member.getId().equals(id)).findFirst();
+        }
+        return staffRepository.findById(id);
     }
 
     /**
@@ -107,7 +317,7 @@ public class CareHomeService {
      * @return All discharged patients
      */
     public List<Patient> getDischargedPatients() {
-        return patientRepository.findDischargedPatients();
+        return savesDeferred ? new ArrayList<>(dischargedPatients) : patientRepository.findDischargedPatients();
     }
 
     /**
@@ -131,15 +341,19 @@ public class CareHomeService {
 
         // Add the staff member
         this.staff.add(staff);
-        staffRepository.save(staff);
+        if (!savesDeferred) {
+            staffRepository.save(staff);
+        }
+        complianceEngine.addStaff(staff);
 
         logService.logAction(
-                "ADD_STAFF",
+                ActionType.ADD_STAFF,
                 authService.getCurrentUser(),
-                "Added staff member " + staff.getFullName() + " (" + staff.getClass().getSimpleName() + ")"
+                staff.getFullName(), staff.getClass().getSimpleName()
         );
 
         logger.info("Staff member added: {} ({})", staff.getFullName(), staff.getClass().getSimpleName());
+        eventBus.publish(new StaffChangedEvent(authService.getCurrentUser(), staff, true));
         return true;
     }
 
@@ -166,15 +380,19 @@ public class CareHomeService {
         // Replace the staff member
         int index = this.staff.indexOf(existingStaffOpt.get());
         this.staff.set(index, staff);
-        staffRepository.save(staff);
+        if (!savesDeferred) {
+            staffRepository.save(staff);
+        }
+        complianceEngine.updateStaff(staff);
 
         logService.logAction(
-                "UPDATE_STAFF",
+                ActionType.UPDATE_STAFF,
                 authService.getCurrentUser(),
-                "Updated staff member " + staff.getFullName() + " (" + staff.getClass().getSimpleName() + ")"
+                staff.getFullName(), staff.getClass().getSimpleName()
         );
 
         logger.info("Staff member updated: {} ({})", staff.getFullName(), staff.getClass().getSimpleName());
+        eventBus.publish(new StaffChangedEvent(authService.getCurrentUser(), staff, false));
         return true;
     }
 
@@ -220,51 +438,23 @@ public class CareHomeService {
     public void addPatient(Patient patient, Bed bed) throws UnauthorizedActionException, NotRosteredException {
         authService.checkAuthorizedAndRostered("ADD_PATIENT");
 
-        if (bed.isOccupied()) {
-            throw new IllegalArgumentException("Bed is already occupied");
-        }
-
-        // Check if the room is suitable for the patient's gender and isolation needs
+        // The room checks its occupants and claims the bed in one atomic step
         Room room = bed.getRoom();
-        boolean hasOtherGender = false;
-
-        for (Bed otherBed : room.getBeds()) {
-            if (otherBed != bed && otherBed.isOccupied() && otherBed.getPatient().getGender() != patient.getGender()) {
-                hasOtherGender = true;
-                break;
-            }
-        }
-
-        if (hasOtherGender) {
-            throw new IllegalArgumentException("Cannot assign patient to a room with patients of different gender");
-        }
-
-        if (patient.isNeedsIsolation() && room.getNumberOfBeds() > 1) {
-            boolean hasOtherPatients = false;
-            for (Bed otherBed : room.getBeds()) {
-                if (otherBed != bed && otherBed.isOccupied()) {
-                    hasOtherPatients = true;
-                    break;
-                }
-            }
-
-            if (hasOtherPatients) {
-                throw new IllegalArgumentException("Cannot assign patient requiring isolation to a shared room");
-            }
-        }
-
-        bed.assignPatient(patient);
+        room.tryAdmit(bed, patient).requireAdmitted("assign", "Bed");
         patients.add(patient);
-        patientRepository.save(patient);
-        wardRepository.saveAllWards(wards);
+
+        persistPatient(patient);
+        persistWards();
+        medicationSchedule.indexPatient(patient, room.getWard().getId());
 
         logService.logAction(
-                "ADD_PATIENT",
+                ActionType.ADD_PATIENT,
                 authService.getCurrentUser(),
-                "Added patient " + patient.getFullName() + " to " + bed.toString()
+                patient.getFullName(), bed
         );
 
         logger.info("Patient " + patient.getFullName() + " added to " + bed.toString());
+        eventBus.publish(new PatientAdmittedEvent(authService.getCurrentUser(), patient, bed));
     }
 
     /**
@@ -281,54 +471,44 @@ public class CareHomeService {
             throw new IllegalArgumentException("New bed is already occupied");
         }
 
-        // Find the current bed of the patient
-        Optional<Bed> currentBedOpt = findBedForPatient(patient);
-        if (!currentBedOpt.isPresent()) {
-            throw new IllegalArgumentException("Patient is not assigned to any bed");
-        }
-
-        Bed currentBed = currentBedOpt.get();
-
-        // Check if the new room is suitable for the patient's gender and isolation needs
         Room newRoom = newBed.getRoom();
-        boolean hasOtherGender = false;
+        Bed currentBed;
 
-        for (Bed otherBed : newRoom.getBeds()) {
-            if (otherBed != newBed && otherBed.isOccupied() && otherBed.getPatient().getGender() != patient.getGender()) {
-                hasOtherGender = true;
-                break;
+        while (true) {
+            // Find the current bed of the patient
+            Optional<Bed> currentBedOpt = findBedForPatient(patient);
+            if (!currentBedOpt.isPresent()) {
+                throw new IllegalArgumentException("Patient is not assigned to any bed");
             }
-        }
 
-        if (hasOtherGender) {
-            throw new IllegalArgumentException("Cannot move patient to a room with patients of different gender");
-        }
+            currentBed = currentBedOpt.get();
 
-        if (patient.isNeedsIsolation() && newRoom.getNumberOfBeds() > 1) {
-            boolean hasOtherPatients = false;
-            for (Bed otherBed : newRoom.getBeds()) {
-                if (otherBed != newBed && otherBed.isOccupied()) {
-                    hasOtherPatients = true;
-                    break;
+            // Both wards are locked in ward ID order so opposite moves cannot deadlock
+            try (WardLockManager.WardLocks locks = wardLocks.lock(currentBed.getRoom().getWard(), newRoom.getWard())) {
+                if (currentBed.getPatient() != patient) {
+                    // The patient was moved by someone else in the meantime
+                    continue;
                 }
-            }
 
-            if (hasOtherPatients) {
-                throw new IllegalArgumentException("Cannot move patient requiring isolation to a shared room");
+                // The new bed is claimed before the old one is released, so the patient
+                // keeps their current bed if the claim fails
+                newRoom.tryAdmit(newBed, patient).requireAdmitted("move", "New bed");
+                currentBed.removePatient();
+                break;
             }
         }
 
-        currentBed.removePatient();
-        newBed.assignPatient(patient);
-        wardRepository.saveAllWards(wards);
+        persistWards();
+        medicationSchedule.updateWard(patient, newRoom.getWard().getId());
 
         logService.logAction(
-                "MOVE_PATIENT",
+                ActionType.MOVE_PATIENT,
                 authService.getCurrentUser(),
-                "Moved patient " + patient.getFullName() + " from " + currentBed.toString() + " to " + newBed.toString()
+                patient.getFullName(), currentBed, newBed
         );
 
         logger.info("Patient " + patient.getFullName() + " moved from " + currentBed.toString() + " to " + newBed.toString());
+        eventBus.publish(new PatientMovedEvent(authService.getCurrentUser(), patient, currentBed, newBed));
     }
 
     /**
@@ -341,31 +521,112 @@ public class CareHomeService {
     public boolean dischargePatient(Patient patient) throws UnauthorizedActionException, NotRosteredException {
         authService.checkAuthorizedAndRostered("DISCHARGE_PATIENT");
 
-        // Find the current bed of the patient
-        Optional<Bed> currentBedOpt = findBedForPatient(patient);
-        if (!currentBedOpt.isPresent()) {
-            throw new IllegalArgumentException("Patient is not assigned to any bed");
-        }
+        Bed currentBed;
 
-        Bed currentBed = currentBedOpt.get();
-        currentBed.removePatient();
+        while (true) {
+            // Find the current bed of the patient
+            Optional<Bed> currentBedOpt = findBedForPatient(patient);
+            if (!currentBedOpt.isPresent()) {
+                throw new IllegalArgumentException("Patient is not assigned to any bed");
+            }
+
+            currentBed = currentBedOpt.get();
+
+            try (WardLockManager.WardLocks locks = wardLocks.lock(currentBed.getRoom().getWard())) {
+                if (currentBed.getPatient() != patient) {
+                    // The patient was moved by someone else in the meantime
+                    continue;
+                }
 
-        // Add the patient to the discharged patients list
-        dischargedPatients.add(patient);
-        patients.remove(patient);
-        patientRepository.save(patient);
-        wardRepository.saveAllWards(wards);
+                currentBed.removePatient();
+                patient.setDischargeDate(LocalDate.now());
+
+                // Add the patient to the discharged patients list
+                dischargedPatients.add(patient);
+                patients.remove(patient);
+                break;
+            }
+        }
+
+        if (!savesDeferred) {
+            try (WardLockManager.WardLocks locks = wardLocks.lockAll(wards)) {
+                patientRepository.delete(patient);
+                patientRepository.addDischargedPatient(patient);
+                wardRepository.saveAllWards(wards);
+            }
+        }
+        medicationSchedule.removePatient(patient);
 
         logService.logAction(
-                "DISCHARGE_PATIENT",
+                ActionType.DISCHARGE_PATIENT,
                 authService.getCurrentUser(),
-                "Discharged patient " + patient.getFullName() + " from " + currentBed.toString()
+                patient.getFullName(), currentBed
         );
 
         logger.info("Patient " + patient.getFullName() + " discharged from " + currentBed.toString());
+        eventBus.publish(new PatientDischargedEvent(authService.getCurrentUser(), patient, currentBed));
         return true;
     }
 
+    /**
+     * Stream the stays of active and discharged patients admitted in a date range
+     * @param from The first admission date (inclusive)
+     * @param to The last admission date (inclusive)
+     * @return The stays in admission date order
+     */
+    public Stream<PatientStay> getAdmissionsBetween(LocalDate from, LocalDate to) {
+        return patientRepository.findStaysAdmittedBetween(from, to);
+    }
+
+    /**
+     * Stream the stays of patients discharged in a date range
+     * @param from The first discharge date (inclusive)
+     * @param to The last discharge date (inclusive)
+     * @return The stays in discharge date order
+     */
+    public Stream<PatientStay> getDischargesBetween(LocalDate from, LocalDate to) {
+        return patientRepository.findStaysDischargedBetween(from, to);
+    }
+
+    /**
+     * Get the average length of stay of patients discharged in a date range. Stays without an
+     * admission date are left out.
+     * @param from The first discharge date (inclusive)
+     * @param to The last discharge date (inclusive)
+     * @return The average length of stay in days, or 0 if nobody was discharged
+     */
+    public double getAverageLengthOfStay(LocalDate from, LocalDate to) {
+        return getDischargesBetween(from, to)
+                .filter(stay -> stay.getAdmissionDate() != null)
+                .mapToLong(stay -> stay.getLengthOfStayDays(stay.getDischargeDate()))
+                .average()
+                .orElse(0);
+    }
+
+    /**
+     * Count admissions per month in a date range
+     * @param from The first admission date (inclusive)
+     * @param to The last admission date (inclusive)
+     * @return The number of admissions per month, in month order
+     */
+    public SortedMap<YearMonth, Long> getMonthlyAdmissions(LocalDate from, LocalDate to) {
+        return getAdmissionsBetween(from, to)
+                .collect(Collectors.groupingBy(stay -> YearMonth.from(stay.getAdmissionDate()),
+                        TreeMap::new, Collectors.counting()));
+    }
+
+    /**
+     * Count discharges per month in a date range
+     * @param from The first discharge date (inclusive)
+     * @param to The last discharge date (inclusive)
+     * @return The number of discharges per month, in month order
+     */
+    public SortedMap<YearMonth, Long> getMonthlyDischarges(LocalDate from, LocalDate to) {
+        return getDischargesBetween(from, to)
+                .collect(Collectors.groupingBy(stay -> YearMonth.from(stay.getDischargeDate()),
+                        TreeMap::new, Collectors.counting()));
+    }
+
     /**
      * Find the bed for a patient
      * @param patient The patient
@@ -403,16 +664,20 @@ public class CareHomeService {
                 notes
         );
 
-        patient.addPrescription(prescription);
-        patientRepository.save(patient);
+        try (WardLockManager.WardLocks locks = lockWardOf(patient)) {
+            patient.addPrescription(prescription);
+        }
+        persistPatient(patient);
+        medicationSchedule.indexPrescription(prescription);
 
         logService.logAction(
-                "ADD_PRESCRIPTION",
+                ActionType.ADD_PRESCRIPTION,
                 authService.getCurrentUser(),
-                "Added prescription for patient " + patient.getFullName()
+                patient.getFullName()
         );
 
         logger.info("Prescription added for patient " + patient.getFullName());
+        eventBus.publish(new PrescriptionChangedEvent(authService.getCurrentUser(), prescription, null));
         return prescription;
     }
 
@@ -443,16 +708,20 @@ public class CareHomeService {
                 notes
         );
 
-        patient.addPrescription(prescription);
-        patientRepository.save(patient);
+        try (WardLockManager.WardLocks locks = lockWardOf(patient)) {
+            patient.addPrescription(prescription);
+        }
+        persistPatient(patient);
+        medicationSchedule.indexPrescription(prescription);
 
         logService.logAction(
-                "ADD_PRESCRIPTION",
+                ActionType.ADD_PRESCRIPTION,
                 authService.getCurrentUser(),
-                "Added prescription for patient " + patient.getFullName()
+                patient.getFullName()
         );
 
         logger.info("Prescription added for patient " + patient.getFullName());
+        eventBus.publish(new PrescriptionChangedEvent(authService.getCurrentUser(), prescription, null));
         return prescription;
     }
 
@@ -482,16 +751,20 @@ public class CareHomeService {
                 instructions
         );
 
-        prescription.addMedication(medication);
-        patientRepository.save(prescription.getPatient());
+        try (WardLockManager.WardLocks locks = lockWardOf(prescription.getPatient())) {
+            prescription.addMedication(medication);
+        }
+        persistPatient(prescription.getPatient());
+        medicationSchedule.indexMedication(prescription.getPatient(), medication);
 
         logService.logAction(
-                "ADD_MEDICATION",
+                ActionType.ADD_MEDICATION,
                 authService.getCurrentUser(),
-                "Added medication " + name + " to prescription for patient " + prescription.getPatient().getFullName()
+                name, prescription.getPatient().getFullName()
         );
 
         logger.info("Medication " + name + " added to prescription for patient " + prescription.getPatient().getFullName());
+        eventBus.publish(new PrescriptionChangedEvent(authService.getCurrentUser(), prescription, medication));
         return medication;
     }
 
@@ -511,15 +784,35 @@ public class CareHomeService {
             throw new UnauthorizedActionException("Only doctors can add administration times to medications");
         }
 
-        medication.addAdministrationTime(time);
+        if (medication.getPrescription() != null) {
+            try (WardLockManager.WardLocks locks = lockWardOf(medication.getPrescription().getPatient())) {
+                medication.addAdministrationTime(time);
+            }
+        } else {
+            medication.addAdministrationTime(time);
+        }
+        medicationSchedule.reindexMedication(medication);
 
         logService.logAction(
-                "ADD_ADMINISTRATION_TIME",
+                ActionType.ADD_ADMINISTRATION_TIME,
                 authService.getCurrentUser(),
-                "Added administration time " + time + " to medication " + medication.getName()
+                time, medication.getName()
         );
 
         logger.info("Administration time " + time + " added to medication " + medication.getName());
+        eventBus.publish(new PrescriptionChangedEvent(authService.getCurrentUser(), medication.getPrescription(), medication));
+    }
+
+    /**
+     * Get a copy of a patient's administrations, taken under the patient's ward lock so it is
+     * never read while an administration is being recorded
+     * @param patient The patient
+     * @return The administrations, in the order they were recorded
+     */
+    public List<MedicationAdministration> getMedicationAdministrations(Patient patient) {
+        try (WardLockManager.WardLocks locks = lockWardOf(patient)) {
+            return new ArrayList<>(patient.getMedicationAdministrations());
+        }
     }
 
     /**
@@ -551,25 +844,179 @@ public class CareHomeService {
                 notes
         );
 
-        patient.addMedicationAdministration(administration);
-        patientRepository.save(patient);
+        try (WardLockManager.WardLocks locks = lockWardOf(patient)) {
+            patient.addMedicationAdministration(administration);
+        }
+        persistPatient(patient);
+        medicationSchedule.recordAdministration(administration);
 
         logService.logAction(
-                "ADMINISTER_MEDICATION",
+                ActionType.ADMINISTER_MEDICATION,
                 authService.getCurrentUser(),
-                "Administered medication " + medication.getName() + " to patient " + patient.getFullName()
+                medication.getName(), patient.getFullName()
         );
 
         logger.info("Medication " + medication.getName() + " administered to patient " + patient.getFullName());
+        eventBus.publish(new MedicationAdministeredEvent(authService.getCurrentUser(), administration));
         return administration;
     }
 
+    /**
+     * Administer a round of doses at once. The current user is authorized once, only the
+     * wards of the round's patients are locked, the administrations are written to the audit
+     * log as one batch, and the patients are saved with a single write. Each dose is marked
+     * as given for its nearest due time, so a dose given late is not mistaken for the next one.
+     * @param doses The doses given
+     * @param notes Administration notes for every dose
+     * @return The created medication administrations, in the order of the doses
+     * @throws UnauthorizedActionException If the current user is not authorized
+     * @throws NotRosteredException If the current user is not rostered
+     * @throws IllegalArgumentException If a patient is no longer in the care home
+     */
+    public List<MedicationAdministration> administerMedications(List<DueDose> doses, String notes)
+            throws UnauthorizedActionException, NotRosteredException {
+
+        authService.checkAuthorizedAndRostered("ADMINISTER_MEDICATION");
+
+        if (!(authService.getCurrentUser() instanceof Nurse)) {
+            throw new UnauthorizedActionException("Only nurses can administer medications");
+        }
+        if (doses.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Nurse nurse = (Nurse) authService.getCurrentUser();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<MedicationAdministration> administrations = new ArrayList<>(doses.size());
+        for (DueDose dose : doses) {
+            administrations.add(new MedicationAdministration(
+                    IdGenerator.generateId("ADM"),
+                    dose.getMedication(),
+                    dose.getPatient(),
+                    nurse,
+                    now,
+                    notes
+            ));
+        }
+
+        Set<Patient> roundPatients = new LinkedHashSet<>();
+        for (DueDose dose : doses) {
+            roundPatients.add(dose.getPatient());
+        }
+        try (WardLockManager.WardLocks locks = lockWardsOf(roundPatients)) {
+            // A round planned before a discharge must not record doses for the discharged patient
+            for (Patient patient : roundPatients) {
+                if (!patients.contains(patient)) {
+                    throw new IllegalArgumentException("Patient is no longer in the care home: " + patient.getFullName());
+                }
+            }
+            for (MedicationAdministration administration : administrations) {
+                administration.getPatient().addMedicationAdministration(administration);
+            }
+        }
+        persistPatients();
+
+        List<Object[]> logFields = new ArrayList<>(administrations.size());
+        for (DueDose dose : doses) {
+            medicationSchedule.recordGiven(dose, nearestDueDate(dose.getTime(), now));
+            logFields.add(new Object[] {dose.getMedication().getName(), dose.getPatient().getFullName()});
+        }
+        logService.logActions(ActionType.ADMINISTER_MEDICATION, nurse, logFields);
+
+        logger.info(administrations.size() + " medications administered by " + nurse.getFullName());
+        for (MedicationAdministration administration : administrations) {
+            eventBus.publish(new MedicationAdministeredEvent(nurse, administration));
+        }
+        return administrations;
+    }
+
+    /**
+     * Get the date of the occurrence of a daily time nearest to a moment
+     * @param time The time of day
+     * @param now The moment
+     * @return The date, which is the day before or after near midnight
+     */
+    static LocalDate nearestDueDate(LocalTime time, LocalDateTime now) {
+        LocalDateTime dueAt = now.toLocalDate().atTime(time);
+        if (Duration.between(now, dueAt).toHours() >= 12) {
+            return dueAt.toLocalDate().minusDays(1);
+        }
+        if (Duration.between(dueAt, now).toHours() >= 12) {
+            return dueAt.toLocalDate().plusDays(1);
+        }
+        return dueAt.toLocalDate();
+    }
+
     /**
      * Get all patients in the system
      * @return All patients
      */
     public List<Patient> getAllPatients() {
-        return patientRepository.findAll();
+        return savesDeferred ? new ArrayList<>(patients) : patientRepository.findAll();
+    }
+
+    /**
+     * Get the index of doses due across all active patients
+     * @return The medication schedule index
+     */
+    public MedicationScheduleIndex getMedicationSchedule() {
+        return medicationSchedule;
+    }
+
+    /**
+     * Get the doses not yet given that fall due within a window starting now
+     * @param window The length of the window
+     * @return The due doses in time order
+     */
+    public List<DueDose> getDueDoses(Duration window) {
+        return medicationSchedule.getDueWithin(window);
+    }
+
+    /**
+     * Get the detector that flags doses given late or missed
+     * @return The missed dose detector
+     */
+    public MissedDoseDetector getMissedDoseDetector() {
+        return missedDoseDetector;
+    }
+
+    /**
+     * Record doses given late or missed in the audit log and tell subscribers about them
+     * @param flagged The flagged doses
+     */
+    private void reportFlaggedDoses(List<FlaggedDose> flagged) {
+        for (FlaggedDose dose : flagged) {
+            String dueAt = dose.getDueAt().toLocalDate() + " " + dose.getDueAt().toLocalTime();
+            if (dose.isMissed()) {
+                logService.logAction(ActionType.DOSE_MISSED, null,
+                        dose.getMedication().getName(), dose.getPatient().getFullName(), dueAt);
+            } else {
+                logService.logAction(ActionType.DOSE_LATE, null,
+                        dose.getMedication().getName(), dose.getPatient().getFullName(), dueAt, dose.getMinutesLate());
+            }
+            eventBus.publish(new DoseFlaggedEvent(null, dose));
+        }
+        logger.warn(flagged.size() + " doses were given late or missed");
+    }
+
+    /**
+     * Plan a medication round of a ward, listing its due doses bed by bed
+     * @param wardId The ward ID
+     * @param from The start of the round (inclusive)
+     * @param to The end of the round (exclusive), at most a day after the start
+     * @return The round
+     * @throws IllegalArgumentException If the ward does not exist
+     */
+    public MedicationRound planMedicationRound(String wardId, LocalDateTime from, LocalDateTime to) {
+        for (Ward ward : wards) {
+            if (ward.getId().equals(wardId)) {
+                try (WardLockManager.WardLocks locks = wardLocks.lock(ward)) {
+                    return new MedicationRound(ward, from, to, medicationSchedule);
+                }
+            }
+        }
+        throw new IllegalArgumentException("Ward not found: " + wardId);
     }
 
     /**
@@ -623,14 +1070,194 @@ public class CareHomeService {
 
     /**
      * Check compliance with staffing regulations:
-     * - Nurses must be assigned to two shifts (8am-4pm and 2pm-10pm) every day
+     * - A nurse must be on duty at every minute of the 8am-4pm and 2pm-10pm shifts every day
      * - Doctors must be assigned for at least 1 hour every day
      * - No nurse can work more than 8 hours in a single day
      *
-     * @throws ComplianceException if any compliance rule is violated
+     * @throws ComplianceException if any compliance rule is violated, with the full report
      */
     public void checkCompliance() throws ComplianceException {
-        // Use the ComplianceChecker utility to check compliance
-        ComplianceChecker.checkCompliance(staff);
+        getComplianceReport().check();
+        logger.info("Compliance check passed successfully");
+    }
+
+    /**
+     * Find every violation of the staffing regulations
+     * @return The report of every violation
+     */
+    public ComplianceReport getComplianceReport() {
+        // Unless a roster version has changed since the last check, this is the last report
+        return complianceCache.getReport(staff);
+    }
+
+    private ComplianceReport reconcileCompliance() {
+        // Shifts can also be edited directly on staff members, so pick up any such edits first.
+        // Staff members whose roster version has not changed are skipped.
+        for (Staff member : staff) {
+            complianceEngine.updateStaff(member);
+        }
+        return complianceEngine.getReport();
+    }
+
+    /**
+     * Add a shift to a staff member
+     * @param staffMember The staff member
+     * @param shift The shift
+     * @return The violations the shift introduced or resolved
+     */
+    public ComplianceEngine.Delta addShift(Staff staffMember, Shift shift) {
+        staffMember.addShift(shift);
+        ComplianceEngine.Delta delta = complianceEngine.addShift(staffMember, shift);
+        logComplianceDelta(staffMember, delta);
+        return delta;
+    }
+
+    /**
+     * Remove a shift from a staff member
+     * @param staffMember The staff member
+     * @param shift The shift
+     * @return The violations removing the shift introduced or resolved
+     */
+    public ComplianceEngine.Delta removeShift(Staff staffMember, Shift shift) {
+        staffMember.removeShift(shift);
+        ComplianceEngine.Delta delta = complianceEngine.removeShift(staffMember, shift);
+        logComplianceDelta(staffMember, delta);
+        return delta;
+    }
+
+    /**
+     * Assign a staff member to a ward in the roster calendar
+     * @param staffMember The staff member
+     * @param wardId The ward ID, or null to take them off their ward
+     * @throws UnauthorizedActionException If the current user is not authorized
+     * @throws NotRosteredException If the current user is not rostered
+     */
+    public void assignWard(Staff staffMember, String wardId) throws UnauthorizedActionException, NotRosteredException {
+        authService.checkAuthorizedAndRostered("EDIT_STAFF");
+        if (wardId != null && wards.stream().noneMatch(ward -> ward.getId().equals(wardId))) {
+            throw new IllegalArgumentException("Ward not found: " + wardId);
+        }
+        rosterCalendar.assignWard(staffMember, wardId);
+        persistRoster();
+        logService.logAction(ActionType.ASSIGN_WARD, authService.getCurrentUser(),
+                staffMember.getFullName(), wardId != null ? wardId : "none");
+    }
+
+    /**
+     * Put a staff member on leave for a range of dates
+     * @param staffMember The staff member
+     * @param from The first date of leave
+     * @param to The last date of leave
+     * @throws UnauthorizedActionException If the current user is not authorized
+     * @throws NotRosteredException If the current user is not rostered
+     */
+    public void addLeave(Staff staffMember, LocalDate from, LocalDate to)
+            throws UnauthorizedActionException, NotRosteredException {
+        authService.checkAuthorizedAndRostered("EDIT_STAFF");
+        rosterCalendar.addLeave(staffMember.getId(), from, to);
+        persistRoster();
+        logService.logAction(ActionType.ADD_LEAVE, authService.getCurrentUser(), staffMember.getFullName(), from, to);
+    }
+
+    /**
+     * Add a one-off cover shift for a staff member
+     * @param staffMember The staff member
+     * @param date The date the shift starts
+     * @param startTime The start time
+     * @param endTime The end time, before the start time for an overnight shift
+     * @param wardId The ward, or null for the staff member's own ward
+     * @return The cover shift
+     * @throws UnauthorizedActionException If the current user is not authorized
+     * @throws NotRosteredException If the current user is not rostered
+     */
+    public RosterCalendar.DatedShift addCover(Staff staffMember, LocalDate date, LocalTime startTime,
+                                              LocalTime endTime, String wardId)
+            throws UnauthorizedActionException, NotRosteredException {
+        authService.checkAuthorizedAndRostered("EDIT_STAFF");
+        RosterCalendar.DatedShift shift = rosterCalendar.addCover(staffMember, date, startTime, endTime, wardId);
+        persistRoster();
+        logService.logAction(ActionType.ADD_COVER, authService.getCurrentUser(), staffMember.getFullName(), shift);
+        return shift;
+    }
+
+    /**
+     * Hand a staff member's shifts on a date to another staff member
+     * @param from The staff member giving up their shifts
+     * @param to The staff member covering them
+     * @param date The date
+     * @return The cover shifts added for the second staff member
+     * @throws UnauthorizedActionException If the current user is not authorized
+     * @throws NotRosteredException If the current user is not rostered
+     */
+    public List<RosterCalendar.DatedShift> swapShifts(Staff from, Staff to, LocalDate date)
+            throws UnauthorizedActionException, NotRosteredException {
+        authService.checkAuthorizedAndRostered("EDIT_STAFF");
+        if (from.getId().equals(to.getId())) {
+            throw new IllegalArgumentException("Cannot swap shifts with the same staff member");
+        }
+        List<RosterCalendar.DatedShift> cover = rosterCalendar.swap(from, to, date);
+        persistRoster();
+        logService.logAction(ActionType.SWAP_SHIFTS, authService.getCurrentUser(),
+                from.getFullName(), to.getFullName(), date);
+        return cover;
+    }
+
+    /**
+     * Build a weekly roster for the nurses and doctors that meets the staffing rules. Their
+     * shifts are not changed until the roster is applied.
+     * @return The roster
+     * @throws ComplianceException If no compliant roster could be found
+     */
+    public RosterSolver.Roster generateRoster() throws ComplianceException {
+        return new RosterSolver().solve(new ArrayList<>(staff));
+    }
+
+    /**
+     * Replace the weekly shifts of the nurses and doctors with the ones in a roster
+     * @param roster The roster
+     * @throws UnauthorizedActionException If the current user is not authorized
+     * @throws NotRosteredException If the current user is not rostered
+     */
+    public void applyRoster(RosterSolver.Roster roster) throws UnauthorizedActionException, NotRosteredException {
+        authService.checkAuthorizedAndRostered("EDIT_STAFF");
+        List<Staff> rostered = staff.stream()
+                .filter(member -> member instanceof Nurse || member instanceof Doctor)
+                .collect(Collectors.toList());
+        roster.applyTo(rostered);
+        for (Staff member : rostered) {
+            complianceEngine.updateStaff(member);
+        }
+        if (!savesDeferred) {
+            staffRepository.saveAll(staff);
+        }
+        logService.logAction(ActionType.GENERATE_ROSTER, authService.getCurrentUser(),
+                rostered.size(), roster.getSpread());
+        logger.info("Roster applied to {} staff members", rostered.size());
+        for (Staff member : rostered) {
+            eventBus.publish(new StaffChangedEvent(authService.getCurrentUser(), member, false));
+        }
+    }
+
+    /**
+     * Get the dated roster, with leave and cover on top of the weekly shifts
+     * @return The roster calendar
+     */
+    public RosterCalendar getRosterCalendar() {
+        return rosterCalendar;
+    }
+
+    /**
+     * Get the engine tracking roster compliance
+     * @return The compliance engine
+     */
+    public ComplianceEngine getComplianceEngine() {
+        return complianceEngine;
+    }
+
+    private void logComplianceDelta(Staff staffMember, ComplianceEngine.Delta delta) {
+        if (!delta.isEmpty()) {
+            logger.info("Shift change for " + staffMember.getFullName() + " introduced " + delta.getIntroduced()
+                    + " and resolved " + delta.getResolved());
+        }
     }
 }
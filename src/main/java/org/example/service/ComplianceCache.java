@@ -0,0 +1,83 @@
+package org.example.service;
+
+import org.example.exception.ComplianceException;
+import org.example.model.Staff;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Remembers the last compliance report of a roster until the roster changes
+ *
+ * The report is kept with the roster version of every staff member it was made from. Roster
+ * versions are unique across staff members, so if the versions are the same the staff members
+ * and their shifts are the same, and the report is returned without checking again.
+ */
+public class ComplianceCache {
+    private final Function<List<? extends Staff>, ComplianceReport> evaluator;
+    private long[] versions;
+    private ComplianceReport report;
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructor for a cache that checks rosters with ComplianceChecker
+     */
+    public ComplianceCache() {
+        this(ComplianceChecker::evaluate);
+    }
+
+    /**
+     * Constructor
+     * @param evaluator Makes the report of a roster when it has changed
+     */
+    public ComplianceCache(Function<List<? extends Staff>, ComplianceReport> evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Get the compliance report of a roster
+     * @param staff The staff on the roster
+     * @return The report
+     */
+    public synchronized ComplianceReport getReport(List<? extends Staff> staff) {
+        long[] current = new long[staff.size()];
+        for (int i = 0; i < current.length; i++) {
+            current[i] = staff.get(i).getRosterVersion();
+        }
+        if (report != null && Arrays.equals(current, versions)) {
+            hits++;
+            return report;
+        }
+        misses++;
+        report = evaluator.apply(staff);
+        versions = current;
+        return report;
+    }
+
+    /**
+     * Check the compliance of a roster, reporting the first violation
+     * @param staff The staff on the roster
+     * @throws ComplianceException if any compliance rule is violated, with the full report
+     */
+    public void check(List<? extends Staff> staff) throws ComplianceException {
+        getReport(staff).check();
+    }
+
+    /**
+     * Forget the last report, so the next check is made in full
+     */
+    public synchronized void invalidate() {
+        report = null;
+        versions = null;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,451 @@
+package org.example.service;
+
+import org.example.exception.ComplianceException;
+import org.example.model.Doctor;
+import org.example.model.Nurse;
+import org.example.model.Shift;
+import org.example.model.Staff;
+import org.example.util.CoverageTimeline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the compliance of a roster up to date as it changes
+ *
+ * The engine keeps minute-by-minute coverage timelines of the nurses and of the doctors, and a
+ * timeline of each nurse's own shifts. Adding or removing a shift only updates the minutes it
+ * covers and re-checks the days it falls on, and returns the violations that the change
+ * introduced or resolved. The rules are those of ComplianceChecker:
+ * - a nurse must be on duty at every minute of the morning and afternoon shifts of every day
+ * - doctors must be on duty for at least an hour of every day
+ * - no nurse can be on duty for more than 8 hours of any day
+ * Overnight shifts count towards the days they cover, in minutes.
+ *
+ * Only doctors and nurses are tracked. The engine is safe for concurrent use.
+ */
+public class ComplianceEngine {
+    private static final Logger logger = LoggerFactory.getLogger(ComplianceEngine.class);
+
+    static final LocalTime MORNING_SHIFT_START = LocalTime.of(8, 0);
+    static final LocalTime MORNING_SHIFT_END = LocalTime.of(16, 0);
+    static final LocalTime AFTERNOON_SHIFT_START = LocalTime.of(14, 0);
+    static final LocalTime AFTERNOON_SHIFT_END = LocalTime.of(22, 0);
+    static final int MAX_NURSE_MINUTES_PER_DAY = 8 * 60;
+    static final int MIN_DOCTOR_MINUTES_PER_DAY = 60;
+
+    private static final int DAYS = 7;
+
+    // Tracked staff in the order they were added, with the shifts the counters include
+    private final Map<String, Staff> staffById = new LinkedHashMap<>();
+    private final Map<String, Set<Shift>> shiftsById = new LinkedHashMap<>();
+    // Roster version of each staff member when their tracked shifts were last brought up to date
+    private final Map<String, Long> versionsById = new HashMap<>();
+    private final Map<String, CoverageTimeline> nurseTimelines = new LinkedHashMap<>();
+    private final Map<String, int[]> nurseMinutes = new LinkedHashMap<>();
+
+    private final CoverageTimeline nurseCoverage = new CoverageTimeline();
+    private final CoverageTimeline doctorCoverage = new CoverageTimeline();
+    private final boolean[] morningCovered = new boolean[DAYS];
+    private final boolean[] afternoonCovered = new boolean[DAYS];
+    private final boolean[] doctorCovered = new boolean[DAYS];
+    private int nurseCount;
+    private int doctorCount;
+    // Required shifts with no cover, and nurse days over the hours limit
+    private int uncoveredCount = DAYS * 3;
+    private int overworkedCount;
+
+    /**
+     * The violations introduced and resolved by a change to the roster
+     */
+    public static class Delta {
+        private final Set<ComplianceViolation> introduced = new LinkedHashSet<>();
+        private final Set<ComplianceViolation> resolved = new LinkedHashSet<>();
+        private boolean compliant;
+
+        private void introduce(ComplianceViolation violation) {
+            if (!resolved.remove(violation)) {
+                introduced.add(violation);
+            }
+        }
+
+        private void resolve(ComplianceViolation violation) {
+            if (!introduced.remove(violation)) {
+                resolved.add(violation);
+            }
+        }
+
+        public List<ComplianceViolation> getIntroduced() {
+            return new ArrayList<>(introduced);
+        }
+
+        public List<ComplianceViolation> getResolved() {
+            return new ArrayList<>(resolved);
+        }
+
+        /**
+         * Check if the roster complies with every rule after the change
+         * @return true if compliant, false otherwise
+         */
+        public boolean isCompliant() {
+            return compliant;
+        }
+
+        /**
+         * Check if the change made no difference to compliance
+         * @return true if no violation was introduced or resolved
+         */
+        public boolean isEmpty() {
+            return introduced.isEmpty() && resolved.isEmpty();
+        }
+    }
+
+    /**
+     * Constructor for an empty roster
+     */
+    public ComplianceEngine() {
+    }
+
+    /**
+     * Constructor for an existing roster
+     * @param staff The staff members
+     */
+    public ComplianceEngine(Collection<? extends Staff> staff) {
+        for (Staff member : staff) {
+            addStaff(member);
+        }
+    }
+
+    /**
+     * Start tracking a staff member and their shifts
+     * @param staff The staff member
+     * @return The change in compliance
+     */
+    public synchronized Delta addStaff(Staff staff) {
+        Delta delta = new Delta();
+        addStaff(staff, delta);
+        return finish(delta);
+    }
+
+    /**
+     * Stop tracking a staff member
+     * @param staff The staff member
+     * @return The change in compliance
+     */
+    public synchronized Delta removeStaff(Staff staff) {
+        Delta delta = new Delta();
+        removeStaff(staff.getId(), delta);
+        return finish(delta);
+    }
+
+    /**
+     * Bring a staff member's shifts up to date, after their shifts were changed directly.
+     * Only the shifts that differ from the ones tracked are applied, and nothing is compared
+     * if the staff member's roster version is the one last brought up to date.
+     * @param staff The staff member
+     * @return The change in compliance
+     */
+    public synchronized Delta updateStaff(Staff staff) {
+        Delta delta = new Delta();
+        Staff tracked = staffById.get(staff.getId());
+        long version = staff.getRosterVersion();
+        if (tracked == staff && versionsById.getOrDefault(staff.getId(), 0L) == version) {
+            return finish(delta);
+        }
+        if (tracked == null || tracked.getClass() != staff.getClass()) {
+            // A new staff member or a change of role
+            removeStaff(staff.getId(), delta);
+            addStaff(staff, delta);
+            return finish(delta);
+        }
+
+        staffById.put(staff.getId(), staff);
+        Set<Shift> trackedShifts = shiftsById.get(staff.getId());
+        if (trackedShifts != null && !trackedShifts.equals(staff.getShifts())) {
+            for (Shift shift : new ArrayList<>(trackedShifts)) {
+                if (!staff.getShifts().contains(shift)) {
+                    removeShift(staff, shift, delta);
+                }
+            }
+            for (Shift shift : staff.getShifts()) {
+                addShift(staff, shift, delta);
+            }
+        }
+        versionsById.put(staff.getId(), version);
+        return finish(delta);
+    }
+
+    /**
+     * Record a shift added to a staff member
+     * @param staff The staff member
+     * @param shift The shift
+     * @return The change in compliance
+     */
+    public synchronized Delta addShift(Staff staff, Shift shift) {
+        Delta delta = new Delta();
+        if (!staffById.containsKey(staff.getId())) {
+            addStaff(staff, delta);
+        } else {
+            addShift(staff, shift, delta);
+        }
+        return finish(delta);
+    }
+
+    /**
+     * Record a shift removed from a staff member
+     * @param staff The staff member
+     * @param shift The shift
+     * @return The change in compliance
+     */
+    public synchronized Delta removeShift(Staff staff, Shift shift) {
+        Delta delta = new Delta();
+        removeShift(staff, shift, delta);
+        return finish(delta);
+    }
+
+    /**
+     * Check if the roster complies with every rule
+     * @return true if compliant, false otherwise
+     */
+    public synchronized boolean isCompliant() {
+        return nurseCount > 0 && doctorCount > 0 && uncoveredCount == 0 && overworkedCount == 0;
+    }
+
+    /**
+     * Get every violation of the roster
+     * @return The violations, in the order check reports them
+     */
+    public synchronized List<ComplianceViolation> getViolations() {
+        List<ComplianceViolation> violations = new ArrayList<>();
+        if (nurseCount == 0) {
+            violations.add(noStaff(ComplianceViolation.Rule.NO_NURSES));
+        }
+        if (doctorCount == 0) {
+            violations.add(noStaff(ComplianceViolation.Rule.NO_DOCTORS));
+        }
+        if (uncoveredCount > 0) {
+            for (int day = 0; day < DAYS; day++) {
+                if (!morningCovered[day]) {
+                    violations.add(uncovered(ComplianceViolation.Rule.MORNING_SHIFT_NOT_COVERED, day));
+                }
+                if (!afternoonCovered[day]) {
+                    violations.add(uncovered(ComplianceViolation.Rule.AFTERNOON_SHIFT_NOT_COVERED, day));
+                }
+                if (!doctorCovered[day]) {
+                    violations.add(uncovered(ComplianceViolation.Rule.NO_DOCTOR_ON_DAY, day));
+                }
+            }
+        }
+        if (overworkedCount > 0) {
+            for (Map.Entry<String, int[]> entry : nurseMinutes.entrySet()) {
+                int[] minutes = entry.getValue();
+                // Longest day first, as the legacy check reports a nurse for their longest day
+                List<Integer> overDays = new ArrayList<>();
+                for (int day = 0; day < DAYS; day++) {
+                    if (minutes[day] > MAX_NURSE_MINUTES_PER_DAY) {
+                        overDays.add(day);
+                    }
+                }
+                overDays.sort((a, b) -> Integer.compare(minutes[b], minutes[a]));
+                for (int day : overDays) {
+                    violations.add(overworked(staffById.get(entry.getKey()), day));
+                }
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Get a report of every violation of the roster
+     * @return The report
+     */
+    public synchronized ComplianceReport getReport() {
+        return new ComplianceReport(getViolations());
+    }
+
+    /**
+     * Check the roster the way ComplianceChecker does, reporting the first violation. A nurse
+     * over the hours limit on several days is reported for their longest day.
+     * @throws ComplianceException if any compliance rule is violated, with the full report
+     */
+    public void check() throws ComplianceException {
+        getReport().check();
+        logger.info("Compliance check passed successfully");
+    }
+
+    /**
+     * Get the minutes of a day a nurse is on duty
+     * @param staffId The nurse's ID
+     * @param day The day
+     * @return The minutes, or 0 if the staff member is not a tracked nurse
+     */
+    public synchronized int getNurseMinutes(String staffId, DayOfWeek day) {
+        int[] minutes = nurseMinutes.get(staffId);
+        return minutes != null ? minutes[day.ordinal()] : 0;
+    }
+
+    private void addStaff(Staff staff, Delta delta) {
+        if (!(staff instanceof Nurse) && !(staff instanceof Doctor)) {
+            return;
+        }
+        if (staffById.containsKey(staff.getId())) {
+            removeStaff(staff.getId(), delta);
+        }
+        staffById.put(staff.getId(), staff);
+        versionsById.put(staff.getId(), staff.getRosterVersion());
+        shiftsById.put(staff.getId(), new HashSet<>());
+        if (staff instanceof Nurse) {
+            nurseTimelines.put(staff.getId(), new CoverageTimeline());
+            nurseMinutes.put(staff.getId(), new int[DAYS]);
+            if (nurseCount++ == 0) {
+                delta.resolve(noStaff(ComplianceViolation.Rule.NO_NURSES));
+            }
+        } else if (doctorCount++ == 0) {
+            delta.resolve(noStaff(ComplianceViolation.Rule.NO_DOCTORS));
+        }
+        for (Shift shift : staff.getShifts()) {
+            addShift(staff, shift, delta);
+        }
+    }
+
+    private void removeStaff(String staffId, Delta delta) {
+        Staff staff = staffById.get(staffId);
+        if (staff == null) {
+            return;
+        }
+        for (Shift shift : new ArrayList<>(shiftsById.get(staffId))) {
+            removeShift(staff, shift, delta);
+        }
+        staffById.remove(staffId);
+        versionsById.remove(staffId);
+        shiftsById.remove(staffId);
+        if (staff instanceof Nurse) {
+            nurseTimelines.remove(staffId);
+            nurseMinutes.remove(staffId);
+            if (--nurseCount == 0) {
+                delta.introduce(noStaff(ComplianceViolation.Rule.NO_NURSES));
+            }
+        } else if (--doctorCount == 0) {
+            delta.introduce(noStaff(ComplianceViolation.Rule.NO_DOCTORS));
+        }
+    }
+
+    private void addShift(Staff staff, Shift shift, Delta delta) {
+        Set<Shift> shifts = shiftsById.get(staff.getId());
+        if (shifts != null && shifts.add(copyOf(shift))) {
+            apply(staffById.get(staff.getId()), shift, 1, delta);
+        }
+    }
+
+    private void removeShift(Staff staff, Shift shift, Delta delta) {
+        Set<Shift> shifts = shiftsById.get(staff.getId());
+        if (shifts != null && shifts.remove(shift)) {
+            apply(staffById.get(staff.getId()), shift, -1, delta);
+        }
+    }
+
+    /**
+     * Add a shift to the timelines and re-check the days it falls on, or take it away
+     */
+    private void apply(Staff staff, Shift shift, int sign, Delta delta) {
+        if (staff instanceof Doctor) {
+            update(doctorCoverage, shift, sign);
+            for (DayOfWeek day : CoverageTimeline.getDays(shift)) {
+                setCovered(doctorCovered, day.ordinal(),
+                        doctorCoverage.getCoveredMinutes(day) >= MIN_DOCTOR_MINUTES_PER_DAY,
+                        ComplianceViolation.Rule.NO_DOCTOR_ON_DAY, delta);
+            }
+            return;
+        }
+
+        CoverageTimeline ownShifts = nurseTimelines.get(staff.getId());
+        update(nurseCoverage, shift, sign);
+        update(ownShifts, shift, sign);
+        for (DayOfWeek day : CoverageTimeline.getDays(shift)) {
+            setCovered(morningCovered, day.ordinal(),
+                    nurseCoverage.getMinimumCoverage(day, MORNING_SHIFT_START, MORNING_SHIFT_END) > 0,
+                    ComplianceViolation.Rule.MORNING_SHIFT_NOT_COVERED, delta);
+            setCovered(afternoonCovered, day.ordinal(),
+                    nurseCoverage.getMinimumCoverage(day, AFTERNOON_SHIFT_START, AFTERNOON_SHIFT_END) > 0,
+                    ComplianceViolation.Rule.AFTERNOON_SHIFT_NOT_COVERED, delta);
+            setMinutes(staff, day.ordinal(), ownShifts.getCoveredMinutes(day), delta);
+        }
+    }
+
+    private static void update(CoverageTimeline timeline, Shift shift, int sign) {
+        if (sign > 0) {
+            timeline.add(shift);
+        } else {
+            timeline.remove(shift);
+        }
+    }
+
+    private void setCovered(boolean[] covered, int day, boolean isCovered, ComplianceViolation.Rule rule,
+                            Delta delta) {
+        if (!covered[day] && isCovered) {
+            uncoveredCount--;
+            delta.resolve(uncovered(rule, day));
+        } else if (covered[day] && !isCovered) {
+            uncoveredCount++;
+            delta.introduce(uncovered(rule, day));
+        }
+        covered[day] = isCovered;
+    }
+
+    private void setMinutes(Staff staff, int day, int onDuty, Delta delta) {
+        int[] minutes = nurseMinutes.get(staff.getId());
+        boolean wasOver = minutes[day] > MAX_NURSE_MINUTES_PER_DAY;
+        boolean isOver = onDuty > MAX_NURSE_MINUTES_PER_DAY;
+        minutes[day] = onDuty;
+        if (!wasOver && isOver) {
+            overworkedCount++;
+            delta.introduce(overworked(staff, day));
+        } else if (wasOver && !isOver) {
+            overworkedCount--;
+            delta.resolve(overworked(staff, day));
+        }
+    }
+
+    private Delta finish(Delta delta) {
+        delta.compliant = isCompliant();
+        return delta;
+    }
+
+    private static Shift copyOf(Shift shift) {
+        // Shifts can be edited in place, so keep the values the counters were built from
+        return new Shift(shift.getDayOfWeek(), shift.getStartTime(), shift.getEndTime());
+    }
+
+    static ComplianceViolation noStaff(ComplianceViolation.Rule rule) {
+        return new ComplianceViolation(rule, null, null, null, null);
+    }
+
+    static ComplianceViolation uncovered(ComplianceViolation.Rule rule, int day) {
+        LocalTime start = null;
+        LocalTime end = null;
+        if (rule == ComplianceViolation.Rule.MORNING_SHIFT_NOT_COVERED) {
+            start = MORNING_SHIFT_START;
+            end = MORNING_SHIFT_END;
+        } else if (rule == ComplianceViolation.Rule.AFTERNOON_SHIFT_NOT_COVERED) {
+            start = AFTERNOON_SHIFT_START;
+            end = AFTERNOON_SHIFT_END;
+        }
+        return new ComplianceViolation(rule, DayOfWeek.values()[day], start, end, null);
+    }
+
+    static ComplianceViolation overworked(Staff staff, int day) {
+        return new ComplianceViolation(ComplianceViolation.Rule.NURSE_OVER_DAILY_HOURS,
+                DayOfWeek.values()[day], null, null, staff);
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.service;
+
+import org.example.exception.ComplianceException;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Every violation of the staffing rules found in a roster
+ *
+ * Violations are listed in the order the rules are checked: missing nurses or doctors, then
+ * day by day the uncovered morning, afternoon and doctor shifts, then nurse by nurse the days
+ * over the hours limit, longest day first.
+ */
+public class ComplianceReport {
+    private final List<ComplianceViolation> violations;
+
+    /**
+     * Constructor
+     * @param violations The violations, in report order
+     */
+    public ComplianceReport(List<ComplianceViolation> violations) {
+        this.violations = Collections.unmodifiableList(new ArrayList<>(violations));
+    }
+
+    /**
+     * Check if the roster complies with every rule
+     * @return true if there are no violations, false otherwise
+     */
+    public boolean isCompliant() {
+        return violations.isEmpty();
+    }
+
+    public List<ComplianceViolation> getViolations() {
+        return violations;
+    }
+
+    /**
+     * Get the violations of one rule
+     * @param rule The rule
+     * @return The violations, in report order
+     */
+    public List<ComplianceViolation> getViolations(ComplianceViolation.Rule rule) {
+        List<ComplianceViolation> result = new ArrayList<>();
+        for (ComplianceViolation violation : violations) {
+            if (violation.getRule() == rule) {
+                result.add(violation);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the violations on one day
+     * @param day The day
+     * @return The violations, in report order
+     */
+    public List<ComplianceViolation> getViolations(DayOfWeek day) {
+        List<ComplianceViolation> result = new ArrayList<>();
+        for (ComplianceViolation violation : violations) {
+            if (violation.getDay() == day) {
+                result.add(violation);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Throw for the first violation, if there is one
+     * @throws ComplianceException with the first violation's message and this report
+     */
+    public void check() throws ComplianceException {
+        if (!violations.isEmpty()) {
+            throw new ComplianceException(violations.get(0).getMessage(), this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (violations.isEmpty()) {
+            return "All compliance checks passed";
+        }
+        StringBuilder builder = new StringBuilder(violations.size() + " compliance violation(s):");
+        for (ComplianceViolation violation : violations) {
+            builder.append(System.lineSeparator()).append("- ").append(violation.getMessage());
+        }
+        return builder.toString();
+    }
+}
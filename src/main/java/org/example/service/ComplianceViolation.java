@@ -0,0 +1,112 @@
+package org.example.service;
+
+import org.example.model.Staff;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * A broken staffing rule
+ */
+public class ComplianceViolation {
+
+    /**
+     * The staffing rules
+     */
+    public enum Rule {
+        NO_NURSES,
+        NO_DOCTORS,
+        MORNING_SHIFT_NOT_COVERED,
+        AFTERNOON_SHIFT_NOT_COVERED,
+        NO_DOCTOR_ON_DAY,
+        NURSE_OVER_DAILY_HOURS
+    }
+
+    private final Rule rule;
+    private final DayOfWeek day;
+    private final LocalTime start;
+    private final LocalTime end;
+    private final Staff staff;
+
+    /**
+     * Constructor
+     * @param rule The rule that is broken
+     * @param day The day it is broken on, or null if it is not about a day
+     * @param start The start of the time window that is not covered, or null if it is not about a window
+     * @param end The end of the time window that is not covered, or null if it is not about a window
+     * @param staff The staff member who breaks the rule, or null if it is not about a staff member
+     */
+    public ComplianceViolation(Rule rule, DayOfWeek day, LocalTime start, LocalTime end, Staff staff) {
+        this.rule = rule;
+        this.day = day;
+        this.start = start;
+        this.end = end;
+        this.staff = staff;
+    }
+
+    public Rule getRule() {
+        return rule;
+    }
+
+    public DayOfWeek getDay() {
+        return day;
+    }
+
+    public LocalTime getStart() {
+        return start;
+    }
+
+    public LocalTime getEnd() {
+        return end;
+    }
+
+    public Staff getStaff() {
+        return staff;
+    }
+
+    /**
+     * Get the message describing the violation
+     * @return The message
+     */
+    public String getMessage() {
+        switch (rule) {
+            case NO_NURSES:
+                return "No nurses are registered in the system";
+            case NO_DOCTORS:
+                return "No doctors are registered in the system";
+            case MORNING_SHIFT_NOT_COVERED:
+                return "Morning shift (8am-4pm) not covered for " + day;
+            case AFTERNOON_SHIFT_NOT_COVERED:
+                return "Afternoon shift (2pm-10pm) not covered for " + day;
+            case NO_DOCTOR_ON_DAY:
+                return "No doctor assigned for " + day;
+            default:
+                return "Nurse " + staff.getFullName() + " is scheduled for more than 8 hours on " + day;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ComplianceViolation that = (ComplianceViolation) o;
+        return rule == that.rule && day == that.day
+                && Objects.equals(start, that.start) && Objects.equals(end, that.end)
+                && Objects.equals(staffId(), that.staffId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rule, day, start, end, staffId());
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+
+    private String staffId() {
+        return staff != null ? staff.getId() : null;
+    }
+}
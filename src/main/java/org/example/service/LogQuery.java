@@ -0,0 +1,115 @@
+package org.example.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criteria for querying action logs.
+ * Every criterion is optional; unset criteria match all logs.
+ */
+public class LogQuery {
+    private String staffId;
+    private String action;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private int offset;
+    private int limit = Integer.MAX_VALUE;
+    private boolean newestFirst;
+
+    /**
+     * Only match logs of a staff member
+     * @param staffId The staff ID
+     * @return This query
+     */
+    public LogQuery staffId(String staffId) {
+        this.staffId = staffId;
+        return this;
+    }
+
+    /**
+     * Only match logs of an action
+     * @param action The action
+     * @return This query
+     */
+    public LogQuery action(String action) {
+        this.action = action;
+        return this;
+    }
+
+    /**
+     * Only match logs at or after a time
+     * @param from The start of the range (inclusive)
+     * @return This query
+     */
+    public LogQuery from(LocalDateTime from) {
+        this.from = from;
+        return this;
+    }
+
+    /**
+     * Only match logs before a time
+     * @param to The end of the range (exclusive)
+     * @return This query
+     */
+    public LogQuery to(LocalDateTime to) {
+        this.to = to;
+        return this;
+    }
+
+    /**
+     * Skip a number of matching logs
+     * @param offset The number of logs to skip
+     * @return This query
+     */
+    public LogQuery offset(int offset) {
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * Return at most a number of logs
+     * @param limit The maximum number of logs
+     * @return This query
+     */
+    public LogQuery limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Return the newest logs first instead of the oldest
+     * @param newestFirst Whether to return the newest logs first
+     * @return This query
+     */
+    public LogQuery newestFirst(boolean newestFirst) {
+        this.newestFirst = newestFirst;
+        return this;
+    }
+
+    public String getStaffId() {
+        return staffId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public boolean isNewestFirst() {
+        return newestFirst;
+    }
+}
@@ -1,30 +1,128 @@
 package org.example.service;
 
 import org.example.model.ActionLog;
+import org.example.model.ActionType;
 import org.example.model.Staff;
-import org.example.util.IdGenerator;
+import org.example.repository.ActionLogRepository;
+import org.example.util.RingBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Service for logging actions in the system
  * Implemented as a Singleton
+ *
+ * Callers put new logs into a lock-free ring buffer and return straight away. A single
+ * writer thread takes them in order, assigns sequence IDs, adds them to the indexes and
+ * passes them to the log sink and the audit log repository. Queries first wait for the logs
+ * already submitted to be indexed, so a caller always sees its own logs.
+ *
+ * When an audit log repository is attached, only the most recent logs are kept in memory.
+ * Older logs are dropped from memory and queries that reach back before the oldest log in
+ * memory read that part of the range from the repository. Only the requested page is read
+ * from disk, and the number of saved logs matching a query is cached until the memory start
+ * moves, as logs before it never change.
+ *
+ * Logs are indexed by staff ID and by action. Every index list is kept in sequence order.
+ * Each log keeps the time it was taken, and time ranges are found by binary search on its
+ * order time, the latest time of the logs up to it, instead of scanning.
  */
 public class LoggingService {
+    private static final Logger logger = LoggerFactory.getLogger(LoggingService.class);
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final int DEFAULT_MEMORY_LIMIT = 10000;
+    private static final int OLDER_COUNT_CACHE_SIZE = 64;
+    private static final long FLUSH_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * What logAction does when the ring buffer is full
+     */
+    public enum BackPressurePolicy {
+        /** Wait for the writer thread to free a slot, so no log is lost */
+        BLOCK,
+        /** Discard the new log and count it as dropped, so the caller never waits */
+        DROP
+    }
+
     private static LoggingService instance;
     private List<ActionLog> logs;
+    private Map<String, List<ActionLog>> logsByStaff;
+    private Map<String, List<ActionLog>> logsByAction;
+    private Map<String, Staff> staffById;
+    // Number of saved logs before the memory start matching each query's criteria
+    private final Map<List<Object>, Integer> olderCounts;
+
+    private final RingBuffer<ActionLog> buffer;
+    private final Thread writer;
+    private final AtomicLong dropped;
+    private volatile BackPressurePolicy backPressurePolicy;
+    private volatile Consumer<ActionLog> sink;
+    private volatile ActionLogRepository repository;
+    private volatile boolean writerIdle;
+    // Number of buffered logs that have been indexed and passed on
+    private volatile long processed;
+    // Number of buffered logs that have also been flushed to the repository
+    private volatile long persisted;
+    private long nextSequence;
+    private long lastTimestamp = Long.MIN_VALUE;
+    private int memoryLimit;
+    // Logs before this time are only in the repository, or null if memory holds every log
+    private LocalDateTime memoryStart;
 
     private LoggingService() {
+        this(DEFAULT_CAPACITY, BackPressurePolicy.BLOCK);
+    }
+
+    /**
+     * Constructor with the ring buffer size and back-pressure policy to use
+     * @param capacity The ring buffer capacity
+     * @param backPressurePolicy The policy when the buffer is full
+     */
+    LoggingService(int capacity, BackPressurePolicy backPressurePolicy) {
         logs = new ArrayList<>();
+        logsByStaff = new HashMap<>();
+        logsByAction = new HashMap<>();
+        staffById = new LinkedHashMap<>();
+        olderCounts = new LinkedHashMap<List<Object>, Integer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, Integer> eldest) {
+                return size() > OLDER_COUNT_CACHE_SIZE;
+            }
+        };
+
+        buffer = new RingBuffer<>(capacity);
+        dropped = new AtomicLong();
+        this.backPressurePolicy = backPressurePolicy;
+        nextSequence = 1;
+        memoryLimit = DEFAULT_MEMORY_LIMIT;
+
+        writer = new Thread(this::runWriter, "action-log-writer");
+        writer.setDaemon(true);
+        writer.start();
     }
 
     /**
      * Get the singleton instance of the logging service
      * @return The logging service instance
      */
-    public static LoggingService getInstance() {
+    public static synchronized LoggingService getInstance() {
         if (instance == null) {
             instance = new LoggingService();
         }
@@ -32,30 +130,177 @@ public class LoggingService {
     }
 
     /**
-     * Log an action
+     * Log an action with free-text details. The log is handed to the writer thread and this
+     * method does not wait for it to be indexed or saved.
      * @param action The action performed
      * @param staff The staff member who performed the action
      * @param details Details of the action
-     * @return The created action log
+     * @return The created action log, whose ID is assigned once the writer thread takes it
      */
     public ActionLog logAction(String action, Staff staff, String details) {
-        ActionLog log = new ActionLog(
-            IdGenerator.generateId("LOG"),
-            action,
-            staff,
-            LocalDateTime.now(),
-            details
-        );
-        logs.add(log);
+        return submit(new ActionLog(null, action, staff, LocalDateTime.now(), details));
+    }
+
+    /**
+     * Log an action whose details are rendered from the action type's message template when
+     * displayed. The log is handed to the writer thread and this method does not wait for it
+     * to be indexed or saved.
+     * @param type The action performed
+     * @param staff The staff member who performed the action
+     * @param fields The detail fields, in template order
+     * @return The created action log, whose ID is assigned once the writer thread takes it
+     */
+    public ActionLog logAction(ActionType type, Staff staff, Object... fields) {
+        return submit(new ActionLog(type, staff, LocalDateTime.now(), fields));
+    }
+
+    /**
+     * Log several actions of one type by one staff member as a single batch. The logs share a
+     * timestamp and are handed to the writer thread together, so it indexes them in one burst
+     * and writes them to the audit log repository with one flush.
+     * @param type The action performed
+     * @param staff The staff member who performed the actions
+     * @param fieldsList The detail fields of each action, in template order
+     * @return The created action logs, in the same order
+     */
+    public List<ActionLog> logActions(ActionType type, Staff staff, List<Object[]> fieldsList) {
+        LocalDateTime timestamp = LocalDateTime.now();
+        List<ActionLog> batch = new ArrayList<>(fieldsList.size());
+        for (Object[] fields : fieldsList) {
+            ActionLog log = new ActionLog(type, staff, timestamp, fields);
+            enqueue(log);
+            batch.add(log);
+        }
+        if (writerIdle) {
+            LockSupport.unpark(writer);
+        }
+        return batch;
+    }
+
+    private ActionLog submit(ActionLog log) {
+        if (enqueue(log) && writerIdle) {
+            LockSupport.unpark(writer);
+        }
         return log;
     }
 
+    /**
+     * Put a log into the ring buffer, applying the back-pressure policy if it is full
+     * @param log The log
+     * @return true if the log was queued, false if it was dropped
+     */
+    private boolean enqueue(ActionLog log) {
+        while (!buffer.offer(log)) {
+            if (backPressurePolicy == BackPressurePolicy.DROP) {
+                if (dropped.incrementAndGet() % 1000 == 1) {
+                    logger.warn("Action log buffer is full, dropped " + dropped.get() + " logs so far");
+                }
+                return false;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Wait until every log submitted before this call has been indexed, passed to the sink
+     * and written to the audit log repository. Gives up if the writer thread has stopped or
+     * the logs are not written within a timeout.
+     */
+    public void flush() {
+        if (Thread.currentThread() == writer) {
+            return;
+        }
+        long target = buffer.getClaimed();
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS;
+        while (processed < target || (repository != null && persisted < target)) {
+            if (!writer.isAlive()) {
+                logger.error("Action log writer has stopped, " + (target - processed) + " logs were not written");
+                return;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                logger.warn("Timed out waiting for action logs to be written");
+                return;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        }
+    }
+
+    /**
+     * Attach the audit log repository. Logs already in memory are appended to it, then the
+     * most recent logs are loaded from it and sequence numbers carry on from the last saved log.
+     * @param repository The repository
+     */
+    public void setRepository(ActionLogRepository repository) {
+        flush();
+        synchronized (this) {
+            List<ActionLog> pending = new ArrayList<>(logs);
+            clearIndexes();
+
+            List<ActionLog> saved = repository.findLatest(memoryLimit);
+            for (ActionLog log : saved) {
+                nextSequence = Math.max(nextSequence, log.getSequence() + 1);
+            }
+            if (saved.size() == memoryLimit) {
+                memoryStart = ActionLog.fromEpochNanos(saved.get(0).getOrderTimestampNanos());
+            }
+            for (ActionLog log : saved) {
+                addToIndexes(log);
+            }
+            for (ActionLog log : pending) {
+                index(log);
+                repository.append(log);
+            }
+            repository.flush();
+            this.repository = repository;
+            evictIfNeeded();
+        }
+    }
+
+    /**
+     * Set the number of logs kept in memory when an audit log repository is attached
+     * @param memoryLimit The number of logs
+     */
+    public synchronized void setMemoryLimit(int memoryLimit) {
+        if (memoryLimit < 1) {
+            throw new IllegalArgumentException("Memory limit must be positive");
+        }
+        this.memoryLimit = memoryLimit;
+        evictIfNeeded();
+    }
+
+    /**
+     * Set where logs are passed once they have been indexed. Called on the writer thread.
+     * @param sink The sink, or null for none
+     */
+    public void setSink(Consumer<ActionLog> sink) {
+        this.sink = sink;
+    }
+
+    public BackPressurePolicy getBackPressurePolicy() {
+        return backPressurePolicy;
+    }
+
+    public void setBackPressurePolicy(BackPressurePolicy backPressurePolicy) {
+        this.backPressurePolicy = backPressurePolicy;
+    }
+
+    /**
+     * Get the number of logs discarded because the buffer was full
+     * @return The number of dropped logs
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
     /**
      * Get all logs
      * @return All action logs
      */
     public List<ActionLog> getAllLogs() {
-        return new ArrayList<>(logs);
+        return query(new LogQuery());
     }
 
     /**
@@ -64,13 +309,7 @@ public class LoggingService {
      * @return Logs for the staff member
      */
     public List<ActionLog> getLogsForStaff(Staff staff) {
-        List<ActionLog> staffLogs = new ArrayList<>();
-        for (ActionLog log : logs) {
-            if (log.getStaff().getId().equals(staff.getId())) {
-                staffLogs.add(log);
-            }
-        }
-        return staffLogs;
+        return query(new LogQuery().staffId(staffKey(staff)));
     }
 
     /**
@@ -79,19 +318,386 @@ public class LoggingService {
      * @return Logs for the action
      */
     public List<ActionLog> getLogsForAction(String action) {
-        List<ActionLog> actionLogs = new ArrayList<>();
-        for (ActionLog log : logs) {
-            if (log.getAction().equals(action)) {
-                actionLogs.add(log);
+        return query(new LogQuery().action(action));
+    }
+
+    /**
+     * Get the logs matching a query
+     * @param query The query
+     * @return The matching logs, paged as requested by the query
+     */
+    public List<ActionLog> query(LogQuery query) {
+        flush();
+        OlderRange older = olderRange(query);
+        List<ActionLog> result = new ArrayList<>();
+        int limit = query.getLimit();
+        if (query.isNewestFirst()) {
+            // The logs in memory come first, then the saved logs before them
+            int skipped;
+            synchronized (this) {
+                skipped = queryMemory(query, query.getOffset(), limit, result);
+            }
+            if (older != null && result.size() < limit) {
+                int end = older.count() - (query.getOffset() - skipped);
+                int start = Math.max(0, end - (limit - result.size()));
+                if (end > start) {
+                    List<ActionLog> page = older.read(start, end - start);
+                    Collections.reverse(page);
+                    result.addAll(page);
+                }
+            }
+        } else {
+            int offset = query.getOffset();
+            if (older != null) {
+                int olderCount = older.count();
+                if (offset < olderCount) {
+                    result.addAll(older.read(offset, Math.min(limit, olderCount - offset)));
+                }
+                offset = Math.max(0, offset - olderCount);
+            }
+            if (result.size() < limit) {
+                synchronized (this) {
+                    queryMemory(query, offset, limit - result.size(), result);
+                }
             }
         }
-        return actionLogs;
+        return result;
     }
 
     /**
-     * Clear all logs
+     * Count the logs matching a query, ignoring its offset and limit
+     * @param query The query
+     * @return The number of matching logs
+     */
+    public int count(LogQuery query) {
+        flush();
+        OlderRange older = olderRange(query);
+        int olderCount = older != null ? older.count() : 0;
+        synchronized (this) {
+            List<ActionLog> source = selectSource(query);
+            int start = lowerBound(source, query.getFrom(), 0);
+            int end = lowerBound(source, query.getTo(), source.size());
+
+            // A single indexed criterion needs no per-log check
+            boolean bothKeys = query.getStaffId() != null && query.getAction() != null;
+            if (!bothKeys) {
+                return olderCount + end - start;
+            }
+
+            int count = olderCount;
+            for (int i = start; i < end; i++) {
+                if (matches(source.get(i), query)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Get the staff members that have logged actions
+     * @return The staff members in order of their first log
+     */
+    public List<Staff> getLoggedStaff() {
+        flush();
+        synchronized (this) {
+            return new ArrayList<>(staffById.values());
+        }
+    }
+
+    /**
+     * Get the actions that have been logged
+     * @return The logged actions
+     */
+    public Set<String> getLoggedActions() {
+        flush();
+        synchronized (this) {
+            return new TreeSet<>(logsByAction.keySet());
+        }
+    }
+
+    /**
+     * Clear all logs held in memory. Logs already saved to the audit log repository are kept.
      */
     public void clearLogs() {
+        flush();
+        synchronized (this) {
+            clearIndexes();
+        }
+    }
+
+    /**
+     * Writer thread loop: take logs from the buffer in order, index them and pass them to the sink
+     */
+    private void runWriter() {
+        while (true) {
+            ActionLog log = buffer.poll();
+            if (log == null) {
+                if (persisted < processed) {
+                    // Write the burst of logs out in one go once the buffer is empty
+                    ActionLogRepository currentRepository = repository;
+                    if (currentRepository != null) {
+                        currentRepository.flush();
+                    }
+                    persisted = processed;
+                }
+                // A producer that queues a log after this sees the idle flag and unparks the writer,
+                // and one that queued before it is seen by the size check
+                writerIdle = true;
+                if (buffer.size() == 0) {
+                    LockSupport.park(this);
+                } else {
+                    // A producer has claimed the next slot but not yet published into it
+                    Thread.onSpinWait();
+                }
+                writerIdle = false;
+                continue;
+            }
+
+            ActionLogRepository currentRepository;
+            synchronized (this) {
+                index(log);
+                currentRepository = repository;
+                evictIfNeeded();
+            }
+            if (currentRepository != null) {
+                try {
+                    currentRepository.append(log);
+                } catch (RuntimeException e) {
+                    logger.error("Could not save action log " + log.getId(), e);
+                }
+            }
+
+            Consumer<ActionLog> currentSink = sink;
+            if (currentSink != null) {
+                try {
+                    currentSink.accept(log);
+                } catch (RuntimeException e) {
+                    logger.error("Could not save action log " + log.getId(), e);
+                }
+            }
+            processed = buffer.getConsumed();
+        }
+    }
+
+    /**
+     * Assign the log its sequence ID and add it to the indexes
+     * @param log The log
+     */
+    private void index(ActionLog log) {
+        log.setSequence(nextSequence++);
+        addToIndexes(log);
+    }
+
+    /**
+     * Add a log to the indexes. Its order time is kept non-decreasing, as logs taken at the
+     * same moment on different threads can reach the buffer in a slightly different order.
+     * @param log The log
+     */
+    private void addToIndexes(ActionLog log) {
+        lastTimestamp = Math.max(lastTimestamp, log.getTimestampNanos());
+        log.setOrderTimestampNanos(lastTimestamp);
+        logs.add(log);
+        logsByStaff.computeIfAbsent(staffKey(log), key -> new ArrayList<>()).add(log);
+        logsByAction.computeIfAbsent(log.getAction(), key -> new ArrayList<>()).add(log);
+        if (log.getStaff() != null) {
+            staffById.put(log.getStaff().getId(), log.getStaff());
+        }
+    }
+
+    private void clearIndexes() {
         logs.clear();
+        logsByStaff.clear();
+        logsByAction.clear();
+        staffById.clear();
+        memoryStart = null;
+        olderCounts.clear();
+    }
+
+    /**
+     * Drop the oldest tenth of the logs from memory once there are more than the memory limit.
+     * Only done when a repository holds the dropped logs. All logs at or after the new memory
+     * start stay in memory, so a time boundary never splits logs between memory and disk.
+     */
+    private void evictIfNeeded() {
+        if (repository == null || logs.size() <= memoryLimit) {
+            return;
+        }
+        int target = logs.size() - memoryLimit + memoryLimit / 10;
+        LocalDateTime cutoff = ActionLog.fromEpochNanos(logs.get(Math.min(target, logs.size() - 1)).getOrderTimestampNanos());
+        int evicted = lowerBound(logs, cutoff, 0);
+        if (evicted == 0) {
+            return;
+        }
+        logs.subList(0, evicted).clear();
+        for (List<ActionLog> list : logsByStaff.values()) {
+            list.subList(0, lowerBound(list, cutoff, 0)).clear();
+        }
+        for (List<ActionLog> list : logsByAction.values()) {
+            list.subList(0, lowerBound(list, cutoff, 0)).clear();
+        }
+        memoryStart = cutoff;
+        olderCounts.clear();
+    }
+
+    /**
+     * Add a page of the logs in memory matching a query to a result
+     * @param query The query
+     * @param offset The number of matching logs to skip
+     * @param limit The maximum number of logs to add
+     * @param result The result to add to
+     * @return The number of matching logs skipped
+     */
+    private int queryMemory(LogQuery query, int offset, int limit, List<ActionLog> result) {
+        List<ActionLog> source = selectSource(query);
+        int start = lowerBound(source, query.getFrom(), 0);
+        int end = lowerBound(source, query.getTo(), source.size());
+
+        int added = 0;
+        int skipped = 0;
+        int first = 0;
+        if (query.getStaffId() == null || query.getAction() == null) {
+            // A single indexed criterion needs no per-log check, so the offset can be skipped directly
+            first = Math.min(offset, end - start);
+            skipped = first;
+        }
+        for (int i = first; i < end - start && added < limit; i++) {
+            ActionLog log = source.get(query.isNewestFirst() ? end - 1 - i : start + i);
+            if (matches(log, query)) {
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    result.add(log);
+                    added++;
+                }
+            }
+        }
+        return skipped;
+    }
+
+    /**
+     * Find the part of a query's range that is older than the logs in memory
+     * @param query The query
+     * @return The saved part of the range, or null if memory covers the range
+     */
+    private OlderRange olderRange(LogQuery query) {
+        ActionLogRepository currentRepository;
+        LocalDateTime start;
+        synchronized (this) {
+            currentRepository = repository;
+            start = memoryStart;
+        }
+        if (currentRepository == null || start == null
+                || (query.getFrom() != null && !query.getFrom().isBefore(start))) {
+            return null;
+        }
+        LocalDateTime to = query.getTo() != null && query.getTo().isBefore(start) ? query.getTo() : start;
+        return new OlderRange(currentRepository, query, to);
+    }
+
+    /**
+     * The part of a query's range that is only in the audit log repository
+     */
+    private class OlderRange {
+        private final ActionLogRepository repository;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final Predicate<ActionLog> filter;
+        private final List<Object> key;
+
+        private OlderRange(ActionLogRepository repository, LogQuery query, LocalDateTime to) {
+            this.repository = repository;
+            this.from = query.getFrom();
+            this.to = to;
+            this.filter = query.getStaffId() != null || query.getAction() != null ? log -> matches(log, query) : null;
+            this.key = Arrays.asList(query.getStaffId(), query.getAction(), from, to);
+        }
+
+        /**
+         * Count the matching saved logs, using the cached count if there is one
+         */
+        int count() {
+            synchronized (LoggingService.this) {
+                Integer cached = olderCounts.get(key);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            int count = repository.countBetween(from, to, filter);
+            synchronized (LoggingService.this) {
+                if (repository == LoggingService.this.repository) {
+                    olderCounts.put(key, count);
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Read a page of the matching saved logs, in time order
+         */
+        List<ActionLog> read(int offset, int limit) {
+            return repository.findBetween(from, to, filter, offset, limit);
+        }
+    }
+
+    /**
+     * Pick the smallest index list that covers the query's keyed criteria
+     * @param query The query
+     * @return The list to scan
+     */
+    private List<ActionLog> selectSource(LogQuery query) {
+        List<ActionLog> source = logs;
+        if (query.getStaffId() != null) {
+            source = logsByStaff.getOrDefault(query.getStaffId(), Collections.emptyList());
+        }
+        if (query.getAction() != null) {
+            List<ActionLog> actionLogs = logsByAction.getOrDefault(query.getAction(), Collections.emptyList());
+            if (rangeSize(actionLogs, query) < rangeSize(source, query)) {
+                source = actionLogs;
+            }
+        }
+        return source;
+    }
+
+    private int rangeSize(List<ActionLog> source, LogQuery query) {
+        return lowerBound(source, query.getTo(), source.size()) - lowerBound(source, query.getFrom(), 0);
+    }
+
+    private boolean matches(ActionLog log, LogQuery query) {
+        return (query.getStaffId() == null || query.getStaffId().equals(staffKey(log)))
+                && (query.getAction() == null || query.getAction().equals(log.getAction()));
+    }
+
+    /**
+     * Find the first position in a sequence-ordered list whose order time is at or after a time
+     * @param source The sequence-ordered logs
+     * @param time The time, or null for no bound
+     * @param unbounded The position to use when there is no bound
+     * @return The position
+     */
+    private static int lowerBound(List<ActionLog> source, LocalDateTime time, int unbounded) {
+        if (time == null) {
+            return unbounded;
+        }
+        long nanos = ActionLog.toEpochNanos(time);
+        int low = 0;
+        int high = source.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (source.get(mid).getOrderTimestampNanos() < nanos) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String staffKey(Staff staff) {
+        return staff != null ? staff.getId() : "";
+    }
+
+    private static String staffKey(ActionLog log) {
+        return log.getStaffId() != null ? log.getStaffId() : "";
     }
 }
@@ -0,0 +1,230 @@
+package org.example.service;
+
+import org.example.event.EventBus;
+import org.example.event.MedicationAdministeredEvent;
+import org.example.model.Bed;
+import org.example.model.DueDose;
+import org.example.model.Medication;
+import org.example.model.MedicationAdministration;
+import org.example.model.Patient;
+import org.example.model.Room;
+import org.example.model.Ward;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Worklist of the doses due on a ward in a time window, in the order a nurse walks the ward
+ *
+ * Entries are ordered room by room and bed by bed as the ward lists them, and by due time for
+ * each bed. Each entry shows whether the dose has been given and when the medication was last
+ * given. The worklist is built in one pass over the ward's beds and the due doses, and when an
+ * administration is recorded only the entries of that medication are updated.
+ */
+public class MedicationRound {
+    private final Ward ward;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final MedicationScheduleIndex schedule;
+    private final List<Entry> entries;
+    private final Map<String, List<Entry>> entriesByMedication = new HashMap<>();
+
+    /**
+     * A dose on the worklist
+     */
+    public static class Entry {
+        private final DueDose dose;
+        private final LocalDateTime dueAt;
+        private final Bed bed;
+        private final int routePosition;
+        private volatile MedicationAdministration lastAdministration;
+        private volatile boolean given;
+
+        private Entry(DueDose dose, LocalDateTime dueAt, Bed bed, int routePosition) {
+            this.dose = dose;
+            this.dueAt = dueAt;
+            this.bed = bed;
+            this.routePosition = routePosition;
+        }
+
+        public DueDose getDose() {
+            return dose;
+        }
+
+        public Patient getPatient() {
+            return dose.getPatient();
+        }
+
+        public Medication getMedication() {
+            return dose.getMedication();
+        }
+
+        public String getDosage() {
+            return dose.getMedication().getDosage();
+        }
+
+        public LocalDateTime getDueAt() {
+            return dueAt;
+        }
+
+        /**
+         * Get the bed the patient is in
+         * @return The bed, or null if the patient is no longer on the ward
+         */
+        public Bed getBed() {
+            return bed;
+        }
+
+        /**
+         * Get the room the patient is in
+         * @return The room, or null if the patient is no longer on the ward
+         */
+        public Room getRoom() {
+            return bed != null ? bed.getRoom() : null;
+        }
+
+        /**
+         * Get the last time the medication was given to the patient
+         * @return The administration, or null if it has never been given
+         */
+        public MedicationAdministration getLastAdministration() {
+            return lastAdministration;
+        }
+
+        /**
+         * Check if this dose has been given
+         * @return true if given, false otherwise
+         */
+        public boolean isGiven() {
+            return given;
+        }
+    }
+
+    /**
+     * Constructor
+     * @param ward The ward
+     * @param from The start of the round (inclusive)
+     * @param to The end of the round (exclusive)
+     * @param schedule The index of due doses
+     */
+    MedicationRound(Ward ward, LocalDateTime from, LocalDateTime to, MedicationScheduleIndex schedule) {
+        this.ward = ward;
+        this.from = from;
+        this.to = to;
+        this.schedule = schedule;
+
+        // Number the beds in walking order
+        Map<String, Bed> bedByPatient = new HashMap<>();
+        Map<String, Integer> positionByPatient = new HashMap<>();
+        int position = 0;
+        for (Room room : ward.getRooms()) {
+            for (Bed bed : room.getBeds()) {
+                Patient patient = bed.getPatient();
+                if (patient != null) {
+                    bedByPatient.put(patient.getId(), bed);
+                    positionByPatient.put(patient.getId(), position);
+                }
+                position++;
+            }
+        }
+
+        List<Entry> list = new ArrayList<>();
+        Map<String, Map<String, MedicationAdministration>> lastByPatient = new HashMap<>();
+        for (Map.Entry<DueDose, LocalDateTime> scheduled : schedule.getScheduledBetween(ward.getId(), from, to).entrySet()) {
+            DueDose dose = scheduled.getKey();
+            String patientId = dose.getPatient().getId();
+            Entry entry = new Entry(dose, scheduled.getValue(), bedByPatient.get(patientId),
+                    positionByPatient.getOrDefault(patientId, Integer.MAX_VALUE));
+            entry.given = schedule.isGiven(dose, entry.dueAt.toLocalDate());
+            entry.lastAdministration = lastByPatient
+                    .computeIfAbsent(patientId, id -> lastAdministrations(dose.getPatient()))
+                    .get(dose.getMedication().getId());
+            list.add(entry);
+            entriesByMedication.computeIfAbsent(dose.getMedication().getId(), id -> new ArrayList<>()).add(entry);
+        }
+        list.sort(Comparator.comparingInt((Entry entry) -> entry.routePosition)
+                .thenComparing(Entry::getDueAt)
+                .thenComparing(entry -> entry.getMedication().getName()));
+        entries = Collections.unmodifiableList(list);
+    }
+
+    public Ward getWard() {
+        return ward;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    /**
+     * Get every dose of the round
+     * @return The entries in walking order
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Get the doses of the round not yet given
+     * @return The entries in walking order
+     */
+    public List<Entry> getOutstanding() {
+        List<Entry> outstanding = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (!entry.isGiven()) {
+                outstanding.add(entry);
+            }
+        }
+        return outstanding;
+    }
+
+    /**
+     * Update the entries of a medication after it was given
+     * @param administration The administration
+     * @return true if the administration was for a medication on the round
+     */
+    public boolean recordAdministration(MedicationAdministration administration) {
+        List<Entry> medicationEntries = entriesByMedication.get(administration.getMedication().getId());
+        if (medicationEntries == null) {
+            return false;
+        }
+        for (Entry entry : medicationEntries) {
+            synchronized (entry) {
+                MedicationAdministration last = entry.lastAdministration;
+                if (last == null || administration.getAdministrationDateTime().isAfter(last.getAdministrationDateTime())) {
+                    entry.lastAdministration = administration;
+                }
+                entry.given = schedule.isGiven(entry.dose, entry.dueAt.toLocalDate());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Keep the round up to date as administrations are recorded
+     * @param eventBus The bus the service publishes administrations on
+     * @return The subscription, to cancel when the round is closed
+     */
+    public EventBus.Subscription track(EventBus eventBus) {
+        return eventBus.subscribe(MedicationAdministeredEvent.class,
+                event -> recordAdministration(event.getAdministration()));
+    }
+
+    private static Map<String, MedicationAdministration> lastAdministrations(Patient patient) {
+        Map<String, MedicationAdministration> last = new HashMap<>();
+        for (MedicationAdministration administration : patient.getMedicationAdministrations()) {
+            last.merge(administration.getMedication().getId(), administration,
+                    (a, b) -> b.getAdministrationDateTime().isAfter(a.getAdministrationDateTime()) ? b : a);
+        }
+        return last;
+    }
+}
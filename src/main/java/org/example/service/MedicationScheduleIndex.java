@@ -0,0 +1,383 @@
+package org.example.service;
+
+import org.example.model.DueDose;
+import org.example.model.Medication;
+import org.example.model.MedicationAdministration;
+import org.example.model.Patient;
+import org.example.model.Prescription;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the doses due across all active patients.
+ * Doses are held in a timing wheel with one slot per minute of the day, and each slot
+ * groups its doses by ward, so looking up what is due in the next few minutes only
+ * touches the slots in that window.
+ */
+public class MedicationScheduleIndex {
+    private static final int SLOTS_PER_DAY = 24 * 60;
+
+    private final List<Map<String, List<DueDose>>> wheel;
+    private final Map<String, List<DueDose>> dosesByMedication;
+    private final Map<String, Set<String>> medicationsByPatient;
+    private final Map<String, Patient> patientsById;
+    private final Map<String, String> wardByPatient;
+    private final Map<String, LocalDate> lastGiven;
+
+    public MedicationScheduleIndex() {
+        wheel = new ArrayList<>(Collections.nCopies(SLOTS_PER_DAY, null));
+        dosesByMedication = new HashMap<>();
+        medicationsByPatient = new HashMap<>();
+        patientsById = new HashMap<>();
+        wardByPatient = new HashMap<>();
+        lastGiven = new HashMap<>();
+    }
+
+    /**
+     * Index every medication of a patient, replacing anything indexed for them before.
+     * Doses the patient has already been given today are marked as given.
+     * @param patient The patient
+     * @param wardId The ID of the ward the patient is in, or null if unknown
+     */
+    public synchronized void indexPatient(Patient patient, String wardId) {
+        indexPatient(patient, wardId, LocalDate.now());
+    }
+
+    /**
+     * Index every medication of a patient, marking the doses given on a day as given
+     * @param patient The patient
+     * @param wardId The ID of the ward the patient is in, or null if unknown
+     * @param today The day to mark doses given on
+     */
+    synchronized void indexPatient(Patient patient, String wardId, LocalDate today) {
+        removePatient(patient);
+        patientsById.put(patient.getId(), patient);
+        wardByPatient.put(patient.getId(), wardId);
+
+        for (Prescription prescription : patient.getPrescriptions()) {
+            for (Medication medication : prescription.getMedications()) {
+                addDoses(patient, medication, wardId);
+            }
+        }
+
+        // Administrations are appended in time order, so walk back from the newest to the
+        // first that could count for one of today's doses, and replay them in order
+        List<MedicationAdministration> administrations = patient.getMedicationAdministrations();
+        LocalDateTime since = today.atStartOfDay().minusHours(12);
+        int first = administrations.size();
+        while (first > 0 && !administrations.get(first - 1).getAdministrationDateTime().isBefore(since)) {
+            first--;
+        }
+        for (int i = first; i < administrations.size(); i++) {
+            recordAdministration(administrations.get(i));
+        }
+    }
+
+    /**
+     * Remove all doses of a patient from the index
+     * @param patient The patient
+     */
+    public synchronized void removePatient(Patient patient) {
+        Set<String> medicationIds = medicationsByPatient.remove(patient.getId());
+        if (medicationIds != null) {
+            for (String medicationId : medicationIds) {
+                removeDoses(medicationId);
+            }
+        }
+        patientsById.remove(patient.getId());
+        wardByPatient.remove(patient.getId());
+    }
+
+    /**
+     * Move the doses of a patient to a different ward
+     * @param patient The patient
+     * @param wardId The ID of the new ward
+     */
+    public synchronized void updateWard(Patient patient, String wardId) {
+        indexPatient(patient, wardId);
+    }
+
+    /**
+     * Index the medications of a prescription
+     * @param prescription The prescription
+     */
+    public synchronized void indexPrescription(Prescription prescription) {
+        for (Medication medication : prescription.getMedications()) {
+            indexMedication(prescription.getPatient(), medication);
+        }
+    }
+
+    /**
+     * Re-index a medication after it was added or its administration times changed
+     * @param patient The patient the medication is prescribed for
+     * @param medication The medication
+     */
+    public synchronized void indexMedication(Patient patient, Medication medication) {
+        Map<String, LocalDate> given = removeDoses(medication.getId());
+        patientsById.putIfAbsent(patient.getId(), patient);
+        addDoses(patient, medication, wardByPatient.get(patient.getId()));
+
+        // Doses at times the medication still has stay given
+        for (DueDose dose : dosesByMedication.get(medication.getId())) {
+            LocalDate date = given.get(givenKey(dose));
+            if (date != null) {
+                lastGiven.put(givenKey(dose), date);
+            }
+        }
+    }
+
+    /**
+     * Re-index a medication, resolving its patient from the prescription or from the index
+     * @param medication The medication
+     */
+    public synchronized void reindexMedication(Medication medication) {
+        Patient patient = null;
+        if (medication.getPrescription() != null) {
+            patient = medication.getPrescription().getPatient();
+        }
+        if (patient == null) {
+            for (Map.Entry<String, Set<String>> entry : medicationsByPatient.entrySet()) {
+                if (entry.getValue().contains(medication.getId())) {
+                    patient = patientsById.get(entry.getKey());
+                    break;
+                }
+            }
+        }
+        if (patient != null) {
+            indexMedication(patient, medication);
+        }
+    }
+
+    /**
+     * Mark the scheduled dose closest to an administration as given on that day
+     * @param administration The recorded administration
+     */
+    public synchronized void recordAdministration(MedicationAdministration administration) {
+        List<DueDose> doses = dosesByMedication.get(administration.getMedication().getId());
+        if (doses == null || doses.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime givenAt = administration.getAdministrationDateTime();
+        int givenMinute = minuteOfDay(givenAt.toLocalTime());
+        DueDose closest = null;
+        int closestDistance = Integer.MAX_VALUE;
+
+        for (DueDose dose : doses) {
+            int distance = Math.abs(minuteOfDay(dose.getTime()) - givenMinute);
+            distance = Math.min(distance, SLOTS_PER_DAY - distance);
+            if (distance < closestDistance) {
+                closest = dose;
+                closestDistance = distance;
+            }
+        }
+
+        // A dose given shortly after midnight may belong to the previous day's late slot
+        LocalDate date = givenAt.toLocalDate();
+        int dueMinute = minuteOfDay(closest.getTime());
+        if (dueMinute - givenMinute > SLOTS_PER_DAY / 2) {
+            date = date.minusDays(1);
+        } else if (givenMinute - dueMinute > SLOTS_PER_DAY / 2) {
+            date = date.plusDays(1);
+        }
+        recordGiven(closest, date);
+    }
+
+    /**
+     * Mark a scheduled dose as given on a date
+     * @param dose The dose
+     * @param date The date the dose was due
+     */
+    public synchronized void recordGiven(DueDose dose, LocalDate date) {
+        LocalDate last = lastGiven.get(givenKey(dose));
+        if (last == null || date.isAfter(last)) {
+            lastGiven.put(givenKey(dose), date);
+        }
+    }
+
+    /**
+     * Check whether a dose has been given on a date
+     * @param dose The dose
+     * @param date The date
+     * @return true if the dose was recorded as given on the date
+     */
+    public synchronized boolean isGiven(DueDose dose, LocalDate date) {
+        return date.equals(lastGiven.get(givenKey(dose)));
+    }
+
+    /**
+     * Get the doses not yet given that fall due within a window starting now
+     * @param window The length of the window
+     * @return The due doses in time order
+     */
+    public List<DueDose> getDueWithin(Duration window) {
+        LocalDateTime now = LocalDateTime.now();
+        return getDueBetween(null, now, now.plus(window));
+    }
+
+    /**
+     * Get the doses not yet given that fall due in a time range
+     * @param from The start of the range (inclusive)
+     * @param to The end of the range (exclusive)
+     * @return The due doses in time order
+     */
+    public List<DueDose> getDueBetween(LocalDateTime from, LocalDateTime to) {
+        return getDueBetween(null, from, to);
+    }
+
+    /**
+     * Get the doses not yet given that fall due in a time range for a ward
+     * @param wardId The ward ID, or null for all wards
+     * @param from The start of the range (inclusive)
+     * @param to The end of the range (exclusive)
+     * @return The due doses in time order
+     */
+    public synchronized List<DueDose> getDueBetween(String wardId, LocalDateTime from, LocalDateTime to) {
+        List<DueDose> due = new ArrayList<>();
+        for (Map.Entry<DueDose, LocalDateTime> entry : getScheduledBetween(wardId, from, to).entrySet()) {
+            if (!entry.getValue().toLocalDate().equals(lastGiven.get(givenKey(entry.getKey())))) {
+                due.add(entry.getKey());
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Get every dose that falls due in a time range for a ward, whether given or not
+     * @param wardId The ward ID, or null for all wards
+     * @param from The start of the range (inclusive)
+     * @param to The end of the range (exclusive), at most a day after the start
+     * @return The doses in time order, each with the date and time it is due
+     */
+    public synchronized Map<DueDose, LocalDateTime> getScheduledBetween(String wardId, LocalDateTime from,
+                                                                        LocalDateTime to) {
+        Map<DueDose, LocalDateTime> scheduled = new LinkedHashMap<>();
+        LocalDateTime cursor = from.withSecond(0).withNano(0);
+        int remaining = (int) Math.min(Duration.between(cursor, to).toMinutes(), SLOTS_PER_DAY);
+
+        for (int i = 0; i < remaining; i++) {
+            Map<String, List<DueDose>> slot = wheel.get(minuteOfDay(cursor.toLocalTime()));
+            if (slot != null) {
+                if (wardId == null) {
+                    for (List<DueDose> doses : slot.values()) {
+                        addAll(scheduled, doses, cursor);
+                    }
+                } else {
+                    addAll(scheduled, slot.get(wardId), cursor);
+                }
+            }
+            cursor = cursor.plusMinutes(1);
+        }
+
+        return scheduled;
+    }
+
+    /**
+     * Get the number of doses in the index
+     * @return The number of indexed doses
+     */
+    public synchronized int size() {
+        int size = 0;
+        for (List<DueDose> doses : dosesByMedication.values()) {
+            size += doses.size();
+        }
+        return size;
+    }
+
+    /**
+     * Remove everything from the index
+     */
+    public synchronized void clear() {
+        Collections.fill(wheel, null);
+        dosesByMedication.clear();
+        medicationsByPatient.clear();
+        patientsById.clear();
+        wardByPatient.clear();
+        lastGiven.clear();
+    }
+
+    private static void addAll(Map<DueDose, LocalDateTime> scheduled, List<DueDose> doses, LocalDateTime dueAt) {
+        if (doses == null) {
+            return;
+        }
+        for (DueDose dose : doses) {
+            scheduled.put(dose, dueAt);
+        }
+    }
+
+    private void addDoses(Patient patient, Medication medication, String wardId) {
+        medicationsByPatient.computeIfAbsent(patient.getId(), id -> new LinkedHashSet<>()).add(medication.getId());
+
+        List<DueDose> doses = new ArrayList<>();
+        for (LocalTime time : medication.getAdministrationTimes()) {
+            DueDose dose = new DueDose(patient, medication, time.withSecond(0).withNano(0), wardId);
+            doses.add(dose);
+
+            int minute = minuteOfDay(dose.getTime());
+            Map<String, List<DueDose>> slot = wheel.get(minute);
+            if (slot == null) {
+                slot = new LinkedHashMap<>();
+                wheel.set(minute, slot);
+            }
+            slot.computeIfAbsent(wardKey(wardId), id -> new ArrayList<>()).add(dose);
+        }
+        dosesByMedication.put(medication.getId(), doses);
+    }
+
+    /**
+     * Remove the doses of a medication, along with the record of when they were last given
+     * @return The dates the removed doses were last given, by given key
+     */
+    private Map<String, LocalDate> removeDoses(String medicationId) {
+        List<DueDose> doses = dosesByMedication.remove(medicationId);
+        if (doses == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, LocalDate> given = new HashMap<>();
+        for (DueDose dose : doses) {
+            LocalDate date = lastGiven.remove(givenKey(dose));
+            if (date != null) {
+                given.put(givenKey(dose), date);
+            }
+            int minute = minuteOfDay(dose.getTime());
+            Map<String, List<DueDose>> slot = wheel.get(minute);
+            if (slot == null) {
+                continue;
+            }
+            List<DueDose> wardDoses = slot.get(wardKey(dose.getWardId()));
+            if (wardDoses != null) {
+                wardDoses.remove(dose);
+                if (wardDoses.isEmpty()) {
+                    slot.remove(wardKey(dose.getWardId()));
+                }
+            }
+            if (slot.isEmpty()) {
+                wheel.set(minute, null);
+            }
+        }
+        return given;
+    }
+
+    private static String wardKey(String wardId) {
+        return wardId != null ? wardId : "";
+    }
+
+    private static String givenKey(DueDose dose) {
+        return dose.getMedication().getId() + "@" + minuteOfDay(dose.getTime());
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
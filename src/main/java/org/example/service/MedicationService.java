@@ -5,6 +5,8 @@ import org.example.exception.UnauthorizedActionException;
 import org.example.model.Medication;
 import org.example.model.MedicationAdministration;
 
+import java.util.List;
+
 /**
  * Service interface for medication administration
  */
@@ -20,4 +22,15 @@ public interface MedicationService {
      */
     MedicationAdministration administerMedication(String medicationId, String patientId, String notes)
             throws UnauthorizedActionException, NotRosteredException;
+
+    /**
+     * Administer a round of medications, each to the patient it is prescribed for
+     * @param medicationIds The medication IDs
+     * @param notes Administration notes for every medication
+     * @return The created medication administrations, in the order of the IDs
+     * @throws UnauthorizedActionException If the current user is not authorized
+     * @throws NotRosteredException If the current user is not rostered
+     */
+    List<MedicationAdministration> administerMedications(List<String> medicationIds, String notes)
+            throws UnauthorizedActionException, NotRosteredException;
 }
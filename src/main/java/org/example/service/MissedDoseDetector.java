@@ -0,0 +1,310 @@
+package org.example.service;
+
+import org.example.model.FlaggedDose;
+import org.example.model.Medication;
+import org.example.model.MedicationAdministration;
+import org.example.model.Patient;
+import org.example.model.Prescription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Finds doses that were given late or not given at all
+ *
+ * Each check looks at the doses that fell due since the last check and are now past the
+ * missed threshold, so each dose is flagged at most once. An administration counts for a
+ * dose if it was given from the early allowance before the dose up to the missed threshold
+ * after it, and before the early allowance of the next dose of the same medication.
+ *
+ * For each patient the expected doses and the recorded administrations are both sorted by
+ * medication and time and joined in a single merge pass, so checking the whole home only
+ * touches the doses in the window and the administrations recorded since it started. The
+ * administrations are read back from the newest while holding the patient's ward lock, as
+ * they can be recorded at the same time.
+ */
+@SuppressWarnings("try")
+public class MissedDoseDetector {
+    private static final Logger logger = LoggerFactory.getLogger(MissedDoseDetector.class);
+    public static final Duration DEFAULT_EARLY_ALLOWANCE = Duration.ofMinutes(30);
+    public static final Duration DEFAULT_LATE_AFTER = Duration.ofMinutes(30);
+    public static final Duration DEFAULT_MISSED_AFTER = Duration.ofMinutes(60);
+    // A check never looks further back than this, however long since the last one
+    private static final Duration MAX_LOOKBACK = Duration.ofDays(1);
+
+    private static final Comparator<Expected> EXPECTED_ORDER =
+            Comparator.comparing((Expected expected) -> expected.medication.getId())
+                    .thenComparing(expected -> expected.dueAt);
+    private static final Comparator<MedicationAdministration> ADMINISTRATION_ORDER =
+            Comparator.comparing((MedicationAdministration administration) -> administration.getMedication().getId())
+                    .thenComparing(MedicationAdministration::getAdministrationDateTime);
+
+    private final Supplier<? extends Collection<Patient>> patients;
+    private final Function<Patient, WardLockManager.WardLocks> patientLock;
+    private final Consumer<List<FlaggedDose>> listener;
+    private final Duration earlyAllowance;
+    private final Duration lateAfter;
+    private final Duration missedAfter;
+    private LocalDateTime checkedUpTo;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * A dose a patient should have been given
+     */
+    private static class Expected {
+        private final Medication medication;
+        private final LocalDateTime dueAt;
+        private final LocalDateTime nextDueAt;
+
+        private Expected(Medication medication, LocalDateTime dueAt, LocalDateTime nextDueAt) {
+            this.medication = medication;
+            this.dueAt = dueAt;
+            this.nextDueAt = nextDueAt;
+        }
+    }
+
+    /**
+     * Constructor for a detector with the default thresholds, for patients whose
+     * administrations are not recorded while they are checked
+     * @param patients Supplies the active patients to check
+     * @param listener Called with the doses flagged by each check, if there are any
+     */
+    public MissedDoseDetector(Supplier<? extends Collection<Patient>> patients, Consumer<List<FlaggedDose>> listener) {
+        this(patients, patient -> WardLockManager.getInstance().lock(), listener);
+    }
+
+    /**
+     * Constructor for a detector with the default thresholds
+     * @param patients Supplies the active patients to check
+     * @param patientLock Locks the ward a patient is in, so their administrations can be read
+     * @param listener Called with the doses flagged by each check, if there are any
+     */
+    public MissedDoseDetector(Supplier<? extends Collection<Patient>> patients,
+                              Function<Patient, WardLockManager.WardLocks> patientLock,
+                              Consumer<List<FlaggedDose>> listener) {
+        this(patients, patientLock, listener, DEFAULT_EARLY_ALLOWANCE, DEFAULT_LATE_AFTER, DEFAULT_MISSED_AFTER);
+    }
+
+    /**
+     * Constructor
+     * @param patients Supplies the active patients to check
+     * @param patientLock Locks the ward a patient is in, so their administrations can be read
+     * @param listener Called with the doses flagged by each check, if there are any
+     * @param earlyAllowance How long before a dose is due it can be given
+     * @param lateAfter How long after a dose is due it is late
+     * @param missedAfter How long after a dose is due it is missed, longer than lateAfter
+     */
+    public MissedDoseDetector(Supplier<? extends Collection<Patient>> patients,
+                              Function<Patient, WardLockManager.WardLocks> patientLock,
+                              Consumer<List<FlaggedDose>> listener,
+                              Duration earlyAllowance, Duration lateAfter, Duration missedAfter) {
+        if (earlyAllowance.isNegative() || lateAfter.isNegative()) {
+            throw new IllegalArgumentException("Allowances must not be negative");
+        }
+        if (missedAfter.compareTo(lateAfter) <= 0) {
+            throw new IllegalArgumentException("A dose must be late before it is missed");
+        }
+        this.patients = patients;
+        this.patientLock = patientLock;
+        this.listener = listener;
+        this.earlyAllowance = earlyAllowance;
+        this.lateAfter = lateAfter;
+        this.missedAfter = missedAfter;
+    }
+
+    /**
+     * Check the doses that have passed the missed threshold since the last check, and pass
+     * any flagged to the listener. The first check looks back a day.
+     * @param now The current time
+     * @return The doses given late or missed, in due time order
+     */
+    public List<FlaggedDose> check(LocalDateTime now) {
+        List<FlaggedDose> flagged;
+        synchronized (this) {
+            LocalDateTime cutoff = now.truncatedTo(ChronoUnit.MINUTES).minus(missedAfter);
+            LocalDateTime from = cutoff.minus(MAX_LOOKBACK);
+            if (checkedUpTo != null && checkedUpTo.isAfter(from)) {
+                from = checkedUpTo;
+            }
+            if (!cutoff.isAfter(from)) {
+                return Collections.emptyList();
+            }
+            flagged = findFlagged(patients.get(), from, cutoff);
+            checkedUpTo = cutoff;
+        }
+        if (!flagged.isEmpty()) {
+            listener.accept(flagged);
+        }
+        return flagged;
+    }
+
+    /**
+     * Find the doses due in a time range that were given late or missed
+     * @param patients The patients
+     * @param from The start of the range (exclusive)
+     * @param to The end of the range (inclusive)
+     * @return The flagged doses, in due time order
+     */
+    public List<FlaggedDose> findFlagged(Collection<Patient> patients, LocalDateTime from, LocalDateTime to) {
+        List<FlaggedDose> flagged = new ArrayList<>();
+        for (Patient patient : patients) {
+            List<Expected> expected = expectedDoses(patient, from, to);
+            if (!expected.isEmpty()) {
+                merge(patient, expected, administrationsSince(patient, from.minus(earlyAllowance)), flagged);
+            }
+        }
+        flagged.sort(Comparator.comparing(FlaggedDose::getDueAt)
+                .thenComparing(dose -> dose.getPatient().getFullName()));
+        return flagged;
+    }
+
+    /**
+     * Run a check at every boundary of an interval from midnight, starting from now. The
+     * first check looks back a day unless checks have already been run.
+     * @param interval The interval
+     * @throws IllegalStateException If the checks are already running
+     */
+    public synchronized void start(Duration interval) {
+        if (interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("Interval must be positive");
+        }
+        if (scheduler != null) {
+            throw new IllegalStateException("Missed dose checks are already running");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        long period = interval.toMillis();
+        long sinceMidnight = Duration.between(now.toLocalDate().atStartOfDay(), now).toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "missed-dose-detector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::runCheck, period - sinceMidnight % period, period, TimeUnit.MILLISECONDS);
+        logger.info("Checking for missed doses every " + interval.toMinutes() + " minutes");
+    }
+
+    /**
+     * Stop running checks
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private void runCheck() {
+        // An exception would cancel every later check
+        try {
+            check(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            logger.error("Missed dose check failed", e);
+        }
+    }
+
+    private void merge(Patient patient, List<Expected> expected, List<MedicationAdministration> administrations,
+                       List<FlaggedDose> flagged) {
+        int next = 0;
+        for (Expected dose : expected) {
+            String medicationId = dose.medication.getId();
+            LocalDateTime earliest = dose.dueAt.minus(earlyAllowance);
+            while (next < administrations.size() && isBefore(administrations.get(next), medicationId, earliest)) {
+                next++;
+            }
+
+            MedicationAdministration match = null;
+            if (next < administrations.size()) {
+                MedicationAdministration candidate = administrations.get(next);
+                LocalDateTime latest = dose.dueAt.plus(missedAfter);
+                LocalDateTime nextEarliest = dose.nextDueAt.minus(earlyAllowance);
+                if (nextEarliest.isBefore(latest)) {
+                    latest = nextEarliest;
+                }
+                if (candidate.getMedication().getId().equals(medicationId)
+                        && candidate.getAdministrationDateTime().isBefore(latest)) {
+                    match = candidate;
+                    next++;
+                }
+            }
+
+            if (match == null) {
+                flagged.add(new FlaggedDose(patient, dose.medication, dose.dueAt, null));
+            } else if (match.getAdministrationDateTime().isAfter(dose.dueAt.plus(lateAfter))) {
+                flagged.add(new FlaggedDose(patient, dose.medication, dose.dueAt, match));
+            }
+        }
+    }
+
+    private static boolean isBefore(MedicationAdministration administration, String medicationId, LocalDateTime time) {
+        int order = administration.getMedication().getId().compareTo(medicationId);
+        return order < 0 || (order == 0 && administration.getAdministrationDateTime().isBefore(time));
+    }
+
+    private static List<Expected> expectedDoses(Patient patient, LocalDateTime from, LocalDateTime to) {
+        List<Expected> expected = new ArrayList<>();
+        for (Prescription prescription : patient.getPrescriptions()) {
+            for (Medication medication : prescription.getMedications()) {
+                List<LocalTime> times = new ArrayList<>(new TreeSet<>(medication.getAdministrationTimes()));
+                if (times.isEmpty()) {
+                    continue;
+                }
+                LocalDateTime prescribedAt = prescription.getPrescriptionDateTime();
+                for (LocalDate date = from.toLocalDate(); !date.isAfter(to.toLocalDate()); date = date.plusDays(1)) {
+                    for (int i = 0; i < times.size(); i++) {
+                        LocalDateTime dueAt = date.atTime(times.get(i));
+                        if (!dueAt.isAfter(from) || dueAt.isAfter(to)
+                                || (prescribedAt != null && dueAt.isBefore(prescribedAt))) {
+                            continue;
+                        }
+                        LocalDateTime nextDueAt = i + 1 < times.size()
+                                ? date.atTime(times.get(i + 1))
+                                : date.plusDays(1).atTime(times.get(0));
+                        expected.add(new Expected(medication, dueAt, nextDueAt));
+                    }
+                }
+            }
+        }
+        expected.sort(EXPECTED_ORDER);
+        return expected;
+    }
+
+    private List<MedicationAdministration> administrationsSince(Patient patient, LocalDateTime since) {
+        // Administrations are appended as they are given, so the recent ones are at the end
+        List<MedicationAdministration> recent = new ArrayList<>();
+        try (WardLockManager.WardLocks locks = patientLock.apply(patient)) {
+            List<MedicationAdministration> all = patient.getMedicationAdministrations();
+            for (int i = all.size() - 1; i >= 0; i--) {
+                MedicationAdministration administration = all.get(i);
+                if (administration.getAdministrationDateTime().isBefore(since)) {
+                    break;
+                }
+                if (administration.getMedication() != null) {
+                    recent.add(administration);
+                }
+            }
+        }
+        recent.sort(ADMINISTRATION_ORDER);
+        return recent;
+    }
+}
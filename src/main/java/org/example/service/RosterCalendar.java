@@ -0,0 +1,499 @@
+package org.example.service;
+
+import org.example.model.RosterEntry;
+import org.example.model.Shift;
+import org.example.model.Staff;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Dated roster: each staff member's weekly shifts as a template, plus date-specific exceptions
+ * Implemented as a Singleton
+ *
+ * There are two kinds of exception:
+ * - leave takes a staff member off every template shift starting on the dates it covers
+ * - cover is a one-off shift on a date, optionally on a ward other than the staff member's own
+ * A swap is leave for one staff member and cover of the same shifts for another.
+ *
+ * Leave is kept per staff member as non-overlapping date ranges, and cover per staff member
+ * and per ward by date, all in sorted maps. Checking whether someone is rostered at a time is
+ * a lookup of two dates, and a range query only walks the dates in the range, however many
+ * years of exceptions are stored. The calendar is safe for concurrent use. It is saved as a
+ * list of roster entries, which refer to staff members by ID.
+ */
+public class RosterCalendar {
+    private static volatile RosterCalendar instance;
+
+    // Leave start date to end date (inclusive), per staff ID
+    private final Map<String, NavigableMap<LocalDate, LocalDate>> leaveByStaff = new HashMap<>();
+    private final Map<String, NavigableMap<LocalDate, List<DatedShift>>> coverByStaff = new HashMap<>();
+    private final Map<String, NavigableMap<LocalDate, List<DatedShift>>> coverByWard = new HashMap<>();
+    private final Map<String, String> wardByStaff = new HashMap<>();
+    private final Map<String, Map<String, Staff>> staffByWard = new HashMap<>();
+
+    /**
+     * A shift on a date
+     */
+    public static class DatedShift {
+        private final Staff staff;
+        private final LocalDate date;
+        private final LocalTime startTime;
+        private final LocalTime endTime;
+        private final String wardId;
+        private final boolean cover;
+
+        DatedShift(Staff staff, LocalDate date, LocalTime startTime, LocalTime endTime, String wardId,
+                   boolean cover) {
+            this.staff = staff;
+            this.date = date;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.wardId = wardId;
+            this.cover = cover;
+        }
+
+        public Staff getStaff() {
+            return staff;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public LocalTime getStartTime() {
+            return startTime;
+        }
+
+        public LocalTime getEndTime() {
+            return endTime;
+        }
+
+        /**
+         * Get the ward the shift is on
+         * @return The ward ID, or null if the staff member has no ward
+         */
+        public String getWardId() {
+            return wardId;
+        }
+
+        /**
+         * Check if the shift is a one-off cover shift rather than from the weekly template
+         * @return true if it is cover, false otherwise
+         */
+        public boolean isCover() {
+            return cover;
+        }
+
+        public LocalDateTime getStart() {
+            return date.atTime(startTime);
+        }
+
+        /**
+         * Get when the shift ends; an overnight shift ends on the next day
+         * @return The end
+         */
+        public LocalDateTime getEnd() {
+            boolean overnight = endTime.isBefore(startTime) || endTime.equals(LocalTime.MIDNIGHT);
+            return (overnight ? date.plusDays(1) : date).atTime(endTime);
+        }
+
+        /**
+         * Check if the shift covers a date and time, including its end time as Shift does
+         * @param dateTime The date and time
+         * @return true if covered, false otherwise
+         */
+        public boolean covers(LocalDateTime dateTime) {
+            return !dateTime.isBefore(getStart()) && !dateTime.isAfter(getEnd());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            DatedShift that = (DatedShift) o;
+            return cover == that.cover && Objects.equals(staff.getId(), that.staff.getId())
+                    && date.equals(that.date) && startTime.equals(that.startTime)
+                    && endTime.equals(that.endTime) && Objects.equals(wardId, that.wardId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(staff.getId(), date, startTime, endTime, wardId, cover);
+        }
+
+        @Override
+        public String toString() {
+            return date + " " + startTime + " - " + endTime + " " + staff.getFullName()
+                    + (cover ? " (cover)" : "");
+        }
+    }
+
+    /**
+     * Constructor for an empty calendar
+     */
+    RosterCalendar() {
+    }
+
+    /**
+     * Get the singleton instance
+     * @return The singleton instance
+     */
+    public static RosterCalendar getInstance() {
+        RosterCalendar result = instance;
+        if (result == null) {
+            synchronized (RosterCalendar.class) {
+                result = instance;
+                if (result == null) {
+                    result = new RosterCalendar();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Assign a staff member to a ward, so their template shifts are on that ward
+     * @param staff The staff member
+     * @param wardId The ward ID, or null to take them off their ward
+     */
+    public synchronized void assignWard(Staff staff, String wardId) {
+        String previous = wardByStaff.remove(staff.getId());
+        if (previous != null) {
+            staffByWard.get(previous).remove(staff.getId());
+        }
+        if (wardId != null) {
+            wardByStaff.put(staff.getId(), wardId);
+            staffByWard.computeIfAbsent(wardId, id -> new LinkedHashMap<>()).put(staff.getId(), staff);
+        }
+    }
+
+    /**
+     * Get the ward a staff member is assigned to
+     * @param staffId The staff member's ID
+     * @return The ward ID, or null if they have no ward
+     */
+    public synchronized String getWard(String staffId) {
+        return wardByStaff.get(staffId);
+    }
+
+    /**
+     * Put a staff member on leave for a range of dates
+     * @param staffId The staff member's ID
+     * @param from The first date of leave
+     * @param to The last date of leave
+     */
+    public synchronized void addLeave(String staffId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        NavigableMap<LocalDate, LocalDate> leave = leaveByStaff.computeIfAbsent(staffId, id -> new TreeMap<>());
+        // Merge with any range that overlaps or touches the new one
+        Map.Entry<LocalDate, LocalDate> before = leave.floorEntry(from);
+        if (before != null && !before.getValue().isBefore(from.minusDays(1))) {
+            from = before.getKey();
+            if (before.getValue().isAfter(to)) {
+                to = before.getValue();
+            }
+        }
+        Map.Entry<LocalDate, LocalDate> next = leave.ceilingEntry(from);
+        while (next != null && !next.getKey().isAfter(to.plusDays(1))) {
+            if (next.getValue().isAfter(to)) {
+                to = next.getValue();
+            }
+            leave.remove(next.getKey());
+            next = leave.higherEntry(next.getKey());
+        }
+        leave.put(from, to);
+    }
+
+    /**
+     * Cancel a staff member's leave for a range of dates
+     * @param staffId The staff member's ID
+     * @param from The first date to cancel
+     * @param to The last date to cancel
+     */
+    public synchronized void cancelLeave(String staffId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        NavigableMap<LocalDate, LocalDate> leave = leaveByStaff.get(staffId);
+        if (leave == null) {
+            return;
+        }
+        Map.Entry<LocalDate, LocalDate> entry = leave.floorEntry(from);
+        if (entry == null || entry.getValue().isBefore(from)) {
+            entry = leave.higherEntry(from);
+        }
+        while (entry != null && !entry.getKey().isAfter(to)) {
+            leave.remove(entry.getKey());
+            if (entry.getKey().isBefore(from)) {
+                leave.put(entry.getKey(), from.minusDays(1));
+            }
+            if (entry.getValue().isAfter(to)) {
+                leave.put(to.plusDays(1), entry.getValue());
+            }
+            entry = leave.higherEntry(entry.getKey());
+        }
+    }
+
+    /**
+     * Check if a staff member is on leave on a date
+     * @param staffId The staff member's ID
+     * @param date The date
+     * @return true if on leave, false otherwise
+     */
+    public synchronized boolean isOnLeave(String staffId, LocalDate date) {
+        NavigableMap<LocalDate, LocalDate> leave = leaveByStaff.get(staffId);
+        if (leave == null) {
+            return false;
+        }
+        Map.Entry<LocalDate, LocalDate> entry = leave.floorEntry(date);
+        return entry != null && !entry.getValue().isBefore(date);
+    }
+
+    /**
+     * Add a one-off cover shift
+     * @param staff The staff member
+     * @param date The date the shift starts
+     * @param startTime The start time
+     * @param endTime The end time, before the start time for an overnight shift
+     * @param wardId The ward, or null for the staff member's own ward
+     * @return The shift
+     */
+    public synchronized DatedShift addCover(Staff staff, LocalDate date, LocalTime startTime, LocalTime endTime,
+                                            String wardId) {
+        if (startTime.equals(endTime)) {
+            throw new IllegalArgumentException("Shift must not start and end at the same time");
+        }
+        String ward = wardId != null ? wardId : wardByStaff.get(staff.getId());
+        DatedShift shift = new DatedShift(staff, date, startTime, endTime, ward, true);
+        coverByStaff.computeIfAbsent(staff.getId(), id -> new TreeMap<>())
+                .computeIfAbsent(date, key -> new ArrayList<>()).add(shift);
+        if (ward != null) {
+            coverByWard.computeIfAbsent(ward, id -> new TreeMap<>())
+                    .computeIfAbsent(date, key -> new ArrayList<>()).add(shift);
+        }
+        return shift;
+    }
+
+    /**
+     * Remove a cover shift
+     * @param shift The shift
+     * @return true if the shift was removed, false if it was not in the calendar
+     */
+    public synchronized boolean removeCover(DatedShift shift) {
+        boolean removed = removeFrom(coverByStaff.get(shift.getStaff().getId()), shift);
+        if (shift.getWardId() != null) {
+            removeFrom(coverByWard.get(shift.getWardId()), shift);
+        }
+        return removed;
+    }
+
+    /**
+     * Swap a staff member's template shifts on a date to another staff member, on the first
+     * staff member's ward
+     * @param from The staff member giving up their shifts
+     * @param to The staff member covering them
+     * @param date The date
+     * @return The cover shifts added for the second staff member
+     */
+    public synchronized List<DatedShift> swap(Staff from, Staff to, LocalDate date) {
+        List<DatedShift> cover = new ArrayList<>();
+        for (Shift shift : from.getShifts()) {
+            if (shift.getDayOfWeek() == date.getDayOfWeek()) {
+                cover.add(addCover(to, date, shift.getStartTime(), shift.getEndTime(),
+                        wardByStaff.get(from.getId())));
+            }
+        }
+        addLeave(from.getId(), date, date);
+        return cover;
+    }
+
+    /**
+     * Check if a staff member is rostered at a date and time, taking leave and cover into account
+     * @param staff The staff member
+     * @param dateTime The date and time
+     * @return true if rostered, false otherwise
+     */
+    public synchronized boolean isRosteredFor(Staff staff, LocalDateTime dateTime) {
+        LocalDate date = dateTime.toLocalDate();
+        NavigableMap<LocalDate, List<DatedShift>> cover = coverByStaff.get(staff.getId());
+        if (cover != null) {
+            // A shift that covers the time started on the same day or the day before
+            for (List<DatedShift> shifts : cover.subMap(date.minusDays(1), true, date, true).values()) {
+                for (DatedShift shift : shifts) {
+                    if (shift.covers(dateTime)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        for (Shift shift : staff.getShifts()) {
+            if (shift.covers(dateTime)) {
+                LocalDate startDate = shift.getDayOfWeek() == date.getDayOfWeek() ? date : date.minusDays(1);
+                if (!isOnLeave(staff.getId(), startDate)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get a staff member's shifts between two dates
+     * @param staff The staff member
+     * @param from The first date
+     * @param to The last date
+     * @return The shifts starting on those dates, in start order
+     */
+    public synchronized List<DatedShift> getShifts(Staff staff, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        List<DatedShift> result = new ArrayList<>();
+        addTemplateShifts(staff, from, to, result);
+        addCover(coverByStaff.get(staff.getId()), from, to, result);
+        result.sort(Comparator.comparing(DatedShift::getStart));
+        return result;
+    }
+
+    /**
+     * Get the shifts on a ward between two dates: the template shifts of the staff assigned to
+     * it and the cover shifts on it
+     * @param wardId The ward ID
+     * @param from The first date
+     * @param to The last date
+     * @return The shifts starting on those dates, in start order
+     */
+    public synchronized List<DatedShift> getWardShifts(String wardId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        List<DatedShift> result = new ArrayList<>();
+        for (Staff staff : staffByWard.getOrDefault(wardId, Collections.emptyMap()).values()) {
+            addTemplateShifts(staff, from, to, result);
+        }
+        addCover(coverByWard.get(wardId), from, to, result);
+        result.sort(Comparator.comparing(DatedShift::getStart));
+        return result;
+    }
+
+    /**
+     * Get the ward assignments, leave and cover shifts as roster entries for saving
+     * @return The entries
+     */
+    public synchronized List<RosterEntry> getEntries() {
+        List<RosterEntry> entries = new ArrayList<>();
+        for (Map.Entry<String, String> ward : wardByStaff.entrySet()) {
+            entries.add(RosterEntry.ward(ward.getKey(), ward.getValue()));
+        }
+        for (Map.Entry<String, NavigableMap<LocalDate, LocalDate>> leave : leaveByStaff.entrySet()) {
+            for (Map.Entry<LocalDate, LocalDate> range : leave.getValue().entrySet()) {
+                entries.add(RosterEntry.leave(leave.getKey(), range.getKey(), range.getValue()));
+            }
+        }
+        for (NavigableMap<LocalDate, List<DatedShift>> cover : coverByStaff.values()) {
+            for (List<DatedShift> shifts : cover.values()) {
+                for (DatedShift shift : shifts) {
+                    entries.add(RosterEntry.cover(shift.getStaff().getId(), shift.getWardId(), shift.getDate(),
+                            shift.getStartTime(), shift.getEndTime()));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Replace the calendar's contents with saved roster entries. Entries for staff members
+     * that no longer exist are skipped.
+     * @param entries The entries
+     * @param staffById Finds a staff member by ID, returning null if there is none
+     */
+    public synchronized void load(List<RosterEntry> entries, Function<String, Staff> staffById) {
+        clear();
+        for (RosterEntry entry : entries) {
+            Staff staff = staffById.apply(entry.getStaffId());
+            if (staff == null) {
+                continue;
+            }
+            switch (entry.getKind()) {
+                case WARD:
+                    assignWard(staff, entry.getWardId());
+                    break;
+                case LEAVE:
+                    addLeave(staff.getId(), entry.getFrom(), entry.getTo());
+                    break;
+                case COVER:
+                    addCover(staff, entry.getFrom(), entry.getStartTime(), entry.getEndTime(), entry.getWardId());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Remove every exception and ward assignment
+     */
+    public synchronized void clear() {
+        leaveByStaff.clear();
+        coverByStaff.clear();
+        coverByWard.clear();
+        wardByStaff.clear();
+        staffByWard.clear();
+    }
+
+    private void addTemplateShifts(Staff staff, LocalDate from, LocalDate to, List<DatedShift> result) {
+        String wardId = wardByStaff.get(staff.getId());
+        Collection<Shift> template = staff.getShifts();
+        if (template.isEmpty()) {
+            return;
+        }
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (isOnLeave(staff.getId(), date)) {
+                continue;
+            }
+            for (Shift shift : template) {
+                if (shift.getDayOfWeek() == date.getDayOfWeek()) {
+                    result.add(new DatedShift(staff, date, shift.getStartTime(), shift.getEndTime(), wardId, false));
+                }
+            }
+        }
+    }
+
+    private static void addCover(NavigableMap<LocalDate, List<DatedShift>> cover, LocalDate from, LocalDate to,
+                                 List<DatedShift> result) {
+        if (cover != null) {
+            for (List<DatedShift> shifts : cover.subMap(from, true, to, true).values()) {
+                result.addAll(shifts);
+            }
+        }
+    }
+
+    private static boolean removeFrom(NavigableMap<LocalDate, List<DatedShift>> cover, DatedShift shift) {
+        if (cover == null) {
+            return false;
+        }
+        List<DatedShift> shifts = cover.get(shift.getDate());
+        if (shifts == null || !shifts.remove(shift)) {
+            return false;
+        }
+        if (shifts.isEmpty()) {
+            cover.remove(shift.getDate());
+        }
+        return true;
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+    }
+}
@@ -0,0 +1,447 @@
+package org.example.service;
+
+import org.example.model.Doctor;
+import org.example.model.Nurse;
+import org.example.model.Shift;
+import org.example.model.Staff;
+import org.example.util.CoverageTimeline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Works out the effect of candidate changes to a roster before they are made
+ *
+ * The simulator takes a snapshot of a roster once: copies of every staff member's shifts, the
+ * coverage timelines of the nurses and doctors, and each nurse's minutes on duty per day. Each
+ * candidate change is applied to a variant that shares the snapshot and only copies what the
+ * change touches, so the roster itself is never changed and variants can be evaluated in
+ * parallel. The rules are those of ComplianceEngine.
+ *
+ * Outcomes are ranked by number of violations, then by minutes of the nurse day (8am-10pm)
+ * with no nurse on duty, then by the difference in weekly hours between the busiest and the
+ * least busy nurse.
+ */
+public class RosterSimulator {
+    private static final Logger logger = LoggerFactory.getLogger(RosterSimulator.class);
+    private static final int DAYS = 7;
+
+    private final ForkJoinPool pool;
+    // Snapshot of the roster, never changed after construction
+    private final Map<String, Staff> staffById = new LinkedHashMap<>();
+    private final Map<String, List<Shift>> shiftsById = new HashMap<>();
+    private final Map<String, int[]> nurseMinutes = new HashMap<>();
+    private final CoverageTimeline nurseCoverage = new CoverageTimeline();
+    private final CoverageTimeline doctorCoverage = new CoverageTimeline();
+    private final Outcome baseline;
+
+    /**
+     * A candidate change to a roster
+     */
+    public interface Change {
+        /**
+         * Describe the change for the people choosing between outcomes
+         * @return The description
+         */
+        String getDescription();
+
+        /**
+         * Make the change to a variant of the roster
+         * @param variant The variant
+         */
+        void applyTo(Variant variant);
+
+        /**
+         * A change that takes a staff member off the roster
+         * @param staff The staff member
+         * @return The change
+         */
+        static Change removeStaff(Staff staff) {
+            return change("Remove " + staff.getFullName(), variant -> variant.removeStaff(staff.getId()));
+        }
+
+        /**
+         * A change that gives a staff member an extra shift
+         * @param staff The staff member
+         * @param shift The shift
+         * @return The change
+         */
+        static Change addShift(Staff staff, Shift shift) {
+            return change("Add " + shift + " to " + staff.getFullName(),
+                    variant -> variant.addShift(staff.getId(), shift));
+        }
+
+        /**
+         * A change that takes a shift away from a staff member
+         * @param staff The staff member
+         * @param shift The shift
+         * @return The change
+         */
+        static Change removeShift(Staff staff, Shift shift) {
+            return change("Remove " + shift + " from " + staff.getFullName(),
+                    variant -> variant.removeShift(staff.getId(), shift));
+        }
+
+        /**
+         * A change that replaces one of a staff member's shifts, such as shortening it
+         * @param staff The staff member
+         * @param oldShift The shift to replace
+         * @param newShift The shift to replace it with
+         * @return The change
+         */
+        static Change replaceShift(Staff staff, Shift oldShift, Shift newShift) {
+            return change("Change " + oldShift + " to " + newShift + " for " + staff.getFullName(), variant -> {
+                variant.removeShift(staff.getId(), oldShift);
+                variant.addShift(staff.getId(), newShift);
+            });
+        }
+
+        /**
+         * Create a change from a description and what it does
+         * @param description The description
+         * @param action What the change does to a variant
+         * @return The change
+         */
+        static Change change(String description, Consumer<Variant> action) {
+            return new Change() {
+                @Override
+                public String getDescription() {
+                    return description;
+                }
+
+                @Override
+                public void applyTo(Variant variant) {
+                    action.accept(variant);
+                }
+            };
+        }
+    }
+
+    /**
+     * A copy-on-write variant of the roster that a change is made to
+     */
+    public class Variant {
+        private final Map<String, List<Shift>> changedShifts = new HashMap<>();
+        private final Set<String> removed = new HashSet<>();
+
+        private Variant() {
+        }
+
+        /**
+         * Get a staff member's shifts in this variant
+         * @param staffId The staff member's ID
+         * @return The shifts, or an empty list if the staff member is not on the roster
+         */
+        public List<Shift> getShifts(String staffId) {
+            if (removed.contains(staffId)) {
+                return Collections.emptyList();
+            }
+            List<Shift> shifts = changedShifts.get(staffId);
+            if (shifts == null) {
+                shifts = shiftsById.getOrDefault(staffId, Collections.emptyList());
+            }
+            return Collections.unmodifiableList(shifts);
+        }
+
+        /**
+         * Take a staff member off the roster in this variant
+         * @param staffId The staff member's ID
+         */
+        public void removeStaff(String staffId) {
+            requireStaff(staffId);
+            removed.add(staffId);
+            changedShifts.remove(staffId);
+        }
+
+        /**
+         * Give a staff member an extra shift in this variant
+         * @param staffId The staff member's ID
+         * @param shift The shift
+         */
+        public void addShift(String staffId, Shift shift) {
+            List<Shift> shifts = copyOnWrite(staffId);
+            Shift copy = new Shift(shift.getDayOfWeek(), shift.getStartTime(), shift.getEndTime());
+            if (!shifts.contains(copy)) {
+                shifts.add(copy);
+            }
+        }
+
+        /**
+         * Take a shift away from a staff member in this variant
+         * @param staffId The staff member's ID
+         * @param shift The shift
+         */
+        public void removeShift(String staffId, Shift shift) {
+            if (!copyOnWrite(staffId).remove(shift)) {
+                throw new IllegalArgumentException("Staff member " + staffId + " has no shift " + shift);
+            }
+        }
+
+        private List<Shift> copyOnWrite(String staffId) {
+            requireStaff(staffId);
+            if (removed.contains(staffId)) {
+                throw new IllegalArgumentException("Staff member " + staffId + " is not on the roster");
+            }
+            return changedShifts.computeIfAbsent(staffId, id -> new ArrayList<>(shiftsById.get(id)));
+        }
+
+        private void requireStaff(String staffId) {
+            if (!staffById.containsKey(staffId)) {
+                throw new IllegalArgumentException("Staff member not found: " + staffId);
+            }
+        }
+    }
+
+    /**
+     * The compliance and workload of a variant of the roster
+     */
+    public static class Outcome {
+        private final Change change;
+        private final ComplianceReport report;
+        private final int gapMinutes;
+        private final double hourImbalance;
+
+        private Outcome(Change change, ComplianceReport report, int gapMinutes, double hourImbalance) {
+            this.change = change;
+            this.report = report;
+            this.gapMinutes = gapMinutes;
+            this.hourImbalance = hourImbalance;
+        }
+
+        /**
+         * Get the change the outcome is for
+         * @return The change, or null for the roster as it is
+         */
+        public Change getChange() {
+            return change;
+        }
+
+        public ComplianceReport getReport() {
+            return report;
+        }
+
+        /**
+         * Get the minutes of the nurse day (8am-10pm) across the week with no nurse on duty
+         * @return The minutes
+         */
+        public int getGapMinutes() {
+            return gapMinutes;
+        }
+
+        /**
+         * Get the difference in weekly hours between the busiest and the least busy nurse
+         * @return The hours
+         */
+        public double getHourImbalance() {
+            return hourImbalance;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d violation(s), %d uncovered minutes, %.1f hours imbalance",
+                    change != null ? change.getDescription() : "Current roster",
+                    report.getViolations().size(), gapMinutes, hourImbalance);
+        }
+    }
+
+    private static final Comparator<Outcome> RANKING = Comparator
+            .comparingInt((Outcome outcome) -> outcome.getReport().getViolations().size())
+            .thenComparingInt(Outcome::getGapMinutes)
+            .thenComparingDouble(Outcome::getHourImbalance);
+
+    /**
+     * Constructor using the common fork/join pool
+     * @param staff The staff on the roster
+     */
+    public RosterSimulator(List<? extends Staff> staff) {
+        this(staff, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor
+     * @param staff The staff on the roster
+     * @param pool The pool to evaluate changes on
+     */
+    public RosterSimulator(List<? extends Staff> staff, ForkJoinPool pool) {
+        this.pool = pool;
+        for (Staff member : staff) {
+            if (!(member instanceof Nurse) && !(member instanceof Doctor)) {
+                continue;
+            }
+            List<Shift> shifts = new ArrayList<>();
+            for (Shift shift : member.getShifts()) {
+                shifts.add(new Shift(shift.getDayOfWeek(), shift.getStartTime(), shift.getEndTime()));
+            }
+            staffById.put(member.getId(), member);
+            shiftsById.put(member.getId(), shifts);
+            CoverageTimeline coverage = member instanceof Nurse ? nurseCoverage : doctorCoverage;
+            for (Shift shift : shifts) {
+                coverage.add(shift);
+            }
+            if (member instanceof Nurse) {
+                nurseMinutes.put(member.getId(), minutesPerDay(shifts));
+            }
+        }
+        baseline = evaluate(null);
+    }
+
+    /**
+     * Get the outcome of the roster as it is
+     * @return The outcome
+     */
+    public Outcome getBaseline() {
+        return baseline;
+    }
+
+    /**
+     * Evaluate candidate changes in parallel
+     * @param changes The changes, each made to its own variant of the roster
+     * @return The outcome of each change, best first
+     */
+    public List<Outcome> simulate(List<? extends Change> changes) {
+        long start = System.nanoTime();
+        List<Outcome> outcomes;
+        try {
+            outcomes = pool.submit(() -> changes.parallelStream()
+                    .map(this::evaluate)
+                    .sorted(RANKING)
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Roster simulation was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Roster simulation failed", e.getCause());
+        }
+        logger.info(String.format("Simulated %d roster changes in %.1f ms", changes.size(),
+                (System.nanoTime() - start) / 1e6));
+        return outcomes;
+    }
+
+    /**
+     * Evaluate one change against its own variant of the roster
+     */
+    private Outcome evaluate(Change change) {
+        Variant variant = new Variant();
+        if (change != null) {
+            change.applyTo(variant);
+        }
+
+        // Copy the shared timelines only if the change touches their staff
+        CoverageTimeline nurses = nurseCoverage;
+        CoverageTimeline doctors = doctorCoverage;
+        Map<String, int[]> changedMinutes = new HashMap<>();
+        Set<String> touched = new HashSet<>(variant.changedShifts.keySet());
+        touched.addAll(variant.removed);
+        for (String staffId : touched) {
+            boolean nurse = staffById.get(staffId) instanceof Nurse;
+            if (nurse && nurses == nurseCoverage) {
+                nurses = nurseCoverage.copy();
+            } else if (!nurse && doctors == doctorCoverage) {
+                doctors = doctorCoverage.copy();
+            }
+            CoverageTimeline coverage = nurse ? nurses : doctors;
+            List<Shift> newShifts = variant.getShifts(staffId);
+            for (Shift shift : shiftsById.get(staffId)) {
+                coverage.remove(shift);
+            }
+            for (Shift shift : newShifts) {
+                coverage.add(shift);
+            }
+            if (nurse) {
+                changedMinutes.put(staffId, minutesPerDay(newShifts));
+            }
+        }
+
+        List<ComplianceViolation> violations = new ArrayList<>();
+        int nurseCount = 0;
+        int doctorCount = 0;
+        for (Staff member : staffById.values()) {
+            if (variant.removed.contains(member.getId())) {
+                continue;
+            }
+            if (member instanceof Nurse) {
+                nurseCount++;
+            } else {
+                doctorCount++;
+            }
+        }
+        if (nurseCount == 0) {
+            violations.add(ComplianceEngine.noStaff(ComplianceViolation.Rule.NO_NURSES));
+        }
+        if (doctorCount == 0) {
+            violations.add(ComplianceEngine.noStaff(ComplianceViolation.Rule.NO_DOCTORS));
+        }
+
+        int gapMinutes = 0;
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (nurses.getMinimumCoverage(day, ComplianceEngine.MORNING_SHIFT_START,
+                    ComplianceEngine.MORNING_SHIFT_END) == 0) {
+                violations.add(ComplianceEngine.uncovered(
+                        ComplianceViolation.Rule.MORNING_SHIFT_NOT_COVERED, day.ordinal()));
+            }
+            if (nurses.getMinimumCoverage(day, ComplianceEngine.AFTERNOON_SHIFT_START,
+                    ComplianceEngine.AFTERNOON_SHIFT_END) == 0) {
+                violations.add(ComplianceEngine.uncovered(
+                        ComplianceViolation.Rule.AFTERNOON_SHIFT_NOT_COVERED, day.ordinal()));
+            }
+            if (doctors.getCoveredMinutes(day) < ComplianceEngine.MIN_DOCTOR_MINUTES_PER_DAY) {
+                violations.add(ComplianceEngine.uncovered(ComplianceViolation.Rule.NO_DOCTOR_ON_DAY, day.ordinal()));
+            }
+            gapMinutes += nurses.getUncoveredMinutes(day, ComplianceEngine.MORNING_SHIFT_START,
+                    ComplianceEngine.AFTERNOON_SHIFT_END);
+        }
+
+        int minWeekly = Integer.MAX_VALUE;
+        int maxWeekly = 0;
+        // In roster order, so violations are listed in the order the engine lists them
+        for (Staff member : staffById.values()) {
+            if (!(member instanceof Nurse) || variant.removed.contains(member.getId())) {
+                continue;
+            }
+            int[] minutes = changedMinutes.getOrDefault(member.getId(), nurseMinutes.get(member.getId()));
+            List<Integer> overDays = new ArrayList<>();
+            int weekly = 0;
+            for (int day = 0; day < DAYS; day++) {
+                weekly += minutes[day];
+                if (minutes[day] > ComplianceEngine.MAX_NURSE_MINUTES_PER_DAY) {
+                    overDays.add(day);
+                }
+            }
+            overDays.sort((a, b) -> Integer.compare(minutes[b], minutes[a]));
+            for (int day : overDays) {
+                violations.add(ComplianceEngine.overworked(member, day));
+            }
+            minWeekly = Math.min(minWeekly, weekly);
+            maxWeekly = Math.max(maxWeekly, weekly);
+        }
+        double hourImbalance = minWeekly == Integer.MAX_VALUE ? 0 : (maxWeekly - minWeekly) / 60.0;
+
+        return new Outcome(change, new ComplianceReport(violations), gapMinutes, hourImbalance);
+    }
+
+    private static int[] minutesPerDay(List<Shift> shifts) {
+        CoverageTimeline ownShifts = CoverageTimeline.of(shifts);
+        int[] minutes = new int[DAYS];
+        for (DayOfWeek day : DayOfWeek.values()) {
+            minutes[day.ordinal()] = ownShifts.getCoveredMinutes(day);
+        }
+        return minutes;
+    }
+}
@@ -0,0 +1,447 @@
+package org.example.service;
+
+import org.example.exception.ComplianceException;
+import org.example.model.Doctor;
+import org.example.model.Nurse;
+import org.example.model.Shift;
+import org.example.model.Staff;
+import org.example.util.ShiftManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Builds a weekly roster that meets the staffing rules of ComplianceChecker
+ *
+ * Every day has a morning and an afternoon nurse shift and a doctor shift to fill, each with
+ * a number of places. A staff member takes at most one shift a day, only on days they are
+ * available, and no more than the weekly limit for their role. Since every nurse shift is the
+ * standard 8 hours and every doctor shift the standard hour, a roster with every place filled
+ * meets the rules.
+ *
+ * Places are filled by a backtracking search: the place with the fewest staff able to take it
+ * is filled next, trying the least loaded of them first, and a choice that leaves some place
+ * with nobody, or more places than the staff have shifts left, is undone. Local search then
+ * moves shifts from the most loaded staff to the least loaded until the load is as even as it
+ * can be made. A fixed number of randomised attempts are run in parallel and the fairest
+ * roster wins, so the same input gives the same roster on any machine.
+ */
+public class RosterSolver {
+    private static final Logger logger = LoggerFactory.getLogger(RosterSolver.class);
+    private static final int DEFAULT_ATTEMPTS = 8;
+    // Choices an attempt may try for each place before it gives up
+    private static final int STEPS_PER_PLACE = 50;
+
+    private int nursesPerShift = 1;
+    private int doctorsPerDay = 1;
+    private int maxNurseShiftsPerWeek = 5;
+    private int maxDoctorShiftsPerWeek = 7;
+    private int attempts = DEFAULT_ATTEMPTS;
+    private long seed = 42;
+    private final Map<String, Set<DayOfWeek>> unavailableDays = new HashMap<>();
+
+    /**
+     * The kinds of shift to fill
+     */
+    private enum SlotType {
+        MORNING(ShiftManager.MORNING_SHIFT_START, ShiftManager.MORNING_SHIFT_END),
+        AFTERNOON(ShiftManager.AFTERNOON_SHIFT_START, ShiftManager.AFTERNOON_SHIFT_END),
+        DOCTOR(ShiftManager.DOCTOR_SHIFT_START, ShiftManager.DOCTOR_SHIFT_END);
+
+        private final LocalTime start;
+        private final LocalTime end;
+
+        SlotType(LocalTime start, LocalTime end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * A place on a shift for one staff member
+     */
+    private static class Place {
+        private final DayOfWeek day;
+        private final SlotType type;
+
+        Place(DayOfWeek day, SlotType type) {
+            this.day = day;
+            this.type = type;
+        }
+    }
+
+    /**
+     * A weekly roster produced by the solver
+     */
+    public static class Roster {
+        private final Map<String, List<Shift>> shiftsById;
+        private final int spread;
+
+        private Roster(Map<String, List<Shift>> shiftsById, int spread) {
+            this.shiftsById = shiftsById;
+            this.spread = spread;
+        }
+
+        /**
+         * Get the shifts of a staff member
+         * @param staff The staff member
+         * @return The shifts, or an empty list if they have none
+         */
+        public List<Shift> getShifts(Staff staff) {
+            return Collections.unmodifiableList(shiftsById.getOrDefault(staff.getId(), Collections.emptyList()));
+        }
+
+        /**
+         * Get the largest difference in the number of shifts between two staff members of the
+         * same role who are available on at least one day
+         * @return The difference
+         */
+        public int getSpread() {
+            return spread;
+        }
+
+        /**
+         * Replace the shifts of the staff members with the ones in this roster
+         * @param staff The staff members
+         */
+        public void applyTo(List<? extends Staff> staff) {
+            for (Staff member : staff) {
+                if (!(member instanceof Nurse) && !(member instanceof Doctor)) {
+                    continue;
+                }
+                member.getShifts().clear();
+                for (Shift shift : getShifts(member)) {
+                    member.addShift(new Shift(shift.getDayOfWeek(), shift.getStartTime(), shift.getEndTime()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Set how many nurses each morning and afternoon shift needs
+     * @param nursesPerShift The number of nurses, at least 1
+     * @return This solver
+     */
+    public RosterSolver nursesPerShift(int nursesPerShift) {
+        this.nursesPerShift = requirePositive(nursesPerShift, "Nurses per shift");
+        return this;
+    }
+
+    /**
+     * Set how many doctors each day needs
+     * @param doctorsPerDay The number of doctors, at least 1
+     * @return This solver
+     */
+    public RosterSolver doctorsPerDay(int doctorsPerDay) {
+        this.doctorsPerDay = requirePositive(doctorsPerDay, "Doctors per day");
+        return this;
+    }
+
+    /**
+     * Set the most shifts a nurse can work in a week
+     * @param maxShifts The number of shifts, at least 1
+     * @return This solver
+     */
+    public RosterSolver maxNurseShiftsPerWeek(int maxShifts) {
+        this.maxNurseShiftsPerWeek = requirePositive(maxShifts, "Nurse shifts per week");
+        return this;
+    }
+
+    /**
+     * Set the most shifts a doctor can work in a week
+     * @param maxShifts The number of shifts, at least 1
+     * @return This solver
+     */
+    public RosterSolver maxDoctorShiftsPerWeek(int maxShifts) {
+        this.maxDoctorShiftsPerWeek = requirePositive(maxShifts, "Doctor shifts per week");
+        return this;
+    }
+
+    /**
+     * Mark a staff member as unavailable on some days
+     * @param staffId The staff member's ID
+     * @param days The days they cannot work
+     * @return This solver
+     */
+    public RosterSolver unavailable(String staffId, DayOfWeek... days) {
+        Set<DayOfWeek> staffDays = unavailableDays.computeIfAbsent(staffId, id -> EnumSet.noneOf(DayOfWeek.class));
+        Collections.addAll(staffDays, days);
+        return this;
+    }
+
+    /**
+     * Set how many randomised attempts to run
+     * @param attempts The number of attempts, at least 1
+     * @return This solver
+     */
+    public RosterSolver attempts(int attempts) {
+        this.attempts = requirePositive(attempts, "Attempts");
+        return this;
+    }
+
+    /**
+     * Set the seed of the first attempt, so the same input gives the same roster
+     * @param seed The seed
+     * @return This solver
+     */
+    public RosterSolver seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Build a roster for the nurses and doctors among some staff members. The staff members'
+     * own shifts are not changed; use Roster.applyTo for that.
+     * @param staff The staff members
+     * @return The fairest roster found
+     * @throws ComplianceException if no attempt could fill every shift
+     */
+    public Roster solve(List<? extends Staff> staff) throws ComplianceException {
+        List<Staff> nurses = new ArrayList<>();
+        List<Staff> doctors = new ArrayList<>();
+        for (Staff member : staff) {
+            if (member instanceof Nurse) {
+                nurses.add(member);
+            } else if (member instanceof Doctor) {
+                doctors.add(member);
+            }
+        }
+
+        long start = System.nanoTime();
+        Roster best = IntStream.range(0, attempts)
+                .parallel()
+                .mapToObj(attempt -> new Attempt(nurses, doctors, new Random(seed + attempt)).run())
+                .filter(Objects::nonNull)
+                .min(Comparator.comparingInt(Roster::getSpread))
+                .orElse(null);
+        if (best == null) {
+            throw new ComplianceException("No compliant roster found for " + nurses.size() + " nurses and "
+                    + doctors.size() + " doctors with the given availability and limits");
+        }
+        logger.info(String.format("Roster for %d staff found in %.1f ms with a spread of %d shifts",
+                nurses.size() + doctors.size(), (System.nanoTime() - start) / 1e6, best.getSpread()));
+        return best;
+    }
+
+    /**
+     * One randomised attempt at a roster
+     */
+    private class Attempt {
+        private final List<Staff> nurses;
+        private final List<Staff> doctors;
+        private final List<Place> places = new ArrayList<>();
+        // Staff index in the role list for each place, or -1 while unfilled
+        private final int[] assigned;
+        private int stepsLeft;
+        private final Map<Staff, Integer> load = new HashMap<>();
+        private final Map<Staff, Set<DayOfWeek>> workingDays = new HashMap<>();
+
+        Attempt(List<Staff> nurses, List<Staff> doctors, Random random) {
+            this.nurses = new ArrayList<>(nurses);
+            this.doctors = new ArrayList<>(doctors);
+            // Shuffle so ties are broken differently on each attempt
+            Collections.shuffle(this.nurses, random);
+            Collections.shuffle(this.doctors, random);
+            for (DayOfWeek day : DayOfWeek.values()) {
+                for (int i = 0; i < nursesPerShift; i++) {
+                    places.add(new Place(day, SlotType.MORNING));
+                    places.add(new Place(day, SlotType.AFTERNOON));
+                }
+                for (int i = 0; i < doctorsPerDay; i++) {
+                    places.add(new Place(day, SlotType.DOCTOR));
+                }
+            }
+            assigned = new int[places.size()];
+            Arrays.fill(assigned, -1);
+            stepsLeft = places.size() * STEPS_PER_PLACE;
+            for (Staff member : this.nurses) {
+                load.put(member, 0);
+                workingDays.put(member, EnumSet.noneOf(DayOfWeek.class));
+            }
+            for (Staff member : this.doctors) {
+                load.put(member, 0);
+                workingDays.put(member, EnumSet.noneOf(DayOfWeek.class));
+            }
+        }
+
+        Roster run() {
+            if (!fill()) {
+                return null;
+            }
+            balance();
+            return toRoster();
+        }
+
+        /**
+         * Fill the remaining places, most constrained first, undoing choices that lead nowhere
+         * @return true if every place was filled
+         */
+        private boolean fill() {
+            if (!hasCapacity(nurses, maxNurseShiftsPerWeek) || !hasCapacity(doctors, maxDoctorShiftsPerWeek)) {
+                return false;
+            }
+            int bestPlace = -1;
+            List<Integer> bestCandidates = null;
+            for (int p = 0; p < places.size(); p++) {
+                if (assigned[p] >= 0) {
+                    continue;
+                }
+                List<Integer> candidates = candidates(places.get(p));
+                if (bestCandidates == null || candidates.size() < bestCandidates.size()) {
+                    bestPlace = p;
+                    bestCandidates = candidates;
+                    if (candidates.isEmpty()) {
+                        return false;
+                    }
+                }
+            }
+            if (bestPlace < 0) {
+                return true;
+            }
+
+            List<Staff> pool = poolFor(places.get(bestPlace));
+            // A stable sort keeps the shuffled order between staff with the same load
+            bestCandidates.sort(Comparator.comparingInt(candidate -> load.get(pool.get(candidate))));
+            for (int candidate : bestCandidates) {
+                if (--stepsLeft < 0) {
+                    return false;
+                }
+                assign(bestPlace, candidate);
+                if (fill()) {
+                    return true;
+                }
+                unassign(bestPlace);
+            }
+            return false;
+        }
+
+        /**
+         * Check that the staff of a role have enough shifts left for the places still unfilled
+         */
+        private boolean hasCapacity(List<Staff> pool, int maxShifts) {
+            int spare = 0;
+            for (Staff member : pool) {
+                spare += maxShifts - load.get(member);
+            }
+            for (int p = 0; p < places.size(); p++) {
+                if (assigned[p] < 0 && poolFor(places.get(p)) == pool && --spare < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Move shifts from more loaded to less loaded staff until no move evens the load
+         */
+        private void balance() {
+            boolean moved = true;
+            while (moved) {
+                moved = false;
+                for (int p = 0; p < places.size(); p++) {
+                    Place place = places.get(p);
+                    List<Staff> pool = poolFor(place);
+                    Staff current = pool.get(assigned[p]);
+                    int currentLoad = load.get(current);
+                    for (int candidate : candidates(place)) {
+                        if (load.get(pool.get(candidate)) + 1 < currentLoad) {
+                            unassign(p);
+                            assign(p, candidate);
+                            moved = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        private List<Integer> candidates(Place place) {
+            List<Staff> pool = poolFor(place);
+            int maxShifts = place.type == SlotType.DOCTOR ? maxDoctorShiftsPerWeek : maxNurseShiftsPerWeek;
+            List<Integer> candidates = new ArrayList<>();
+            for (int i = 0; i < pool.size(); i++) {
+                Staff member = pool.get(i);
+                if (load.get(member) < maxShifts && isAvailable(member, place.day)
+                        && !workingDays.get(member).contains(place.day)) {
+                    candidates.add(i);
+                }
+            }
+            return candidates;
+        }
+
+        private void assign(int p, int staffIndex) {
+            Place place = places.get(p);
+            Staff member = poolFor(place).get(staffIndex);
+            assigned[p] = staffIndex;
+            load.merge(member, 1, Integer::sum);
+            workingDays.get(member).add(place.day);
+        }
+
+        private void unassign(int p) {
+            Place place = places.get(p);
+            Staff member = poolFor(place).get(assigned[p]);
+            assigned[p] = -1;
+            load.merge(member, -1, Integer::sum);
+            workingDays.get(member).remove(place.day);
+        }
+
+        private List<Staff> poolFor(Place place) {
+            return place.type == SlotType.DOCTOR ? doctors : nurses;
+        }
+
+        private Roster toRoster() {
+            Map<String, List<Shift>> shiftsById = new LinkedHashMap<>();
+            for (int p = 0; p < places.size(); p++) {
+                Place place = places.get(p);
+                Staff member = poolFor(place).get(assigned[p]);
+                shiftsById.computeIfAbsent(member.getId(), id -> new ArrayList<>())
+                        .add(new Shift(place.day, place.type.start, place.type.end));
+            }
+            for (List<Shift> shifts : shiftsById.values()) {
+                shifts.sort(Comparator.comparing(Shift::getDayOfWeek));
+            }
+            return new Roster(shiftsById, Math.max(spread(nurses), spread(doctors)));
+        }
+
+        private int spread(List<Staff> pool) {
+            int min = Integer.MAX_VALUE;
+            int max = 0;
+            for (Staff member : pool) {
+                Set<DayOfWeek> unavailable = unavailableDays.get(member.getId());
+                if (unavailable != null && unavailable.size() == DayOfWeek.values().length) {
+                    continue;
+                }
+                min = Math.min(min, load.get(member));
+                max = Math.max(max, load.get(member));
+            }
+            return min == Integer.MAX_VALUE ? 0 : max - min;
+        }
+    }
+
+    private boolean isAvailable(Staff staff, DayOfWeek day) {
+        Set<DayOfWeek> unavailable = unavailableDays.get(staff.getId());
+        return unavailable == null || !unavailable.contains(day);
+    }
+
+    private static int requirePositive(int value, String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be at least 1");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.service;
+
+import org.example.model.Staff;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Class representing the login session of a staff member at one terminal
+ */
+public class Session {
+    private final String id;
+    private final Staff staff;
+    private final Instant createdAt;
+    private volatile Instant lastAccess;
+
+    public Session(Staff staff) {
+        this.id = UUID.randomUUID().toString();
+        this.staff = staff;
+        this.createdAt = Instant.now();
+        this.lastAccess = createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Staff getStaff() {
+        return staff;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getLastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * Record that the session has just been used
+     */
+    public void touch() {
+        lastAccess = Instant.now();
+    }
+
+    /**
+     * Check if the session has been idle for longer than the timeout
+     * @param idleTimeout The idle timeout
+     * @param now The current time
+     * @return true if the session has expired, false otherwise
+     */
+    public boolean isExpired(Duration idleTimeout, Instant now) {
+        return lastAccess.plus(idleTimeout).isBefore(now);
+    }
+
+    @Override
+    public String toString() {
+        return staff.getUsername() + " (session " + id + ")";
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.service;
+
+import org.example.model.Ward;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Lock striping for ward state.
+ * Each ward has its own lock, so operations on different wards run in parallel.
+ * When an operation needs several wards (such as moving a patient between wards) the
+ * locks are always taken in ward ID order, so two operations can never deadlock.
+ * Implemented as a Singleton so every service path shares the same stripes.
+ */
+public class WardLockManager {
+    private static final WardLockManager instance = new WardLockManager();
+
+    private final ConcurrentMap<String, ReentrantLock> locks;
+
+    private WardLockManager() {
+        locks = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the singleton instance of the ward lock manager
+     * @return The ward lock manager instance
+     */
+    public static WardLockManager getInstance() {
+        return instance;
+    }
+
+    /**
+     * Lock one or more wards. Null and duplicate wards are ignored.
+     * @param wards The wards to lock
+     * @return A handle that releases the locks when closed
+     */
+    public WardLocks lock(Ward... wards) {
+        return lockIds(Stream.of(wards).filter(Objects::nonNull).map(Ward::getId));
+    }
+
+    /**
+     * Lock every ward in a collection
+     * @param wards The wards to lock
+     * @return A handle that releases the locks when closed
+     */
+    public WardLocks lockAll(Collection<Ward> wards) {
+        return lockIds(wards.stream().map(Ward::getId));
+    }
+
+    private WardLocks lockIds(Stream<String> wardIds) {
+        List<ReentrantLock> ordered = wardIds
+                .distinct()
+                .sorted(Comparator.naturalOrder())
+                .map(id -> locks.computeIfAbsent(id, key -> new ReentrantLock()))
+                .collect(Collectors.toList());
+
+        int acquired = 0;
+        try {
+            for (ReentrantLock lock : ordered) {
+                lock.lock();
+                acquired++;
+            }
+        } finally {
+            if (acquired < ordered.size()) {
+                unlock(ordered, acquired);
+            }
+        }
+        return new WardLocks(ordered);
+    }
+
+    private static void unlock(List<ReentrantLock> ordered, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            ordered.get(i).unlock();
+        }
+    }
+
+    /**
+     * Handle for a set of held ward locks
+     */
+    public static class WardLocks implements AutoCloseable {
+        private final List<ReentrantLock> held;
+
+        private WardLocks(List<ReentrantLock> held) {
+            this.held = held;
+        }
+
+        /**
+         * Release the locks in reverse order
+         */
+        @Override
+        public void close() {
+            unlock(held, held.size());
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package org.example.service.impl;
 
+import org.example.event.EventBus;
+import org.example.event.MedicationAdministeredEvent;
 import org.example.exception.NotRosteredException;
 import org.example.exception.UnauthorizedActionException;
 import org.example.model.*;
 import org.example.service.AuthenticationService;
 import org.example.service.LoggingService;
+import org.example.service.MedicationScheduleIndex;
 import org.example.service.MedicationService;
 import org.example.service.PatientService;
 import org.example.service.StaffService;
@@ -13,6 +16,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -25,15 +33,29 @@ public class MedicationServiceImpl implements MedicationService {
     private final StaffService staffService;
     private final AuthenticationService authService;
     private final LoggingService logService;
+    private final EventBus eventBus;
+    private final MedicationScheduleIndex medicationSchedule;
     
     public MedicationServiceImpl(PatientService patientService,
                                 StaffService staffService,
                                 AuthenticationService authService,
-                                LoggingService logService) {
+                                LoggingService logService,
+                                MedicationScheduleIndex medicationSchedule) {
+        this(patientService, staffService, authService, logService, EventBus.getInstance(), medicationSchedule);
+    }
+    
+    public MedicationServiceImpl(PatientService patientService,
+                                StaffService staffService,
+                                AuthenticationService authService,
+                                LoggingService logService,
+                                EventBus eventBus,
+                                MedicationScheduleIndex medicationSchedule) {
         this.patientService = patientService;
         this.staffService = staffService;
         this.authService = authService;
         this.logService = logService;
+        this.eventBus = eventBus;
+        this.medicationSchedule = medicationSchedule;
     }
     
     @Override
@@ -68,18 +90,83 @@ public class MedicationServiceImpl implements MedicationService {
         
         // Add administration to patient
         patient.addMedicationAdministration(administration);
+        medicationSchedule.recordAdministration(administration);
         
         // Log action
         logService.logAction(
-            "ADMINISTER_MEDICATION",
+            ActionType.ADMINISTER_MEDICATION,
             authService.getCurrentUser(),
-            "Administered medication " + medication.getName() + " to patient " + patient.getFullName()
+            medication.getName(), patient.getFullName()
         );
         
         logger.info("Medication " + medication.getName() + " administered to patient " + patient.getFullName());
+        eventBus.publish(new MedicationAdministeredEvent(authService.getCurrentUser(), administration));
         return administration;
     }
     
+    @Override
+    public List<MedicationAdministration> administerMedications(List<String> medicationIds, String notes)
+            throws UnauthorizedActionException, NotRosteredException {
+
+        // Check authorization once for the whole round
+        authService.checkAuthorizedAndRostered("ADMINISTER_MEDICATION");
+
+        if (!(authService.getCurrentUser() instanceof Nurse)) {
+            throw new UnauthorizedActionException("Only nurses can administer medications");
+        }
+        if (medicationIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Nurse nurse = (Nurse) authService.getCurrentUser();
+        LocalDateTime now = LocalDateTime.now();
+
+        // Look up every medication in one pass, failing before anything is recorded
+        Map<String, Medication> medications = new HashMap<>();
+        Map<String, Patient> patientsByMedication = new HashMap<>();
+        for (Patient patient : patientService.getAllPatients()) {
+            for (Prescription prescription : patient.getPrescriptions()) {
+                for (Medication medication : prescription.getMedications()) {
+                    medications.putIfAbsent(medication.getId(), medication);
+                    patientsByMedication.putIfAbsent(medication.getId(), patient);
+                }
+            }
+        }
+        for (String medicationId : medicationIds) {
+            if (!medications.containsKey(medicationId)) {
+                throw new IllegalArgumentException("Medication not found: " + medicationId);
+            }
+        }
+
+        List<MedicationAdministration> administrations = new ArrayList<>(medicationIds.size());
+        List<Object[]> logFields = new ArrayList<>(medicationIds.size());
+        for (String medicationId : medicationIds) {
+            Medication medication = medications.get(medicationId);
+            Patient patient = patientsByMedication.get(medicationId);
+            MedicationAdministration administration = new MedicationAdministration(
+                IdGenerator.generateId("ADM"),
+                medication,
+                patient,
+                nurse,
+                now,
+                notes
+            );
+            patient.addMedicationAdministration(administration);
+            medicationSchedule.recordAdministration(administration);
+            administrations.add(administration);
+            logFields.add(new Object[] {medication.getName(), patient.getFullName()});
+        }
+
+        // Log the round as one batch
+        logService.logActions(ActionType.ADMINISTER_MEDICATION, nurse, logFields);
+
+        logger.info(administrations.size() + " medications administered by " + nurse.getFullName());
+        for (MedicationAdministration administration : administrations) {
+            eventBus.publish(new MedicationAdministeredEvent(nurse, administration));
+        }
+        return administrations;
+    }
+
     /**
      * Find a medication by ID
      * @param medicationId The medication ID
@@ -1,13 +1,19 @@
 package org.example.service.impl;
 
+import org.example.event.EventBus;
+import org.example.event.PatientAdmittedEvent;
+import org.example.event.PatientDischargedEvent;
+import org.example.event.PatientMovedEvent;
 import org.example.exception.NotRosteredException;
 import org.example.exception.UnauthorizedActionException;
+import org.example.model.ActionType;
 import org.example.model.Bed;
 import org.example.model.Gender;
 import org.example.model.Patient;
 import org.example.repository.PatientRepository;
 import org.example.service.AuthenticationService;
 import org.example.service.LoggingService;
+import org.example.service.MedicationScheduleIndex;
 import org.example.service.PatientService;
 import org.example.service.WardService;
 import org.example.util.IdGenerator;
@@ -28,15 +34,29 @@ public class PatientServiceImpl implements PatientService {
     private final WardService wardService;
     private final AuthenticationService authService;
     private final LoggingService logService;
+    private final EventBus eventBus;
+    private final MedicationScheduleIndex medicationSchedule;
     
     public PatientServiceImpl(PatientRepository patientRepository, 
                              WardService wardService,
                              AuthenticationService authService,
-                             LoggingService logService) {
+                             LoggingService logService,
+                             MedicationScheduleIndex medicationSchedule) {
+        this(patientRepository, wardService, authService, logService, EventBus.getInstance(), medicationSchedule);
+    }
+    
+    public PatientServiceImpl(PatientRepository patientRepository, 
+                             WardService wardService,
+                             AuthenticationService authService,
+                             LoggingService logService,
+                             EventBus eventBus,
+                             MedicationScheduleIndex medicationSchedule) {
         this.patientRepository = patientRepository;
         this.wardService = wardService;
         this.authService = authService;
         this.logService = logService;
+        this.eventBus = eventBus;
+        this.medicationSchedule = medicationSchedule;
     }
     
     @Override
@@ -63,15 +83,17 @@ public class PatientServiceImpl implements PatientService {
         
         // Save patient
         patientRepository.save(patient);
+        medicationSchedule.indexPatient(patient, bed.getRoom().getWard().getId());
         
         // Log action
         logService.logAction(
-            "ADD_PATIENT",
+            ActionType.ADD_PATIENT,
             authService.getCurrentUser(),
-            "Added patient " + patient.getFullName() + " to " + bed.toString()
+            patient.getFullName(), bed
         );
         
         logger.info("Patient " + patient.getFullName() + " added to " + bed.toString());
+        eventBus.publish(new PatientAdmittedEvent(authService.getCurrentUser(), patient, bed));
         return patient;
     }
     
@@ -95,15 +117,17 @@ public class PatientServiceImpl implements PatientService {
         
         // Move patient
         wardService.movePatientToBed(patient, currentBed, newBed);
+        medicationSchedule.updateWard(patient, newBed.getRoom().getWard().getId());
         
         // Log action
         logService.logAction(
-            "MOVE_PATIENT",
+            ActionType.MOVE_PATIENT,
             authService.getCurrentUser(),
-            "Moved patient " + patient.getFullName() + " from " + currentBed.toString() + " to " + newBed.toString()
+            patient.getFullName(), currentBed, newBed
         );
         
         logger.info("Patient " + patient.getFullName() + " moved from " + currentBed.toString() + " to " + newBed.toString());
+        eventBus.publish(new PatientMovedEvent(authService.getCurrentUser(), patient, currentBed, newBed));
     }
     
     @Override
@@ -130,15 +154,17 @@ public class PatientServiceImpl implements PatientService {
         patient.setDischargeDate(LocalDate.now());
         patientRepository.delete(patient);
         patientRepository.addDischargedPatient(patient);
+        medicationSchedule.removePatient(patient);
         
         // Log action
         logService.logAction(
-            "DISCHARGE_PATIENT",
+            ActionType.DISCHARGE_PATIENT,
             authService.getCurrentUser(),
-            "Discharged patient " + patient.getFullName() + " from " + currentBed.toString()
+            patient.getFullName(), currentBed
         );
         
         logger.info("Patient " + patient.getFullName() + " discharged from " + currentBed.toString());
+        eventBus.publish(new PatientDischargedEvent(authService.getCurrentUser(), patient, currentBed));
         return true;
     }
     
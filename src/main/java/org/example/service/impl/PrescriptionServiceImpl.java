@@ -1,10 +1,13 @@
 package org.example.service.impl;
 
+import org.example.event.EventBus;
+import org.example.event.PrescriptionChangedEvent;
 import org.example.exception.NotRosteredException;
 import org.example.exception.UnauthorizedActionException;
 import org.example.model.*;
 import org.example.service.AuthenticationService;
 import org.example.service.LoggingService;
+import org.example.service.MedicationScheduleIndex;
 import org.example.service.PatientService;
 import org.example.service.PrescriptionService;
 import org.example.service.StaffService;
@@ -28,15 +31,29 @@ public class PrescriptionServiceImpl implements PrescriptionService {
     private final StaffService staffService;
     private final AuthenticationService authService;
     private final LoggingService logService;
+    private final EventBus eventBus;
+    private final MedicationScheduleIndex medicationSchedule;
     
     public PrescriptionServiceImpl(PatientService patientService,
                                   StaffService staffService,
                                   AuthenticationService authService,
-                                  LoggingService logService) {
+                                  LoggingService logService,
+                                  MedicationScheduleIndex medicationSchedule) {
+        this(patientService, staffService, authService, logService, EventBus.getInstance(), medicationSchedule);
+    }
+    
+    public PrescriptionServiceImpl(PatientService patientService,
+                                  StaffService staffService,
+                                  AuthenticationService authService,
+                                  LoggingService logService,
+                                  EventBus eventBus,
+                                  MedicationScheduleIndex medicationSchedule) {
         this.patientService = patientService;
         this.staffService = staffService;
         this.authService = authService;
         this.logService = logService;
+        this.eventBus = eventBus;
+        this.medicationSchedule = medicationSchedule;
     }
     
     @Override
@@ -69,15 +86,17 @@ public class PrescriptionServiceImpl implements PrescriptionService {
         
         // Add prescription to patient
         patient.addPrescription(prescription);
+        medicationSchedule.indexPrescription(prescription);
         
         // Log action
         logService.logAction(
-            "ADD_PRESCRIPTION",
+            ActionType.ADD_PRESCRIPTION,
             authService.getCurrentUser(),
-            "Added prescription for patient " + patient.getFullName()
+            patient.getFullName()
         );
         
         logger.info("Prescription added for patient " + patient.getFullName());
+        eventBus.publish(new PrescriptionChangedEvent(authService.getCurrentUser(), prescription, null));
         return prescription;
     }
     
@@ -109,15 +128,17 @@ public class PrescriptionServiceImpl implements PrescriptionService {
         
         // Add prescription to patient
         patient.addPrescription(prescription);
+        medicationSchedule.indexPrescription(prescription);
         
         // Log action
         logService.logAction(
-            "ADD_PRESCRIPTION",
+            ActionType.ADD_PRESCRIPTION,
             authService.getCurrentUser(),
-            "Added prescription for patient " + patient.getFullName()
+            patient.getFullName()
         );
         
         logger.info("Prescription added for patient " + patient.getFullName());
+        eventBus.publish(new PrescriptionChangedEvent(authService.getCurrentUser(), prescription, null));
         return prescription;
     }
     
@@ -150,15 +171,17 @@ public class PrescriptionServiceImpl implements PrescriptionService {
         
         // Add medication to prescription
         prescription.addMedication(medication);
+        medicationSchedule.indexMedication(prescription.getPatient(), medication);
         
         // Log action
         logService.logAction(
-            "ADD_MEDICATION",
+            ActionType.ADD_MEDICATION,
             authService.getCurrentUser(),
-            "Added medication " + name + " to prescription for patient " + prescription.getPatient().getFullName()
+            name, prescription.getPatient().getFullName()
         );
         
         logger.info("Medication " + name + " added to prescription for patient " + prescription.getPatient().getFullName());
+        eventBus.publish(new PrescriptionChangedEvent(authService.getCurrentUser(), prescription, medication));
         return medication;
     }
     
@@ -183,15 +206,17 @@ public class PrescriptionServiceImpl implements PrescriptionService {
         
         // Add administration time
         medication.addAdministrationTime(time);
+        medicationSchedule.reindexMedication(medication);
         
         // Log action
         logService.logAction(
-            "ADD_ADMINISTRATION_TIME",
+            ActionType.ADD_ADMINISTRATION_TIME,
             authService.getCurrentUser(),
-            "Added administration time " + time + " to medication " + medication.getName()
+            time, medication.getName()
         );
         
         logger.info("Administration time " + time + " added to medication " + medication.getName());
+        eventBus.publish(new PrescriptionChangedEvent(authService.getCurrentUser(), medication.getPrescription(), medication));
     }
     
     /**
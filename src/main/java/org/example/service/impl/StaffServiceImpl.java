@@ -1,8 +1,11 @@
 package org.example.service.impl;
 
+import org.example.event.EventBus;
+import org.example.event.StaffChangedEvent;
 import org.example.exception.ComplianceException;
 import org.example.exception.NotRosteredException;
 import org.example.exception.UnauthorizedActionException;
+import org.example.model.ActionType;
 import org.example.model.Doctor;
 import org.example.model.Nurse;
 import org.example.model.Staff;
@@ -10,7 +13,7 @@ import org.example.repository.StaffRepository;
 import org.example.service.AuthenticationService;
 import org.example.service.LoggingService;
 import org.example.service.StaffService;
-import org.example.service.ComplianceChecker;
+import org.example.service.ComplianceCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,15 +30,25 @@ public class StaffServiceImpl implements StaffService {
     private final StaffRepository staffRepository;
     private final AuthenticationService authService;
     private final LoggingService logService;
+    private final EventBus eventBus;
     private List<Doctor> qualifiedDoctors;
     private List<Nurse> qualifiedNurses;
+    private final ComplianceCache complianceCache = new ComplianceCache();
     
     public StaffServiceImpl(StaffRepository staffRepository,
                            AuthenticationService authService,
                            LoggingService logService) {
+        this(staffRepository, authService, logService, EventBus.getInstance());
+    }
+    
+    public StaffServiceImpl(StaffRepository staffRepository,
+                           AuthenticationService authService,
+                           LoggingService logService,
+                           EventBus eventBus) {
         this.staffRepository = staffRepository;
         this.authService = authService;
         this.logService = logService;
+        this.eventBus = eventBus;
     }
     
     @Override
@@ -47,12 +60,13 @@ public class StaffServiceImpl implements StaffService {
         
         if (success) {
             logService.logAction(
-                "ADD_STAFF",
+                ActionType.ADD_STAFF,
                 authService.getCurrentUser(),
-                "Added staff member " + staff.getFullName() + " (" + staff.getClass().getSimpleName() + ")"
+                staff.getFullName(), staff.getClass().getSimpleName()
             );
             
             logger.info("Staff member added: {} ({})", staff.getFullName(), staff.getClass().getSimpleName());
+            eventBus.publish(new StaffChangedEvent(authService.getCurrentUser(), staff, true));
         }
         
         return success;
@@ -67,12 +81,13 @@ public class StaffServiceImpl implements StaffService {
         
         if (success) {
             logService.logAction(
-                "UPDATE_STAFF",
+                ActionType.UPDATE_STAFF,
                 authService.getCurrentUser(),
-                "Updated staff member " + staff.getFullName() + " (" + staff.getClass().getSimpleName() + ")"
+                staff.getFullName(), staff.getClass().getSimpleName()
             );
             
             logger.info("Staff member updated: {} ({})", staff.getFullName(), staff.getClass().getSimpleName());
+            eventBus.publish(new StaffChangedEvent(authService.getCurrentUser(), staff, false));
         }
         
         return success;
@@ -95,8 +110,8 @@ public class StaffServiceImpl implements StaffService {
     
     @Override
     public void checkCompliance() throws ComplianceException {
-        // Use the ComplianceChecker utility to check compliance
-        ComplianceChecker.checkCompliance(staffRepository.findAll());
+        // Only re-run the check if a roster has changed since the last one
+        complianceCache.check(staffRepository.findAll());
     }
 
     private void initializeQualifiedStaffLists() {
@@ -3,10 +3,12 @@ package org.example.service.impl;
 import org.example.model.Bed;
 import org.example.model.Gender;
 import org.example.model.Patient;
+import org.example.model.Room;
 import org.example.model.Ward;
 import org.example.repository.WardRepository;
 import org.example.service.AuthenticationService;
 import org.example.service.LoggingService;
+import org.example.service.WardLockManager;
 import org.example.service.WardService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,12 +20,14 @@ import java.util.stream.Collectors;
 /**
  * Implementation of WardService
  */
+@SuppressWarnings("try")
 public class WardServiceImpl implements WardService {
     private static final Logger logger = LoggerFactory.getLogger(WardServiceImpl.class);
     
     private final WardRepository wardRepository;
     private final AuthenticationService authService;
     private final LoggingService logService;
+    private final WardLockManager wardLocks = WardLockManager.getInstance();
     
     public WardServiceImpl(WardRepository wardRepository,
                           AuthenticationService authService,
@@ -51,37 +55,25 @@ public class WardServiceImpl implements WardService {
     
     @Override
     public void assignPatientToBed(Patient patient, Bed bed) throws IllegalArgumentException {
-        if (bed.isOccupied()) {
-            throw new IllegalArgumentException("Bed is already occupied");
-        }
-        
-        // Check if the room is suitable for the patient's gender and isolation needs
-        checkRoomSuitability(patient, bed);
-        
-        // Assign patient to bed
-        bed.assignPatient(patient);
+        // Check the room and assign the patient in one atomic step
+        bed.getRoom().tryAdmit(bed, patient).requireAdmitted("assign", "Bed");
         
         // Save changes
-        wardRepository.saveAllWards(wardRepository.findAllWards());
+        saveAllWards();
         
         logger.info("Patient " + patient.getFullName() + " assigned to " + bed.toString());
     }
     
     @Override
     public void movePatientToBed(Patient patient, Bed currentBed, Bed newBed) throws IllegalArgumentException {
-        if (newBed.isOccupied()) {
-            throw new IllegalArgumentException("New bed is already occupied");
+        try (WardLockManager.WardLocks locks = wardLocks.lock(currentBed.getRoom().getWard(), newBed.getRoom().getWard())) {
+            // Claim the new bed before releasing the current one
+            newBed.getRoom().tryAdmit(newBed, patient).requireAdmitted("move", "New bed");
+            currentBed.removePatient();
         }
         
-        // Check if the new room is suitable for the patient's gender and isolation needs
-        checkRoomSuitability(patient, newBed);
-        
-        // Move patient
-        currentBed.removePatient();
-        newBed.assignPatient(patient);
-        
         // Save changes
-        wardRepository.saveAllWards(wardRepository.findAllWards());
+        saveAllWards();
         
         logger.info("Patient " + patient.getFullName() + " moved from " + currentBed.toString() + " to " + newBed.toString());
     }
@@ -91,7 +83,7 @@ public class WardServiceImpl implements WardService {
         bed.removePatient();
         
         // Save changes
-        wardRepository.saveAllWards(wardRepository.findAllWards());
+        saveAllWards();
         
         logger.info("Patient " + patient.getFullName() + " removed from " + bed.toString());
     }
@@ -111,19 +103,12 @@ public class WardServiceImpl implements WardService {
     }
     
     /**
-     * Check if a room is suitable for a patient based on gender and isolation needs
-     * @param patient The patient
-     * @param bed The bed
-     * @throws IllegalArgumentException If the room is not suitable
+     * Save every ward while holding all ward locks, so the file is a consistent snapshot
      */
-    private void checkRoomSuitability(Patient patient, Bed bed) throws IllegalArgumentException {
-        // Check if the room is suitable for the patient's gender and isolation needs
-        if (!isBedSuitable(bed, patient.getGender(), patient.isNeedsIsolation())) {
-            if (patient.isNeedsIsolation()) {
-                throw new IllegalArgumentException("Cannot assign patient requiring isolation to a shared room");
-            } else {
-                throw new IllegalArgumentException("Cannot assign patient to a room with patients of different gender");
-            }
+    private void saveAllWards() {
+        List<Ward> wards = wardRepository.findAllWards();
+        try (WardLockManager.WardLocks locks = wardLocks.lockAll(wards)) {
+            wardRepository.saveAllWards(wards);
         }
     }
     
@@ -135,29 +120,6 @@ public class WardServiceImpl implements WardService {
      * @return true if the bed is suitable, false otherwise
      */
     private boolean isBedSuitable(Bed bed, Gender gender, boolean needsIsolation) {
-        // Get the room
-        var room = bed.getRoom();
-        
-        // Check for isolation requirements
-        if (needsIsolation) {
-            // For isolation, we need a room with only one bed or all beds vacant
-            if (room.getNumberOfBeds() > 1) {
-                // Check if all other beds are vacant
-                for (Bed otherBed : room.getBeds()) {
-                    if (otherBed != bed && otherBed.isOccupied()) {
-                        return false;
-                    }
-                }
-            }
-        } else {
-            // For non-isolation, check if there are other patients of the same gender
-            for (Bed otherBed : room.getBeds()) {
-                if (otherBed != bed && otherBed.isOccupied() && otherBed.getPatient().getGender() != gender) {
-                    return false;
-                }
-            }
-        }
-        
-        return true;
+        return bed.getRoom().checkAdmission(bed, gender, needsIsolation) == Room.AdmitResult.ADMITTED;
     }
 }
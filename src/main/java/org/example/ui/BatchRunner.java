@@ -0,0 +1,323 @@
+package org.example.ui;
+
+import org.example.exception.NotRosteredException;
+import org.example.exception.UnauthorizedActionException;
+import org.example.model.Bed;
+import org.example.model.Gender;
+import org.example.model.Patient;
+import org.example.model.Shift;
+import org.example.model.Staff;
+import org.example.service.AuthenticationService;
+import org.example.service.CareHomeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Runs a script of commands through the service layer without the interactive menus
+ *
+ * A script has one command per line, with the command and its arguments separated by commas.
+ * Arguments containing commas can be put in double quotes, and a doubled quote inside quotes
+ * is a literal quote. Blank lines and lines starting with # are skipped. The commands are:
+ * - login,username,password
+ * - logout
+ * - add-patient,firstName,lastName,dateOfBirth,gender,medicalCondition,needsIsolation[,bedId]
+ *   (without a bed ID the first suitable vacant bed is used)
+ * - move-patient,patientId,bedId
+ * - discharge-patient,patientId
+ * - add-shift,staffId,dayOfWeek,startTime,endTime
+ * - save
+ *
+ * Changes are kept in memory and saved once at the end of the script, or after every given
+ * number of changes when a checkpoint interval is set, and whenever the script says save.
+ * A failed command is reported and the script carries on.
+ */
+public class BatchRunner {
+    private static final Logger logger = LoggerFactory.getLogger(BatchRunner.class);
+
+    private final CareHomeService careHomeService;
+    private final AuthenticationService authService;
+    private final PrintStream out;
+    private final int checkpointInterval;
+
+    /**
+     * Summary of a batch run
+     */
+    public static class Summary {
+        private int succeeded;
+        private int failed;
+        private int saves;
+        private long saveNanos;
+        private long totalNanos;
+
+        public int getSucceeded() {
+            return succeeded;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        public int getSaves() {
+            return saves;
+        }
+
+        public long getSaveNanos() {
+            return saveNanos;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * Get the number of commands run per second
+         * @return The throughput
+         */
+        public double getThroughput() {
+            return totalNanos > 0 ? (succeeded + failed) * 1e9 / totalNanos : 0;
+        }
+    }
+
+    /**
+     * Constructor
+     * @param careHomeService The service to run the commands through
+     * @param authService The authentication service for login commands
+     * @param out Where to report progress
+     * @param checkpointInterval Save after this many changes, or 0 to save only at the end
+     */
+    public BatchRunner(CareHomeService careHomeService, AuthenticationService authService, PrintStream out,
+                       int checkpointInterval) {
+        if (checkpointInterval < 0) {
+            throw new IllegalArgumentException("Checkpoint interval must not be negative");
+        }
+        this.careHomeService = careHomeService;
+        this.authService = authService;
+        this.out = out;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Run a script
+     * @param script The script
+     * @return The summary of the run
+     * @throws IOException If the script could not be read
+     */
+    public Summary run(Reader script) throws IOException {
+        Summary summary = new Summary();
+        boolean wasDeferred = careHomeService.isSavesDeferred();
+        careHomeService.setSavesDeferred(true);
+        long start = System.nanoTime();
+        int unsaved = 0;
+        try {
+            BufferedReader reader = new BufferedReader(script);
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+
+                String command = trimmed.split(",", 2)[0].trim().toLowerCase(Locale.ROOT);
+                long commandStart = System.nanoTime();
+                try {
+                    List<String> fields = parseLine(trimmed);
+                    if ("save".equals(command)) {
+                        save(summary);
+                        unsaved = 0;
+                    } else if (execute(command, fields)) {
+                        unsaved++;
+                    }
+                    summary.succeeded++;
+                    report(lineNumber, command, "OK", System.nanoTime() - commandStart, null);
+                } catch (Exception e) {
+                    summary.failed++;
+                    logger.warn("Batch command on line " + lineNumber + " failed: " + e.getMessage());
+                    report(lineNumber, command, "FAILED", System.nanoTime() - commandStart, e.getMessage());
+                }
+
+                if (checkpointInterval > 0 && unsaved >= checkpointInterval) {
+                    save(summary);
+                    unsaved = 0;
+                }
+            }
+            if (unsaved > 0 || summary.saves == 0) {
+                save(summary);
+            }
+        } finally {
+            careHomeService.setSavesDeferred(wasDeferred);
+            summary.totalNanos = System.nanoTime() - start;
+        }
+
+        out.println("-----------------------------------");
+        out.printf("Commands: %d (%d succeeded, %d failed)%n",
+                summary.succeeded + summary.failed, summary.succeeded, summary.failed);
+        out.printf("Saves: %d taking %.1f ms%n", summary.saves, summary.saveNanos / 1e6);
+        out.printf("Total: %.1f ms, %.1f commands/s%n", summary.totalNanos / 1e6, summary.getThroughput());
+        return summary;
+    }
+
+    /**
+     * Run one command
+     * @param command The command name
+     * @param fields The command and its arguments
+     * @return true if the command changed data that needs saving
+     */
+    private boolean execute(String command, List<String> fields)
+            throws UnauthorizedActionException, NotRosteredException {
+        switch (command) {
+            case "login":
+                expectFields(fields, 3);
+                if (authService.login(fields.get(1), fields.get(2)) == null) {
+                    throw new IllegalArgumentException("Invalid username or password");
+                }
+                return false;
+            case "logout":
+                authService.logout();
+                return false;
+            case "add-patient":
+                addPatient(fields);
+                return true;
+            case "move-patient":
+                expectFields(fields, 3);
+                careHomeService.movePatient(findPatient(fields.get(1)), findBed(fields.get(2)));
+                return true;
+            case "discharge-patient":
+                expectFields(fields, 2);
+                if (!careHomeService.dischargePatient(findPatient(fields.get(1)))) {
+                    throw new IllegalArgumentException("Patient is not in a bed");
+                }
+                return true;
+            case "add-shift":
+                addShift(fields);
+                return true;
+            default:
+                throw new IllegalArgumentException("Unknown command: " + command);
+        }
+    }
+
+    private void addPatient(List<String> fields) throws UnauthorizedActionException, NotRosteredException {
+        if (fields.size() != 7 && fields.size() != 8) {
+            throw new IllegalArgumentException("Expected 6 or 7 arguments");
+        }
+        Gender gender = Gender.valueOf(fields.get(4).toUpperCase(Locale.ROOT));
+        boolean needsIsolation = Boolean.parseBoolean(fields.get(6));
+        Bed bed;
+        if (fields.size() == 8) {
+            bed = findBed(fields.get(7));
+        } else {
+            List<Bed> beds = careHomeService.getSuitableVacantBeds(gender, needsIsolation);
+            if (beds.isEmpty()) {
+                throw new IllegalArgumentException("No suitable vacant bed");
+            }
+            bed = beds.get(0);
+        }
+        careHomeService.addPatient(fields.get(1), fields.get(2), LocalDate.parse(fields.get(3)), gender,
+                fields.get(5), needsIsolation, bed);
+    }
+
+    private void addShift(List<String> fields) throws UnauthorizedActionException, NotRosteredException {
+        expectFields(fields, 5);
+        Staff staff = careHomeService.findStaffById(fields.get(1))
+                .orElseThrow(() -> new IllegalArgumentException("Staff member not found: " + fields.get(1)));
+        Shift shift = new Shift(DayOfWeek.valueOf(fields.get(2).toUpperCase(Locale.ROOT)),
+                LocalTime.parse(fields.get(3)), LocalTime.parse(fields.get(4)));
+        staff.addShift(shift);
+        try {
+            if (!careHomeService.updateStaff(staff)) {
+                throw new IllegalArgumentException("Staff member not found: " + staff.getId());
+            }
+        } catch (UnauthorizedActionException | NotRosteredException | RuntimeException e) {
+            staff.removeShift(shift);
+            throw e;
+        }
+    }
+
+    private Patient findPatient(String id) {
+        return careHomeService.getAllPatients().stream()
+                .filter(patient -> patient.getId().equals(id))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Patient not found: " + id));
+    }
+
+    private Bed findBed(String id) {
+        Optional<Bed> bed = careHomeService.getAllWards().stream()
+                .flatMap(ward -> ward.getRooms().stream())
+                .flatMap(room -> room.getBeds().stream())
+                .filter(candidate -> candidate.getId().equals(id))
+                .findFirst();
+        return bed.orElseThrow(() -> new IllegalArgumentException("Bed not found: " + id));
+    }
+
+    private void save(Summary summary) {
+        long start = System.nanoTime();
+        careHomeService.saveData();
+        summary.saves++;
+        summary.saveNanos += System.nanoTime() - start;
+    }
+
+    private void report(int lineNumber, String command, String status, long nanos, String message) {
+        out.printf("%5d  %-18s %-7s %9.2f ms%s%n", lineNumber, command, status, nanos / 1e6,
+                message != null ? "  " + message : "");
+    }
+
+    private static void expectFields(List<String> fields, int count) {
+        if (fields.size() != count) {
+            throw new IllegalArgumentException("Expected " + (count - 1) + " arguments");
+        }
+    }
+
+    /**
+     * Split a script line into fields
+     * @param line The line
+     * @return The fields, without surrounding spaces or quotes
+     */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                // Spaces before an opening quote are not part of the field
+                field.setLength(0);
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(wasQuoted ? field.toString() : field.toString().trim());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (!wasQuoted) {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quote");
+        }
+        fields.add(wasQuoted ? field.toString() : field.toString().trim());
+        return fields;
+    }
+}
@@ -1,17 +1,27 @@
 package org.example.ui;
 
+import org.example.repository.impl.SegmentedActionLogRepository;
+import org.example.service.AuthenticationService;
 import org.example.service.CareHomeService;
+import org.example.service.LoggingService;
 import org.example.util.AdminUserInitializer;
 import org.example.util.RegisterAllStaff;
 import org.example.util.UpdateAdminShifts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+
 /**
  * Main application class for the text-based Care Home System
  */
 public class CareHomeTextApplication {
     private static final Logger logger = LoggerFactory.getLogger(CareHomeTextApplication.class);
+    private static final Duration MISSED_DOSE_CHECK_INTERVAL = Duration.ofMinutes(5);
 
     /**
      * Main method to start the application
@@ -22,18 +32,30 @@ public class CareHomeTextApplication {
             // Initialize services
             CareHomeService careHomeService = CareHomeService.getInstance();
 
+            // Keep the audit log on disk
+            SegmentedActionLogRepository auditLog = new SegmentedActionLogRepository();
+            auditLog.setStaffResolver(id -> careHomeService.findStaffById(id).orElse(null));
+            LoggingService.getInstance().setRepository(auditLog);
+
             // Initialize admin users and staff
             AdminUserInitializer.ensureAdminUserExists();
             UpdateAdminShifts.updateAdminShifts();
             RegisterAllStaff.registerAllStaff();
 
+            if (args.length > 0 && "--batch".equals(args[0])) {
+                runBatch(careHomeService, args);
+                return;
+            }
+
             logger.info("Care Home Text Application starting...");
+            careHomeService.getMissedDoseDetector().start(MISSED_DOSE_CHECK_INTERVAL);
 
             // Start the menu system
             MenuManager menuManager = MenuManager.getInstance();
             menuManager.start(new MainMenu());
 
             // Save data before exiting
+            careHomeService.getMissedDoseDetector().stop();
             careHomeService.saveData();
 
             logger.info("Care Home Text Application stopped");
@@ -43,4 +65,28 @@ public class CareHomeTextApplication {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Run a command script instead of the menus
+     * Usage: --batch scriptFile [--checkpoint changes]
+     * @param careHomeService The care home service
+     * @param args Command line arguments
+     * @throws IOException If the script could not be read
+     */
+    private static void runBatch(CareHomeService careHomeService, String[] args) throws IOException {
+        if (args.length != 2 && !(args.length == 4 && "--checkpoint".equals(args[2]))) {
+            System.out.println("Usage: --batch <script> [--checkpoint <changes>]");
+            return;
+        }
+        int checkpointInterval = args.length == 4 ? Integer.parseInt(args[3]) : 0;
+
+        logger.info("Running batch script " + args[1]);
+        BatchRunner runner = new BatchRunner(careHomeService, AuthenticationService.getInstance(),
+                System.out, checkpointInterval);
+        try (Reader script = Files.newBufferedReader(Paths.get(args[1]))) {
+            runner.run(script);
+        }
+        LoggingService.getInstance().flush();
+        logger.info("Batch script finished");
+    }
 }
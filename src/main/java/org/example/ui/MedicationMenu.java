@@ -5,7 +5,10 @@ import org.example.exception.UnauthorizedActionException;
 import org.example.model.*;
 import org.example.service.AuthenticationService;
 import org.example.service.CareHomeService;
+import org.example.service.MedicationRound;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -39,6 +42,9 @@ public class MedicationMenu implements Menu {
         System.out.println("2. Add Prescription");
         System.out.println("3. Add Medication to Prescription");
         System.out.println("4. Administer Medication");
+        System.out.println("5. View Doses Due (Next 30 Minutes)");
+        System.out.println("6. Plan Medication Round");
+        System.out.println("7. Record Medication Round");
         System.out.println("0. Back to Main Menu");
         System.out.println("===================================");
     }
@@ -59,6 +65,15 @@ public class MedicationMenu implements Menu {
                 // Placeholder for administer medication functionality
                 menuManager.displayMessage("Administer Medication functionality will be implemented soon.");
                 break;
+            case "5":
+                viewDueDoses();
+                break;
+            case "6":
+                planMedicationRound();
+                break;
+            case "7":
+                recordMedicationRound();
+                break;
             case "0":
                 menuManager.goBack();
                 break;
@@ -506,6 +521,174 @@ public class MedicationMenu implements Menu {
         }
     }
 
+    private void viewDueDoses() {
+        System.out.println("\n===================================");
+        System.out.println("     DOSES DUE (NEXT 30 MINUTES)  ");
+        System.out.println("===================================");
+
+        List<DueDose> dueDoses = careHomeService.getDueDoses(Duration.ofMinutes(30));
+
+        if (dueDoses.isEmpty()) {
+            System.out.println("No doses are due in the next 30 minutes.");
+        } else {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("h:mm a");
+            for (DueDose dose : dueDoses) {
+                System.out.println(dose.getTime().format(formatter) + " - " + dose.getPatient().getFullName() +
+                        ": " + dose.getMedication().getName() + " (" + dose.getMedication().getDosage() + ")");
+            }
+        }
+
+        menuManager.displayMessage("Press Enter to continue...");
+    }
+
+    private void planMedicationRound() {
+        Ward ward = selectWard();
+        if (ward == null) {
+            return;
+        }
+
+        int hours = menuManager.getIntInput("Enter length of round in hours (1-24)");
+        if (hours < 1 || hours > 24) {
+            menuManager.displayMessage("Invalid length");
+            return;
+        }
+
+        LocalDateTime from = LocalDateTime.now();
+        MedicationRound round = careHomeService.planMedicationRound(ward.getId(), from, from.plusHours(hours));
+
+        System.out.println("\n===================================");
+        System.out.println("MEDICATION ROUND - " + round.getWard().getName());
+        System.out.println("===================================");
+
+        if (round.getEntries().isEmpty()) {
+            System.out.println("No doses are due in the next " + hours + " hours.");
+        } else {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("h:mm a");
+            for (MedicationRound.Entry entry : round.getEntries()) {
+                String location = entry.getBed() != null
+                        ? "Room " + entry.getRoom().getNumber() + ", " + entry.getBed().getName()
+                        : "Not in a bed";
+                String status;
+                if (entry.isGiven()) {
+                    status = "GIVEN";
+                } else if (entry.getLastAdministration() != null) {
+                    status = "last given " + entry.getLastAdministration().getAdministrationDateTime()
+                            .format(DateTimeFormatter.ofPattern("dd/MM h:mm a"));
+                } else {
+                    status = "never given";
+                }
+                System.out.println(location + " | " + entry.getDueAt().format(formatter) + " - " +
+                        entry.getPatient().getFullName() + ": " + entry.getMedication().getName() +
+                        " (" + entry.getDosage() + ") [" + status + "]");
+            }
+            System.out.println(round.getOutstanding().size() + " of " + round.getEntries().size() + " doses outstanding");
+        }
+
+        menuManager.displayMessage("Press Enter to continue...");
+    }
+
+    private void recordMedicationRound() {
+        try {
+            // Check if the current user is a nurse
+            if (!(authService.getCurrentUser() instanceof Nurse)) {
+                menuManager.displayMessage("Only nurses can administer medications.");
+                return;
+            }
+
+            Ward ward = selectWard();
+            if (ward == null) {
+                return;
+            }
+
+            // Doses due in the hour either side of now
+            LocalDateTime now = LocalDateTime.now();
+            MedicationRound round = careHomeService.planMedicationRound(ward.getId(), now.minusHours(1), now.plusHours(1));
+            List<MedicationRound.Entry> outstanding = round.getOutstanding();
+
+            System.out.println("\n===================================");
+            System.out.println("RECORD ROUND - " + ward.getName());
+            System.out.println("===================================");
+
+            if (outstanding.isEmpty()) {
+                menuManager.displayMessage("No doses are outstanding on this ward.");
+                return;
+            }
+
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("h:mm a");
+            for (int i = 0; i < outstanding.size(); i++) {
+                MedicationRound.Entry entry = outstanding.get(i);
+                System.out.println((i + 1) + ". " + entry.getDueAt().format(formatter) + " - " +
+                        entry.getPatient().getFullName() + ": " + entry.getMedication().getName() +
+                        " (" + entry.getDosage() + ")");
+            }
+
+            String input = menuManager.getInput("Enter the numbers of the doses given, separated by commas, or 'all'");
+            List<DueDose> given = new ArrayList<>();
+            if (input.trim().equalsIgnoreCase("all")) {
+                for (MedicationRound.Entry entry : outstanding) {
+                    given.add(entry.getDose());
+                }
+            } else {
+                for (String part : input.split(",")) {
+                    if (part.trim().isEmpty()) {
+                        continue;
+                    }
+                    int number = Integer.parseInt(part.trim());
+                    if (number < 1 || number > outstanding.size()) {
+                        menuManager.displayMessage("Invalid dose number: " + number);
+                        return;
+                    }
+                    given.add(outstanding.get(number - 1).getDose());
+                }
+            }
+            if (given.isEmpty()) {
+                menuManager.displayMessage("No doses selected.");
+                return;
+            }
+
+            // Get administration notes
+            String notes = menuManager.getInput("Administration Notes (optional)");
+
+            // Record the whole round at once
+            List<MedicationAdministration> administrations = careHomeService.administerMedications(given, notes);
+
+            menuManager.displayMessage(administrations.size() + " doses recorded for " + ward.getName() + ".");
+
+        } catch (NumberFormatException e) {
+            menuManager.displayMessage("Invalid dose number: " + e.getMessage());
+        } catch (UnauthorizedActionException | NotRosteredException e) {
+            menuManager.displayMessage("Error: " + e.getMessage());
+        } catch (Exception e) {
+            menuManager.displayMessage("An unexpected error occurred: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Let the user pick a ward
+     * @return The ward, or null if cancelled or the choice was invalid
+     */
+    private Ward selectWard() {
+        System.out.println("\n===================================");
+        System.out.println("     SELECT WARD                  ");
+        System.out.println("===================================");
+
+        List<Ward> wards = careHomeService.getAllWards();
+        for (int i = 0; i < wards.size(); i++) {
+            System.out.println((i + 1) + ". " + wards.get(i).getName() + " (" + wards.get(i).getId() + ")");
+        }
+        System.out.println("0. Cancel");
+
+        int choice = menuManager.getIntInput("Enter ward number");
+        if (choice == 0) {
+            return null;
+        }
+        if (choice < 1 || choice > wards.size()) {
+            menuManager.displayMessage("Invalid choice");
+            return null;
+        }
+        return wards.get(choice - 1);
+    }
+
     /**
      * Format a list of administration times for display
      */
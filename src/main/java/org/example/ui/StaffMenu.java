@@ -1,12 +1,17 @@
 package org.example.ui;
 
-import org.example.exception.ComplianceException;
 import org.example.service.CareHomeService;
+import org.example.exception.ComplianceException;
 import org.example.exception.NotRosteredException;
 import org.example.exception.UnauthorizedActionException;
 import org.example.model.*;
 import org.example.service.AuthenticationService;
-import org.example.service.ComplianceChecker;
+import org.example.service.ComplianceEngine;
+import org.example.service.ComplianceReport;
+import org.example.service.ComplianceViolation;
+import org.example.service.RosterCalendar;
+import org.example.service.RosterSolver;
+import org.example.util.CoverageTimeline;
 import org.example.util.IdGenerator;
 
 import java.time.DayOfWeek;
@@ -14,6 +19,7 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -360,6 +366,12 @@ public class StaffMenu implements Menu {
             System.out.println("3. Assign Doctor Shift");
             System.out.println("4. Remove Shift");
             System.out.println("5. Check Compliance");
+            System.out.println("6. Assign Ward");
+            System.out.println("7. Add Leave");
+            System.out.println("8. Add Cover Shift");
+            System.out.println("9. Swap Shifts");
+            System.out.println("10. View Dated Roster");
+            System.out.println("11. Generate Roster");
             System.out.println("0. Back");
 
             int choice = menuManager.getIntInput("Enter choice");
@@ -380,6 +392,24 @@ public class StaffMenu implements Menu {
                 case 5:
                     checkCompliance();
                     break;
+                case 6:
+                    assignWard();
+                    break;
+                case 7:
+                    addLeave();
+                    break;
+                case 8:
+                    addCover();
+                    break;
+                case 9:
+                    swapShifts();
+                    break;
+                case 10:
+                    viewDatedRoster();
+                    break;
+                case 11:
+                    generateRoster();
+                    break;
                 case 0:
                     return;
                 default:
@@ -498,11 +528,12 @@ public class StaffMenu implements Menu {
 
             // Create and add the shift
             Shift newShift = new Shift(selectedDay, startTime, endTime);
-            selectedDoctor.addShift(newShift);
+            ComplianceEngine.Delta delta = careHomeService.addShift(selectedDoctor, newShift);
 
             // Update the staff member
             if (careHomeService.updateStaff(selectedDoctor)) {
                 menuManager.displayMessage("Shift assigned successfully.");
+                displayComplianceWarning(delta);
             } else {
                 menuManager.displayMessage("Failed to assign shift.");
             }
@@ -580,11 +611,12 @@ public class StaffMenu implements Menu {
             Shift selectedShift = shifts[shiftChoice - 1];
 
             // Remove the shift
-            selectedStaff.removeShift(selectedShift);
+            ComplianceEngine.Delta delta = careHomeService.removeShift(selectedStaff, selectedShift);
 
             // Update the staff member
             if (careHomeService.updateStaff(selectedStaff)) {
                 menuManager.displayMessage("Shift removed successfully.");
+                displayComplianceWarning(delta);
             } else {
                 menuManager.displayMessage("Failed to remove shift.");
             }
@@ -668,14 +700,8 @@ public class StaffMenu implements Menu {
             }
 
             // Check if the nurse already has a shift on this day
-            int totalHoursForDay = 0;
-
             for (Shift existingShift : selectedNurse.getShifts()) {
                 if (existingShift.getDayOfWeek() == selectedDay) {
-                    // Calculate existing shift hours
-                    int existingHours = existingShift.getEndTime().getHour() - existingShift.getStartTime().getHour();
-                    totalHoursForDay += existingHours;
-
                     // Check if this is the same shift
                     if (existingShift.getStartTime().equals(startTime) && existingShift.getEndTime().equals(endTime)) {
                         menuManager.displayMessage("This nurse is already assigned to this shift.");
@@ -685,18 +711,21 @@ public class StaffMenu implements Menu {
             }
 
             // Check if adding this shift would exceed 8 hours
-            if (totalHoursForDay + 8 > 8) {
+            Shift newShift = new Shift(selectedDay, startTime, endTime);
+            List<Shift> shiftsAfter = new ArrayList<>(selectedNurse.getShifts());
+            shiftsAfter.add(newShift);
+            if (CoverageTimeline.of(shiftsAfter).getCoveredMinutes(selectedDay) > 8 * 60) {
                 menuManager.displayMessage("Cannot assign this shift. It would exceed the 8-hour limit for this day.");
                 return;
             }
 
-            // Create and add the shift
-            Shift newShift = new Shift(selectedDay, startTime, endTime);
-            selectedNurse.addShift(newShift);
+            // Add the shift
+            ComplianceEngine.Delta delta = careHomeService.addShift(selectedNurse, newShift);
 
             // Update the staff member
             if (careHomeService.updateStaff(selectedNurse)) {
                 menuManager.displayMessage("Shift assigned successfully.");
+                displayComplianceWarning(delta);
             } else {
                 menuManager.displayMessage("Failed to assign shift.");
             }
@@ -706,6 +735,187 @@ public class StaffMenu implements Menu {
         }
     }
 
+    /**
+     * Show the staffing rules broken by a shift change
+     * @param delta The change in compliance
+     */
+    /**
+     * Assign a staff member to a ward for the dated roster
+     */
+    private void assignWard() throws UnauthorizedActionException, NotRosteredException {
+        Staff staff = selectStaff("Select staff member:");
+        if (staff == null) {
+            return;
+        }
+
+        System.out.println("\nSelect ward:");
+        List<Ward> wards = careHomeService.getAllWards();
+        for (int i = 0; i < wards.size(); i++) {
+            System.out.println((i + 1) + ". " + wards.get(i).getName());
+        }
+        System.out.println("0. No ward");
+
+        int wardChoice = menuManager.getIntInput("Enter choice");
+        if (wardChoice < 0 || wardChoice > wards.size()) {
+            menuManager.displayMessage("Invalid choice");
+            return;
+        }
+
+        careHomeService.assignWard(staff, wardChoice == 0 ? null : wards.get(wardChoice - 1).getId());
+        menuManager.displayMessage("Ward assigned successfully.");
+    }
+
+    /**
+     * Put a staff member on leave for a range of dates
+     */
+    private void addLeave() throws UnauthorizedActionException, NotRosteredException {
+        Staff staff = selectStaff("Select staff member:");
+        if (staff == null) {
+            return;
+        }
+        LocalDate from = getDateInput("First date of leave (YYYY-MM-DD)");
+        LocalDate to = getDateInput("Last date of leave (YYYY-MM-DD)");
+
+        careHomeService.addLeave(staff, from, to);
+        menuManager.displayMessage("Leave added successfully.");
+    }
+
+    /**
+     * Add a one-off cover shift for a staff member
+     */
+    private void addCover() throws UnauthorizedActionException, NotRosteredException {
+        Staff staff = selectStaff("Select staff member:");
+        if (staff == null) {
+            return;
+        }
+        LocalDate date = getDateInput("Date of the shift (YYYY-MM-DD)");
+        int startHour = menuManager.getIntInput("Start hour (0-23)");
+        int endHour = menuManager.getIntInput("End hour (0-23)");
+        if (startHour < 0 || startHour > 23 || endHour < 0 || endHour > 23) {
+            menuManager.displayMessage("Invalid hour");
+            return;
+        }
+
+        RosterCalendar.DatedShift shift = careHomeService.addCover(staff, date, LocalTime.of(startHour, 0),
+                LocalTime.of(endHour, 0), null);
+        menuManager.displayMessage("Cover shift added: " + shift);
+    }
+
+    /**
+     * Hand a staff member's shifts on a date to another staff member
+     */
+    private void swapShifts() throws UnauthorizedActionException, NotRosteredException {
+        Staff from = selectStaff("Select staff member giving up their shifts:");
+        if (from == null) {
+            return;
+        }
+        Staff to = selectStaff("Select staff member covering them:");
+        if (to == null) {
+            return;
+        }
+        LocalDate date = getDateInput("Date (YYYY-MM-DD)");
+
+        List<RosterCalendar.DatedShift> cover = careHomeService.swapShifts(from, to, date);
+        menuManager.displayMessage(cover.isEmpty()
+                ? from.getFullName() + " has no shifts that day, so they are only marked as on leave."
+                : "Swapped " + cover.size() + " shift(s) to " + to.getFullName() + ".");
+    }
+
+    /**
+     * Show a staff member's shifts for the next week, with leave and cover applied
+     */
+    private void viewDatedRoster() {
+        Staff staff = selectStaff("Select staff member:");
+        if (staff == null) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        List<RosterCalendar.DatedShift> shifts = careHomeService.getRosterCalendar()
+                .getShifts(staff, today, today.plusDays(6));
+        System.out.println("\nShifts for " + staff.getFullName() + " from " + today + ":");
+        if (shifts.isEmpty()) {
+            System.out.println("  No shifts");
+        }
+        for (RosterCalendar.DatedShift shift : shifts) {
+            System.out.println("  " + shift.getDate() + " " + shift.getDate().getDayOfWeek() + ": "
+                    + formatTime(shift.getStartTime()) + " - " + formatTime(shift.getEndTime())
+                    + (shift.isCover() ? " (cover)" : ""));
+        }
+        menuManager.displayMessage("Press Enter to continue...");
+    }
+
+    /**
+     * Build a compliant weekly roster for the nurses and doctors and apply it once confirmed
+     */
+    private void generateRoster() throws ComplianceException, UnauthorizedActionException, NotRosteredException {
+        RosterSolver.Roster roster = careHomeService.generateRoster();
+
+        System.out.println("\nProposed roster:");
+        for (Staff staff : careHomeService.getAllStaff()) {
+            if (!(staff instanceof Nurse) && !(staff instanceof Doctor)) {
+                continue;
+            }
+            System.out.println(staff.getFullName() + " (" + staff.getClass().getSimpleName() + "):");
+            List<Shift> shifts = roster.getShifts(staff);
+            if (shifts.isEmpty()) {
+                System.out.println("  No shifts assigned");
+            }
+            for (Shift shift : shifts) {
+                System.out.println("  " + shift.getDayOfWeek() + ": " +
+                        formatTime(shift.getStartTime()) + " - " + formatTime(shift.getEndTime()));
+            }
+        }
+
+        String answer = menuManager.getInput("Replace the current shifts with this roster? (yes/no)");
+        if (!answer.trim().equalsIgnoreCase("yes")) {
+            menuManager.displayMessage("Roster not applied.");
+            return;
+        }
+        careHomeService.applyRoster(roster);
+        menuManager.displayMessage("Roster applied successfully.");
+    }
+
+    /**
+     * Ask the user to pick a staff member
+     * @param prompt The prompt to show above the list
+     * @return The staff member, or null if cancelled
+     */
+    private Staff selectStaff(String prompt) {
+        List<Staff> allStaff = careHomeService.getAllStaff();
+        System.out.println("\n" + prompt);
+        for (int i = 0; i < allStaff.size(); i++) {
+            Staff staff = allStaff.get(i);
+            System.out.println((i + 1) + ". " + staff.getFullName() + " (" + staff.getClass().getSimpleName() + ")");
+        }
+        System.out.println("0. Cancel");
+
+        int choice = menuManager.getIntInput("Enter choice");
+        if (choice < 1 || choice > allStaff.size()) {
+            if (choice != 0) {
+                menuManager.displayMessage("Invalid choice");
+            }
+            return null;
+        }
+        return allStaff.get(choice - 1);
+    }
+
+    private LocalDate getDateInput(String prompt) {
+        while (true) {
+            try {
+                return LocalDate.parse(menuManager.getInput(prompt), DateTimeFormatter.ISO_LOCAL_DATE);
+            } catch (DateTimeParseException e) {
+                System.out.println("Invalid date format. Please use YYYY-MM-DD.");
+            }
+        }
+    }
+
+    private void displayComplianceWarning(ComplianceEngine.Delta delta) {
+        for (ComplianceViolation violation : delta.getIntroduced()) {
+            System.out.println("Warning: " + violation.getMessage());
+        }
+    }
+
     /**
      * Check compliance with staffing regulations
      */
@@ -715,11 +925,16 @@ public class StaffMenu implements Menu {
             System.out.println("       COMPLIANCE CHECK           ");
             System.out.println("===================================");
 
-            try {
-                careHomeService.checkCompliance();
+            ComplianceReport report = careHomeService.getComplianceReport();
+            if (report.isCompliant()) {
                 menuManager.displayMessage("All compliance checks passed successfully!");
-            } catch (ComplianceException e) {
-                menuManager.displayMessage("Compliance check failed: " + e.getMessage());
+            } else {
+                System.out.println("Compliance check failed with " + report.getViolations().size()
+                        + " violation(s):");
+                for (ComplianceViolation violation : report.getViolations()) {
+                    System.out.println("- " + violation.getMessage());
+                }
+                menuManager.displayMessage("Fix the violations above and check again.");
             }
 
         } catch (Exception e) {
@@ -78,6 +78,9 @@ public class ComplianceCheckUtility {
             System.out.println("COMPLIANCE CHECK PASSED: All staffing regulations are met.");
         } catch (ComplianceException e) {
             System.out.println("COMPLIANCE CHECK FAILED: " + e.getMessage());
+            if (e.getReport() != null && e.getReport().getViolations().size() > 1) {
+                System.out.println(e.getReport());
+            }
             logger.error("Compliance check failed", e);
         }
     }
@@ -194,8 +197,8 @@ public class ComplianceCheckUtility {
             } else {
                 System.out.println("   Shifts:");
                 for (DayOfWeek day : DayOfWeek.values()) {
-                    int hours = ShiftManager.getTotalHoursForDay(staff, day);
-                    System.out.println("   - " + day + ": " + hours + " hours");
+                    int minutes = ShiftManager.getTotalMinutesForDay(staff, day);
+                    System.out.printf("   - %s: %d:%02d hours%n", day, minutes / 60, minutes % 60);
                 }
             }
             
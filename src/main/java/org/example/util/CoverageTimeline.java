@@ -0,0 +1,183 @@
+package org.example.util;
+
+import org.example.model.Shift;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Collection;
+
+/**
+ * Counts how many shifts cover each minute of the week
+ *
+ * A shift covers the minutes from its start time up to its end time. A shift whose end time
+ * is before its start time runs overnight into the next day, and an overnight shift on Sunday
+ * runs into Monday. A shift whose end time equals its start time covers nothing. Overlapping
+ * shifts are counted once each.
+ *
+ * Shifts are added and removed in place, touching only the minutes they cover. Every query is
+ * a plain loop over a slice of the array.
+ */
+public class CoverageTimeline {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private final short[] coverage = new short[MINUTES_PER_WEEK];
+    private int shiftCount;
+
+    /**
+     * Create a timeline of some shifts
+     * @param shifts The shifts
+     * @return The timeline
+     */
+    public static CoverageTimeline of(Collection<Shift> shifts) {
+        CoverageTimeline timeline = new CoverageTimeline();
+        for (Shift shift : shifts) {
+            timeline.add(shift);
+        }
+        return timeline;
+    }
+
+    /**
+     * Add a shift to the timeline
+     * @param shift The shift
+     */
+    public void add(Shift shift) {
+        if (shiftCount == Short.MAX_VALUE) {
+            throw new IllegalStateException("Too many shifts in the timeline");
+        }
+        shiftCount++;
+        apply(shift, (short) 1);
+    }
+
+    /**
+     * Remove a shift that was added to the timeline
+     * @param shift The shift
+     */
+    public void remove(Shift shift) {
+        if (shiftCount == 0) {
+            throw new IllegalStateException("No shifts in the timeline");
+        }
+        shiftCount--;
+        apply(shift, (short) -1);
+    }
+
+    /**
+     * Get the number of shifts covering a minute
+     * @param day The day
+     * @param time The minute
+     * @return The number of shifts
+     */
+    public int getCoverage(DayOfWeek day, LocalTime time) {
+        return coverage[minuteOfWeek(day, time)];
+    }
+
+    /**
+     * Get the lowest number of shifts covering any minute of a window on one day
+     * @param day The day
+     * @param start The start of the window
+     * @param end The end of the window, after the start
+     * @return The lowest number of shifts
+     */
+    public int getMinimumCoverage(DayOfWeek day, LocalTime start, LocalTime end) {
+        int from = minuteOfWeek(day, start);
+        int to = minuteOfWeek(day, end);
+        if (to <= from) {
+            throw new IllegalArgumentException("Window must end after it starts");
+        }
+        int min = Short.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, coverage[i]);
+        }
+        return min;
+    }
+
+    /**
+     * Get the number of minutes of a window on one day not covered by any shift
+     * @param day The day
+     * @param start The start of the window
+     * @param end The end of the window, after the start
+     * @return The number of minutes
+     */
+    public int getUncoveredMinutes(DayOfWeek day, LocalTime start, LocalTime end) {
+        int from = minuteOfWeek(day, start);
+        int to = minuteOfWeek(day, end);
+        if (to <= from) {
+            throw new IllegalArgumentException("Window must end after it starts");
+        }
+        int uncovered = 0;
+        for (int i = from; i < to; i++) {
+            uncovered += coverage[i] == 0 ? 1 : 0;
+        }
+        return uncovered;
+    }
+
+    /**
+     * Get the number of minutes of a day covered by at least one shift
+     * @param day The day
+     * @return The number of minutes
+     */
+    public int getCoveredMinutes(DayOfWeek day) {
+        int from = day.ordinal() * MINUTES_PER_DAY;
+        int covered = 0;
+        for (int i = from; i < from + MINUTES_PER_DAY; i++) {
+            covered += coverage[i] > 0 ? 1 : 0;
+        }
+        return covered;
+    }
+
+    /**
+     * Create a copy of the timeline that can be changed independently
+     * @return The copy
+     */
+    public CoverageTimeline copy() {
+        CoverageTimeline copy = new CoverageTimeline();
+        System.arraycopy(coverage, 0, copy.coverage, 0, MINUTES_PER_WEEK);
+        copy.shiftCount = shiftCount;
+        return copy;
+    }
+
+    /**
+     * Get the number of shifts in the timeline
+     * @return The number of shifts
+     */
+    public int getShiftCount() {
+        return shiftCount;
+    }
+
+    /**
+     * Get the days a shift covers minutes of
+     * @param shift The shift
+     * @return The day the shift starts on, and the next day if it runs overnight
+     */
+    public static DayOfWeek[] getDays(Shift shift) {
+        if (shift.getEndTime().isBefore(shift.getStartTime()) && !shift.getEndTime().equals(LocalTime.MIDNIGHT)) {
+            return new DayOfWeek[] { shift.getDayOfWeek(), shift.getDayOfWeek().plus(1) };
+        }
+        return new DayOfWeek[] { shift.getDayOfWeek() };
+    }
+
+    private void apply(Shift shift, short amount) {
+        int from = minuteOfWeek(shift.getDayOfWeek(), shift.getStartTime());
+        int length = minuteOfDay(shift.getEndTime()) - minuteOfDay(shift.getStartTime());
+        if (length < 0) {
+            length += MINUTES_PER_DAY;
+        }
+        int to = from + length;
+        // A Sunday night shift wraps round to Monday morning
+        int firstEnd = Math.min(to, MINUTES_PER_WEEK);
+        for (int i = from; i < firstEnd; i++) {
+            coverage[i] += amount;
+        }
+        for (int i = 0; i < to - MINUTES_PER_WEEK; i++) {
+            coverage[i] += amount;
+        }
+    }
+
+    private static int minuteOfWeek(DayOfWeek day, LocalTime time) {
+        return day.ordinal() * MINUTES_PER_DAY + minuteOfDay(time);
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
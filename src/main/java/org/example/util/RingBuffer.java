@@ -0,0 +1,98 @@
+package org.example.util;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and a single consumer.
+ * Producers claim a slot by advancing the tail with compare-and-set and then publish the
+ * element into it. The consumer takes elements in claim order and frees their slots.
+ * @param <E> The element type
+ */
+public class RingBuffer<E> {
+    private final AtomicReferenceArray<E> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong tail;
+    // Only written by the consumer
+    private volatile long head;
+
+    /**
+     * Create a ring buffer
+     * @param capacity The minimum capacity, rounded up to a power of two
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        this.capacity = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+        this.tail = new AtomicLong();
+    }
+
+    /**
+     * Add an element if there is space. Safe to call from any thread.
+     * @param element The element
+     * @return true if the element was added, false if the buffer is full
+     */
+    public boolean offer(E element) {
+        Objects.requireNonNull(element, "element");
+        while (true) {
+            long claim = tail.get();
+            if (claim - head >= capacity) {
+                return false;
+            }
+            if (tail.compareAndSet(claim, claim + 1)) {
+                slots.set((int) (claim & mask), element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Take the next element. Must only be called by the consumer thread.
+     * @return The next element, or null if the buffer is empty or the next producer
+     *         has claimed its slot but not yet published into it
+     */
+    public E poll() {
+        long next = head;
+        int index = (int) (next & mask);
+        E element = slots.get(index);
+        if (element == null) {
+            return null;
+        }
+        slots.set(index, null);
+        head = next + 1;
+        return element;
+    }
+
+    /**
+     * Get the number of slots claimed by producers since the buffer was created
+     * @return The number of claimed slots
+     */
+    public long getClaimed() {
+        return tail.get();
+    }
+
+    /**
+     * Get the number of elements taken by the consumer since the buffer was created
+     * @return The number of consumed elements
+     */
+    public long getConsumed() {
+        return head;
+    }
+
+    /**
+     * Get the number of elements waiting in the buffer
+     * @return The number of waiting elements
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
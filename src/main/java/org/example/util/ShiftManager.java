@@ -78,25 +78,20 @@ public class ShiftManager {
      * Get the total hours assigned to a staff member for a specific day
      * @param staff The staff member
      * @param day The day of the week
-     * @return The total hours assigned
+     * @return The total hours assigned, in whole hours
      */
     public static int getTotalHoursForDay(Staff staff, DayOfWeek day) {
-        int totalHours = 0;
-        
-        for (Shift shift : staff.getShifts()) {
-            if (shift.getDayOfWeek() == day) {
-                int startHour = shift.getStartTime().getHour();
-                int endHour = shift.getEndTime().getHour();
-                
-                if (endHour < startHour) {
-                    // Overnight shift
-                    totalHours += (24 - startHour) + endHour;
-                } else {
-                    totalHours += endHour - startHour;
-                }
-            }
-        }
-        
-        return totalHours;
+        return getTotalMinutesForDay(staff, day) / 60;
+    }
+
+    /**
+     * Get the total minutes of a specific day a staff member is on duty. Overnight shifts count
+     * towards each day they cover, and overlapping shifts are only counted once.
+     * @param staff The staff member
+     * @param day The day of the week
+     * @return The total minutes assigned
+     */
+    public static int getTotalMinutesForDay(Staff staff, DayOfWeek day) {
+        return CoverageTimeline.of(staff.getShifts()).getCoveredMinutes(day);
     }
 }
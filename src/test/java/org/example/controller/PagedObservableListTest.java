@@ -0,0 +1,92 @@
+package org.example.controller;
+
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PagedObservableListTest {
+
+    private static List<Integer> numbers(int count) {
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            numbers.add(i);
+        }
+        return numbers;
+    }
+
+    @Test
+    public void testGet_FetchesOnlyPagesThatAreRead() {
+        // Arrange
+        PagedObservableList<Integer> list = new PagedObservableList<>(
+                PagedObservableList.fromList(numbers(1000), false), 50, 4);
+
+        // Act
+        int first = list.get(0);
+        int nearby = list.get(49);
+        int far = list.get(975);
+
+        // Assert
+        assertEquals(1000, list.size());
+        assertEquals(0, first);
+        assertEquals(49, nearby);
+        assertEquals(975, far);
+        assertEquals(2, list.getFetchCount());
+    }
+
+    @Test
+    public void testGet_DropsLeastRecentlyUsedPages() {
+        // Arrange
+        PagedObservableList<Integer> list = new PagedObservableList<>(
+                PagedObservableList.fromList(numbers(1000), false), 10, 2);
+        list.get(0);
+        list.get(10);
+
+        // Act
+        list.get(0);
+        list.get(20);
+        list.get(0);
+        list.get(10);
+
+        // Assert
+        assertEquals(4, list.getFetchCount());
+    }
+
+    @Test
+    public void testFromList_Reversed() {
+        // Arrange
+        PagedObservableList<Integer> list = new PagedObservableList<>(
+                PagedObservableList.fromList(numbers(25), true), 10, 2);
+
+        // Act & Assert
+        assertEquals(24, list.get(0));
+        assertEquals(0, list.get(24));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(25));
+    }
+
+    @Test
+    public void testReset_RecountsAndNotifiesListeners() {
+        // Arrange
+        List<Integer> rows = numbers(5);
+        PagedObservableList<Integer> list = new PagedObservableList<>(PagedObservableList.fromList(rows, false));
+        List<String> changes = new ArrayList<>();
+        list.addListener((ListChangeListener<Integer>) change -> {
+            while (change.next()) {
+                changes.add(change.getRemovedSize() + "-" + change.getAddedSize());
+            }
+        });
+        list.get(4);
+        rows.add(5);
+
+        // Act
+        list.reset();
+
+        // Assert
+        assertEquals(6, list.size());
+        assertEquals(5, list.get(5));
+        assertEquals(List.of("5-6"), changes);
+    }
+}
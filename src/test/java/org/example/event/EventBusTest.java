@@ -0,0 +1,113 @@
+package org.example.event;
+
+import org.example.model.Bed;
+import org.example.model.Gender;
+import org.example.model.Patient;
+import org.example.model.Room;
+import org.example.model.Ward;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventBusTest {
+
+    private EventBus eventBus;
+    private Patient patient;
+    private Bed firstBed;
+    private Bed secondBed;
+
+    @BeforeEach
+    public void setUp() {
+        eventBus = new EventBus();
+        Ward ward = new Ward("W001", "Test Ward");
+        Room room = new Room("R001", "101", ward, 2);
+        ward.addRoom(room);
+        firstBed = room.getBeds().get(0);
+        secondBed = room.getBeds().get(1);
+        patient = new Patient("PAT001", "John", "Doe", LocalDate.of(1950, 5, 15), Gender.MALE,
+                "Hypertension", false);
+    }
+
+    @Test
+    public void testSubscribe_DeliversSubclassEventsOnPublishingThread() {
+        // Arrange
+        List<String> received = new ArrayList<>();
+        Thread publisher = Thread.currentThread();
+        eventBus.subscribe(BedChangedEvent.class, event -> {
+            assertSame(publisher, Thread.currentThread());
+            received.add(event.getClass().getSimpleName());
+        });
+        eventBus.subscribe(PatientMovedEvent.class, event -> received.add("moved only"));
+
+        // Act
+        eventBus.publish(new PatientAdmittedEvent(null, patient, firstBed));
+        eventBus.publish(new PatientMovedEvent(null, patient, firstBed, secondBed));
+        eventBus.publish(new StaffChangedEvent(null, null, true));
+
+        // Assert
+        assertEquals(List.of("PatientAdmittedEvent", "moved only", "PatientMovedEvent"), received);
+    }
+
+    @Test
+    public void testSubscribeAsync_DeliversInOrderOffPublishingThread() {
+        // Arrange
+        List<Bed> received = new CopyOnWriteArrayList<>();
+        Thread publisher = Thread.currentThread();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        eventBus.subscribeAsync(PatientAdmittedEvent.class, event -> {
+            threads.add(Thread.currentThread());
+            received.add(event.getBed());
+        });
+
+        // Act
+        eventBus.publish(new PatientAdmittedEvent(null, patient, firstBed));
+        eventBus.publish(new PatientAdmittedEvent(null, patient, secondBed));
+        eventBus.flush();
+
+        // Assert
+        assertEquals(List.of(firstBed, secondBed), received);
+        assertFalse(threads.contains(publisher));
+    }
+
+    @Test
+    public void testSubscribeCoalesced_DeliversBurstInOneBatch() {
+        // Arrange
+        List<List<BedChangedEvent>> batches = new CopyOnWriteArrayList<>();
+        eventBus.subscribeCoalesced(BedChangedEvent.class, Duration.ofSeconds(10), batches::add);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            eventBus.publish(new PatientMovedEvent(null, patient, firstBed, secondBed));
+        }
+        eventBus.flush();
+
+        // Assert
+        assertEquals(1, batches.size());
+        assertEquals(5, batches.get(0).size());
+    }
+
+    @Test
+    public void testCancel_StopsDeliveryAndFailingSubscriberIsIsolated() {
+        // Arrange
+        List<DomainEvent> received = new ArrayList<>();
+        EventBus.Subscription subscription = eventBus.subscribe(DomainEvent.class, received::add);
+        eventBus.subscribe(DomainEvent.class, event -> {
+            throw new IllegalStateException("Subscriber failure");
+        });
+        eventBus.publish(new PatientAdmittedEvent(null, patient, firstBed));
+
+        // Act
+        subscription.cancel();
+        eventBus.publish(new PatientAdmittedEvent(null, patient, secondBed));
+
+        // Assert
+        assertEquals(1, received.size());
+    }
+}
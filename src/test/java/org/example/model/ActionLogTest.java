@@ -0,0 +1,73 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ActionLogTest {
+
+    private final Nurse nurse = new Nurse("NUR001", "Jane", "Doe", LocalDate.of(1985, 5, 15), Gender.FEMALE,
+            "nurse", "password", "Registered Nurse");
+
+    @Test
+    public void testGetDetails_RendersTemplateFields() {
+        // Arrange
+        ActionLog log = new ActionLog(ActionType.MOVE_PATIENT, nurse, LocalDateTime.of(2025, 3, 1, 8, 0),
+                "John Smith", "Ward 1 - Room 1 - Bed 1", "Ward 2 - Room 3 - Bed 2");
+
+        // Act
+        String details = log.getDetails();
+
+        // Assert
+        assertEquals("Moved patient John Smith from Ward 1 - Room 1 - Bed 1 to Ward 2 - Room 3 - Bed 2", details);
+        assertEquals("MOVE_PATIENT", log.getAction());
+        assertEquals("NUR001", log.getStaffId());
+        assertSame(nurse, log.getStaff());
+    }
+
+    @Test
+    public void testConstructor_FreeTextDetailsAndId() {
+        // Arrange
+        LocalDateTime time = LocalDateTime.of(2025, 3, 1, 8, 0, 0, 123456789);
+
+        // Act
+        ActionLog log = new ActionLog("LOG-42", "CUSTOM", nurse, time, "Something happened");
+
+        // Assert
+        assertEquals("LOG-42", log.getId());
+        assertEquals(42, log.getSequence());
+        assertNull(log.getType());
+        assertEquals("Something happened", log.getDetails());
+        assertEquals(time, log.getTimestamp());
+    }
+
+    @Test
+    public void testSerialization_KeepsStaffIdButNotStaff() throws Exception {
+        // Arrange
+        ActionLog log = new ActionLog(ActionType.ADD_PRESCRIPTION, nurse, LocalDateTime.of(2025, 3, 1, 8, 0), "John Smith");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // Act
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(log);
+        }
+        ActionLog copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (ActionLog) in.readObject();
+        }
+
+        // Assert
+        assertNull(copy.getStaff());
+        assertEquals("NUR001", copy.getStaffId());
+        assertEquals("Added prescription for patient John Smith", copy.getDetails());
+        assertFalse(new String(bytes.toByteArray(), StandardCharsets.ISO_8859_1).contains("password"));
+    }
+}
@@ -4,6 +4,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -91,6 +95,80 @@ public class RoomTest {
         assertEquals(1, room.getOccupiedBeds());
     }
 
+    @Test
+    public void testTryAdmit_RejectsOccupiedBedAndOtherGender() {
+        // Arrange
+        Bed first = room.getBeds().get(0);
+        Bed second = room.getBeds().get(1);
+        Patient femalePatient = createPatient("P2", Gender.FEMALE, false);
+
+        // Act & Assert
+        assertEquals(Room.AdmitResult.ADMITTED, room.tryAdmit(first, patient));
+        assertEquals(Room.AdmitResult.BED_OCCUPIED, room.tryAdmit(first, createPatient("P3", Gender.MALE, false)));
+        assertEquals(Room.AdmitResult.GENDER_CONFLICT, room.tryAdmit(second, femalePatient));
+        assertFalse(second.isOccupied());
+    }
+
+    @Test
+    public void testTryAdmit_IsolationBothWays() {
+        // Arrange
+        Bed first = room.getBeds().get(0);
+        Bed second = room.getBeds().get(1);
+        Patient isolationPatient = createPatient("P2", Gender.MALE, true);
+
+        // Act & Assert
+        assertEquals(Room.AdmitResult.ADMITTED, room.tryAdmit(first, isolationPatient));
+        assertEquals(Room.AdmitResult.ROOM_ISOLATED, room.tryAdmit(second, patient));
+
+        first.removePatient();
+        assertEquals(Room.AdmitResult.ADMITTED, room.tryAdmit(second, patient));
+        assertEquals(Room.AdmitResult.ISOLATION_CONFLICT, room.tryAdmit(first, isolationPatient));
+    }
+
+    @Test
+    public void testTryAdmit_ConcurrentAdmissionsNeverMixGenders() throws Exception {
+        // Arrange
+        Room sharedRoom = new Room("R2", "102", ward, 4);
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Patient candidate = createPatient("C" + i, i % 2 == 0 ? Gender.MALE : Gender.FEMALE, false);
+            Bed bed = sharedRoom.getBeds().get(i % 4);
+            workers.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (sharedRoom.tryAdmit(bed, candidate) == Room.AdmitResult.ADMITTED) {
+                    admitted.incrementAndGet();
+                }
+            }));
+        }
+
+        // Act
+        workers.forEach(Thread::start);
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Assert
+        assertEquals(admitted.get(), sharedRoom.getOccupiedBeds());
+        assertEquals(1, sharedRoom.getBeds().stream()
+                .filter(Bed::isOccupied)
+                .map(bed -> bed.getPatient().getGender())
+                .distinct()
+                .count());
+    }
+
+    private Patient createPatient(String id, Gender gender, boolean needsIsolation) {
+        return new Patient(id, "Test", id, LocalDate.of(1980, 1, 1), gender,
+                "Test Condition", needsIsolation, LocalDate.now());
+    }
+
     @Test
     public void testToString() {
         String expected = ward.getName() + " - Room " + room.getNumber();
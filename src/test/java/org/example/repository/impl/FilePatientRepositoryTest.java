@@ -0,0 +1,70 @@
+package org.example.repository.impl;
+
+import org.example.model.Gender;
+import org.example.model.Patient;
+import org.example.model.PatientStay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FilePatientRepositoryTest {
+
+    @TempDir
+    File directory;
+
+    private Patient patient;
+
+    @BeforeEach
+    public void setUp() {
+        patient = new Patient("PAT001", "John", "Doe", LocalDate.of(1950, 5, 15), Gender.MALE,
+                "Hypertension", false, LocalDate.of(2025, 1, 10));
+    }
+
+    @Test
+    public void testAddDischargedPatient_AfterSaveAll_AddsOnce() {
+        // Arrange
+        FilePatientRepository repository = new FilePatientRepository(directory);
+        List<Patient> patients = new ArrayList<>(Collections.singletonList(patient));
+        List<Patient> dischargedPatients = new ArrayList<>();
+        repository.saveAll(patients, dischargedPatients);
+
+        // Act
+        // As CareHomeService discharges: its own lists change, then the repository is told
+        patient.setDischargeDate(LocalDate.of(2025, 2, 5));
+        patients.remove(patient);
+        dischargedPatients.add(patient);
+        repository.delete(patient);
+        repository.addDischargedPatient(patient);
+
+        // Assert
+        assertEquals(1, repository.findDischargedPatients().size());
+        assertTrue(repository.findAll().isEmpty());
+        assertEquals(1, new FilePatientRepository(directory).findDischargedPatients().size());
+    }
+
+    @Test
+    public void testFindStaysAdmittedBetween_ReadsSavedIndexWithoutPatientFiles() {
+        // Arrange
+        FilePatientRepository repository = new FilePatientRepository(directory);
+        repository.save(patient);
+        assertTrue(new File(directory, "patients_data.ser").delete());
+
+        // Act
+        List<String> ids = new FilePatientRepository(directory)
+                .findStaysAdmittedBetween(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31))
+                .map(PatientStay::getPatientId)
+                .collect(Collectors.toList());
+
+        // Assert
+        assertEquals(Collections.singletonList("PAT001"), ids);
+    }
+}
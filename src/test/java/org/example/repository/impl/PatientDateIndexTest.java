@@ -0,0 +1,117 @@
+package org.example.repository.impl;
+
+import org.example.model.Gender;
+import org.example.model.Patient;
+import org.example.model.PatientStay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PatientDateIndexTest {
+
+    private PatientDateIndex index;
+    private Patient januaryPatient;
+    private Patient februaryPatient;
+    private Patient marchPatient;
+
+    @BeforeEach
+    public void setUp() {
+        index = new PatientDateIndex();
+
+        januaryPatient = createPatient("PAT001", LocalDate.of(2025, 1, 10));
+        januaryPatient.setDischargeDate(LocalDate.of(2025, 2, 5));
+
+        februaryPatient = createPatient("PAT002", LocalDate.of(2025, 2, 14));
+        februaryPatient.setDischargeDate(LocalDate.of(2025, 2, 24));
+
+        marchPatient = createPatient("PAT003", LocalDate.of(2025, 3, 1));
+
+        index.rebuild(Arrays.asList(januaryPatient, februaryPatient, marchPatient));
+    }
+
+    private Patient createPatient(String id, LocalDate admissionDate) {
+        return new Patient(id, "Test", id, LocalDate.of(1950, 1, 1), Gender.FEMALE,
+                "Condition", false, admissionDate);
+    }
+
+    @Test
+    public void testAdmittedBetween_ReturnsRangeInOrder() {
+        // Act
+        List<String> ids = index.admittedBetween(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1))
+                .map(PatientStay::getPatientId)
+                .collect(Collectors.toList());
+
+        // Assert
+        assertEquals(Arrays.asList("PAT002", "PAT003"), ids);
+    }
+
+    @Test
+    public void testDischargedBetween_OnlyDischargedPatients() {
+        // Act
+        List<PatientStay> stays = index.dischargedBetween(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28))
+                .collect(Collectors.toList());
+
+        // Assert
+        assertEquals(2, stays.size());
+        assertEquals(26, stays.get(0).getLengthOfStayDays(null));
+        assertEquals(10, stays.get(1).getLengthOfStayDays(null));
+    }
+
+    @Test
+    public void testUpdate_MovesStayToDischargeDate() {
+        // Arrange
+        marchPatient.setDischargeDate(LocalDate.of(2025, 3, 20));
+
+        // Act
+        index.update(marchPatient);
+
+        // Assert
+        assertEquals(3, index.size());
+        assertEquals(1, index.dischargedBetween(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31)).count());
+    }
+
+    @Test
+    public void testRemove_DropsStayFromBothIndexes() {
+        // Act
+        index.remove("PAT002");
+
+        // Assert
+        assertEquals(2, index.size());
+        assertEquals(0, index.admittedBetween(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28)).count());
+        assertEquals(1, index.dischargedBetween(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28)).count());
+    }
+
+    @Test
+    public void testAdmittedBetween_StreamsWhileIndexIsUpdated() {
+        // Arrange
+        Iterator<PatientStay> stays = index.admittedBetween(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31))
+                .iterator();
+        assertEquals("PAT001", stays.next().getPatientId());
+
+        // Act
+        index.update(createPatient("PAT004", LocalDate.of(2025, 2, 14)));
+        index.remove("PAT003");
+
+        // Assert
+        assertEquals("PAT002", stays.next().getPatientId());
+        assertEquals(Arrays.asList("PAT001", "PAT002", "PAT004"), index.stream()
+                .map(PatientStay::getPatientId)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testGetLengthOfStayDays_UnknownAdmissionDate_ThrowsException() {
+        // Arrange
+        PatientStay stay = new PatientStay("PAT005", "Test PAT005", null, LocalDate.of(2025, 2, 1));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> stay.getLengthOfStayDays(null));
+    }
+}
@@ -0,0 +1,255 @@
+package org.example.repository.impl;
+
+import org.example.model.ActionLog;
+import org.example.model.ActionType;
+import org.example.model.Gender;
+import org.example.model.Nurse;
+import org.example.model.Staff;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SegmentedActionLogRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 8, 0);
+
+    @TempDir
+    File directory;
+
+    private Staff nurse;
+
+    @BeforeEach
+    public void setUp() {
+        nurse = new Nurse("NUR001", "Jane", "Doe", LocalDate.of(1985, 5, 15), Gender.FEMALE,
+                "nurse", "password", "Registered Nurse");
+    }
+
+    private SegmentedActionLogRepository openRepository() {
+        SegmentedActionLogRepository repository = new SegmentedActionLogRepository(directory, 4096);
+        repository.setStaffResolver(id -> nurse.getId().equals(id) ? nurse : null);
+        return repository;
+    }
+
+    /**
+     * Stand-in with the fields of the old serialized form of ActionLog
+     */
+    private static class OldActionLog implements Serializable {
+        private final String id;
+        private final String action;
+        private final Staff staff;
+        private final LocalDateTime timestamp;
+        private final String details;
+
+        OldActionLog(String id, String action, Staff staff, LocalDateTime timestamp, String details) {
+            this.id = id;
+            this.action = action;
+            this.staff = staff;
+            this.timestamp = timestamp;
+            this.details = details;
+        }
+    }
+
+    private static void writeOldLogFile(File file, OldActionLog... logs) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(stream)) {
+            oos.writeObject(new ArrayList<>(Arrays.asList(logs)));
+        }
+        // Give the stand-in the name of the class it stands in for
+        byte[] bytes = stream.toByteArray();
+        byte[] from = utf(OldActionLog.class.getName());
+        byte[] to = utf(ActionLog.class.getName());
+        for (int i = 0; i + from.length <= bytes.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + from.length), from)) {
+                ByteArrayOutputStream renamed = new ByteArrayOutputStream();
+                renamed.write(bytes, 0, i);
+                renamed.write(to);
+                renamed.write(bytes, i + from.length, bytes.length - i - from.length);
+                Files.write(file.toPath(), renamed.toByteArray());
+                return;
+            }
+        }
+        fail("Class name not found in the serialized logs");
+    }
+
+    private static byte[] utf(String value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new DataOutputStream(bytes).writeUTF(value);
+        return bytes.toByteArray();
+    }
+
+    private void appendMinutes(SegmentedActionLogRepository repository, int count) {
+        for (int i = 0; i < count; i++) {
+            repository.append(new ActionLog("LOG-" + (i + 1), "ACTION", nurse, START.plusMinutes(i), "Entry " + i));
+        }
+    }
+
+    @Test
+    public void testAppend_RotatesSegmentsBySize() {
+        // Arrange
+        SegmentedActionLogRepository repository = openRepository();
+
+        // Act
+        appendMinutes(repository, 500);
+
+        // Assert
+        assertTrue(repository.getSegmentCount() > 1);
+        assertEquals(500, repository.findBetween(null, null).size());
+    }
+
+    @Test
+    public void testFindBetween_ReturnsRangeAcrossSegments() {
+        // Arrange
+        SegmentedActionLogRepository repository = openRepository();
+        appendMinutes(repository, 500);
+
+        // Act
+        List<ActionLog> logs = repository.findBetween(START.plusMinutes(100), START.plusMinutes(300));
+
+        // Assert
+        assertEquals(200, logs.size());
+        assertEquals("Entry 100", logs.get(0).getDetails());
+        assertEquals("Entry 299", logs.get(199).getDetails());
+        assertSame(nurse, logs.get(0).getStaff());
+    }
+
+    @Test
+    public void testFindBetween_PagesAcrossSegments() {
+        // Arrange
+        SegmentedActionLogRepository repository = openRepository();
+        appendMinutes(repository, 500);
+
+        // Act
+        List<ActionLog> page = repository.findBetween(START.plusMinutes(100), START.plusMinutes(400), null, 150, 30);
+        List<ActionLog> filtered = repository.findBetween(START.plusMinutes(100), null,
+            log -> log.getDetails().endsWith("0"), 5, 3);
+
+        // Assert
+        assertEquals(30, page.size());
+        assertEquals("Entry 250", page.get(0).getDetails());
+        assertEquals("Entry 279", page.get(29).getDetails());
+        assertEquals(3, filtered.size());
+        assertEquals("Entry 150", filtered.get(0).getDetails());
+        assertEquals("Entry 170", filtered.get(2).getDetails());
+    }
+
+    @Test
+    public void testCountBetween_CountsRangeAcrossSegments() {
+        // Arrange
+        SegmentedActionLogRepository repository = openRepository();
+        appendMinutes(repository, 500);
+
+        // Act
+        int count = repository.countBetween(START.plusMinutes(70), START.plusMinutes(431), null);
+        int filtered = repository.countBetween(null, START.plusMinutes(100), log -> log.getDetails().endsWith("0"));
+
+        // Assert
+        assertEquals(361, count);
+        assertEquals(500, repository.countBetween(null, null, null));
+        assertEquals(10, filtered);
+    }
+
+    @Test
+    public void testFindBetween_KeepsTimesAppendedOutOfOrder() {
+        // Arrange
+        SegmentedActionLogRepository repository = openRepository();
+        int[] minutes = {0, 1, 3, 2, 4};
+        for (int minute : minutes) {
+            repository.append(new ActionLog(null, "ACTION", nurse, START.plusMinutes(minute), "Minute " + minute));
+        }
+
+        // Act
+        List<ActionLog> logs = repository.findBetween(START.plusMinutes(3), null);
+
+        // Assert
+        assertEquals(3, logs.size());
+        assertEquals("Minute 2", logs.get(1).getDetails());
+        assertEquals(START.plusMinutes(2), logs.get(1).getTimestamp());
+        assertEquals(3, repository.countBetween(START.plusMinutes(3), null, null));
+    }
+
+    @Test
+    public void testReopen_KeepsLogsAndRecoversTruncatedRecord() throws Exception {
+        // Arrange
+        SegmentedActionLogRepository repository = openRepository();
+        appendMinutes(repository, 100);
+        repository.close();
+
+        File[] segments = directory.listFiles((dir, name) -> name.endsWith(".log"));
+        File newest = segments[0];
+        for (File segment : segments) {
+            if (segment.getName().compareTo(newest.getName()) > 0) {
+                newest = segment;
+            }
+        }
+        try (RandomAccessFile file = new RandomAccessFile(newest, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        // Act
+        SegmentedActionLogRepository reopened = openRepository();
+        reopened.append(new ActionLog("LOG-101", "ACTION", nurse, START.plusMinutes(200), "After restart"));
+        List<ActionLog> latest = reopened.findLatest(2);
+
+        // Assert
+        assertEquals(100, reopened.findBetween(null, null).size());
+        assertEquals("Entry 98", latest.get(0).getDetails());
+        assertEquals("After restart", latest.get(1).getDetails());
+    }
+
+    @Test
+    public void testFindLatest_KeepsStructuredFields() {
+        // Arrange
+        SegmentedActionLogRepository repository = openRepository();
+        ActionLog log = new ActionLog(ActionType.DISCHARGE_PATIENT, nurse, START, "John Smith", "Ward 1 - Room 1 - Bed 1");
+        log.setSequence(7);
+
+        // Act
+        repository.append(log);
+        ActionLog saved = repository.findLatest(1).get(0);
+
+        // Assert
+        assertEquals("LOG-7", saved.getId());
+        assertEquals(ActionType.DISCHARGE_PATIENT, saved.getType());
+        assertEquals("Discharged patient John Smith from Ward 1 - Room 1 - Bed 1", saved.getDetails());
+        assertEquals(START, saved.getTimestamp());
+        assertSame(nurse, saved.getStaff());
+    }
+
+    @Test
+    public void testMigrateLegacyFile_ReadsOldSerializedLogs() throws IOException {
+        // Arrange
+        File legacyFile = new File(directory, "action_logs.ser");
+        writeOldLogFile(legacyFile,
+                new OldActionLog("LOG002", "DISCHARGE_PATIENT", nurse, START.plusMinutes(5), "Discharged John Smith"),
+                new OldActionLog("LOG001", "ADD_PATIENT", null, START, "Added John Smith"));
+        SegmentedActionLogRepository repository = openRepository();
+
+        // Act
+        repository.migrateLegacyFile(legacyFile);
+        List<ActionLog> logs = repository.findBetween(null, null);
+
+        // Assert
+        assertEquals(2, logs.size());
+        assertEquals("Added John Smith", logs.get(0).getDetails());
+        assertNull(logs.get(0).getStaffId());
+        assertEquals("DISCHARGE_PATIENT", logs.get(1).getAction());
+        assertEquals(START.plusMinutes(5), logs.get(1).getTimestamp());
+        assertSame(nurse, logs.get(1).getStaff());
+    }
+}
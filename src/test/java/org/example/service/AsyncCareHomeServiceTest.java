@@ -0,0 +1,72 @@
+package org.example.service;
+
+import org.example.exception.NotRosteredException;
+import org.example.model.Doctor;
+import org.example.model.Gender;
+import org.example.model.Staff;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncCareHomeServiceTest {
+
+    private AuthenticationService authService;
+    private ExecutorService executor;
+    private AsyncCareHomeService asyncService;
+    private Doctor doctor;
+
+    @BeforeEach
+    public void setUp() {
+        authService = AuthenticationService.getInstance();
+        executor = Executors.newSingleThreadExecutor();
+        asyncService = new AsyncCareHomeService(null, authService, executor);
+        doctor = new Doctor("DOC001", "John", "Smith", LocalDate.of(1980, 1, 1), Gender.MALE,
+                "asyncdoctor", "password", "Cardiology");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        authService.logout();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSubmit_RunsOffCallerThreadAsCurrentUser() throws Exception {
+        // Arrange
+        authService.openSession(doctor);
+        Thread caller = Thread.currentThread();
+
+        // Act
+        CompletableFuture<Staff> user = asyncService.submit(service -> {
+            assertNotSame(caller, Thread.currentThread());
+            return authService.getCurrentUser();
+        });
+
+        // Assert
+        assertSame(doctor, user.get(5, TimeUnit.SECONDS));
+        assertNull(executor.submit(authService::getCurrentUser).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSubmit_CheckedExceptionCompletesFuture() {
+        // Act
+        CompletableFuture<Object> result = asyncService.submit(service -> {
+            throw new NotRosteredException("Not rostered");
+        });
+
+        // Assert
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        Throwable cause = AsyncCareHomeService.unwrap(e.getCause());
+        assertTrue(cause instanceof NotRosteredException);
+        assertEquals("Not rostered", cause.getMessage());
+    }
+}
@@ -98,9 +98,10 @@ public class AuthenticationServiceTest {
     }
     
     private void setCurrentUser(Staff staff) throws Exception {
-        java.lang.reflect.Field currentUserField = AuthenticationService.class.getDeclaredField("currentUser");
-        currentUserField.setAccessible(true);
-        currentUserField.set(authService, staff);
+        authService.logout();
+        if (staff != null) {
+            authService.openSession(staff);
+        }
     }
     
     @Test
@@ -341,4 +342,56 @@ public class AuthenticationServiceTest {
         );
         assertTrue(exception.getMessage().contains("is not rostered for the current time"));
     }
+
+    @Test
+    public void testSessions_EachThreadSeesItsOwnUser() throws Exception {
+        // Arrange
+        authService.login("doctor", "password");
+        Session nurseSession = authService.createSession("nurse", "password");
+        Staff[] seenByOtherThread = new Staff[1];
+
+        // Act
+        Thread terminal = new Thread(() -> {
+            authService.bindSession(nurseSession.getId());
+            seenByOtherThread[0] = authService.getCurrentUser();
+        });
+        terminal.start();
+        terminal.join();
+
+        // Assert
+        assertEquals(doctor, authService.getCurrentUser());
+        assertEquals(nurse, seenByOtherThread[0]);
+        assertEquals(2, authService.getActiveSessions().size());
+    }
+
+    @Test
+    public void testSessions_UnboundThreadIsNotLoggedIn() throws Exception {
+        // Arrange
+        authService.login("doctor", "password");
+        boolean[] loggedIn = new boolean[1];
+
+        // Act
+        Thread other = new Thread(() -> loggedIn[0] = authService.isLoggedIn());
+        other.start();
+        other.join();
+
+        // Assert
+        assertFalse(loggedIn[0]);
+        assertTrue(authService.isLoggedIn());
+    }
+
+    @Test
+    public void testSessions_IdleSessionExpires() throws Exception {
+        // Arrange
+        authService.setIdleTimeout(java.time.Duration.ofMillis(20));
+        authService.login("doctor", "password");
+
+        // Act
+        Thread.sleep(50);
+
+        // Assert
+        assertFalse(authService.isLoggedIn());
+        assertTrue(authService.getActiveSessions().isEmpty());
+        assertFalse(authService.bindSession("unknown"));
+    }
 }
@@ -0,0 +1,369 @@
+package org.example.service;
+
+import org.example.event.BedChangedEvent;
+import org.example.event.EventBus;
+import org.example.model.*;
+import org.example.repository.PatientRepository;
+import org.example.repository.StaffRepository;
+import org.example.repository.WardRepository;
+import org.example.ui.BatchRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CareHomeServiceConcurrencyTest {
+
+    private static final int WARDS = 4;
+    private static final int ROOMS_PER_WARD = 6;
+    private static final int THREADS = 8;
+    private static final int PATIENTS_PER_THREAD = 6;
+    private static final int MOVES_PER_THREAD = 200;
+
+    private List<Ward> wards;
+    private CareHomeService careHomeService;
+    private AuthenticationService authService;
+    private String sessionId;
+
+    /**
+     * Staff member that may perform every action at any time
+     */
+    private InMemoryWardRepository wardRepository;
+
+    private static class TestStaff extends Staff {
+        TestStaff() {
+            super("TST001", "Test", "Staff", LocalDate.of(1980, 1, 1), Gender.FEMALE,
+                    "concurrency-test", "password");
+            for (DayOfWeek day : DayOfWeek.values()) {
+                addShift(new Shift(day, LocalTime.MIDNIGHT, LocalTime.MIDNIGHT));
+            }
+        }
+
+        @Override
+        public boolean isAuthorizedFor(String action) {
+            return true;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        wards = new ArrayList<>();
+        for (int w = 0; w < WARDS; w++) {
+            Ward ward = new Ward("W" + w, "Ward " + w);
+            for (int r = 0; r < ROOMS_PER_WARD; r++) {
+                ward.addRoom(new Room("W" + w + "R" + r, String.valueOf(r), ward, r % 3 == 0 ? 1 : 4));
+            }
+            wards.add(ward);
+        }
+
+        wardRepository = new InMemoryWardRepository(wards);
+        careHomeService = new CareHomeService(wardRepository,
+                new InMemoryStaffRepository(), new InMemoryPatientRepository());
+
+        authService = AuthenticationService.getInstance();
+        authService.registerUser(new TestStaff());
+        Session session = authService.createSession("concurrency-test", "password");
+        assertNotNull(session);
+        sessionId = session.getId();
+    }
+
+    @Test
+    public void testConcurrentAdmissionsAndMoves_NoLostUpdatesOrDoubleOccupancy() throws Exception {
+        // Arrange
+        List<Patient> admitted = new CopyOnWriteArrayList<>();
+        AtomicInteger successfulMoves = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            workers.add(() -> {
+                start.await();
+                authService.bindSession(sessionId);
+                Random random = new Random(thread);
+                for (int p = 0; p < PATIENTS_PER_THREAD; p++) {
+                    Patient patient = new Patient("PAT" + thread + "-" + p, "Patient", String.valueOf(p),
+                            LocalDate.of(1950, 1, 1), p % 2 == 0 ? Gender.MALE : Gender.FEMALE,
+                            "Condition", p == PATIENTS_PER_THREAD - 1);
+                    if (admit(patient, random)) {
+                        admitted.add(patient);
+                    }
+                }
+                for (int m = 0; m < MOVES_PER_THREAD && !admitted.isEmpty(); m++) {
+                    Patient patient = admitted.get(random.nextInt(admitted.size()));
+                    try {
+                        careHomeService.movePatient(patient, randomBed(random));
+                        successfulMoves.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        // Target bed was unsuitable or taken by another thread
+                    }
+                }
+                return null;
+            });
+        }
+
+        // Act
+        List<Future<Void>> futures = workers.stream().map(executor::submit).collect(Collectors.toList());
+        start.countDown();
+        executor.shutdown();
+        boolean finished = executor.awaitTermination(30, TimeUnit.SECONDS);
+
+        // Assert
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assertNull(threads.findDeadlockedThreads(), "Ward locks deadlocked");
+        assertTrue(finished, "Workers did not finish");
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+
+        List<Patient> inBeds = allBeds().filter(Bed::isOccupied).map(Bed::getPatient).collect(Collectors.toList());
+        assertEquals(admitted.size(), inBeds.size());
+        assertEquals(new HashSet<>(admitted), new HashSet<>(inBeds));
+        assertEquals(admitted.size(), careHomeService.getAllPatients().size());
+        assertTrue(successfulMoves.get() > 0);
+
+        for (Ward ward : wards) {
+            for (Room room : ward.getRooms()) {
+                List<Patient> occupants = room.getBeds().stream()
+                        .filter(Bed::isOccupied).map(Bed::getPatient).collect(Collectors.toList());
+                assertTrue(occupants.stream().map(Patient::getGender).distinct().count() <= 1,
+                        "Mixed genders in room " + room.getId());
+                if (occupants.size() > 1) {
+                    assertTrue(occupants.stream().noneMatch(Patient::isNeedsIsolation),
+                            "Isolation patient sharing room " + room.getId());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBedChangedEvents_ReportChangedBedsOnly() throws Exception {
+        // Arrange
+        authService.bindSession(sessionId);
+        List<String> changed = new CopyOnWriteArrayList<>();
+        EventBus.Subscription subscription = EventBus.getInstance().subscribe(BedChangedEvent.class,
+                event -> event.getChangedBeds().forEach(bed -> changed.add(bed.getId())));
+        Bed first = wards.get(0).getRooms().get(1).getBeds().get(0);
+        Bed second = wards.get(1).getRooms().get(1).getBeds().get(0);
+        Patient patient = new Patient("PAT-L", "Patient", "L", LocalDate.of(1950, 1, 1), Gender.MALE,
+                "Condition", false);
+
+        try {
+            // Act
+            careHomeService.addPatient(patient, first);
+            careHomeService.movePatient(patient, second);
+            careHomeService.dischargePatient(patient);
+        } finally {
+            authService.unbindSession();
+            subscription.cancel();
+        }
+
+        // Assert
+        assertEquals(Arrays.asList(first.getId(), first.getId(), second.getId(), second.getId()), changed);
+    }
+
+    @Test
+    public void testBatchRunner_SavesOnlyAtCheckpoints() throws Exception {
+        // Arrange
+        StringBuilder script = new StringBuilder("# Transfer admissions\nlogin,concurrency-test,password\n");
+        for (int p = 0; p < 5; p++) {
+            script.append("add-patient,Transfer,").append(p).append(",1950-01-01,MALE,\"Fall, hip\",false\n");
+        }
+        script.append("discharge-patient,NO-SUCH-PATIENT\n");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BatchRunner runner = new BatchRunner(careHomeService, authService, new PrintStream(output), 2);
+
+        // Act
+        BatchRunner.Summary summary = runner.run(new StringReader(script.toString()));
+
+        // Assert
+        assertEquals(6, summary.getSucceeded());
+        assertEquals(1, summary.getFailed());
+        assertEquals(3, summary.getSaves());
+        assertEquals(3, wardRepository.saves.get());
+        List<Patient> admitted = allBeds().map(Bed::getPatient).filter(Objects::nonNull).collect(Collectors.toList());
+        assertEquals(5, admitted.size());
+        assertEquals("Fall, hip", admitted.get(0).getMedicalCondition());
+        assertFalse(careHomeService.isSavesDeferred());
+        assertTrue(output.toString().contains("Patient not found: NO-SUCH-PATIENT"));
+    }
+
+    private boolean admit(Patient patient, Random random) throws Exception {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            try {
+                careHomeService.addPatient(patient, randomBed(random));
+                return true;
+            } catch (IllegalArgumentException e) {
+                // Bed was unsuitable or taken by another thread, try another one
+            }
+        }
+        return false;
+    }
+
+    private Bed randomBed(Random random) {
+        List<Bed> beds = allBeds().collect(Collectors.toList());
+        return beds.get(random.nextInt(beds.size()));
+    }
+
+    private Stream<Bed> allBeds() {
+        return wards.stream().flatMap(ward -> ward.getRooms().stream()).flatMap(room -> room.getBeds().stream());
+    }
+
+    private static class InMemoryWardRepository implements WardRepository {
+        private final List<Ward> wards;
+        private final AtomicInteger saves = new AtomicInteger();
+
+        InMemoryWardRepository(List<Ward> wards) {
+            this.wards = wards;
+        }
+
+        @Override
+        public List<Ward> findAllWards() {
+            return wards;
+        }
+
+        @Override
+        public Optional<Ward> findWardById(String id) {
+            return wards.stream().filter(ward -> ward.getId().equals(id)).findFirst();
+        }
+
+        @Override
+        public Optional<Room> findRoomById(String id) {
+            return wards.stream().flatMap(ward -> ward.getRooms().stream())
+                    .filter(room -> room.getId().equals(id)).findFirst();
+        }
+
+        @Override
+        public Optional<Bed> findBedById(String id) {
+            return beds().filter(bed -> bed.getId().equals(id)).findFirst();
+        }
+
+        @Override
+        public List<Bed> findVacantBeds() {
+            return beds().filter(bed -> !bed.isOccupied()).collect(Collectors.toList());
+        }
+
+        @Override
+        public Optional<Bed> findBedForPatient(Patient patient) {
+            return beds().filter(bed -> bed.getPatient() == patient).findFirst();
+        }
+
+        @Override
+        public void saveWard(Ward ward) {
+        }
+
+        @Override
+        public void saveAllWards(List<Ward> wards) {
+            saves.incrementAndGet();
+        }
+
+        private Stream<Bed> beds() {
+            return wards.stream().flatMap(ward -> ward.getRooms().stream()).flatMap(room -> room.getBeds().stream());
+        }
+    }
+
+    private static class InMemoryStaffRepository implements StaffRepository {
+        private final List<Staff> staff = new CopyOnWriteArrayList<>();
+
+        @Override
+        public List<Staff> findAll() {
+            return staff;
+        }
+
+        @Override
+        public Optional<Staff> findById(String id) {
+            return staff.stream().filter(member -> member.getId().equals(id)).findFirst();
+        }
+
+        @Override
+        public Optional<Staff> findByUsername(String username) {
+            return staff.stream().filter(member -> member.getUsername().equals(username)).findFirst();
+        }
+
+        @Override
+        public boolean save(Staff staffMember) {
+            return staff.add(staffMember);
+        }
+
+        @Override
+        public boolean update(Staff staffMember) {
+            return true;
+        }
+
+        @Override
+        public void delete(Staff staffMember) {
+            staff.remove(staffMember);
+        }
+
+        @Override
+        public void saveAll(List<Staff> staff) {
+        }
+    }
+
+    private static class InMemoryPatientRepository implements PatientRepository {
+        private final CopyOnWriteArrayList<Patient> patients = new CopyOnWriteArrayList<>();
+        private final List<Patient> discharged = new CopyOnWriteArrayList<>();
+
+        @Override
+        public List<Patient> findAll() {
+            return patients;
+        }
+
+        @Override
+        public Optional<Patient> findById(String id) {
+            return patients.stream().filter(patient -> patient.getId().equals(id)).findFirst();
+        }
+
+        @Override
+        public void save(Patient patient) {
+            patients.addIfAbsent(patient);
+        }
+
+        @Override
+        public void delete(Patient patient) {
+            patients.remove(patient);
+        }
+
+        @Override
+        public List<Patient> findDischargedPatients() {
+            return discharged;
+        }
+
+        @Override
+        public void addDischargedPatient(Patient patient) {
+            discharged.add(patient);
+        }
+
+        @Override
+        public void saveAll(List<Patient> patients) {
+        }
+
+        @Override
+        public void saveAllDischarged(List<Patient> patients) {
+        }
+
+        @Override
+        public Stream<PatientStay> findStaysAdmittedBetween(LocalDate from, LocalDate to) {
+            return Stream.empty();
+        }
+
+        @Override
+        public Stream<PatientStay> findStaysDischargedBetween(LocalDate from, LocalDate to) {
+            return Stream.empty();
+        }
+    }
+}
@@ -1,18 +1,27 @@
 package org.example.service;
 
 import org.example.model.*;
+import org.example.repository.PatientRepository;
+import org.example.repository.StaffRepository;
+import org.example.repository.WardRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class CareHomeServiceMedicationTest {
@@ -249,4 +258,64 @@ public class CareHomeServiceMedicationTest {
         assertTrue(patient.getMedicationAdministrations().contains(morning));
         assertTrue(patient.getMedicationAdministrations().contains(evening));
     }
+
+    @Test
+    public void testAdministerMedications_SavesPatientsOnce() throws Exception {
+        // Arrange
+        Medication second = new Medication("MED002", "Metformin", "500mg", "Take with food");
+        prescription.addMedication(medication);
+        prescription.addMedication(second);
+        patient.addPrescription(prescription);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            nurse.addShift(new Shift(day, LocalTime.MIDNIGHT, LocalTime.MIDNIGHT));
+        }
+        PatientRepository patientRepository = mock(PatientRepository.class);
+        when(patientRepository.findAll()).thenReturn(new ArrayList<>(Collections.singletonList(patient)));
+        CareHomeService service = new CareHomeService(mock(WardRepository.class), mock(StaffRepository.class),
+            patientRepository);
+        AuthenticationService authService = AuthenticationService.getInstance();
+        authService.openSession(nurse);
+
+        try {
+            // Act
+            List<MedicationAdministration> administrations = service.administerMedications(Arrays.asList(
+                new DueDose(patient, medication, LocalTime.of(8, 0), null),
+                new DueDose(patient, second, LocalTime.of(8, 0), null)), "Morning round");
+
+            // Assert
+            assertEquals(2, administrations.size());
+            assertEquals(administrations, patient.getMedicationAdministrations());
+            assertEquals(second, administrations.get(1).getMedication());
+            verify(patientRepository, times(1)).saveAll(anyList());
+            verify(patientRepository, never()).save(any());
+        } finally {
+            authService.logout();
+        }
+    }
+
+    @Test
+    public void testAdministerMedications_RejectsDischargedPatient() throws Exception {
+        // Arrange
+        prescription.addMedication(medication);
+        patient.addPrescription(prescription);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            nurse.addShift(new Shift(day, LocalTime.MIDNIGHT, LocalTime.MIDNIGHT));
+        }
+        PatientRepository patientRepository = mock(PatientRepository.class);
+        when(patientRepository.findAll()).thenReturn(new ArrayList<>());
+        CareHomeService service = new CareHomeService(mock(WardRepository.class), mock(StaffRepository.class),
+            patientRepository);
+        AuthenticationService authService = AuthenticationService.getInstance();
+        authService.openSession(nurse);
+
+        try {
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> service.administerMedications(
+                Collections.singletonList(new DueDose(patient, medication, LocalTime.of(8, 0), null)), "Morning round"));
+            assertTrue(patient.getMedicationAdministrations().isEmpty());
+            verify(patientRepository, never()).saveAll(anyList());
+        } finally {
+            authService.logout();
+        }
+    }
 }
@@ -0,0 +1,78 @@
+package org.example.service;
+
+import org.example.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComplianceCacheTest {
+
+    private List<Staff> staff;
+    private Nurse nurse;
+    private ComplianceCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        nurse = new Nurse("NUR001", "Jane", "Doe", LocalDate.of(1985, 5, 15), Gender.FEMALE,
+                "nurse1", "password", "Registered Nurse");
+        Doctor doctor = new Doctor("DOC001", "John", "Smith", LocalDate.of(1980, 1, 1), Gender.MALE,
+                "doctor", "password", "Cardiology");
+        for (DayOfWeek day : DayOfWeek.values()) {
+            nurse.addShift(new Shift(day, LocalTime.of(8, 0), LocalTime.of(16, 0)));
+            doctor.addShift(new Shift(day, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        }
+        staff = new ArrayList<>(List.of(nurse, doctor));
+        cache = new ComplianceCache();
+    }
+
+    @Test
+    public void testGetReport_UnchangedRoster_ReturnsCachedReport() {
+        // Act
+        ComplianceReport first = cache.getReport(staff);
+        ComplianceReport second = cache.getReport(staff);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(7, first.getViolations().size());
+    }
+
+    @Test
+    public void testGetReport_ShiftsChangedDirectly_ChecksAgain() {
+        // Arrange
+        ComplianceReport before = cache.getReport(staff);
+        long version = nurse.getRosterVersion();
+
+        // Act
+        nurse.getShifts().clear();
+        ComplianceReport after = cache.getReport(staff);
+
+        // Assert
+        assertNotEquals(version, nurse.getRosterVersion());
+        assertNotSame(before, after);
+        assertEquals(14, after.getViolations().size());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testGetReport_StaffMemberRemoved_ChecksAgain() {
+        // Arrange
+        cache.getReport(staff);
+
+        // Act
+        staff.remove(nurse);
+        ComplianceReport report = cache.getReport(staff);
+
+        // Assert
+        assertEquals(ComplianceViolation.Rule.NO_NURSES, report.getViolations().get(0).getRule());
+        assertEquals(0, cache.getHits());
+    }
+}
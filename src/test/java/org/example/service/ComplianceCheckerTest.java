@@ -289,4 +289,79 @@ public class ComplianceCheckerTest {
         );
         assertEquals("Morning shift (8am-4pm) not covered for MONDAY", exception.getMessage());
     }
+
+    @Test
+    public void testEvaluate_SeveralViolations_ReportsEveryViolation() {
+        // Arrange
+        // Morning shifts for nurse1 except on MONDAY, afternoon shifts for nurse2 except on FRIDAY
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day != DayOfWeek.MONDAY) {
+                nurse1.addShift(new Shift(day, LocalTime.of(8, 0), LocalTime.of(16, 0)));
+            }
+            if (day != DayOfWeek.FRIDAY) {
+                nurse2.addShift(new Shift(day, LocalTime.of(14, 0), LocalTime.of(22, 0)));
+            }
+            doctor.addShift(new Shift(day, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        }
+
+        // Extra shifts for nurse1, 11 hours on SATURDAY and 10 hours on TUESDAY
+        nurse1.addShift(new Shift(DayOfWeek.TUESDAY, LocalTime.of(17, 0), LocalTime.of(19, 0)));
+        nurse1.addShift(new Shift(DayOfWeek.SATURDAY, LocalTime.of(17, 0), LocalTime.of(20, 0)));
+
+        // Act
+        ComplianceReport report = ComplianceChecker.evaluate(staff);
+        ComplianceException exception = assertThrows(
+                ComplianceException.class,
+                () -> ComplianceChecker.checkCompliance(staff)
+        );
+
+        // Assert
+        assertFalse(report.isCompliant());
+        assertEquals(4, report.getViolations().size());
+        assertEquals(DayOfWeek.MONDAY, report.getViolations(ComplianceViolation.Rule.MORNING_SHIFT_NOT_COVERED).get(0).getDay());
+        assertEquals(LocalTime.of(14, 0), report.getViolations(DayOfWeek.FRIDAY).get(0).getStart());
+        List<ComplianceViolation> overworked = report.getViolations(ComplianceViolation.Rule.NURSE_OVER_DAILY_HOURS);
+        assertEquals(DayOfWeek.SATURDAY, overworked.get(0).getDay());
+        assertEquals(DayOfWeek.TUESDAY, overworked.get(1).getDay());
+        assertSame(nurse1, overworked.get(0).getStaff());
+        assertEquals("Morning shift (8am-4pm) not covered for MONDAY", exception.getMessage());
+        assertEquals(report.getViolations(), exception.getReport().getViolations());
+    }
+
+    @Test
+    public void testCheckCompliance_SplitShiftsAndMinutes_CountedToTheMinute() {
+        // Arrange
+        // The morning shift is covered by two nurses handing over at noon
+        for (DayOfWeek day : DayOfWeek.values()) {
+            nurse1.addShift(new Shift(day, LocalTime.of(7, 45), LocalTime.of(12, 0)));
+            nurse2.addShift(new Shift(day, LocalTime.of(12, 0), LocalTime.of(22, 0)));
+            doctor.addShift(new Shift(day, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        }
+
+        // Act & Assert
+        // nurse2 works 10 hours a day, and nurse1 4 hours 15 minutes
+        ComplianceException exception = assertThrows(
+                ComplianceException.class,
+                () -> ComplianceChecker.checkCompliance(staff)
+        );
+        assertTrue(exception.getMessage().startsWith("Nurse Sarah Johnson"));
+        assertEquals(7, exception.getReport().getViolations().size());
+    }
+
+    @Test
+    public void testCheckCompliance_DoctorUnderAnHour_ThrowsException() {
+        // Arrange
+        for (DayOfWeek day : DayOfWeek.values()) {
+            nurse1.addShift(new Shift(day, LocalTime.of(8, 0), LocalTime.of(16, 0)));
+            nurse2.addShift(new Shift(day, LocalTime.of(14, 0), LocalTime.of(22, 0)));
+            doctor.addShift(new Shift(day, LocalTime.of(9, 0), LocalTime.of(day == DayOfWeek.THURSDAY ? 9 : 10, 30)));
+        }
+
+        // Act & Assert
+        ComplianceException exception = assertThrows(
+                ComplianceException.class,
+                () -> ComplianceChecker.checkCompliance(staff)
+        );
+        assertEquals("No doctor assigned for THURSDAY", exception.getMessage());
+    }
 }
@@ -0,0 +1,103 @@
+package org.example.service;
+
+import org.example.exception.ComplianceException;
+import org.example.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComplianceEngineTest {
+
+    private Nurse nurse1;
+    private Nurse nurse2;
+    private Doctor doctor;
+    private ComplianceEngine engine;
+
+    @BeforeEach
+    public void setUp() {
+        nurse1 = new Nurse("NUR001", "Jane", "Doe", LocalDate.of(1985, 5, 15), Gender.FEMALE,
+                "nurse1", "password", "Registered Nurse");
+        nurse2 = new Nurse("NUR002", "Sarah", "Johnson", LocalDate.of(1990, 8, 20), Gender.FEMALE,
+                "nurse2", "password", "Registered Nurse");
+        doctor = new Doctor("DOC001", "John", "Smith", LocalDate.of(1980, 1, 1), Gender.MALE,
+                "doctor", "password", "Cardiology");
+        for (DayOfWeek day : DayOfWeek.values()) {
+            nurse1.addShift(new Shift(day, LocalTime.of(8, 0), LocalTime.of(16, 0)));
+            nurse2.addShift(new Shift(day, LocalTime.of(14, 0), LocalTime.of(22, 0)));
+            doctor.addShift(new Shift(day, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        }
+        engine = new ComplianceEngine(List.of(nurse1, nurse2, doctor));
+    }
+
+    @Test
+    public void testRemoveShift_ReportsUncoveredDayOnly() {
+        // Arrange
+        Shift monday = new Shift(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(16, 0));
+        nurse1.removeShift(monday);
+
+        // Act
+        ComplianceEngine.Delta delta = engine.removeShift(nurse1, monday);
+
+        // Assert
+        assertFalse(delta.isCompliant());
+        assertTrue(delta.getResolved().isEmpty());
+        assertEquals(1, delta.getIntroduced().size());
+        assertEquals("Morning shift (8am-4pm) not covered for MONDAY", delta.getIntroduced().get(0).getMessage());
+    }
+
+    @Test
+    public void testAddShift_ReportsOverworkedNurseAndResolvesOnRemove() {
+        // Arrange
+        Shift extra = new Shift(DayOfWeek.FRIDAY, LocalTime.of(17, 0), LocalTime.of(20, 0));
+        nurse1.addShift(extra);
+
+        // Act
+        ComplianceEngine.Delta added = engine.addShift(nurse1, extra);
+        nurse1.removeShift(extra);
+        ComplianceEngine.Delta removed = engine.removeShift(nurse1, extra);
+
+        // Assert
+        assertEquals(ComplianceViolation.Rule.NURSE_OVER_DAILY_HOURS, added.getIntroduced().get(0).getRule());
+        assertEquals(DayOfWeek.FRIDAY, added.getIntroduced().get(0).getDay());
+        assertSame(nurse1, added.getIntroduced().get(0).getStaff());
+        assertEquals(added.getIntroduced(), removed.getResolved());
+        assertTrue(removed.isCompliant());
+        assertEquals(480, engine.getNurseMinutes("NUR001", DayOfWeek.FRIDAY));
+    }
+
+    @Test
+    public void testUpdateStaff_AppliesDirectEditsAndMatchesChecker() {
+        // Arrange
+        nurse2.getShifts().clear();
+        nurse2.addShift(new Shift(DayOfWeek.SUNDAY, LocalTime.of(20, 0), LocalTime.of(2, 0)));
+
+        // Act
+        ComplianceEngine.Delta delta = engine.updateStaff(nurse2);
+
+        // Assert
+        assertEquals(7, delta.getIntroduced().size());
+        ComplianceException engineException = assertThrows(ComplianceException.class, () -> engine.check());
+        ComplianceException checkerException = assertThrows(ComplianceException.class,
+                () -> ComplianceChecker.checkCompliance(List.of(nurse1, nurse2, doctor)));
+        assertEquals(checkerException.getMessage(), engineException.getMessage());
+        assertEquals("Afternoon shift (2pm-10pm) not covered for MONDAY", engineException.getMessage());
+    }
+
+    @Test
+    public void testRemoveStaff_ReportsMissingRole() {
+        // Act
+        ComplianceEngine.Delta delta = engine.removeStaff(doctor);
+
+        // Assert
+        assertTrue(delta.getIntroduced().contains(
+                new ComplianceViolation(ComplianceViolation.Rule.NO_DOCTORS, null, null, null, null)));
+        assertEquals(8, delta.getIntroduced().size());
+        assertEquals(8, engine.getViolations().size());
+    }
+}
@@ -0,0 +1,237 @@
+package org.example.service;
+
+import org.example.model.*;
+import org.example.repository.impl.SegmentedActionLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoggingServiceTest {
+
+    private LoggingService loggingService;
+    private Nurse nurse;
+    private Doctor doctor;
+
+    @BeforeEach
+    public void setUp() {
+        loggingService = LoggingService.getInstance();
+        loggingService.clearLogs();
+
+        nurse = new Nurse(
+            "NUR001",
+            "Jane",
+            "Doe",
+            LocalDate.of(1985, 5, 15),
+            Gender.FEMALE,
+            "nurse",
+            "password",
+            "Registered Nurse"
+        );
+
+        doctor = new Doctor(
+            "DOC001",
+            "John",
+            "Smith",
+            LocalDate.of(1980, 1, 1),
+            Gender.MALE,
+            "doctor",
+            "password",
+            "Cardiology"
+        );
+
+        loggingService.logAction("ADMINISTER_MEDICATION", nurse, "Administered medication A");
+        loggingService.logAction("ADD_PRESCRIPTION", doctor, "Added prescription");
+        loggingService.logAction("ADMINISTER_MEDICATION", nurse, "Administered medication B");
+        loggingService.logAction("MOVE_PATIENT", nurse, "Moved patient");
+    }
+
+    @Test
+    public void testGetLogsForStaff_UsesIndex() {
+        // Act
+        List<ActionLog> logs = loggingService.getLogsForStaff(nurse);
+
+        // Assert
+        assertEquals(3, logs.size());
+        assertTrue(logs.stream().allMatch(log -> log.getStaff() == nurse));
+    }
+
+    @Test
+    public void testQuery_CombinesStaffAndAction() {
+        // Act
+        List<ActionLog> logs = loggingService.query(
+            new LogQuery().staffId("NUR001").action("ADMINISTER_MEDICATION"));
+
+        // Assert
+        assertEquals(2, logs.size());
+        assertEquals("Administered medication A", logs.get(0).getDetails());
+        assertEquals(2, loggingService.count(new LogQuery().staffId("NUR001").action("ADMINISTER_MEDICATION")));
+    }
+
+    @Test
+    public void testQuery_PagesNewestFirst() {
+        // Act
+        List<ActionLog> firstPage = loggingService.query(new LogQuery().newestFirst(true).limit(2));
+        List<ActionLog> secondPage = loggingService.query(new LogQuery().newestFirst(true).offset(2).limit(2));
+
+        // Assert
+        assertEquals(2, firstPage.size());
+        assertEquals("Moved patient", firstPage.get(0).getDetails());
+        assertEquals(2, secondPage.size());
+        assertEquals("Administered medication A", secondPage.get(1).getDetails());
+    }
+
+    @Test
+    public void testQuery_TimeRange() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+
+        // Act & Assert
+        assertEquals(4, loggingService.count(new LogQuery().from(now.minusMinutes(1)).to(now.plusMinutes(1))));
+        assertTrue(loggingService.query(new LogQuery().to(now.minusDays(1))).isEmpty());
+        assertTrue(loggingService.query(new LogQuery().staffId("NUR001").from(now.plusDays(1))).isEmpty());
+    }
+
+    @Test
+    public void testLogActions_BatchSharesTimestampInOrder() {
+        // Act
+        List<ActionLog> batch = loggingService.logActions(ActionType.ADMINISTER_MEDICATION, nurse, List.of(
+            new Object[] {"Aspirin", "John Doe"},
+            new Object[] {"Metformin", "Jim Roe"}));
+
+        // Assert
+        List<ActionLog> logs = loggingService.getLogsForAction("ADMINISTER_MEDICATION");
+        assertEquals(4, logs.size());
+        assertSame(batch.get(0), logs.get(2));
+        assertSame(batch.get(1), logs.get(3));
+        assertEquals(batch.get(0).getTimestamp(), batch.get(1).getTimestamp());
+        assertEquals("Administered medication Metformin to patient Jim Roe", batch.get(1).getDetails());
+    }
+
+    @Test
+    public void testGetLoggedActions() {
+        // Act & Assert
+        assertEquals(3, loggingService.getLoggedActions().size());
+        assertEquals(2, loggingService.getLoggedStaff().size());
+    }
+
+    @Test
+    public void testLogAction_ConcurrentProducersAllIndexedInOrder() throws Exception {
+        // Arrange
+        int threads = 8;
+        int perThread = 2000;
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Staff staff = t % 2 == 0 ? nurse : doctor;
+            producers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    loggingService.logAction("BULK", staff, "Entry " + i);
+                }
+            }));
+        }
+
+        // Act
+        producers.forEach(Thread::start);
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        List<ActionLog> logs = loggingService.getAllLogs();
+
+        // Assert
+        assertEquals(4 + threads * perThread, logs.size());
+        assertEquals(threads * perThread, loggingService.count(new LogQuery().action("BULK")));
+        assertEquals(logs.size(), new HashSet<>(logs.stream().map(ActionLog::getId).collect(java.util.stream.Collectors.toList())).size());
+        for (int i = 1; i < logs.size(); i++) {
+            assertTrue(logs.get(i).getSequence() > logs.get(i - 1).getSequence());
+            assertTrue(logs.get(i).getOrderTimestampNanos() >= logs.get(i - 1).getOrderTimestampNanos());
+        }
+    }
+
+    @Test
+    public void testLogAction_DropPolicyNeverBlocksWhenFull() throws Exception {
+        // Arrange - a sink that holds the writer thread so the buffer fills up
+        LoggingService small = new LoggingService(4, LoggingService.BackPressurePolicy.DROP);
+        CountDownLatch release = new CountDownLatch(1);
+        small.setSink(log -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            small.logAction("BULK", nurse, "Entry " + i);
+        }
+        release.countDown();
+
+        // Assert
+        assertTrue(small.getDroppedCount() > 0);
+        assertEquals(20 - small.getDroppedCount(), small.getAllLogs().size());
+    }
+
+    @Test
+    public void testRepository_OlderLogsReadFromDisk(@TempDir File directory) {
+        // Arrange
+        LoggingService durable = new LoggingService(64, LoggingService.BackPressurePolicy.BLOCK);
+        SegmentedActionLogRepository repository = new SegmentedActionLogRepository(directory, 4096);
+        repository.setStaffResolver(id -> nurse.getId().equals(id) ? nurse : null);
+        durable.setRepository(repository);
+        durable.setMemoryLimit(50);
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            durable.logAction(i % 2 == 0 ? "EVEN" : "ODD", nurse, "Entry " + i);
+        }
+        List<ActionLog> all = durable.getAllLogs();
+
+        // Assert
+        assertEquals(200, all.size());
+        assertEquals("Entry 0", all.get(0).getDetails());
+        assertEquals(100, durable.count(new LogQuery().action("EVEN")));
+        assertEquals("Entry 199", durable.query(new LogQuery().newestFirst(true).limit(1)).get(0).getDetails());
+
+        // A new service carries on from the saved logs
+        LoggingService restarted = new LoggingService(64, LoggingService.BackPressurePolicy.BLOCK);
+        restarted.setRepository(repository);
+        restarted.logAction("ODD", nurse, "After restart");
+        List<ActionLog> latest = restarted.query(new LogQuery().newestFirst(true).limit(1));
+        assertEquals("LOG-201", latest.get(0).getId());
+    }
+
+    @Test
+    public void testRepository_PagesAcrossMemoryStart(@TempDir File directory) {
+        // Arrange
+        LoggingService durable = new LoggingService(64, LoggingService.BackPressurePolicy.BLOCK);
+        durable.setRepository(new SegmentedActionLogRepository(directory, 4096));
+        durable.setMemoryLimit(50);
+        for (int i = 0; i < 200; i++) {
+            durable.logAction(i % 2 == 0 ? "EVEN" : "ODD", nurse, "Entry " + i);
+        }
+
+        // Act
+        List<ActionLog> oldest = durable.query(new LogQuery().offset(10).limit(5));
+        List<ActionLog> newest = durable.query(new LogQuery().newestFirst(true).offset(60).limit(5));
+        List<ActionLog> odd = durable.query(new LogQuery().action("ODD").newestFirst(true).offset(40).limit(3));
+
+        // Assert
+        assertEquals("Entry 10", oldest.get(0).getDetails());
+        assertEquals("Entry 14", oldest.get(4).getDetails());
+        assertEquals("Entry 139", newest.get(0).getDetails());
+        assertEquals("Entry 135", newest.get(4).getDetails());
+        assertEquals("Entry 119", odd.get(0).getDetails());
+        assertEquals("Entry 115", odd.get(2).getDetails());
+        assertEquals(100, durable.count(new LogQuery().action("ODD")));
+        assertEquals(100, durable.count(new LogQuery().action("ODD")));
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.service;
+
+import org.example.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MedicationRoundTest {
+
+    private MedicationScheduleIndex index;
+    private Ward ward;
+    private Patient first;
+    private Patient second;
+    private Medication firstMedication;
+    private Medication secondMedication;
+    private Nurse nurse;
+
+    @BeforeEach
+    public void setUp() {
+        index = new MedicationScheduleIndex();
+        ward = new Ward("W001", "Ward 1");
+        Room room1 = new Room("R1", "1", ward, 2);
+        Room room2 = new Room("R2", "2", ward, 1);
+        ward.addRoom(room1);
+        ward.addRoom(room2);
+
+        Doctor doctor = new Doctor("DOC001", "Jane", "Smith", LocalDate.of(1980, 3, 10), Gender.FEMALE,
+            "doctor", "password", "Cardiology");
+        nurse = new Nurse("NUR001", "Robert", "Johnson", LocalDate.of(1985, 7, 20), Gender.MALE,
+            "nurse", "password", "Registered Nurse");
+
+        // The second patient is in an earlier bed but due later in the day
+        first = new Patient("PAT001", "John", "Doe", LocalDate.of(1950, 5, 15), Gender.MALE, "Hypertension", false);
+        second = new Patient("PAT002", "Jim", "Roe", LocalDate.of(1948, 2, 1), Gender.MALE, "Diabetes", false);
+        room2.getBeds().get(0).assignPatient(first);
+        room1.getBeds().get(1).assignPatient(second);
+
+        firstMedication = prescribe(first, doctor, "MED001", "Aspirin", "100mg", LocalTime.of(8, 0));
+        secondMedication = prescribe(second, doctor, "MED002", "Metformin", "500mg", LocalTime.of(9, 0));
+        index.indexPatient(first, "W001");
+        index.indexPatient(second, "W001");
+    }
+
+    @Test
+    public void testEntries_OrderedByRoomAndBed() {
+        // Arrange
+        LocalDateTime from = LocalDate.of(2025, 1, 1).atTime(7, 0);
+
+        // Act
+        MedicationRound round = new MedicationRound(ward, from, from.plusHours(4), index);
+
+        // Assert
+        List<MedicationRound.Entry> entries = round.getEntries();
+        assertEquals(2, entries.size());
+        assertEquals(second, entries.get(0).getPatient());
+        assertEquals("R1", entries.get(0).getRoom().getId());
+        assertEquals("500mg", entries.get(0).getDosage());
+        assertEquals(from.withHour(9), entries.get(0).getDueAt());
+        assertEquals(first, entries.get(1).getPatient());
+        assertNull(entries.get(1).getLastAdministration());
+        assertEquals(2, round.getOutstanding().size());
+    }
+
+    @Test
+    public void testRecordAdministration_MarksEntryGiven() {
+        // Arrange
+        LocalDateTime from = LocalDate.of(2025, 1, 1).atTime(7, 0);
+        MedicationRound round = new MedicationRound(ward, from, from.plusHours(4), index);
+        MedicationAdministration administration =
+            new MedicationAdministration("ADM001", firstMedication, first, nurse, from.withHour(8), "Given");
+
+        // Act
+        index.recordAdministration(administration);
+        boolean recorded = round.recordAdministration(administration);
+
+        // Assert
+        assertTrue(recorded);
+        MedicationRound.Entry entry = round.getEntries().get(1);
+        assertTrue(entry.isGiven());
+        assertEquals(administration, entry.getLastAdministration());
+        assertEquals(1, round.getOutstanding().size());
+        assertEquals(secondMedication, round.getOutstanding().get(0).getMedication());
+    }
+
+    private Medication prescribe(Patient patient, Doctor doctor, String id, String name, String dosage,
+                                 LocalTime time) {
+        Prescription prescription = new Prescription("PRES-" + id, patient, doctor, LocalDateTime.now(), "Notes");
+        Medication medication = new Medication(id, name, dosage, "Take with food");
+        medication.addAdministrationTime(time);
+        prescription.addMedication(medication);
+        patient.addPrescription(prescription);
+        return medication;
+    }
+}
@@ -0,0 +1,219 @@
+package org.example.service;
+
+import org.example.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MedicationScheduleIndexTest {
+
+    private MedicationScheduleIndex index;
+    private Patient patient;
+    private Prescription prescription;
+    private Medication medication;
+    private Nurse nurse;
+
+    @BeforeEach
+    public void setUp() {
+        index = new MedicationScheduleIndex();
+
+        patient = new Patient(
+            "PAT001",
+            "John",
+            "Doe",
+            LocalDate.of(1950, 5, 15),
+            Gender.MALE,
+            "Hypertension",
+            false
+        );
+
+        Doctor doctor = new Doctor(
+            "DOC001",
+            "Jane",
+            "Smith",
+            LocalDate.of(1980, 3, 10),
+            Gender.FEMALE,
+            "doctor",
+            "password",
+            "Cardiology"
+        );
+
+        nurse = new Nurse(
+            "NUR001",
+            "Robert",
+            "Johnson",
+            LocalDate.of(1985, 7, 20),
+            Gender.MALE,
+            "nurse",
+            "password",
+            "Registered Nurse"
+        );
+
+        prescription = new Prescription("PRES001", patient, doctor, LocalDateTime.now(), "Notes");
+        medication = new Medication("MED001", "Aspirin", "100mg", "Take with food");
+        medication.addAdministrationTime(LocalTime.of(8, 0));
+        medication.addAdministrationTime(LocalTime.of(20, 0));
+        prescription.addMedication(medication);
+        patient.addPrescription(prescription);
+    }
+
+    @Test
+    public void testGetDueBetween_ReturnsDosesInWindow() {
+        // Arrange
+        index.indexPatient(patient, "W001");
+        LocalDateTime from = LocalDate.of(2025, 1, 1).atTime(7, 45);
+
+        // Act
+        List<DueDose> due = index.getDueBetween(from, from.plusMinutes(30));
+
+        // Assert
+        assertEquals(1, due.size());
+        assertEquals(LocalTime.of(8, 0), due.get(0).getTime());
+        assertEquals("W001", due.get(0).getWardId());
+    }
+
+    @Test
+    public void testGetDueBetween_WrapsPastMidnight() {
+        // Arrange
+        medication.addAdministrationTime(LocalTime.of(0, 10));
+        index.indexPatient(patient, "W001");
+        LocalDateTime from = LocalDate.of(2025, 1, 1).atTime(23, 50);
+
+        // Act
+        List<DueDose> due = index.getDueBetween(from, from.plusMinutes(30));
+
+        // Assert
+        assertEquals(1, due.size());
+        assertEquals(LocalTime.of(0, 10), due.get(0).getTime());
+    }
+
+    @Test
+    public void testGetDueBetween_FiltersByWard() {
+        // Arrange
+        index.indexPatient(patient, "W001");
+        LocalDateTime from = LocalDate.of(2025, 1, 1).atTime(7, 45);
+
+        // Act & Assert
+        assertEquals(1, index.getDueBetween("W001", from, from.plusMinutes(30)).size());
+        assertTrue(index.getDueBetween("W002", from, from.plusMinutes(30)).isEmpty());
+    }
+
+    @Test
+    public void testRecordAdministration_RemovesDoseForThatDay() {
+        // Arrange
+        index.indexPatient(patient, "W001");
+        LocalDateTime givenAt = LocalDate.of(2025, 1, 1).atTime(8, 5);
+        MedicationAdministration administration =
+            new MedicationAdministration("ADM001", medication, patient, nurse, givenAt, "Given");
+
+        // Act
+        index.recordAdministration(administration);
+
+        // Assert
+        LocalDateTime from = LocalDate.of(2025, 1, 1).atTime(7, 45);
+        assertTrue(index.getDueBetween(from, from.plusMinutes(30)).isEmpty());
+        assertEquals(1, index.getDueBetween(from.plusDays(1), from.plusDays(1).plusMinutes(30)).size());
+    }
+
+    @Test
+    public void testReindexMedication_PicksUpNewTime() {
+        // Arrange
+        index.indexPatient(patient, "W001");
+
+        // Act
+        medication.addAdministrationTime(LocalTime.of(12, 0));
+        index.reindexMedication(medication);
+
+        // Assert
+        assertEquals(3, index.size());
+        LocalDateTime from = LocalDate.of(2025, 1, 1).atTime(11, 50);
+        assertEquals(1, index.getDueBetween(from, from.plusMinutes(30)).size());
+    }
+
+    @Test
+    public void testRemovePatient_RemovesAllDoses() {
+        // Arrange
+        index.indexPatient(patient, "W001");
+
+        // Act
+        index.removePatient(patient);
+
+        // Assert
+        assertEquals(0, index.size());
+        LocalDateTime from = LocalDate.of(2025, 1, 1).atTime(7, 45);
+        assertTrue(index.getDueBetween(from, from.plusMinutes(30)).isEmpty());
+    }
+
+    @Test
+    public void testIndexPatient_SeedsDosesGivenToday() {
+        // Arrange
+        LocalDate today = LocalDate.of(2025, 1, 2);
+        patient.addMedicationAdministration(new MedicationAdministration(
+            "ADM001", medication, patient, nurse, today.minusDays(1).atTime(20, 10), "Given"));
+        patient.addMedicationAdministration(new MedicationAdministration(
+            "ADM002", medication, patient, nurse, today.atTime(8, 5), "Given"));
+
+        // Act
+        index.indexPatient(patient, "W001", today);
+
+        // Assert
+        assertTrue(index.isGiven(new DueDose(patient, medication, LocalTime.of(8, 0), "W001"), today));
+        assertFalse(index.isGiven(new DueDose(patient, medication, LocalTime.of(20, 0), "W001"), today));
+        LocalDateTime from = today.atTime(7, 45);
+        assertTrue(index.getDueBetween(from, from.plusMinutes(30)).isEmpty());
+    }
+
+    @Test
+    public void testRecordGiven_MarksChosenDoseOnly() {
+        // Arrange
+        index.indexPatient(patient, "W001");
+        LocalDate date = LocalDate.of(2025, 1, 1);
+        DueDose evening = new DueDose(patient, medication, LocalTime.of(20, 0), "W001");
+
+        // Act
+        index.recordGiven(evening, date);
+        index.recordGiven(evening, date.minusDays(1));
+
+        // Assert
+        assertTrue(index.isGiven(evening, date));
+        assertFalse(index.isGiven(new DueDose(patient, medication, LocalTime.of(8, 0), "W001"), date));
+    }
+
+    @Test
+    public void testRemovePatient_ForgetsDosesGiven() {
+        // Arrange
+        index.indexPatient(patient, "W001");
+        LocalDate date = LocalDate.of(2025, 1, 1);
+        DueDose morning = new DueDose(patient, medication, LocalTime.of(8, 0), "W001");
+        index.recordGiven(morning, date);
+
+        // Act
+        index.removePatient(patient);
+        index.indexPatient(patient, "W001");
+
+        // Assert
+        assertFalse(index.isGiven(morning, date));
+    }
+
+    @Test
+    public void testReindexMedication_KeepsDosesGivenAtRemainingTimes() {
+        // Arrange
+        index.indexPatient(patient, "W001");
+        LocalDate date = LocalDate.of(2025, 1, 1);
+        DueDose morning = new DueDose(patient, medication, LocalTime.of(8, 0), "W001");
+        index.recordGiven(morning, date);
+
+        // Act
+        medication.addAdministrationTime(LocalTime.of(12, 0));
+        index.reindexMedication(medication);
+
+        // Assert
+        assertTrue(index.isGiven(morning, date));
+    }
+}
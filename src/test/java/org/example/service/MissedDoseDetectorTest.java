@@ -0,0 +1,128 @@
+package org.example.service;
+
+import org.example.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MissedDoseDetectorTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 1);
+
+    private Patient patient;
+    private Medication aspirin;
+    private Medication metformin;
+    private Nurse nurse;
+    private List<List<FlaggedDose>> reported;
+    private MissedDoseDetector detector;
+
+    @BeforeEach
+    public void setUp() {
+        patient = new Patient("PAT001", "John", "Doe", LocalDate.of(1950, 5, 15), Gender.MALE, "Hypertension", false);
+        Doctor doctor = new Doctor("DOC001", "Jane", "Smith", LocalDate.of(1980, 3, 10), Gender.FEMALE,
+            "doctor", "password", "Cardiology");
+        nurse = new Nurse("NUR001", "Robert", "Johnson", LocalDate.of(1985, 7, 20), Gender.MALE,
+            "nurse", "password", "Registered Nurse");
+
+        Prescription prescription = new Prescription("PRES001", patient, doctor, DAY.minusDays(1).atStartOfDay(), "Notes");
+        aspirin = new Medication("MED001", "Aspirin", "100mg", "Take with food");
+        aspirin.addAdministrationTime(LocalTime.of(8, 0));
+        aspirin.addAdministrationTime(LocalTime.of(20, 0));
+        metformin = new Medication("MED002", "Metformin", "500mg", "Take with food");
+        metformin.addAdministrationTime(LocalTime.of(9, 0));
+        prescription.addMedication(aspirin);
+        prescription.addMedication(metformin);
+        patient.addPrescription(prescription);
+
+        reported = new ArrayList<>();
+        detector = new MissedDoseDetector(() -> Collections.singletonList(patient), reported::add);
+    }
+
+    @Test
+    public void testFindFlagged_FlagsLateAndMissedDoses() {
+        // Arrange
+        give(aspirin, DAY.atTime(8, 10));
+        give(metformin, DAY.atTime(9, 45));
+
+        // Act
+        List<FlaggedDose> flagged = detector.findFlagged(Collections.singletonList(patient),
+            DAY.atStartOfDay(), DAY.atTime(23, 0));
+
+        // Assert
+        assertEquals(2, flagged.size());
+        assertEquals(metformin, flagged.get(0).getMedication());
+        assertFalse(flagged.get(0).isMissed());
+        assertEquals(45, flagged.get(0).getMinutesLate());
+        assertEquals(aspirin, flagged.get(1).getMedication());
+        assertEquals(DAY.atTime(20, 0), flagged.get(1).getDueAt());
+        assertTrue(flagged.get(1).isMissed());
+    }
+
+    @Test
+    public void testFindFlagged_AdministrationCountsForOneDoseOnly() {
+        // Arrange
+        give(aspirin, DAY.atTime(7, 50));
+
+        // Act
+        List<FlaggedDose> flagged = detector.findFlagged(Collections.singletonList(patient),
+            DAY.minusDays(1).atTime(12, 0), DAY.atTime(8, 0));
+
+        // Assert
+        assertEquals(1, flagged.size());
+        assertEquals(DAY.minusDays(1).atTime(20, 0), flagged.get(0).getDueAt());
+        assertTrue(flagged.get(0).isMissed());
+    }
+
+    @Test
+    public void testCheck_FlagsEachDoseOnce() {
+        // Arrange
+        give(aspirin, DAY.atTime(8, 0));
+        give(metformin, DAY.atTime(9, 0));
+        detector.check(DAY.atTime(10, 0));
+
+        // Act
+        List<FlaggedDose> flagged = detector.check(DAY.atTime(21, 5));
+        List<FlaggedDose> again = detector.check(DAY.atTime(21, 10));
+
+        // Assert
+        assertEquals(1, flagged.size());
+        assertEquals(DAY.atTime(20, 0), flagged.get(0).getDueAt());
+        assertTrue(again.isEmpty());
+        assertEquals(flagged, reported.get(reported.size() - 1));
+    }
+
+    @Test
+    public void testCheck_ReadsAdministrationsUnderPatientLock() {
+        // Arrange
+        List<Patient> locked = new ArrayList<>();
+        MissedDoseDetector lockingDetector = new MissedDoseDetector(() -> Collections.singletonList(patient),
+            lockedPatient -> {
+                locked.add(lockedPatient);
+                return WardLockManager.getInstance().lock();
+            }, reported::add);
+        give(aspirin, DAY.minusDays(1).atTime(8, 0));
+        give(aspirin, DAY.atTime(8, 0));
+        give(metformin, DAY.atTime(9, 0));
+
+        // Act
+        List<FlaggedDose> flagged = lockingDetector.check(DAY.atTime(10, 0));
+
+        // Assert
+        assertEquals(Collections.singletonList(patient), locked);
+        assertEquals(1, flagged.size());
+        assertEquals(DAY.minusDays(1).atTime(20, 0), flagged.get(0).getDueAt());
+    }
+
+    private void give(Medication medication, LocalDateTime at) {
+        patient.addMedicationAdministration(new MedicationAdministration(
+            "ADM-" + medication.getId() + "-" + at, medication, patient, nurse, at, "Given"));
+    }
+}
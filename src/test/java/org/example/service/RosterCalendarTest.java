@@ -0,0 +1,122 @@
+package org.example.service;
+
+import org.example.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RosterCalendarTest {
+
+    // A Monday
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    private RosterCalendar calendar;
+    private Nurse nurse1;
+    private Nurse nurse2;
+
+    @BeforeEach
+    public void setUp() {
+        calendar = new RosterCalendar();
+        nurse1 = new Nurse("NUR001", "Jane", "Doe", LocalDate.of(1985, 5, 15), Gender.FEMALE,
+                "nurse1", "password", "Registered Nurse");
+        nurse2 = new Nurse("NUR002", "Sarah", "Johnson", LocalDate.of(1990, 8, 20), Gender.FEMALE,
+                "nurse2", "password", "Registered Nurse");
+        for (DayOfWeek day : DayOfWeek.values()) {
+            nurse1.addShift(new Shift(day, LocalTime.of(8, 0), LocalTime.of(16, 0)));
+        }
+        nurse2.addShift(new Shift(DayOfWeek.SUNDAY, LocalTime.of(22, 0), LocalTime.of(6, 0)));
+        calendar.assignWard(nurse1, "W1");
+        calendar.assignWard(nurse2, "W2");
+    }
+
+    @Test
+    public void testIsRosteredFor_LeaveAndCover() {
+        // Arrange
+        calendar.addLeave("NUR001", MONDAY.plusDays(1), MONDAY.plusDays(2));
+        calendar.addCover(nurse2, MONDAY.plusDays(1), LocalTime.of(8, 0), LocalTime.of(16, 0), "W1");
+
+        // Act & Assert
+        assertTrue(calendar.isRosteredFor(nurse1, MONDAY.atTime(9, 0)));
+        assertFalse(calendar.isRosteredFor(nurse1, MONDAY.plusDays(1).atTime(9, 0)));
+        assertFalse(calendar.isRosteredFor(nurse1, MONDAY.plusDays(2).atTime(9, 0)));
+        assertTrue(calendar.isRosteredFor(nurse1, MONDAY.plusDays(3).atTime(9, 0)));
+        assertTrue(calendar.isRosteredFor(nurse2, MONDAY.plusDays(1).atTime(9, 0)));
+        assertFalse(calendar.isRosteredFor(nurse2, MONDAY.plusDays(8).atTime(9, 0)));
+    }
+
+    @Test
+    public void testIsRosteredFor_LeaveOnStartDayCancelsOvernightShift() {
+        // Arrange
+        LocalDate sunday = MONDAY.minusDays(1);
+        calendar.addLeave("NUR002", sunday, sunday);
+
+        // Act & Assert
+        assertFalse(calendar.isRosteredFor(nurse2, MONDAY.atTime(3, 0)));
+        assertTrue(calendar.isRosteredFor(nurse2, MONDAY.plusDays(7).atTime(3, 0)));
+    }
+
+    @Test
+    public void testLeaveRanges_MergeAndCancel() {
+        // Arrange
+        calendar.addLeave("NUR001", MONDAY, MONDAY.plusDays(2));
+        calendar.addLeave("NUR001", MONDAY.plusDays(3), MONDAY.plusDays(5));
+
+        // Act
+        calendar.cancelLeave("NUR001", MONDAY.plusDays(1), MONDAY.plusDays(1));
+
+        // Assert
+        assertTrue(calendar.isOnLeave("NUR001", MONDAY));
+        assertFalse(calendar.isOnLeave("NUR001", MONDAY.plusDays(1)));
+        assertTrue(calendar.isOnLeave("NUR001", MONDAY.plusDays(2)));
+        assertTrue(calendar.isOnLeave("NUR001", MONDAY.plusDays(5)));
+        assertFalse(calendar.isOnLeave("NUR001", MONDAY.plusDays(6)));
+    }
+
+    @Test
+    public void testGetWardShifts_MonthWithSwap() {
+        // Arrange
+        LocalDate first = LocalDate.of(2025, 3, 1);
+        LocalDate last = LocalDate.of(2025, 3, 31);
+        List<RosterCalendar.DatedShift> cover = calendar.swap(nurse1, nurse2, MONDAY);
+
+        // Act
+        List<RosterCalendar.DatedShift> ward1 = calendar.getWardShifts("W1", first, last);
+        List<RosterCalendar.DatedShift> ward2 = calendar.getWardShifts("W2", first, last);
+
+        // Assert
+        assertEquals(1, cover.size());
+        assertEquals(31, ward1.size());
+        RosterCalendar.DatedShift swapped = ward1.get(2);
+        assertEquals(MONDAY, swapped.getDate());
+        assertSame(nurse2, swapped.getStaff());
+        assertTrue(swapped.isCover());
+        assertEquals(5, ward2.size());
+        assertEquals(LocalDateTime.of(2025, 3, 3, 6, 0), ward2.get(0).getEnd());
+    }
+
+    @Test
+    public void testLoad_RestoresSavedEntries() {
+        // Arrange
+        calendar.addLeave("NUR001", MONDAY.plusDays(1), MONDAY.plusDays(2));
+        calendar.addCover(nurse2, MONDAY.plusDays(1), LocalTime.of(8, 0), LocalTime.of(16, 0), "W1");
+        List<RosterEntry> entries = calendar.getEntries();
+        RosterCalendar restored = new RosterCalendar();
+
+        // Act
+        restored.load(entries, id -> "NUR001".equals(id) ? nurse1 : "NUR002".equals(id) ? nurse2 : null);
+
+        // Assert
+        assertEquals(4, entries.size());
+        assertEquals("W1", restored.getWard("NUR001"));
+        assertTrue(restored.isOnLeave("NUR001", MONDAY.plusDays(2)));
+        assertEquals(calendar.getWardShifts("W1", MONDAY, MONDAY.plusDays(6)),
+            restored.getWardShifts("W1", MONDAY, MONDAY.plusDays(6)));
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.service;
+
+import org.example.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RosterSimulatorTest {
+
+    private List<Staff> staff;
+    private Nurse morningNurse;
+    private Nurse afternoonNurse;
+    private Nurse spareNurse;
+
+    @BeforeEach
+    public void setUp() {
+        morningNurse = new Nurse("NUR001", "Jane", "Doe", LocalDate.of(1985, 5, 15), Gender.FEMALE,
+                "nurse1", "password", "Registered Nurse");
+        afternoonNurse = new Nurse("NUR002", "Sarah", "Johnson", LocalDate.of(1990, 8, 20), Gender.FEMALE,
+                "nurse2", "password", "Registered Nurse");
+        spareNurse = new Nurse("NUR003", "Amy", "Lee", LocalDate.of(1992, 2, 2), Gender.FEMALE,
+                "nurse3", "password", "Registered Nurse");
+        Doctor doctor = new Doctor("DOC001", "John", "Smith", LocalDate.of(1980, 1, 1), Gender.MALE,
+                "doctor", "password", "Cardiology");
+        for (DayOfWeek day : DayOfWeek.values()) {
+            morningNurse.addShift(new Shift(day, LocalTime.of(8, 0), LocalTime.of(16, 0)));
+            afternoonNurse.addShift(new Shift(day, LocalTime.of(14, 0), LocalTime.of(22, 0)));
+            doctor.addShift(new Shift(day, LocalTime.of(10, 0), LocalTime.of(11, 0)));
+        }
+        staff = List.of(morningNurse, afternoonNurse, spareNurse, doctor);
+    }
+
+    @Test
+    public void testSimulate_RanksChangesAndLeavesRosterUnchanged() {
+        // Arrange
+        RosterSimulator simulator = new RosterSimulator(staff);
+        Shift monday = new Shift(DayOfWeek.MONDAY, LocalTime.of(14, 0), LocalTime.of(22, 0));
+        RosterSimulator.Change removeNurse = RosterSimulator.Change.removeStaff(afternoonNurse);
+        RosterSimulator.Change shortenShift = RosterSimulator.Change.replaceShift(afternoonNurse, monday,
+                new Shift(DayOfWeek.MONDAY, LocalTime.of(14, 0), LocalTime.of(20, 0)));
+        RosterSimulator.Change addSpareShift = RosterSimulator.Change.addShift(spareNurse,
+                new Shift(DayOfWeek.TUESDAY, LocalTime.of(8, 0), LocalTime.of(16, 0)));
+
+        // Act
+        List<RosterSimulator.Outcome> outcomes = simulator.simulate(List.of(removeNurse, shortenShift, addSpareShift));
+
+        // Assert
+        assertTrue(simulator.getBaseline().getReport().isCompliant());
+        assertSame(addSpareShift, outcomes.get(0).getChange());
+        assertTrue(outcomes.get(0).getReport().isCompliant());
+        assertEquals(48, outcomes.get(0).getHourImbalance(), 0.001);
+        assertSame(shortenShift, outcomes.get(1).getChange());
+        assertEquals(120, outcomes.get(1).getGapMinutes());
+        assertEquals(1, outcomes.get(1).getReport().getViolations().size());
+        assertSame(removeNurse, outcomes.get(2).getChange());
+        assertEquals(7, outcomes.get(2).getReport().getViolations().size());
+        assertEquals(7 * 6 * 60, outcomes.get(2).getGapMinutes());
+        assertTrue(afternoonNurse.getShifts().contains(monday));
+    }
+
+    @Test
+    public void testSimulate_MatchesComplianceChecker() {
+        // Arrange
+        RosterSimulator simulator = new RosterSimulator(staff);
+        List<RosterSimulator.Change> changes = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            changes.add(RosterSimulator.Change.addShift(morningNurse, new Shift(day, LocalTime.of(17, 0), LocalTime.of(19, 30))));
+        }
+
+        // Act
+        List<RosterSimulator.Outcome> outcomes = simulator.simulate(changes);
+
+        // Assert
+        for (RosterSimulator.Outcome outcome : outcomes) {
+            Shift extra = new Shift(DayOfWeek.MONDAY, LocalTime.of(17, 0), LocalTime.of(19, 30));
+            DayOfWeek day = outcome.getReport().getViolations().get(0).getDay();
+            extra.setDayOfWeek(day);
+            morningNurse.addShift(extra);
+            assertEquals(ComplianceChecker.evaluate(staff).getViolations(), outcome.getReport().getViolations());
+            morningNurse.removeShift(extra);
+        }
+        assertEquals(7, outcomes.size());
+    }
+}
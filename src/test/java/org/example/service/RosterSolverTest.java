@@ -0,0 +1,144 @@
+package org.example.service;
+
+import org.example.exception.ComplianceException;
+import org.example.model.*;
+import org.example.repository.PatientRepository;
+import org.example.repository.StaffRepository;
+import org.example.repository.WardRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class RosterSolverTest {
+
+    private static List<Staff> createStaff(int nurseCount, int doctorCount) {
+        List<Staff> staff = new ArrayList<>();
+        for (int i = 0; i < nurseCount; i++) {
+            staff.add(new Nurse(String.format("NUR%03d", i), "Nurse", "N" + i, LocalDate.of(1990, 1, 1),
+                    Gender.FEMALE, "nurse" + i, "password", "Registered Nurse"));
+        }
+        for (int i = 0; i < doctorCount; i++) {
+            staff.add(new Doctor(String.format("DOC%03d", i), "Doctor", "D" + i, LocalDate.of(1980, 1, 1),
+                    Gender.MALE, "doctor" + i, "password", "General"));
+        }
+        return staff;
+    }
+
+    @Test
+    public void testSolve_LargePool_ProducesCompliantBalancedRoster() throws ComplianceException {
+        // Arrange
+        List<Staff> staff = createStaff(200, 30);
+        RosterSolver solver = new RosterSolver()
+                .nursesPerShift(10)
+                .doctorsPerDay(2)
+                .unavailable("NUR000", DayOfWeek.values())
+                .unavailable("DOC000", DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+
+        // Act
+        RosterSolver.Roster roster = solver.solve(staff);
+        roster.applyTo(staff);
+
+        // Assert
+        assertDoesNotThrow(() -> ComplianceChecker.checkCompliance(staff));
+        assertTrue(roster.getSpread() <= 1);
+        assertTrue(staff.get(0).getShifts().isEmpty());
+        assertTrue(staff.get(200).getShifts().stream()
+                .noneMatch(shift -> shift.getDayOfWeek() == DayOfWeek.SATURDAY
+                        || shift.getDayOfWeek() == DayOfWeek.SUNDAY));
+        for (Staff member : staff) {
+            assertTrue(member.getShifts().size() <= 5);
+        }
+    }
+
+    @Test
+    public void testSolve_SameSeed_SameRoster() throws ComplianceException {
+        // Arrange
+        List<Staff> staff = createStaff(20, 3);
+
+        // Act
+        RosterSolver.Roster first = new RosterSolver().seed(7).solve(staff);
+        RosterSolver.Roster second = new RosterSolver().seed(7).solve(staff);
+
+        // Assert
+        for (Staff member : staff) {
+            assertEquals(first.getShifts(member), second.getShifts(member));
+        }
+    }
+
+    @Test
+    public void testSolve_GreedyChoiceFails_BacktracksToRoster() throws ComplianceException {
+        // Arrange
+        // Taking the least loaded doctor for Wednesday, Thursday or Friday can leave a day that
+        // only a doctor already at the limit could cover
+        List<Staff> staff = createStaff(7, 4);
+        RosterSolver solver = new RosterSolver()
+                .maxDoctorShiftsPerWeek(2)
+                .unavailable("DOC000", DayOfWeek.SATURDAY, DayOfWeek.SUNDAY)
+                .unavailable("DOC001", DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY,
+                        DayOfWeek.SATURDAY, DayOfWeek.SUNDAY)
+                .unavailable("DOC002", DayOfWeek.MONDAY, DayOfWeek.TUESDAY)
+                .unavailable("DOC003", DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+                        DayOfWeek.THURSDAY, DayOfWeek.FRIDAY, DayOfWeek.SUNDAY);
+
+        // Act
+        RosterSolver.Roster roster = solver.solve(staff);
+        roster.applyTo(staff);
+
+        // Assert
+        assertDoesNotThrow(() -> ComplianceChecker.checkCompliance(staff));
+        for (Staff member : staff.subList(7, 11)) {
+            assertTrue(member.getShifts().size() <= 2);
+        }
+    }
+
+    @Test
+    public void testApplyRoster_ReplacesShiftsThroughService() throws Exception {
+        // Arrange
+        List<Staff> staff = createStaff(4, 1);
+        Manager manager = new Manager("MGR001", "Mary", "Major", LocalDate.of(1975, 1, 1), Gender.FEMALE,
+                "admin", "password", "Administration");
+        for (DayOfWeek day : DayOfWeek.values()) {
+            manager.addShift(new Shift(day, LocalTime.MIDNIGHT, LocalTime.MIDNIGHT));
+        }
+        staff.add(manager);
+        staff.get(0).addShift(new Shift(DayOfWeek.MONDAY, LocalTime.of(6, 0), LocalTime.of(22, 0)));
+        StaffRepository staffRepository = mock(StaffRepository.class);
+        when(staffRepository.findAll()).thenReturn(staff);
+        CareHomeService service = new CareHomeService(mock(WardRepository.class), staffRepository,
+                mock(PatientRepository.class));
+        AuthenticationService authService = AuthenticationService.getInstance();
+        authService.openSession(manager);
+
+        try {
+            // Act
+            RosterSolver.Roster roster = service.generateRoster();
+            service.applyRoster(roster);
+
+            // Assert
+            assertTrue(service.getComplianceReport().isCompliant());
+            assertEquals(new HashSet<>(roster.getShifts(staff.get(0))), new HashSet<>(staff.get(0).getShifts()));
+            assertEquals(7, manager.getShifts().size());
+            verify(staffRepository).saveAll(anyList());
+        } finally {
+            authService.logout();
+        }
+    }
+
+    @Test
+    public void testSolve_TooFewNurses_ThrowsException() {
+        // Arrange
+        // Two nurses can work at most 10 shifts, but the week has 14 nurse shifts
+        List<Staff> staff = createStaff(2, 1);
+
+        // Act & Assert
+        assertThrows(ComplianceException.class, () -> new RosterSolver().solve(staff));
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.ui;
+
+import org.example.model.Gender;
+import org.example.model.Patient;
+import org.example.service.AuthenticationService;
+import org.example.service.CareHomeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchRunnerTest {
+
+    @Mock
+    private CareHomeService careHomeService;
+
+    @Mock
+    private AuthenticationService authService;
+
+    private Patient patient;
+    private ByteArrayOutputStream output;
+
+    @BeforeEach
+    public void setUp() {
+        patient = new Patient("PAT001", "John", "Doe", LocalDate.of(1950, 5, 15), Gender.MALE, "Hypertension", false);
+        output = new ByteArrayOutputStream();
+    }
+
+    private BatchRunner runner(int checkpointInterval) {
+        return new BatchRunner(careHomeService, authService, new PrintStream(output), checkpointInterval);
+    }
+
+    private void allowDischarges() throws Exception {
+        when(careHomeService.getAllPatients()).thenReturn(Collections.singletonList(patient));
+        when(careHomeService.dischargePatient(patient)).thenReturn(true);
+    }
+
+    @Test
+    public void testParseLine_TrimsPlainFields() {
+        // Act
+        List<String> fields = BatchRunner.parseLine("move-patient , PAT001,  W1R2B1 ");
+
+        // Assert
+        assertEquals(List.of("move-patient", "PAT001", "W1R2B1"), fields);
+    }
+
+    @Test
+    public void testParseLine_KeepsCommasAndQuotesInQuotedFields() {
+        // Act
+        List<String> fields = BatchRunner.parseLine("add-patient, \"Smith, Jr\",\"Says \"\"hi\"\"\",");
+
+        // Assert
+        assertEquals(List.of("add-patient", "Smith, Jr", "Says \"hi\"", ""), fields);
+    }
+
+    @Test
+    public void testParseLine_UnterminatedQuote() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> BatchRunner.parseLine("login,\"admin"));
+    }
+
+    @Test
+    public void testRun_DefersSavesAndSavesOnceAtEnd() throws Exception {
+        // Arrange
+        allowDischarges();
+
+        // Act
+        BatchRunner.Summary summary = runner(0).run(new StringReader(
+            "# Discharges\ndischarge-patient,PAT001\n\ndischarge-patient,PAT001\n"));
+
+        // Assert
+        InOrder inOrder = inOrder(careHomeService);
+        inOrder.verify(careHomeService).setSavesDeferred(true);
+        inOrder.verify(careHomeService, times(2)).dischargePatient(patient);
+        inOrder.verify(careHomeService).saveData();
+        inOrder.verify(careHomeService).setSavesDeferred(false);
+        assertEquals(2, summary.getSucceeded());
+        assertEquals(1, summary.getSaves());
+    }
+
+    @Test
+    public void testRun_RestoresDeferredSavesWhenSaveFails() throws Exception {
+        // Arrange
+        when(careHomeService.isSavesDeferred()).thenReturn(false);
+        allowDischarges();
+        doThrow(new IllegalStateException("Disk full")).when(careHomeService).saveData();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+            () -> runner(0).run(new StringReader("discharge-patient,PAT001\n")));
+        verify(careHomeService).setSavesDeferred(false);
+    }
+
+    @Test
+    public void testRun_SavesAtEachCheckpoint() throws Exception {
+        // Arrange
+        allowDischarges();
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            script.append("discharge-patient,PAT001\n");
+        }
+
+        // Act
+        BatchRunner.Summary summary = runner(2).run(new StringReader(script.toString()));
+
+        // Assert
+        verify(careHomeService, times(3)).saveData();
+        assertEquals(3, summary.getSaves());
+        assertEquals(5, summary.getSucceeded());
+    }
+
+    @Test
+    public void testRun_SaveCommandSavesUnsavedChanges() throws Exception {
+        // Arrange
+        allowDischarges();
+
+        // Act
+        BatchRunner.Summary summary = runner(0).run(new StringReader("discharge-patient,PAT001\nsave\n"));
+
+        // Assert
+        verify(careHomeService, times(1)).saveData();
+        assertEquals(1, summary.getSaves());
+        assertEquals(2, summary.getSucceeded());
+    }
+
+    @Test
+    public void testRun_CountsFailuresAndCarriesOn() throws Exception {
+        // Arrange
+        allowDischarges();
+
+        // Act
+        BatchRunner.Summary summary = runner(0).run(new StringReader(
+            "admit-everyone\ndischarge-patient,PAT999\ndischarge-patient,PAT001\n"));
+
+        // Assert
+        assertEquals(1, summary.getSucceeded());
+        assertEquals(2, summary.getFailed());
+        verify(careHomeService, times(1)).dischargePatient(any());
+        String report = output.toString();
+        assertTrue(report.contains("Unknown command: admit-everyone"));
+        assertTrue(report.contains("Patient not found: PAT999"));
+        assertTrue(report.contains("Commands: 3 (1 succeeded, 2 failed)"));
+        assertTrue(report.contains("Saves: 1"));
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.util;
+
+import org.example.model.Shift;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoverageTimelineTest {
+
+    @Test
+    public void testAdd_OvernightSundayShift_WrapsToMonday() {
+        // Arrange
+        CoverageTimeline timeline = new CoverageTimeline();
+
+        // Act
+        timeline.add(new Shift(DayOfWeek.SUNDAY, LocalTime.of(20, 30), LocalTime.of(2, 15)));
+
+        // Assert
+        assertEquals(210, timeline.getCoveredMinutes(DayOfWeek.SUNDAY));
+        assertEquals(135, timeline.getCoveredMinutes(DayOfWeek.MONDAY));
+        assertEquals(1, timeline.getCoverage(DayOfWeek.MONDAY, LocalTime.of(2, 14)));
+        assertEquals(0, timeline.getCoverage(DayOfWeek.MONDAY, LocalTime.of(2, 15)));
+    }
+
+    @Test
+    public void testGetMinimumCoverage_OverlappingAndSplitShifts() {
+        // Arrange
+        CoverageTimeline timeline = CoverageTimeline.of(List.of(
+                new Shift(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(12, 30)),
+                new Shift(DayOfWeek.MONDAY, LocalTime.of(12, 0), LocalTime.of(16, 0)),
+                new Shift(DayOfWeek.TUESDAY, LocalTime.of(8, 0), LocalTime.of(11, 59)),
+                new Shift(DayOfWeek.TUESDAY, LocalTime.of(12, 0), LocalTime.of(16, 0))));
+
+        // Act & Assert
+        assertEquals(1, timeline.getMinimumCoverage(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(16, 0)));
+        assertEquals(2, timeline.getMinimumCoverage(DayOfWeek.MONDAY, LocalTime.of(12, 0), LocalTime.of(12, 30)));
+        assertEquals(0, timeline.getMinimumCoverage(DayOfWeek.TUESDAY, LocalTime.of(8, 0), LocalTime.of(16, 0)));
+        assertEquals(480, timeline.getCoveredMinutes(DayOfWeek.MONDAY));
+    }
+
+    @Test
+    public void testRemove_RestoresCoverage() {
+        // Arrange
+        Shift shift = new Shift(DayOfWeek.FRIDAY, LocalTime.of(16, 0), LocalTime.MIDNIGHT);
+        CoverageTimeline timeline = CoverageTimeline.of(List.of(shift));
+
+        // Act
+        timeline.remove(shift);
+
+        // Assert
+        assertEquals(0, timeline.getShiftCount());
+        assertEquals(0, timeline.getCoveredMinutes(DayOfWeek.FRIDAY));
+        assertEquals(0, timeline.getCoveredMinutes(DayOfWeek.SATURDAY));
+    }
+}